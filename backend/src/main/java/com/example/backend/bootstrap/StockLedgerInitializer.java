@@ -0,0 +1,46 @@
+package com.example.backend.bootstrap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Installs the warehouse stock level trigger when its Flyway migration could not.
+ * <p>
+ * On a fresh database Flyway runs before Hibernate creates the item table, so
+ * V2026101703 skips the trigger and backfill. The script is idempotent, so it is
+ * simply run again once the schema exists.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class StockLedgerInitializer implements ApplicationRunner {
+
+    static final String SCRIPT = "db/migration/V2026101703__Create_warehouse_stock_levels.sql";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Integer triggers = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_trigger WHERE tgname = 'trg_item_stock_levels'", Integer.class);
+        if (triggers != null && triggers > 0) {
+            return;
+        }
+
+        log.info("Stock level trigger missing, installing it and backfilling warehouse_stock_levels");
+        String script = StreamUtils.copyToString(
+                new ClassPathResource(SCRIPT).getInputStream(), StandardCharsets.UTF_8);
+        jdbcTemplate.execute(script);
+    }
+}
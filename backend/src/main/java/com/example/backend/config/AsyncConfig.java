@@ -0,0 +1,94 @@
+package com.example.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executors for CPU-heavy background work.
+ * Each workload gets its own pool so a burst in one area cannot starve another.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Executor used by the bulk payroll attendance import to build
+     * employee payroll snapshots in parallel chunks.
+     * Callers block on the results, so CallerRunsPolicy provides natural back-pressure.
+     */
+    @Bean(name = "payrollImportExecutor")
+    public ThreadPoolTaskExecutor payrollImportExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(2, cores));
+        executor.setMaxPoolSize(Math.max(2, cores));
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("payroll-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for notification fan-out to many users.
+     * Work is submitted after commit; when the queue is full the committing thread
+     * runs the fan-out itself rather than dropping notifications.
+     */
+    @Bean(name = "notificationFanOutExecutor")
+    public ThreadPoolTaskExecutor notificationFanOutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("notification-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for concurrent file uploads to object storage (several attachments of one request).
+     * Uploads are network bound, so the pool is larger than the core count; callers wait
+     * for their uploads, and CallerRunsPolicy makes a saturated pool upload on the request thread.
+     */
+    @Bean(name = "storageUploadExecutor")
+    public ThreadPoolTaskExecutor storageUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("storage-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for recomputing dashboard snapshots in the background.
+     * Each dashboard is a handful of count queries, so a small pool is enough; refreshes that do
+     * not fit are dropped by the caller (the snapshot is simply refreshed on the next cycle).
+     */
+    @Bean(name = "dashboardRefreshExecutor")
+    public ThreadPoolTaskExecutor dashboardRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("dashboard-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Fork-join pool for the batch payroll calculation.
+     * Kept separate from the common pool so parallel streams elsewhere are not starved.
+     */
+    @Bean(name = "payrollCalculationPool", destroyMethod = "shutdown")
+    public ForkJoinPool payrollCalculationPool() {
+        return new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+}
@@ -43,13 +43,21 @@ public class CacheConfig {
                         .expireAfterWrite(2, TimeUnit.MINUTES)
                         .build()));
 
-        // Dashboard cache: 1 min TTL (finance dashboard summary, merchants)
+        // Dashboard cache: 1 min TTL (finance dashboard summary and balances)
         caches.add(new CaffeineCache("dashboardCache",
                 Caffeine.newBuilder()
                         .maximumSize(50)
                         .expireAfterWrite(1, TimeUnit.MINUTES)
                         .build()));
 
+        // Merchant payment summaries: 1 min TTL, one entry per limit/date window. Kept apart from
+        // dashboardCache so arbitrary request parameters cannot evict the dashboard cards.
+        caches.add(new CaffeineCache("merchantPaymentSummaries",
+                Caffeine.newBuilder()
+                        .maximumSize(100)
+                        .expireAfterWrite(1, TimeUnit.MINUTES)
+                        .build()));
+
         cacheManager.setCaches(caches);
         return cacheManager;
     }
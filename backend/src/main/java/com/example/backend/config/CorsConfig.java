@@ -35,6 +35,8 @@ public class CorsConfig {
 
         config.addAllowedMethod("*");
         config.addAllowedHeader("*");
+        config.addExposedHeader("Age");
+        config.addExposedHeader("X-Dashboard-Computed-At");
         config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
@@ -1,24 +1,159 @@
 package com.example.backend.config;
 
+import com.example.backend.events.UserAccessChangedEvent;
 import com.example.backend.models.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+@Slf4j
 @Service
 public class JwtService {
 
     private static final String JWT_SECRET = "633292096cab01eb8f5100d1f3e0bcb0e0e704b2ab78d2706c4650ea3cfd586e863a33ea7318ee7d851682618ec773060a2ba86deb7490dc84e32bd10112a29d713ba96acbf2ad2a61480a99f3c4999be4f40fbc0dde04bb13cf9c9c84a6084abeb15677bca2d440778d3eaabbae1f42640a16d5913865559fb5e6d2d65f851cfe9c39e78f5fd26b1cdc5d04a27188779928161375af1f74acdd6b80749d1983f4c2aa8bacbb5cf7d67f7f0c52cda907a60c735e32a2d53e4f506821e8cb6e83059890b178a9e5b2e06acc040064c4697e4685d7a0c1bf521ff2a437469234fabb03fd884292606b604afcd0337a0805e32a7ad8c335f5d8ba51c2b1e300ca84ae6f5b8366c890cf662449d41d7e64b2437cd506e9123e0fa73b0a1f53d7619c";
 
+    // The key and parser are immutable and thread-safe, so they are built once instead of per call
+    private final Key signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(JWT_SECRET));
+    private final JwtParser parser = Jwts.parser().setSigningKey(signingKey).build();
+
+    private final UserDetailsService userDetailsService;
+
+    /**
+     * SHA-256 of each verified token -> its subject, until the token expires
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Authenticated users by username. Dropped on UserAccessChangedEvent so a role change or removal
+     * applies on the next request; the TTL bounds how long changes made elsewhere (another instance,
+     * direct SQL) go unseen. Cached users are detached and shared between requests: read-only.
+     */
+    private final Cache<String, User> principals;
+
+    private final LongAdder authentications = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    Clock clock = Clock.systemUTC();
+
+    public JwtService(UserDetailsService userDetailsService,
+                      @Value("${security.jwt.token-cache-size:20000}") long tokenCacheSize,
+                      @Value("${security.jwt.principal-cache-size:2000}") long principalCacheSize,
+                      @Value("${security.jwt.principal-ttl-seconds:300}") long principalTtlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return value.remainingLifetime(clock.instant()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return value.remainingLifetime(clock.instant()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(principalCacheSize)
+                .expireAfterWrite(principalTtlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The user a bearer token authenticates, or null if the token is invalid, expired or belongs to a
+     * user that no longer exists. A token's signature is checked once and its user loaded once; later
+     * requests with the same token are served from memory.
+     */
+    public User authenticate(String token) {
+        long start = System.nanoTime();
+        try {
+            String username = verifiedUsername(token);
+            User user = username == null ? null : loadPrincipal(username);
+            if (user == null) {
+                rejections.increment();
+            }
+            return user;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            authentications.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    /**
+     * Drop the cached principal of a user, e.g. after a change to their role
+     */
+    public void evictUser(String username) {
+        if (username != null) {
+            principals.invalidate(username);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        evictUser(event.getUsername());
+        log.debug("Evicted cached principal for {}", event.getUsername());
+    }
+
+    /**
+     * Hit rates of the token and principal caches and the time spent authenticating requests
+     */
+    public AuthCacheStats getAuthCacheStats() {
+        CacheStats tokens = verifiedTokens.stats();
+        CacheStats users = principals.stats();
+        long count = authentications.sum();
+        return new AuthCacheStats(
+                count,
+                rejections.sum(),
+                tokens.hitRate(),
+                verifiedTokens.estimatedSize(),
+                users.hitRate(),
+                principals.estimatedSize(),
+                count == 0 ? 0 : totalNanos.sum() / count / 1_000,
+                maxNanos.get() / 1_000);
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -26,12 +161,8 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, User user) {
-        final String username = extractUsername(token);
-        return (username.equals(user.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = parseClaims(token);
+        return claims.getSubject().equals(user.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
     public Date extractExpiration(String token) {
@@ -39,17 +170,16 @@ public class JwtService {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractClaimsJWT(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractClaimsJWT(String token) {
-        return Jwts.parser().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(JWT_SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Verify the signature and expiry of a token and return all of its claims.
+     * Throws a JwtException if the token is invalid or expired.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(User user) {
@@ -60,6 +190,61 @@ public class JwtService {
         return Jwts.builder().setClaims(extraClaims).setSubject(user.getUsername()).
                 setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 1000))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+                .signWith(signingKey, SignatureAlgorithm.HS256).compact();
+    }
+
+    private String verifiedUsername(String token) {
+        Instant now = clock.instant();
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.username();
+        }
+
+        // One parse verifies the signature and yields every claim needed
+        Claims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            return null;
+        }
+        String username = claims.getSubject();
+        Date expiration = claims.getExpiration();
+        if (username == null || expiration == null || !expiration.toInstant().isAfter(now)) {
+            return null;
+        }
+        verifiedTokens.put(key, new VerifiedToken(username, expiration.toInstant()));
+        return username;
     }
-}
\ No newline at end of file
+
+    private User loadPrincipal(String username) {
+        try {
+            return principals.get(username, name -> (User) userDetailsService.loadUserByUsername(name));
+        } catch (UsernameNotFoundException e) {
+            log.debug("Token subject {} no longer exists", username);
+            return null;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    record VerifiedToken(String username, Instant expiresAt) {
+        Duration remainingLifetime(Instant now) {
+            Duration remaining = Duration.between(now, expiresAt);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+    }
+
+    public record AuthCacheStats(long authentications, long rejections,
+                                 double tokenHitRate, long cachedTokens,
+                                 double principalHitRate, long cachedPrincipals,
+                                 long averageMicros, long maxMicros) {}
+}
@@ -21,15 +21,29 @@ public class S3Config {
     @Value("${storage.type:minio}")
     private String storageType;
 
+    // Endpoint and credentials of the MinIO instance used for local development and tests
+    @Value("${minio.endpoint:http://localhost:9000}")
+    private String minioEndpoint;
+
+    // Presigned URLs are opened by browsers, so they are signed for the publicly reachable address
+    @Value("${minio.publicUrl:${minio.endpoint:http://localhost:9000}}")
+    private String minioPublicUrl;
+
+    @Value("${minio.accessKey:minioadmin}")
+    private String minioAccessKey;
+
+    @Value("${minio.secretKey:minioadmin}")
+    private String minioSecretKey;
+
     @Bean
     public S3Client s3Client() {
         if ("minio".equalsIgnoreCase(storageType)) {
             // Local development with MinIO
             return S3Client.builder()
                     .region(Region.of(region))
-                    .endpointOverride(URI.create("http://localhost:9000"))
+                    .endpointOverride(URI.create(minioEndpoint))
                     .credentialsProvider(StaticCredentialsProvider.create(
-                            AwsBasicCredentials.create("minioadmin", "minioadmin")
+                            AwsBasicCredentials.create(minioAccessKey, minioSecretKey)
                     ))
                     .forcePathStyle(true)
                     .build();
@@ -48,9 +62,9 @@ public class S3Config {
             // Local development with MinIO
             return S3Presigner.builder()
                     .region(Region.of(region))
-                    .endpointOverride(URI.create("http://localhost:9000"))
+                    .endpointOverride(URI.create(minioPublicUrl))
                     .credentialsProvider(StaticCredentialsProvider.create(
-                            AwsBasicCredentials.create("minioadmin", "minioadmin")
+                            AwsBasicCredentials.create(minioAccessKey, minioSecretKey)
                     ))
                     .build();
         } else {
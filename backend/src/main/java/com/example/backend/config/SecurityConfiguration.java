@@ -56,6 +56,7 @@ public class SecurityConfiguration {
                     configuration.setAllowedOrigins(origins);
                     configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE","PATCH", "OPTIONS"));
                     configuration.setAllowedHeaders(Arrays.asList("*"));
+                    configuration.setExposedHeaders(Arrays.asList("Age", "X-Dashboard-Computed-At"));
                     configuration.setAllowCredentials(true);
                     configuration.setMaxAge(3600L);
                     return configuration;
@@ -4,6 +4,7 @@ import com.example.backend.services.FileStorageService;
 import com.example.backend.services.MinioService;
 import com.example.backend.services.impl.S3ServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +12,8 @@ import org.springframework.context.annotation.Primary;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.util.concurrent.Executor;
+
 @Configuration
 public class StorageConfiguration {
 
@@ -26,6 +29,10 @@ public class StorageConfiguration {
     @Autowired(required = false)
     private S3Presigner s3Presigner;
 
+    @Autowired
+    @Qualifier("storageUploadExecutor")
+    private Executor storageUploadExecutor;
+
     @Bean
     @Primary
     public FileStorageService fileStorageService() {
@@ -37,10 +44,10 @@ public class StorageConfiguration {
             return new S3ServiceImpl(s3Client, s3Presigner);
         } else if (s3Enabled) {
             System.out.println("📦 Using MinioService with S3 enabled for local MinIO");
-            return new MinioService(s3Client, s3Presigner);
+            return new MinioService(s3Client, s3Presigner, storageUploadExecutor);
         } else {
             System.out.println("📦 Using MinioService with S3 disabled (mock mode)");
-            return new MinioService(null, null);
+            return new MinioService(null, null, storageUploadExecutor);
         }
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.backend.config.notification;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -39,6 +40,18 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.setUserDestinationPrefix("/user");
     }
 
+    /**
+     * Bounded pool for frames leaving the broker. Notification fan-out pushes arrive here
+     * already coalesced per user by NotificationPushDispatcher, so a small pool keeps up.
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(4)
+                .maxPoolSize(8)
+                .queueCapacity(1000);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         String[] origins = buildAllowedOrigins();
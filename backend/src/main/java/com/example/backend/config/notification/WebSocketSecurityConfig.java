@@ -14,8 +14,6 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
@@ -29,9 +27,6 @@ public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer
     @Autowired
     private JwtService jwtService;
 
-    @Autowired
-    private UserDetailsService userDetailsService;
-
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(new ChannelInterceptor() {
@@ -50,33 +45,25 @@ public class WebSocketSecurityConfig implements WebSocketMessageBrokerConfigurer
                             if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
                                 String token = authorizationHeader.substring(7);
 
-                                // Extract username from JWT token
-                                String username = jwtService.extractUsername(token);
-
-                                if (username != null) {
-                                    // Load user details
-                                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                                // Same cached token verification and principal lookup as HTTP requests
+                                User user = jwtService.authenticate(token);
 
-                                    // Validate token
-                                    if (jwtService.isTokenValid(token, (User) userDetails)) {
-                                        // Create authentication
-                                        UsernamePasswordAuthenticationToken authentication =
-                                                new UsernamePasswordAuthenticationToken(
-                                                        userDetails,
-                                                        null,
-                                                        userDetails.getAuthorities()
-                                                );
+                                if (user != null) {
+                                    // Create authentication
+                                    UsernamePasswordAuthenticationToken authentication =
+                                            new UsernamePasswordAuthenticationToken(
+                                                    user,
+                                                    null,
+                                                    user.getAuthorities()
+                                            );
 
-                                        // Set user in session
-                                        accessor.setUser(authentication);
+                                    // Set user in session
+                                    accessor.setUser(authentication);
 
-                                        System.out.println("✅ WebSocket authentication successful for user: " + username);
-                                        return message;
-                                    } else {
-                                        System.out.println("❌ WebSocket authentication failed: Invalid token for user: " + username);
-                                    }
+                                    System.out.println("✅ WebSocket authentication successful for user: " + user.getUsername());
+                                    return message;
                                 } else {
-                                    System.out.println("❌ WebSocket authentication failed: Could not extract username from token");
+                                    System.out.println("❌ WebSocket authentication failed: Invalid or expired token");
                                 }
                             } else {
                                 System.out.println("❌ WebSocket authentication failed: Invalid Authorization header format");
@@ -2,6 +2,7 @@ package com.example.backend.controllers;
 
 import com.example.backend.authentication.AuthenticationResponse;
 import com.example.backend.authentication.RegisterRequest;
+import com.example.backend.config.JwtService;
 import com.example.backend.dto.user.UserDTO;
 import com.example.backend.models.user.Role;
 import com.example.backend.services.AdminService;
@@ -22,6 +23,7 @@ import java.util.UUID;
 public class AdminController {
 
     private final AdminService adminService;
+    private final JwtService jwtService;
 
     /**
      * Register a new user with a specific role
@@ -138,6 +140,14 @@ public class AdminController {
         }
     }
 
+    /**
+     * Hit rates of the authentication token / principal caches and time spent authenticating requests
+     */
+    @GetMapping("/auth-cache/stats")
+    public ResponseEntity<JwtService.AuthCacheStats> getAuthCacheStats() {
+        return ResponseEntity.ok(jwtService.getAuthCacheStats());
+    }
+
     /**
      * Request class for role updates
      */
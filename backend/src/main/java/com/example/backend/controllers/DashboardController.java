@@ -2,14 +2,22 @@ package com.example.backend.controllers;
 
 import com.example.backend.dto.dashboard.*;
 import com.example.backend.services.DashboardService;
+import com.example.backend.services.DashboardSnapshotService;
+import com.example.backend.services.DashboardSnapshotService.DashboardSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
+
 /**
  * Dashboard Controller
- * Provides role-based dashboard endpoints with proper access control
+ * Provides role-based dashboard endpoints with proper access control.
+ * Role dashboards are served from precomputed snapshots; the Age and X-Dashboard-Computed-At
+ * headers tell how old the data is.
  */
 @RestController
 @RequestMapping("/api/dashboard")
@@ -19,6 +27,9 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
     /**
      * Get dashboard data for current authenticated user
      * Automatically routes to role-specific dashboard
@@ -27,8 +38,7 @@ public class DashboardController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getCurrentUserDashboard() {
         try {
-            Object dashboardData = dashboardService.getDashboardForCurrentUser();
-            return ResponseEntity.ok(dashboardData);
+            return snapshotResponse(dashboardSnapshotService.getForCurrentUser());
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Error loading dashboard: " + e.getMessage());
@@ -43,8 +53,7 @@ public class DashboardController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAdminDashboard() {
         try {
-            AdminDashboardDTO dashboard = dashboardService.getAdminDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.ADMIN));
         } catch (Exception e) {
             e.printStackTrace(); // Log the error
             return ResponseEntity.internalServerError()
@@ -60,8 +69,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('SITE_ADMIN', 'ADMIN')")
     public ResponseEntity<SiteAdminDashboardDTO> getSiteAdminDashboard() {
         try {
-            SiteAdminDashboardDTO dashboard = dashboardService.getSiteAdminDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.SITE_ADMIN));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -75,8 +83,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('EQUIPMENT_MANAGER', 'ADMIN')")
     public ResponseEntity<EquipmentManagerDashboardDTO> getEquipmentManagerDashboard() {
         try {
-            EquipmentManagerDashboardDTO dashboard = dashboardService.getEquipmentManagerDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.EQUIPMENT_MANAGER));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -90,8 +97,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('WAREHOUSE_MANAGER', 'WAREHOUSE_EMPLOYEE', 'ADMIN')")
     public ResponseEntity<WarehouseManagerDashboardDTO> getWarehouseManagerDashboard() {
         try {
-            WarehouseManagerDashboardDTO dashboard = dashboardService.getWarehouseManagerDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.WAREHOUSE_MANAGER));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -105,8 +111,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('HR_MANAGER', 'ADMIN')")
     public ResponseEntity<HRManagerDashboardDTO> getHRManagerDashboard() {
         try {
-            HRManagerDashboardDTO dashboard = dashboardService.getHRManagerDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.HR_MANAGER));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -120,8 +125,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('HR_EMPLOYEE', 'HR_MANAGER', 'ADMIN')")
     public ResponseEntity<HREmployeeDashboardDTO> getHREmployeeDashboard() {
         try {
-            HREmployeeDashboardDTO dashboard = dashboardService.getHREmployeeDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.HR_EMPLOYEE));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -135,8 +139,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('FINANCE_MANAGER', 'ADMIN')")
     public ResponseEntity<FinanceDashboardDTO> getFinanceManagerDashboard() {
         try {
-            FinanceDashboardDTO dashboard = dashboardService.getFinanceDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.FINANCE));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -150,8 +153,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('FINANCE_EMPLOYEE', 'FINANCE_MANAGER', 'ADMIN')")
     public ResponseEntity<FinanceDashboardDTO> getFinanceEmployeeDashboard() {
         try {
-            FinanceDashboardDTO dashboard = dashboardService.getFinanceDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.FINANCE));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -165,8 +167,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('MAINTENANCE_MANAGER', 'ADMIN')")
     public ResponseEntity<MaintenanceDashboardDTO> getMaintenanceManagerDashboard() {
         try {
-            MaintenanceDashboardDTO dashboard = dashboardService.getMaintenanceDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.MAINTENANCE));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -180,8 +181,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('MAINTENANCE_EMPLOYEE', 'MAINTENANCE_MANAGER', 'ADMIN')")
     public ResponseEntity<MaintenanceDashboardDTO> getMaintenanceEmployeeDashboard() {
         try {
-            MaintenanceDashboardDTO dashboard = dashboardService.getMaintenanceDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.MAINTENANCE));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -195,8 +195,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('PROCUREMENT', 'ADMIN')")
     public ResponseEntity<ProcurementDashboardDTO> getProcurementDashboard() {
         try {
-            ProcurementDashboardDTO dashboard = dashboardService.getProcurementDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.PROCUREMENT));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -210,8 +209,7 @@ public class DashboardController {
     @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
     public ResponseEntity<SecretaryDashboardDTO> getSecretaryDashboard() {
         try {
-            SecretaryDashboardDTO dashboard = dashboardService.getSecretaryDashboard();
-            return ResponseEntity.ok(dashboard);
+            return snapshotResponse(dashboardSnapshotService.get(DashboardSnapshotService.SECRETARY));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -231,5 +229,12 @@ public class DashboardController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
 
+    private <T> ResponseEntity<T> snapshotResponse(DashboardSnapshot<T> snapshot) {
+        long ageSeconds = Math.max(0, Duration.between(snapshot.computedAt(), Instant.now()).getSeconds());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(ageSeconds))
+                .header("X-Dashboard-Computed-At", snapshot.computedAt().toString())
+                .body(snapshot.data());
+    }
+}
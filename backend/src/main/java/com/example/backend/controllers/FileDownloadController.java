@@ -0,0 +1,170 @@
+package com.example.backend.controllers;
+
+import com.example.backend.services.DatabaseFileStorageService;
+import com.example.backend.services.FileDownload;
+import com.example.backend.services.FileStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streams stored files to the client for both storage backends (S3 / MinIO and database).
+ * <p>
+ * Content is copied from the backend straight to the response, never buffered whole.
+ * Supports conditional requests (ETag / If-None-Match, Last-Modified) and a single
+ * byte range (Range / If-Range), so PDF viewers and media players can fetch pieces.
+ */
+@RestController
+@RequestMapping("/api/v1/files")
+public class FileDownloadController {
+
+    private static final Logger log = LoggerFactory.getLogger(FileDownloadController.class);
+
+    private final FileStorageService fileStorageService;
+    private final ObjectProvider<DatabaseFileStorageService> databaseFileStorageService;
+
+    @Value("${aws.s3.bucket-name:rockops}")
+    private String bucketName;
+
+    public FileDownloadController(FileStorageService fileStorageService,
+                                  ObjectProvider<DatabaseFileStorageService> databaseFileStorageService) {
+        this.fileStorageService = fileStorageService;
+        this.databaseFileStorageService = databaseFileStorageService;
+    }
+
+    /**
+     * Object in the application's S3 / MinIO bucket, e.g. GET /api/v1/files/object?key=equipment/{id}/contract.pdf.
+     * Only the configured bucket is served, and only to staff roles; plain USER accounts cannot read stored objects.
+     */
+    @GetMapping("/object")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SITE_ADMIN', 'PROCUREMENT', 'WAREHOUSE_MANAGER', 'WAREHOUSE_EMPLOYEE', " +
+            "'SECRETARY', 'EQUIPMENT_MANAGER', 'HR_MANAGER', 'HR_EMPLOYEE', 'FINANCE_MANAGER', 'FINANCE_EMPLOYEE', " +
+            "'MAINTENANCE_EMPLOYEE', 'MAINTENANCE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> downloadObject(
+            @RequestParam String key,
+            @RequestHeader HttpHeaders requestHeaders,
+            WebRequest webRequest) {
+        FileDownload download;
+        try {
+            download = fileStorageService.openDownload(bucketName, key);
+        } catch (Exception e) {
+            log.debug("Stored object {} not available: {}", key, e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+        return stream(download, requestHeaders, webRequest);
+    }
+
+    /**
+     * File kept in the database (db-storage profile); this is the URL returned on upload.
+     * Same staff roles as {@link #downloadObject}.
+     */
+    @GetMapping("/{fileId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SITE_ADMIN', 'PROCUREMENT', 'WAREHOUSE_MANAGER', 'WAREHOUSE_EMPLOYEE', " +
+            "'SECRETARY', 'EQUIPMENT_MANAGER', 'HR_MANAGER', 'HR_EMPLOYEE', 'FINANCE_MANAGER', 'FINANCE_EMPLOYEE', " +
+            "'MAINTENANCE_EMPLOYEE', 'MAINTENANCE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> downloadStoredFile(
+            @PathVariable String fileId,
+            @RequestHeader HttpHeaders requestHeaders,
+            WebRequest webRequest) {
+        DatabaseFileStorageService storage = databaseFileStorageService.getIfAvailable();
+        FileDownload download = storage != null ? storage.openDownload(fileId) : null;
+        if (download == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return stream(download, requestHeaders, webRequest);
+    }
+
+    static ResponseEntity<StreamingResponseBody> stream(FileDownload download, HttpHeaders requestHeaders,
+                                                        WebRequest webRequest) {
+        long lastModified = download.lastModified() != null ? download.lastModified().toEpochMilli() : -1;
+        boolean notModified = download.eTag() != null
+                ? webRequest.checkNotModified(download.eTag(), lastModified)
+                : webRequest.checkNotModified(lastModified);
+        if (notModified) {
+            // 304 (or 412 for a failed If-Match); headers were set by checkNotModified
+            return null;
+        }
+
+        long size = download.contentLength();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setContentType(parseContentType(download.contentType()));
+        headers.setContentDisposition(ContentDisposition.inline()
+                .filename(download.fileName(), StandardCharsets.UTF_8)
+                .build());
+        headers.setCacheControl("private, max-age=0, must-revalidate");
+        if (download.eTag() != null) {
+            headers.setETag("\"" + download.eTag() + "\"");
+        }
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+
+        List<HttpRange> ranges = rangesToServe(requestHeaders, download.eTag());
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            long start = range.getRangeStart(size);
+            if (start >= size) {
+                // Range starts at or beyond the end of the file (getRangeStart does not reject this)
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                        .build();
+            }
+            long end = range.getRangeEnd(size);
+            long length = end - start + 1;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            headers.setContentLength(length);
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .headers(headers)
+                    .body(out -> download.writeTo(out, start, length));
+        }
+
+        // No range, an If-Range mismatch or several ranges: send the whole file
+        headers.setContentLength(size);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(out -> download.writeTo(out, 0, size));
+    }
+
+    private static List<HttpRange> rangesToServe(HttpHeaders requestHeaders, String eTag) {
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return List.of();
+        }
+
+        // If-Range: only honour the range when the client still has the current version
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.replace("W/", "").replace("\"", "").equals(eTag)) {
+            return List.of();
+        }
+
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // Malformed Range headers are ignored (RFC 9110)
+            return List.of();
+        }
+    }
+
+    private static MediaType parseContentType(String contentType) {
+        try {
+            return contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (Exception e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import com.example.backend.services.MaintenanceService;
 import com.example.backend.services.ContactService;
 import com.example.backend.services.merchant.MerchantService;
 import com.example.backend.mappers.merchant.MerchantMapper;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -79,6 +81,15 @@ public class MaintenanceController {
             return ResponseEntity.internalServerError().build();
         }
     }
+
+    /**
+     * Filtered, keyset-paginated maintenance records
+     */
+    @GetMapping("/records/page")
+    public ResponseEntity<CursorPage<MaintenanceRecordDto>> getMaintenanceRecordsPage(@ModelAttribute MaintenanceRecordFilter filter,
+            @ModelAttribute KeysetPageRequest page) {
+        return ResponseEntity.ok(maintenanceService.getMaintenanceRecordsPage(filter, page));
+    }
     
     @GetMapping("/records/equipment/{equipmentId}")
     public ResponseEntity<List<MaintenanceRecordDto>> getMaintenanceRecordsByEquipment(@PathVariable UUID equipmentId) {
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -78,6 +79,7 @@ public class MinioController {
     @GetMapping("/equipment/{equipmentId}/main-photo/refresh")
     public ResponseEntity<String> refreshEquipmentMainPhoto(@PathVariable UUID equipmentId) {
         try {
+            minioService.evictEquipmentImage(equipmentId);
             String imageUrl = minioService.getEquipmentMainPhoto(equipmentId);
             if (imageUrl != null) {
                 return ResponseEntity.ok(imageUrl);
@@ -89,4 +91,10 @@ public class MinioController {
             return ResponseEntity.status(500).body("Error refreshing equipment image: " + e.getMessage());
         }
     }
+
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MinioService.StorageCacheStats> getCacheStats() {
+        return ResponseEntity.ok(minioService.getCacheStats());
+    }
 }
@@ -25,6 +25,8 @@ import java.util.Set;
 import java.util.LinkedHashMap;
 import java.util.ArrayList;
 import com.example.backend.models.equipment.EquipmentStatus;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
 
 @RestController
 @RequestMapping("/api/equipment")
@@ -47,6 +49,15 @@ public class EquipmentController {
         return ResponseEntity.ok(equipmentService.getAllEquipment());
     }
 
+    /**
+     * Filtered, keyset-paginated equipment
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<EquipmentDTO>> getEquipmentPage(@ModelAttribute EquipmentFilter filter,
+            @ModelAttribute KeysetPageRequest page) {
+        return ResponseEntity.ok(equipmentService.getEquipmentPage(filter, page));
+    }
+
     @GetMapping("/status-options")
     public ResponseEntity<List<Map<String, String>>> getEquipmentStatusOptions() {
         List<Map<String, String>> statusOptions = new ArrayList<>();
@@ -6,9 +6,11 @@ import com.example.backend.dto.finance.accountsPayable.MerchantPaymentSummaryRes
 import com.example.backend.services.finance.accountsPayable.AccountsPayableDashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -52,14 +54,21 @@ public class AccountsPayableDashboardController {
     }
 
     /**
-     * GET /api/v1/finance/dashboard/merchants
-     * Get merchant payment summaries (for "By Merchant" page)
+     * GET /api/v1/finance/dashboard/merchants?limit=10&fromDate=2026-01-01&toDate=2026-03-31
+     * Get merchant payment summaries (for "By Merchant" page), optionally the top merchants only
+     * and only payments within a date window
      */
     @GetMapping("/merchants")
-    public ResponseEntity<List<MerchantPaymentSummaryResponseDTO>> getMerchantPaymentSummaries() {
+    public ResponseEntity<List<MerchantPaymentSummaryResponseDTO>> getMerchantPaymentSummaries(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
         try {
-            List<MerchantPaymentSummaryResponseDTO> summaries = dashboardService.getMerchantPaymentSummaries();
+            List<MerchantPaymentSummaryResponseDTO> summaries =
+                    dashboardService.getMerchantPaymentSummaries(limit, fromDate, toDate);
             return ResponseEntity.ok(summaries);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -2,14 +2,13 @@ package com.example.backend.controllers.finance.generalLedger;
 
 import com.example.backend.dto.finance.generalLedger.AuditLogResponseDTO;
 import com.example.backend.services.finance.generalLedger.AuditService;
-import com.example.backend.utils.ExportUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -22,12 +21,10 @@ import java.util.UUID;
 public class AuditController {
 
     private final AuditService auditService;
-    private final ExportUtil exportUtil;
 
     @Autowired
-    public AuditController(AuditService auditService, ExportUtil exportUtil) {
+    public AuditController(AuditService auditService) {
         this.auditService = auditService;
-        this.exportUtil = exportUtil;
     }
 
     // Add this new endpoint to get all audit logs
@@ -79,43 +76,36 @@ public class AuditController {
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * Streams the matching audit logs as XLSX (default) or CSV.
+     * All filters are optional and combine; rows are written straight to the response.
+     */
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportAuditLogs(
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
             @RequestParam(required = false) String entityType,
             @RequestParam(required = false) UUID entityId,
             @RequestParam(required = false) UUID userId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-
-        try {
-            List<AuditLogResponseDTO> logs;
-
-            if (entityType != null && entityId != null) {
-                logs = auditService.getAuditLogsByEntity(entityType, entityId);
-            } else if (userId != null) {
-                logs = auditService.getAuditLogsByUser(userId);
-            } else if (startDate != null && endDate != null) {
-                logs = auditService.getAuditLogsByDateRange(startDate, endDate);
-            } else if (entityType != null) {
-                logs = auditService.getAuditLogsByEntityType(entityType);
-            } else {
-                // Changed to get all logs instead of just 30 days
-                logs = auditService.getAllAuditLogs();
-            }
-
-            // Use the Excel export method
-            byte[] excelData = exportUtil.exportAuditLogsToExcel(logs);
-
-            // Return with Excel content type and .xlsx extension
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "xlsx") String format) {
+
+        AuditService.ExportFormat exportFormat = "csv".equalsIgnoreCase(format)
+                ? AuditService.ExportFormat.CSV
+                : AuditService.ExportFormat.XLSX;
+        AuditService.ExportFilter filter = new AuditService.ExportFilter(entityType, entityId, userId, startDate, endDate);
+
+        StreamingResponseBody body = out -> auditService.exportAuditLogs(filter, exportFormat, out);
+
+        if (exportFormat == AuditService.ExportFormat.CSV) {
             return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"audit_logs.xlsx\"")
-                    // Use modern Excel content type (Office 2007+)
-                    .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .contentLength(excelData.length)
-                    .body(excelData);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+                    .header("Content-Disposition", "attachment; filename=\"audit_logs.csv\"")
+                    .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                    .body(body);
         }
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=\"audit_logs.xlsx\"")
+                // Use modern Excel content type (Office 2007+)
+                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .body(body);
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,9 @@ import com.example.backend.repositories.finance.generalLedger.JournalEntryReposi
 import com.example.backend.repositories.user.UserRepository;
 import com.example.backend.services.FileStorageService;
 import com.example.backend.services.finance.generalLedger.JournalEntryService;
+import com.example.backend.dto.finance.generalLedger.JournalEntryFilter;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -120,6 +123,15 @@ public class JournalEntryController {
         return ResponseEntity.ok(journalEntries);
     }
 
+    /**
+     * Filtered, keyset-paginated journal entries
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<JournalEntryResponseDTO>> getJournalEntriesPage(@ModelAttribute JournalEntryFilter filter,
+            @ModelAttribute KeysetPageRequest page) {
+        return ResponseEntity.ok(journalEntryService.getJournalEntriesPage(filter, page));
+    }
+
     @PutMapping("/{id}/approve")
     public ResponseEntity<JournalEntryResponseDTO> approveJournalEntry(
             @PathVariable UUID id,
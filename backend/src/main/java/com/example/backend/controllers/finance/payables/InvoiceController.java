@@ -14,15 +14,14 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import com.example.backend.utils.ExportUtil;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import java.time.format.DateTimeFormatter;
-import java.io.IOException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,12 +33,10 @@ import java.util.*;
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
-    private final ExportUtil exportUtil;
 
     @Autowired
-    public InvoiceController(InvoiceService invoiceService, ExportUtil exportUtil) {
+    public InvoiceController(InvoiceService invoiceService) {
         this.invoiceService = invoiceService;
-        this.exportUtil = exportUtil;
     }
 
     // Helper method to get the current authenticated user
@@ -301,43 +298,11 @@ public class InvoiceController {
         return ResponseEntity.ok(invoices);
     }
 
+    // Streams the aging report PDF: one query buckets all unpaid invoices and the rows are rendered as they arrive
+    // GET /api/v1/invoices/aging/export/pdf
     @GetMapping("/aging/export/pdf")
-    public ResponseEntity<?> exportAgingReportToPDF() {
-        try {
-            // Get aging report data using your existing service methods
-            List<InvoiceResponseDTO> invoices0To30 = invoiceService.getInvoicesAged0To30Days();
-            List<InvoiceResponseDTO> invoices31To60 = invoiceService.getInvoicesAged31To60Days();
-            List<InvoiceResponseDTO> invoices61To90 = invoiceService.getInvoicesAged61To90Days();
-            List<InvoiceResponseDTO> invoicesOver90 = invoiceService.getInvoicesAgedOver90Days();
-
-            // Generate PDF using ExportUtil
-            byte[] pdfBytes = exportUtil.exportAgingReportToPDF(
-                    invoices0To30,
-                    invoices31To60,
-                    invoices61To90,
-                    invoicesOver90
-            );
-
-            // Set response headers for PDF download
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDisposition(ContentDisposition.builder("attachment")
-                    .filename("aging-report-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + ".pdf")
-                    .build());
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfBytes);
-
-        } catch (IOException e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Failed to generate PDF: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Unexpected error: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
-        }
+    public ResponseEntity<StreamingResponseBody> exportAgingReportToPDF() {
+        return agingReportPdf("aging-report-");
     }
 
     // Get aging report summary (supports both JSON and PDF formats)
@@ -347,29 +312,7 @@ public class InvoiceController {
     public ResponseEntity<?> getAgingSummary(@RequestParam(defaultValue = "json") String format) {
         try {
             if ("pdf".equalsIgnoreCase(format)) {
-                // Get aging report data
-                List<InvoiceResponseDTO> invoices0To30 = invoiceService.getInvoicesAged0To30Days();
-                List<InvoiceResponseDTO> invoices31To60 = invoiceService.getInvoicesAged31To60Days();
-                List<InvoiceResponseDTO> invoices61To90 = invoiceService.getInvoicesAged61To90Days();
-                List<InvoiceResponseDTO> invoicesOver90 = invoiceService.getInvoicesAgedOver90Days();
-
-                // Generate PDF
-                byte[] pdfBytes = exportUtil.exportAgingReportToPDF(
-                        invoices0To30,
-                        invoices31To60,
-                        invoices61To90,
-                        invoicesOver90
-                );
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_PDF);
-                headers.setContentDisposition(ContentDisposition.builder("attachment")
-                        .filename("aging-summary-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + ".pdf")
-                        .build());
-
-                return ResponseEntity.ok()
-                        .headers(headers)
-                        .body(pdfBytes);
+                return agingReportPdf("aging-summary-");
             } else {
                 // Return JSON response (existing logic)
                 Object[] totals = invoiceService.getAgingTotals();
@@ -384,14 +327,23 @@ public class InvoiceController {
                 return ResponseEntity.ok(response);
             }
 
-        } catch (IOException e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("error", "Failed to generate PDF: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", "Unexpected error: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<StreamingResponseBody> agingReportPdf(String filenamePrefix) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDisposition(ContentDisposition.builder("attachment")
+                .filename(filenamePrefix + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + ".pdf")
+                .build());
+
+        StreamingResponseBody body = invoiceService::exportAgingReport;
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.controllers.hr;
 import com.example.backend.dto.hr.attendance.AttendanceRequestDTO;
 import com.example.backend.dto.hr.attendance.AttendanceResponseDTO;
 import com.example.backend.dto.hr.attendance.BulkAttendanceDTO;
+import com.example.backend.dto.hr.attendance.MonthlyAttendanceGridDTO;
 import com.example.backend.dto.hr.employee.EmployeeMonthlyAttendanceDTO;
 import com.example.backend.services.hr.AttendanceService;
 import com.example.backend.models.hr.Attendance;
@@ -14,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -90,6 +92,25 @@ public class AttendanceController {
         }
     }
 
+    /**
+     * Get the monthly attendance grid in compact form (one day bitmask per status).
+     * siteId accepts the same values as /monthly.
+     */
+    @GetMapping("/monthly/grid")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'HR_EMPLOYEE', 'SITE_ADMIN')")
+    public ResponseEntity<List<MonthlyAttendanceGridDTO>> getMonthlyAttendanceGrid(
+            @RequestParam String siteId,
+            @RequestParam int year,
+            @RequestParam int month) {
+
+        try {
+            return ResponseEntity.ok(attendanceService.getMonthlyAttendanceGrid(siteId, year, month));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            log.error("Invalid monthly grid parameters: siteId={}, {}/{}", siteId, month, year, e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Update single attendance record
      */
@@ -1,9 +1,11 @@
 package com.example.backend.controllers.notification;
 
+import com.example.backend.dto.notification.NotificationFeedPage;
 import com.example.backend.dto.notification.NotificationMessage;
 import com.example.backend.models.notification.Notification;
 import com.example.backend.models.notification.NotificationType;
 import com.example.backend.models.user.User;
+import com.example.backend.services.notification.NotificationFanOutService;
 import com.example.backend.services.notification.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +24,9 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationFanOutService fanOutService;
+
     /**
      * Get all notifications for the authenticated user
      */
@@ -32,6 +37,19 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    /**
+     * Get one page of the authenticated user's notification feed.
+     * Omit the cursor for the first page, then pass back nextCursor from the previous response.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<NotificationFeedPage> getMyNotificationFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(notificationService.getNotificationFeed(user, cursor, size));
+    }
+
     /**
      * Get unread notifications for the authenticated user
      */
@@ -183,6 +201,16 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Queue depth and latency of the notification fan-out pipeline (Admin only)
+     * GET /api/notifications/fan-out/stats
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/fan-out/stats")
+    public ResponseEntity<NotificationFanOutService.FanOutStats> getFanOutStats() {
+        return ResponseEntity.ok(fanOutService.getStats());
+    }
+
     // ================= REQUEST DTOs =================
 
     public static class SendNotificationRequest {
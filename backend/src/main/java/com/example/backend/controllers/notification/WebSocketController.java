@@ -4,6 +4,7 @@ import com.example.backend.dto.notification.*;
 import com.example.backend.models.notification.Notification;
 import com.example.backend.models.user.User;
 import com.example.backend.repositories.notification.NotificationRepository;
+import com.example.backend.services.notification.NotificationReadStateService;
 import com.example.backend.services.notification.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.security.Principal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -36,6 +38,9 @@ public class WebSocketController {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationReadStateService readStateService;
+
 
     // Store active WebSocket sessions (userId -> sessionId)
     private final ConcurrentHashMap<UUID, String> activeSessions = new ConcurrentHashMap<>();
@@ -98,26 +103,8 @@ public class WebSocketController {
                 return;
             }
 
-            Notification notification = notificationOpt.get();
-            boolean newReadStatus;
-
-            if (notification.getUser() != null) {
-                // User-specific notification (GREEN notifications)
-                newReadStatus = !notification.isRead();
-                notification.setRead(newReadStatus);
-            } else {
-                // Broadcast notification (BLUE notifications)
-                if (notification.isReadByUser(user.getId())) {
-                    notification.markAsUnreadByUser(user.getId());
-                    newReadStatus = false;
-                } else {
-                    notification.markAsReadByUser(user.getId());
-                    newReadStatus = true;
-                }
-            }
-
-            // Save the notification
-            notificationRepository.save(notification);
+            // Toggles the GREEN (user-specific) flag or the BLUE (broadcast) per-user state
+            boolean newReadStatus = readStateService.toggleRead(notificationOpt.get(), user.getId());
 
             // Send success response
             WebSocketResponse response = new WebSocketResponse("SUCCESS",
@@ -149,6 +136,7 @@ public class WebSocketController {
             User user = (User) auth.getPrincipal();
 
             int updated = notificationRepository.markAllAsReadForUser(user);
+            readStateService.adjustUnreadCount(user.getId(), -updated);
 
             WebSocketResponse response = new WebSocketResponse("SUCCESS",
                     "All notifications marked as read. Updated: " + updated);
@@ -184,7 +172,7 @@ public class WebSocketController {
 
             // Convert to DTOs
             List<NotificationMessage> notificationDTOs = notifications.stream()
-                    .map(notification -> convertToDTO(notification, user))  // <-- PASS USER HERE
+                    .map(notification -> convertToDTO(notification, Set.of()))
                     .collect(Collectors.toList());
 
             // Send notification history to user
@@ -211,16 +199,17 @@ public class WebSocketController {
             List<Notification> unreadNotifications = notificationRepository
                     .findByUserAndReadFalseOrderByCreatedAtDesc(user);
 
-            // Get broadcast notifications (if any) - UPDATED METHOD NAME
+            // Get broadcast notifications the user has not hidden
             List<Notification> broadcastNotifications = notificationRepository
-                    .findByUserIsNullOrderByCreatedAtDesc();
+                    .findVisibleBroadcastsForUser(user.getId());
+            Set<UUID> readBroadcastIds = readStateService.findReadBroadcastIds(user.getId(), broadcastNotifications);
 
             // Combine both lists
             unreadNotifications.addAll(broadcastNotifications);
 
             // Convert to DTOs and send
             List<NotificationMessage> notificationDTOs = unreadNotifications.stream()
-                    .map(notification -> convertToDTO(notification, user))  // <-- PASS USER HERE
+                    .map(notification -> convertToDTO(notification, readBroadcastIds))
                     .collect(Collectors.toList());
 
             if (!notificationDTOs.isEmpty()) {
@@ -238,15 +227,7 @@ public class WebSocketController {
 
     private void sendUnreadCount(User user) {
         try {
-            // Calculate count directly using repository
-            long userUnread = notificationRepository.countByUserAndReadFalse(user);
-
-            List<Notification> broadcastNotifications = notificationRepository.findByUserIsNullOrderByCreatedAtDesc();
-            long unreadBroadcastCount = broadcastNotifications.stream()
-                    .filter(notification -> !notification.isReadByUser(user.getId()) && !notification.isHiddenByUser(user.getId()))
-                    .count();
-
-            long unreadCount = userUnread + unreadBroadcastCount;
+            long unreadCount = readStateService.getUnreadCount(user.getId());
 
             WebSocketResponse countResponse = new WebSocketResponse("UNREAD_COUNT",
                     "Unread count updated", unreadCount);
@@ -268,7 +249,7 @@ public class WebSocketController {
     /**
      * Convert Notification entity to NotificationMessage DTO
      */
-    private NotificationMessage convertToDTO(Notification notification, User currentUser) {
+    private NotificationMessage convertToDTO(Notification notification, Set<UUID> readBroadcastIds) {
         NotificationMessage dto = new NotificationMessage();
         dto.setId(notification.getId());
         dto.setTitle(notification.getTitle());
@@ -285,7 +266,7 @@ public class WebSocketController {
             dto.setRead(notification.isRead());
         } else {
             // Broadcast notification - check if this specific user has read it
-            dto.setRead(notification.isReadByUser(currentUser.getId()));
+            dto.setRead(readBroadcastIds.contains(notification.getId()));
         }
 
         return dto;
@@ -4,6 +4,8 @@ import com.example.backend.dto.procurement.*;
 import com.example.backend.dto.procurement.PurchaseOrder.PurchaseOrderDTO;
 import com.example.backend.models.finance.accountsPayable.enums.OfferFinanceValidationStatus;
 import com.example.backend.services.procurement.OfferService;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -119,6 +121,15 @@ public class OfferController {
         return ResponseEntity.ok(offers);
     }
 
+    /**
+     * Filtered, keyset-paginated offers
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<OfferDTO>> getOffersPage(@ModelAttribute OfferFilter filter,
+            @ModelAttribute KeysetPageRequest page) {
+        return ResponseEntity.ok(offerService.getOffersPage(filter, page));
+    }
+
     /**
      * Get offers by request order
      */
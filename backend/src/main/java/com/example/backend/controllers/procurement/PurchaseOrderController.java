@@ -10,6 +10,9 @@ import com.example.backend.services.finance.accountsPayable.PaymentRequestServic
 import com.example.backend.services.procurement.PurchaseOrderService;
 import com.example.backend.services.procurement.DeliveryProcessingService;
 import com.example.backend.services.procurement.IssueResolutionService;
+import com.example.backend.dto.procurement.PurchaseOrder.PurchaseOrderFilter;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -85,6 +88,15 @@ public class PurchaseOrderController {
         }
     }
 
+    /**
+     * Filtered, keyset-paginated purchase orders
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<PurchaseOrderDTO>> getPurchaseOrdersPage(@ModelAttribute PurchaseOrderFilter filter,
+            @ModelAttribute KeysetPageRequest page) {
+        return ResponseEntity.ok(purchaseOrderService.getPurchaseOrdersPage(filter, page));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PurchaseOrder> getPurchaseOrderById(@PathVariable UUID id) {
         try {
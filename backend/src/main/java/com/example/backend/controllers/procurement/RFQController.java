@@ -13,6 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,35 +33,27 @@ public class RFQController {
     }
 
     /**
-     * Export RFQ to Excel
+     * Export RFQ to Excel; the workbook is written straight to the response
      */
     @PostMapping("/export")
-    public ResponseEntity<byte[]> exportRFQ(@RequestBody RFQExportRequest request) {
-        try {
-            byte[] excelBytes = rfqService.exportRFQ(request);
-
-            String filename = request.getFilename();
-            if (filename == null || filename.trim().isEmpty()) {
-                filename = "RFQ_" + System.currentTimeMillis();
-            }
-
-            // Ensure .xlsx extension
-            if (!filename.toLowerCase().endsWith(".xlsx")) {
-                filename += ".xlsx";
-            }
+    public ResponseEntity<StreamingResponseBody> exportRFQ(@RequestBody RFQExportRequest request) {
+        String filename = request.getFilename();
+        if (filename == null || filename.trim().isEmpty()) {
+            filename = "RFQ_" + System.currentTimeMillis();
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", filename);
-            headers.setContentLength(excelBytes.length);
+        // Ensure .xlsx extension
+        if (!filename.toLowerCase().endsWith(".xlsx")) {
+            filename += ".xlsx";
+        }
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelBytes);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", filename);
 
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(out -> rfqService.writeRFQ(request, out));
     }
 
     /**
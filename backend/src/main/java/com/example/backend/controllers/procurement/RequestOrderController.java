@@ -4,6 +4,9 @@ import com.example.backend.dto.procurement.RequestOrderDTO;
 import com.example.backend.mappers.procurement.RequestOrderMapper;
 import com.example.backend.models.procurement.RequestOrder.RequestOrder;
 import com.example.backend.services.procurement.RequestOrderService;
+import com.example.backend.dto.procurement.RequestOrderFilter;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -56,6 +59,15 @@ public class RequestOrderController {
         }
     }
 
+    /**
+     * Filtered, keyset-paginated request orders
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<RequestOrder>> getRequestOrdersPage(@ModelAttribute RequestOrderFilter filter,
+            @ModelAttribute KeysetPageRequest page) {
+        return ResponseEntity.ok(requestOrderService.getRequestOrdersPage(filter, page));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RequestOrderDTO> getRequestOrderById(@PathVariable UUID id) {
         try {
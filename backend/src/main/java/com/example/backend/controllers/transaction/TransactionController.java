@@ -8,6 +8,7 @@ import com.example.backend.models.warehouse.ItemType;
 import com.example.backend.repositories.transaction.TransactionRepository;
 import com.example.backend.repositories.warehouse.ItemResolutionRepository;
 import com.example.backend.repositories.warehouse.ItemTypeRepository;
+import com.example.backend.services.transaction.TransactionBulkAcceptService;
 import com.example.backend.services.transaction.TransactionMapperService;
 import com.example.backend.services.transaction.TransactionService;
 import com.example.backend.models.transaction.Transaction;
@@ -30,6 +31,9 @@ public class TransactionController {
     @Autowired
     private TransactionMapperService transactionMapperService;
 
+    @Autowired
+    private TransactionBulkAcceptService transactionBulkAcceptService;
+
     @Autowired
     private ItemTypeRepository itemTypeRepository;
 
@@ -153,6 +157,24 @@ public class TransactionController {
         }
     }
 
+    // ========================================
+    // BULK ACCEPT
+    // Receive many pending transactions at once. Each transaction gets its own result.
+    // ========================================
+
+    @PostMapping("/bulk-accept")
+    public ResponseEntity<BulkTransactionAcceptResponseDTO> acceptTransactions(
+            @RequestBody BulkTransactionAcceptRequestDTO request) {
+        try {
+            return ResponseEntity.ok(transactionBulkAcceptService.acceptTransactions(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     // ========================================
     // REJECT
     // ========================================
@@ -0,0 +1,35 @@
+package com.example.backend.dto.equipment;
+
+import com.example.backend.models.equipment.Equipment;
+import com.example.backend.models.equipment.EquipmentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+import static com.example.backend.utils.pagination.FilterSpecs.*;
+
+/**
+ * Query parameters of the paged equipment list; unset fields do not filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquipmentFilter {
+    private EquipmentStatus status;
+    private UUID siteId;
+    private UUID typeId;
+    private UUID brandId;
+    private String search;
+
+    public Specification<Equipment> toSpecification() {
+        return Specification.allOf(
+                equal("status", status),
+                equal("site.id", siteId),
+                equal("type.id", typeId),
+                equal("brand.id", brandId),
+                containsIgnoreCase(search, "name", "model", "serialNumber"));
+    }
+}
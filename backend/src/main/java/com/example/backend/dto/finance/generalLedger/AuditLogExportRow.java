@@ -0,0 +1,34 @@
+package com.example.backend.dto.finance.generalLedger;
+
+import com.example.backend.models.finance.generalLedger.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat audit log row for exports, selected directly by the export query
+ * so no AuditLog / User entities are loaded.
+ */
+public record AuditLogExportRow(
+        UUID id,
+        String entityType,
+        UUID entityId,
+        String action,
+        String changes,
+        String username,
+        LocalDateTime timestamp,
+        String ipAddress,
+        String userAgent) {
+
+    // Used by the JPQL constructor expression
+    public AuditLogExportRow(UUID id, String entityType, UUID entityId, AuditAction action, String changes,
+                             String username, LocalDateTime timestamp, String ipAddress, String userAgent) {
+        this(id, entityType, entityId, action != null ? action.toString() : null, changes,
+                username, timestamp, ipAddress, userAgent);
+    }
+
+    public static AuditLogExportRow from(AuditLogResponseDTO dto) {
+        return new AuditLogExportRow(dto.getId(), dto.getEntityType(), dto.getEntityId(), dto.getAction(),
+                dto.getChanges(), dto.getUsername(), dto.getTimestamp(), dto.getIpAddress(), dto.getUserAgent());
+    }
+}
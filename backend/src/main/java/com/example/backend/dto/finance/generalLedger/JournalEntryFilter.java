@@ -0,0 +1,37 @@
+package com.example.backend.dto.finance.generalLedger;
+
+import com.example.backend.models.finance.generalLedger.JournalEntry;
+import com.example.backend.models.finance.generalLedger.JournalEntryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+import static com.example.backend.utils.pagination.FilterSpecs.*;
+
+/**
+ * Query parameters of the paged journal entry list; unset fields do not filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntryFilter {
+    private JournalEntryStatus status;
+    private String search;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    public Specification<JournalEntry> toSpecification() {
+        return Specification.allOf(
+                equal("status", status),
+                containsIgnoreCase(search, "referenceNumber", "description"),
+                betweenDates("entryDate", startDate, endDate));
+    }
+}
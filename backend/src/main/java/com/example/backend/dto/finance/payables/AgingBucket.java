@@ -0,0 +1,26 @@
+package com.example.backend.dto.finance.payables;
+
+/**
+ * Aging buckets of unpaid invoices by days past due. Invoices not yet due count as current (0-30).
+ * The ordinal is the bucket number computed by the aging queries in InvoiceRepository.
+ */
+public enum AgingBucket {
+    DAYS_0_TO_30("0-30 Days (Current)"),
+    DAYS_31_TO_60("31-60 Days"),
+    DAYS_61_TO_90("61-90 Days"),
+    OVER_90_DAYS("Over 90 Days (Critical)");
+
+    private final String label;
+
+    AgingBucket(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static AgingBucket fromIndex(int index) {
+        return values()[index];
+    }
+}
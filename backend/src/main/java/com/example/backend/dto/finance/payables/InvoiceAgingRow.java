@@ -0,0 +1,20 @@
+package com.example.backend.dto.finance.payables;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One unpaid invoice of the aging report with the subtotal of its vendor within the same bucket,
+ * selected by the aging report query so no Invoice entities are loaded.
+ */
+public record InvoiceAgingRow(
+        AgingBucket bucket,
+        String invoiceNumber,
+        String vendorName,
+        BigDecimal totalAmount,
+        BigDecimal remainingBalance,
+        LocalDate dueDate,
+        long daysPastDue,
+        long vendorInvoiceCount,
+        BigDecimal vendorRemainingBalance) {
+}
@@ -0,0 +1,24 @@
+package com.example.backend.dto.finance.payables;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Invoice count and remaining balance per aging bucket. Buckets without invoices read as zero.
+ */
+public record InvoiceAgingSummary(Map<AgingBucket, Long> invoiceCounts,
+                                  Map<AgingBucket, BigDecimal> remainingBalances) {
+
+    public static InvoiceAgingSummary empty() {
+        return new InvoiceAgingSummary(new EnumMap<>(AgingBucket.class), new EnumMap<>(AgingBucket.class));
+    }
+
+    public long invoiceCount(AgingBucket bucket) {
+        return invoiceCounts.getOrDefault(bucket, 0L);
+    }
+
+    public BigDecimal remainingBalance(AgingBucket bucket) {
+        return remainingBalances.getOrDefault(bucket, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.backend.dto.hr.attendance;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+// Compact monthly attendance grid row: day sets as bitmasks, bit 0 = 1st of the month
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyAttendanceGridDTO {
+    private UUID employeeId;
+    private String employeeName;
+    private String contractType;
+    private int year;
+    private int month;
+    private int daysInMonth;
+    private Map<String, Integer> statusDays; // status -> days with that status (stored or default)
+    private int recordedDays; // days with a stored record; the rest are defaults
+}
@@ -0,0 +1,41 @@
+package com.example.backend.dto.notification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the notification feed: created_at and id of the last row returned.
+ * Sent to clients as an opaque URL-safe string.
+ */
+public record NotificationFeedCursor(LocalDateTime createdAt, UUID id) {
+
+    // Sorts after every real row, so the first page runs the same query as the following ones
+    public static final NotificationFeedCursor START =
+            new NotificationFeedCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor from a client; a missing cursor means the first page
+     */
+    public static NotificationFeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new NotificationFeedCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid notification feed cursor");
+        }
+    }
+}
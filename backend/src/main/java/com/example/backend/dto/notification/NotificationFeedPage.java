@@ -0,0 +1,19 @@
+package com.example.backend.dto.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the notification feed; pass nextCursor back to get the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedPage {
+    private List<NotificationMessage> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,41 @@
+package com.example.backend.dto.procurement;
+
+import com.example.backend.models.procurement.Offer.Offer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.example.backend.utils.pagination.FilterSpecs.*;
+
+/**
+ * Query parameters of the paged offer list; unset fields do not filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfferFilter {
+    private String status;
+    private String financeStatus;
+    private UUID requestOrderId;
+    private String search;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+
+    public Specification<Offer> toSpecification() {
+        return Specification.allOf(
+                equalIgnoreCase("status", status),
+                equalIgnoreCase("financeStatus", financeStatus),
+                equal("requestOrder.id", requestOrderId),
+                containsIgnoreCase(search, "title", "createdBy"),
+                withinDays("createdAt", createdFrom, createdTo));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backend.dto.procurement.PurchaseOrder;
+
+import com.example.backend.models.finance.accountsPayable.enums.POPaymentStatus;
+import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.example.backend.utils.pagination.FilterSpecs.*;
+
+/**
+ * Query parameters of the paged purchase order list; unset fields do not filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseOrderFilter {
+    private String status;
+    private POPaymentStatus paymentStatus;
+    private UUID requestOrderId;
+    private String search;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+
+    public Specification<PurchaseOrder> toSpecification() {
+        return Specification.allOf(
+                equalIgnoreCase("status", status),
+                equal("paymentStatus", paymentStatus),
+                equal("requestOrder.id", requestOrderId),
+                containsIgnoreCase(search, "poNumber", "createdBy"),
+                withinDays("createdAt", createdFrom, createdTo));
+    }
+}
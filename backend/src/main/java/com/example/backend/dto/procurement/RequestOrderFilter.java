@@ -0,0 +1,41 @@
+package com.example.backend.dto.procurement;
+
+import com.example.backend.models.procurement.RequestOrder.RequestOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.example.backend.utils.pagination.FilterSpecs.*;
+
+/**
+ * Query parameters of the paged request order list; unset fields do not filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestOrderFilter {
+    private String status;
+    private String partyType;
+    private UUID requesterId;
+    private String search;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate createdTo;
+
+    public Specification<RequestOrder> toSpecification() {
+        return Specification.allOf(
+                equalIgnoreCase("status", status),
+                equalIgnoreCase("partyType", partyType),
+                equal("requesterId", requesterId),
+                containsIgnoreCase(search, "title", "requesterName", "createdBy"),
+                withinDays("createdAt", createdFrom, createdTo));
+    }
+}
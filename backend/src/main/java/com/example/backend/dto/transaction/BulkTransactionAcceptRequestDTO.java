@@ -0,0 +1,28 @@
+package com.example.backend.dto.transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransactionAcceptRequestDTO {
+    private String username;
+    private List<TransactionAcceptanceDTO> transactions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TransactionAcceptanceDTO {
+        private UUID transactionId;
+        private String acceptanceComment;
+        private List<TransactionAcceptRequestDTO.ReceivedItemDTO> receivedItems;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.dto.transaction;
+
+import com.example.backend.models.transaction.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkTransactionAcceptResponseDTO {
+    private int processed;
+    private int failed;
+    private List<TransactionAcceptResultDTO> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TransactionAcceptResultDTO {
+        private UUID transactionId;
+        private boolean success;
+        // ACCEPTED, or REJECTED when some items did not match; null when the acceptance failed
+        private TransactionStatus status;
+        private String error;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.dtos;
+
+import com.example.backend.models.equipment.MaintenanceStatus;
+import com.example.backend.models.maintenance.MaintenanceRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.example.backend.utils.pagination.FilterSpecs.*;
+
+/**
+ * Query parameters of the paged maintenance record list; unset fields do not filter
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceRecordFilter {
+    private MaintenanceStatus status;
+    private UUID equipmentId;
+    private String search;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate issuedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate issuedTo;
+
+    public Specification<MaintenanceRecord> toSpecification() {
+        return Specification.allOf(
+                equal("status", status),
+                equal("equipmentId", equipmentId),
+                containsIgnoreCase(search, "recordNumber", "equipmentInfo", "sparePartName"),
+                withinDays("issueDate", issuedFrom, issuedTo));
+    }
+}
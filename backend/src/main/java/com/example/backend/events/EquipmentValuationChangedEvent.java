@@ -0,0 +1,27 @@
+package com.example.backend.events;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Event published when an equipment is created, updated or deleted, so its valuation
+ * and the totals of the site(s) it belongs to can be adjusted
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class EquipmentValuationChangedEvent {
+    private final UUID equipmentId;
+    private final UUID previousSiteId;
+    private final boolean removed;
+
+    public static EquipmentValuationChangedEvent changed(UUID equipmentId, UUID previousSiteId) {
+        return new EquipmentValuationChangedEvent(equipmentId, previousSiteId, false);
+    }
+
+    public static EquipmentValuationChangedEvent removed(UUID equipmentId, UUID siteId) {
+        return new EquipmentValuationChangedEvent(equipmentId, siteId, true);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Event published when a maintenance record or one of its steps is created, changed or deleted,
+ * so the cached maintenance dashboard is recomputed after the change commits.
+ * Published once the change is saved, carrying the id of the affected record.
+ */
+@Getter
+@RequiredArgsConstructor
+public class MaintenanceDataChangedEvent {
+    private final UUID maintenanceRecordId;
+}
@@ -0,0 +1,17 @@
+package com.example.backend.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Event published when deliveries are received from merchants or issues on them are resolved,
+ * so the scorecards of those merchants are recomputed after the change commits.
+ */
+@Getter
+@RequiredArgsConstructor
+public class MerchantDeliveryChangedEvent {
+    private final Set<UUID> merchantIds;
+}
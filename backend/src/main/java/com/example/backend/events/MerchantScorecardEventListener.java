@@ -0,0 +1,29 @@
+package com.example.backend.events;
+
+import com.example.backend.services.merchant.MerchantScorecardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Refreshes merchant scorecards once the delivery change that affects them has committed.
+ * A failed refresh does not undo the delivery; the nightly rebuild corrects the scorecard.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MerchantScorecardEventListener {
+
+    private final MerchantScorecardService merchantScorecardService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleMerchantDeliveryChanged(MerchantDeliveryChangedEvent event) {
+        try {
+            merchantScorecardService.refresh(event.getMerchantIds());
+        } catch (Exception e) {
+            log.error("Failed to refresh scorecards of merchants {}", event.getMerchantIds(), e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.backend.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Event published when a user's role changes or the user is removed, so cached
+ * authentication principals for that username are dropped.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserAccessChangedEvent {
+    private final String username;
+}
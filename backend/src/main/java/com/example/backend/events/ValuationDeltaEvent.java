@@ -0,0 +1,71 @@
+package com.example.backend.events;
+
+import com.example.backend.models.warehouse.Item;
+import com.example.backend.models.warehouse.ItemStatus;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Event published when stock moves in or out of a warehouse, or when an equipment's
+ * consumable stock changes. Carries the change to apply to the stored valuation aggregates
+ * instead of asking for a full recalculation.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ValuationDeltaEvent {
+    private final UUID warehouseId;
+    private final UUID equipmentId;
+    private final double valueDelta;
+    private final int quantityDelta;
+    private final double expenseDelta;
+
+    /**
+     * Change in a warehouse's IN_WAREHOUSE value / quantity and CONSUMED expenses
+     */
+    public static ValuationDeltaEvent forWarehouse(UUID warehouseId, double valueDelta, int quantityDelta,
+                                                   double expenseDelta) {
+        return new ValuationDeltaEvent(warehouseId, null, valueDelta, quantityDelta, expenseDelta);
+    }
+
+    /**
+     * Change in the value of an equipment's IN_WAREHOUSE consumables (counted as equipment expenses)
+     */
+    public static ValuationDeltaEvent forEquipmentExpenses(UUID equipmentId, double expenseDelta) {
+        return new ValuationDeltaEvent(null, equipmentId, 0.0, 0, expenseDelta);
+    }
+
+    public boolean isEmpty() {
+        return valueDelta == 0.0 && quantityDelta == 0 && expenseDelta == 0.0;
+    }
+
+    /**
+     * Value an item contributes to its warehouse valuation (same rule as ItemRepository.calculateWarehouseBalance)
+     */
+    public static double stockValueOf(Item item) {
+        if (item.getItemStatus() != ItemStatus.IN_WAREHOUSE || item.getUnitPrice() == null
+                || item.getTotalValue() == null) {
+            return 0.0;
+        }
+        return item.getTotalValue();
+    }
+
+    /**
+     * Quantity an item contributes to its warehouse valuation (same rule as ItemRepository.getTotalQuantityInWarehouse)
+     */
+    public static int stockQuantityOf(Item item) {
+        return item.getItemStatus() == ItemStatus.IN_WAREHOUSE ? item.getQuantity() : 0;
+    }
+
+    /**
+     * Expense an item contributes to its warehouse valuation (CONSUMED items)
+     */
+    public static double expenseValueOf(Item item) {
+        if (item.getItemStatus() != ItemStatus.CONSUMED || item.getTotalValue() == null) {
+            return 0.0;
+        }
+        return item.getTotalValue();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.events;
+
+import com.example.backend.services.finance.valuation.ValuationDeltaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies valuation changes in the same transaction as the business change that caused them,
+ * so the stored aggregates never include work that was rolled back
+ */
+@Component
+@RequiredArgsConstructor
+public class ValuationEventListener {
+
+    private final ValuationDeltaService valuationDeltaService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void handleValuationDelta(ValuationDeltaEvent event) {
+        valuationDeltaService.apply(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true,
+            condition = "!#event.removed")
+    public void handleEquipmentChanged(EquipmentValuationChangedEvent event) {
+        valuationDeltaService.refreshEquipment(event.getEquipmentId(), event.getPreviousSiteId());
+    }
+
+    /**
+     * Runs immediately, before the equipment row is deleted, since its valuation references it
+     */
+    @EventListener(condition = "#event.removed")
+    public void handleEquipmentRemoved(EquipmentValuationChangedEvent event) {
+        valuationDeltaService.removeEquipment(event.getEquipmentId(), event.getPreviousSiteId());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.backend.models.merchant;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivery aggregates of one merchant, computed in SQL from its delivery receipts and their issues.
+ * Refreshed by MerchantScorecardRepository for the merchants a delivery or issue resolution touches
+ * and rebuilt nightly, so it is read-only here.
+ * The 30-day activity windows are as of computedAt.
+ */
+@Entity
+@Immutable
+@Table(name = "merchant_scorecards")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MerchantScorecard {
+    @Id
+    @Column(name = "merchant_id")
+    private UUID merchantId;
+
+    @Column(name = "total_receipts", nullable = false)
+    private int totalReceipts;
+
+    // Receipts without any reported issue
+    @Column(name = "good_deliveries", nullable = false)
+    private int goodDeliveries;
+
+    @Column(nullable = false)
+    private int redeliveries;
+
+    @Column(name = "total_items_delivered", nullable = false)
+    private double totalItemsDelivered;
+
+    @Column(name = "total_issue_quantity", nullable = false)
+    private double totalIssueQuantity;
+
+    @Column(name = "total_issues", nullable = false)
+    private int totalIssues;
+
+    @Column(name = "issues_resolved", nullable = false)
+    private int issuesResolved;
+
+    @Column(name = "first_delivery_at")
+    private LocalDateTime firstDeliveryAt;
+
+    @Column(name = "last_delivery_at")
+    private LocalDateTime lastDeliveryAt;
+
+    // Good receipts since the latest receipt with an issue
+    @Column(name = "consecutive_good_deliveries", nullable = false)
+    private int consecutiveGoodDeliveries;
+
+    // Days between consecutive receipts; null with fewer than two receipts
+    @Column(name = "delivery_gap_average")
+    private Double deliveryGapAverage;
+
+    @Column(name = "delivery_gap_std_dev")
+    private Double deliveryGapStdDev;
+
+    // Receipts in the 30 days before computedAt, and in the 30 days before those
+    @Column(name = "recent_deliveries", nullable = false)
+    private int recentDeliveries;
+
+    @Column(name = "previous_deliveries", nullable = false)
+    private int previousDeliveries;
+
+    @Column(name = "most_ordered_item")
+    private String mostOrderedItem;
+
+    @Column(name = "most_ordered_item_quantity", nullable = false)
+    private int mostOrderedItemQuantity;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "merchant_scorecard_issue_types", joinColumns = @JoinColumn(name = "merchant_id"))
+    @MapKeyColumn(name = "issue_type")
+    @Column(name = "issue_count", nullable = false)
+    @Builder.Default
+    private Map<String, Integer> issueTypeCounts = new HashMap<>();
+}
@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read", columnList = "user_id,is_read"),
+        @Index(name = "idx_notifications_created_at", columnList = "created_at"),
+        @Index(name = "idx_notifications_user_feed", columnList = "user_id,created_at,id")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
@@ -35,18 +39,13 @@ public class Notification {
     @Column(name = "action_url")
     private String actionUrl;
 
+    // Read flag for user-specific notifications; per-user state of broadcasts lives in NotificationUserState
     @Column(name = "is_read", nullable = false)
     private boolean read = false;
 
     @Column(name = "related_entity")
     private String relatedEntity;
 
-    @Column(name = "read_by_users", columnDefinition = "TEXT")
-    private String readByUsers = "";
-
-    @Column(name = "hidden_by_users", columnDefinition = "TEXT")
-    private String hiddenByUsers = "";
-
     // Constructors
     public Notification() {}
 
@@ -152,62 +151,4 @@ public class Notification {
     public void setRelatedEntity(String relatedEntity) {
         this.relatedEntity = relatedEntity;
     }
-
-    public String getReadByUsers() {
-        return readByUsers;
-    }
-
-    public void setReadByUsers(String readByUsers) {
-        this.readByUsers = readByUsers;
-    }
-
-    // Helper methods to check and manage read status for broadcast notifications
-    public boolean isReadByUser(UUID userId) {
-        if (readByUsers == null || readByUsers.isEmpty()) return false;
-        return readByUsers.contains(userId.toString());
-    }
-
-    public void markAsReadByUser(UUID userId) {
-        if (readByUsers == null) readByUsers = "";
-        if (!isReadByUser(userId)) {
-            readByUsers += (readByUsers.isEmpty() ? "" : ",") + userId.toString();
-        }
-    }
-
-    public void markAsUnreadByUser(UUID userId) {
-        if (readByUsers == null) return;
-        readByUsers = readByUsers.replace(userId.toString(), "");
-        readByUsers = readByUsers.replace(",,", ",");
-        if (readByUsers.startsWith(",")) readByUsers = readByUsers.substring(1);
-        if (readByUsers.endsWith(",")) readByUsers = readByUsers.substring(0, readByUsers.length() - 1);
-    }
-
-    public String getHiddenByUsers() {
-        return hiddenByUsers;
-    }
-
-    public void setHiddenByUsers(String hiddenByUsers) {
-        this.hiddenByUsers = hiddenByUsers;
-    }
-
-    // Helper methods for hiding notifications
-    public boolean isHiddenByUser(UUID userId) {
-        if (hiddenByUsers == null || hiddenByUsers.isEmpty()) return false;
-        return hiddenByUsers.contains(userId.toString());
-    }
-
-    public void hideForUser(UUID userId) {
-        if (hiddenByUsers == null) hiddenByUsers = "";
-        if (!isHiddenByUser(userId)) {
-            hiddenByUsers += (hiddenByUsers.isEmpty() ? "" : ",") + userId.toString();
-        }
-    }
-
-    public void unhideForUser(UUID userId) {
-        if (hiddenByUsers == null) return;
-        hiddenByUsers = hiddenByUsers.replace(userId.toString(), "");
-        hiddenByUsers = hiddenByUsers.replace(",,", ",");
-        if (hiddenByUsers.startsWith(",")) hiddenByUsers = hiddenByUsers.substring(1);
-        if (hiddenByUsers.endsWith(",")) hiddenByUsers = hiddenByUsers.substring(0, hiddenByUsers.length() - 1);
-    }
-}
\ No newline at end of file
+}
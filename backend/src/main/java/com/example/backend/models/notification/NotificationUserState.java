@@ -0,0 +1,73 @@
+package com.example.backend.models.notification;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-user read / hidden state of a broadcast notification.
+ * A row only exists once the user has interacted with the broadcast;
+ * no row means unread and visible.
+ */
+@Entity
+@Table(name = "notification_user_states",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_notification_user_state", columnNames = {"notification_id", "user_id"})
+       },
+       indexes = {
+           @Index(name = "idx_notification_user_state_user", columnList = "user_id,notification_id")
+       })
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationUserState {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "notification_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Notification notification;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "is_read", nullable = false)
+    private boolean read = false;
+
+    @Column(name = "is_hidden", nullable = false)
+    private boolean hidden = false;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    @Column(name = "hidden_at")
+    private LocalDateTime hiddenAt;
+
+    public NotificationUserState(Notification notification, UUID userId) {
+        this.notification = notification;
+        this.userId = userId;
+    }
+
+    public void markRead() {
+        this.read = true;
+        this.readAt = LocalDateTime.now();
+    }
+
+    public void markUnread() {
+        this.read = false;
+        this.readAt = null;
+    }
+
+    public void hide() {
+        this.hidden = true;
+        this.hiddenAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.backend.models.warehouse;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * On-hand quantity and value of one item type in one warehouse, per item status.
+ * Maintained by the trg_item_stock_levels database trigger on every item change,
+ * so it is read-only here.
+ */
+@Entity
+@Immutable
+@Table(name = "warehouse_stock_levels",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_warehouse_stock_level",
+                             columnNames = {"warehouse_id", "item_type_id", "item_status"})
+       })
+@Getter
+@NoArgsConstructor
+public class WarehouseStockLevel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "warehouse_id", nullable = false)
+    private UUID warehouseId;
+
+    @Column(name = "item_type_id", nullable = false)
+    private UUID itemTypeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_status", nullable = false)
+    private ItemStatus itemStatus;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(name = "total_value", nullable = false)
+    private double totalValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,7 +18,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface MaintenanceRecordRepository extends JpaRepository<MaintenanceRecord, UUID> {
+public interface MaintenanceRecordRepository extends JpaRepository<MaintenanceRecord, UUID>, JpaSpecificationExecutor<MaintenanceRecord> {
     
     // Find records by equipment
     List<MaintenanceRecord> findByEquipmentIdOrderByCreationDateDesc(UUID equipmentId);
@@ -60,6 +61,17 @@ public interface MaintenanceRecordRepository extends JpaRepository<MaintenanceRe
 
     @Query("SELECT m.status, COUNT(m) FROM MaintenanceRecord m GROUP BY m.status")
     List<Object[]> countGroupByStatus();
+
+    // Dashboard metrics: total cost and average cost per record (records without a cost count as 0)
+    @Query("SELECT COALESCE(SUM(r.totalCost), 0), COALESCE(AVG(COALESCE(r.totalCost, 0)), 0) FROM MaintenanceRecord r")
+    List<Object[]> sumAndAverageTotalCost();
+
+    // Count active records past their expected completion date
+    @Query("SELECT COUNT(r) FROM MaintenanceRecord r WHERE r.status = 'ACTIVE' AND r.expectedCompletionDate < :now")
+    long countOverdueRecords(@Param("now") LocalDateTime now);
+
+    // Most recently created records (idx_maintenance_records_creation_date)
+    List<MaintenanceRecord> findTop5ByOrderByCreationDateDesc();
     
     // Count records by equipment
     long countByEquipmentId(UUID equipmentId);
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +17,20 @@ public interface MaintenanceStepRepository extends JpaRepository<MaintenanceStep
     
     // Find steps by maintenance record
     List<MaintenanceStep> findByMaintenanceRecordIdOrderByStartDateAsc(UUID maintenanceRecordId);
+
+    // Steps of several maintenance records in one query, with what the step DTO reads fetched alongside
+    @Query("SELECT s FROM MaintenanceStep s " +
+           "LEFT JOIN FETCH s.stepType " +
+           "LEFT JOIN FETCH s.responsibleContact " +
+           "LEFT JOIN FETCH s.responsibleEmployee e " +
+           "LEFT JOIN FETCH e.jobPosition " +
+           "LEFT JOIN FETCH s.merchantItems " +
+           "WHERE s.maintenanceRecord.id IN :recordIds ORDER BY s.startDate ASC")
+    List<MaintenanceStep> findByMaintenanceRecordIdInOrderByStartDateAsc(@Param("recordIds") Collection<UUID> maintenanceRecordIds);
+
+    // Dashboard metrics: total steps and completed steps (a step is completed once it has an actual end date)
+    @Query("SELECT COUNT(s), COUNT(s.actualEndDate) FROM MaintenanceStep s")
+    List<Object[]> countTotalAndCompleted();
     
     // Find active steps (not completed)
     List<MaintenanceStep> findByMaintenanceRecordIdAndActualEndDateIsNullOrderByStartDateAsc(UUID maintenanceRecordId);
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +27,8 @@ public interface ConsumableRepository extends JpaRepository<Consumable, UUID> {
 
     List<Consumable> findByEquipmentIdAndStatus(UUID equipmentId, ItemStatus status);
 
+    List<Consumable> findByEquipmentIdInAndStatus(Collection<UUID> equipmentIds, ItemStatus status);
+
     List<Consumable> findByEquipmentIdAndStatusOrStatus(UUID equipmentId, ItemStatus status1, ItemStatus status2);
 
     // Method to get ACTIVE (unresolved) consumables with discrepancies
@@ -4,14 +4,20 @@ import com.example.backend.models.equipment.Equipment;
 import com.example.backend.models.equipment.EquipmentStatus;
 import com.example.backend.models.equipment.EquipmentType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface EquipmentRepository extends JpaRepository<Equipment, UUID> {
+public interface EquipmentRepository extends JpaRepository<Equipment, UUID>, JpaSpecificationExecutor<Equipment> {
     List<Equipment> findByType(EquipmentType type);
     boolean existsBySerialNumber (String serialNumber);
 
@@ -25,8 +31,23 @@ public interface EquipmentRepository extends JpaRepository<Equipment, UUID> {
     @Query("SELECT e.status, COUNT(e) FROM Equipment e GROUP BY e.status")
     List<Object[]> countGroupByStatus();
 
+    // Id, name, model, type name, serial number and site name of several equipment, for maintenance record DTOs
+    @Query("SELECT e.id, e.name, e.model, t.name, e.serialNumber, s.name FROM Equipment e " +
+           "LEFT JOIN e.type t LEFT JOIN e.site s WHERE e.id IN :ids")
+    List<Object[]> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
     List<Equipment> findByImageStorageKeyIsNull();
 
+    /**
+     * Remember an image key discovered in S3. Runs in its own transaction so it also works from
+     * read-only callers, and never overwrites a key set by an upload in the meantime.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE Equipment e SET e.imageStorageKey = :imageStorageKey " +
+           "WHERE e.id = :id AND (e.imageStorageKey IS NULL OR e.imageStorageKey = '')")
+    int saveDiscoveredImageStorageKey(@Param("id") UUID id, @Param("imageStorageKey") String imageStorageKey);
+
     boolean existsByPurchaseOrderId(UUID purchaseOrderId);
 
     /**
@@ -56,4 +77,7 @@ public interface EquipmentRepository extends JpaRepository<Equipment, UUID> {
            "LEFT JOIN FETCH e.purchaseSpec " +
            "WHERE e.site.id = :siteId")
     List<Equipment> findBySiteIdWithAssociations(UUID siteId);
-}
\ No newline at end of file
+
+    @Query("SELECT e.site.id FROM Equipment e WHERE e.id = :id")
+    UUID findSiteIdById(@Param("id") UUID id);
+}
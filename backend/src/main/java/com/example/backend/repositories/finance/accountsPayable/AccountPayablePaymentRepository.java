@@ -4,6 +4,7 @@ import com.example.backend.models.finance.accountsPayable.AccountPayablePayment;
 import com.example.backend.models.finance.accountsPayable.enums.AccountType;
 import com.example.backend.models.finance.accountsPayable.enums.PaymentMethod;
 import com.example.backend.models.finance.accountsPayable.enums.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -50,6 +52,40 @@ public interface AccountPayablePaymentRepository extends JpaRepository<AccountPa
     @Query("SELECT p FROM AccountPayablePayment p WHERE p.paymentDate = :today ORDER BY p.processedAt DESC")
     List<AccountPayablePayment> findPaymentsMadeToday(@Param("today") LocalDate today);
 
+    // Dashboard "Paid Today" card: payment count and total for the given date
+    @Query("SELECT COUNT(p), COALESCE(SUM(p.amount), 0) FROM AccountPayablePayment p WHERE p.paymentDate = :today")
+    List<Object[]> countAndSumPaymentsMadeOn(@Param("today") LocalDate today);
+
+    // Payments per merchant with the given status inside an optional date window, largest total first:
+    // merchant id, paid-to name, total, count, last payment date
+    @Query("SELECT p.paidToMerchant.id, MAX(p.paidToName), SUM(p.amount), COUNT(p), MAX(p.paymentDate) " +
+            "FROM AccountPayablePayment p " +
+            "WHERE p.paidToMerchant IS NOT NULL AND p.status = :status " +
+            "AND (:fromDate IS NULL OR p.paymentDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR p.paymentDate <= :toDate) " +
+            "GROUP BY p.paidToMerchant.id " +
+            "ORDER BY SUM(p.amount) DESC")
+    List<Object[]> summarizePaymentsByMerchant(
+            @Param("status") PaymentStatus status,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            Pageable pageable);
+
+    // Latest payments of the given merchants inside the same window (every payment on each merchant's last
+    // payment date), most recently processed first: merchant id, amount
+    @Query("SELECT p.paidToMerchant.id, p.amount FROM AccountPayablePayment p " +
+            "WHERE p.paidToMerchant.id IN :merchantIds AND p.status = :status " +
+            "AND p.paymentDate = (SELECT MAX(l.paymentDate) FROM AccountPayablePayment l " +
+            "WHERE l.paidToMerchant = p.paidToMerchant AND l.status = :status " +
+            "AND (:fromDate IS NULL OR l.paymentDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR l.paymentDate <= :toDate)) " +
+            "ORDER BY p.processedAt DESC")
+    List<Object[]> findLastPaymentAmountsByMerchant(
+            @Param("merchantIds") Collection<UUID> merchantIds,
+            @Param("status") PaymentStatus status,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
     // Find by merchant with date range
     @Query("SELECT p FROM AccountPayablePayment p WHERE p.paidToMerchant.id = :merchantId AND p.paymentDate BETWEEN :startDate AND :endDate ORDER BY p.paymentDate DESC")
     List<AccountPayablePayment> findByMerchantAndDateRange(
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +25,9 @@ public interface OfferFinancialReviewRepository extends JpaRepository<OfferFinan
     // Find by maintenance record ID ordered by creation date (newest first)
     List<OfferFinancialReview> findByMaintenanceRecordIdOrderByCreatedAtDesc(UUID maintenanceRecordId);
 
+    // Reviews of several maintenance records in one query (newest first)
+    List<OfferFinancialReview> findByMaintenanceRecordIdInOrderByCreatedAtDesc(Collection<UUID> maintenanceRecordIds);
+
     // Find by status
     List<OfferFinancialReview> findByStatus(FinanceReviewStatus status);
 
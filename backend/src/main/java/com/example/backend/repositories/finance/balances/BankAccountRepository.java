@@ -2,6 +2,7 @@ package com.example.backend.repositories.finance.balances;
 
 import com.example.backend.models.finance.balances.BankAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,6 +16,14 @@ public interface BankAccountRepository extends JpaRepository<BankAccount, UUID>
 
     List<BankAccount> findByIsActiveFalse();
 
+    // Dashboard totals: accounts, active accounts, current balance of all accounts and available balance
+    // of the active ones (their current balance when no available balance is recorded)
+    @Query("SELECT COUNT(a), COALESCE(SUM(CASE WHEN a.isActive = true THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(a.currentBalance), 0), " +
+            "COALESCE(SUM(CASE WHEN a.isActive = true THEN COALESCE(a.availableBalance, a.currentBalance) END), 0) " +
+            "FROM BankAccount a")
+    List<Object[]> summarizeBalances();
+
     Optional<BankAccount> findByAccountNumber(String accountNumber);
 
     boolean existsByAccountNumber(String accountNumber);
@@ -2,6 +2,7 @@ package com.example.backend.repositories.finance.balances;
 
 import com.example.backend.models.finance.balances.CashSafe;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,6 +15,14 @@ public interface CashSafeRepository extends JpaRepository<CashSafe, UUID> {
 
     List<CashSafe> findByIsActiveFalse();
 
+    // Dashboard totals: accounts, active accounts, current balance of all accounts and available balance
+    // of the active ones (their current balance when no available balance is recorded)
+    @Query("SELECT COUNT(a), COALESCE(SUM(CASE WHEN a.isActive = true THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(a.currentBalance), 0), " +
+            "COALESCE(SUM(CASE WHEN a.isActive = true THEN COALESCE(a.availableBalance, a.currentBalance) END), 0) " +
+            "FROM CashSafe a")
+    List<Object[]> summarizeBalances();
+
     List<CashSafe> findBySafeNameContainingIgnoreCase(String safeName);
 
     List<CashSafe> findByLocationContainingIgnoreCase(String location);
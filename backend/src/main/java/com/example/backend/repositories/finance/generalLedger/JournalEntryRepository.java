@@ -4,13 +4,14 @@ import com.example.backend.models.finance.generalLedger.JournalEntry;
 import com.example.backend.models.finance.generalLedger.JournalEntryStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface JournalEntryRepository extends JpaRepository<JournalEntry, UUID> {
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, UUID>, JpaSpecificationExecutor<JournalEntry> {
     List<JournalEntry> findByStatus(JournalEntryStatus status);
 
     List<JournalEntry> findByEntryDateBetween(LocalDate startDate, LocalDate endDate);
@@ -34,6 +34,10 @@ public interface ItemPriceApprovalRepository extends JpaRepository<ItemPriceAppr
     @Query("SELECT COUNT(ipa) FROM ItemPriceApproval ipa WHERE ipa.warehouse = :warehouse AND ipa.approvalStatus = 'PENDING'")
     Long countPendingApprovalsByWarehouse(@Param("warehouse") Warehouse warehouse);
 
+    // Count pending approvals of every warehouse in one query: [warehouseId, count]
+    @Query("SELECT ipa.warehouse.id, COUNT(ipa) FROM ItemPriceApproval ipa WHERE ipa.approvalStatus = 'PENDING' GROUP BY ipa.warehouse.id")
+    List<Object[]> countPendingApprovalsGroupedByWarehouse();
+
     // Get all approvals by status and warehouse
     List<ItemPriceApproval> findByWarehouseAndApprovalStatus(Warehouse warehouse, ApprovalStatus status);
 
@@ -2,18 +2,23 @@ package com.example.backend.repositories.finance.payables;
 
 import com.example.backend.models.finance.payables.Invoice;
 import com.example.backend.models.finance.payables.InvoiceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
@@ -121,38 +126,52 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
             @Param("maxAmount") BigDecimal maxAmount,
             Pageable pageable);
 
-    // Aging report queries - group invoices by how old they are
-// Replace ALL aging methods in your InvoiceRepository with these corrected versions
+    // Aging report queries - one pass over the unpaid invoices, bucketed by days past due as of :asOfDate
+    // (0 = 0-30 days including not yet due, 1 = 31-60, 2 = 61-90, 3 = over 90; see AgingBucket)
+    String AGING_BUCKET = "CASE WHEN CAST(:asOfDate AS DATE) - i.due_date <= 30 THEN 0 " +
+            "WHEN CAST(:asOfDate AS DATE) - i.due_date <= 60 THEN 1 " +
+            "WHEN CAST(:asOfDate AS DATE) - i.due_date <= 90 THEN 2 " +
+            "ELSE 3 END";
+
+    String AGED_INVOICES = "(SELECT i.invoice_number, i.vendor_name, i.total_amount, " +
+            "i.total_amount - i.paid_amount AS remaining_balance, i.due_date, " +
+            "CAST(:asOfDate AS DATE) - i.due_date AS days_past_due, " +
+            AGING_BUCKET + " AS bucket " +
+            "FROM invoices i WHERE i.status IN (:statuses)) a ";
+
+    // Invoice count and remaining balance per bucket: bucket, count, remaining
+    @Query(value = "SELECT a.bucket, COUNT(*), SUM(a.remaining_balance) FROM " + AGED_INVOICES +
+            "GROUP BY a.bucket", nativeQuery = true)
+    List<Object[]> sumAgingBuckets(@Param("statuses") Collection<String> statuses,
+                                   @Param("asOfDate") LocalDate asOfDate);
+
+    // Full aging report ordered by bucket, vendor and due date: bucket, invoice number, vendor, total,
+    // remaining, due date, days past due, then the vendor's count and remaining within the bucket, then
+    // count and remaining of each of the four buckets (the same on every row, for the report summary)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT a.bucket, a.invoice_number, a.vendor_name, a.total_amount, a.remaining_balance, " +
+            "a.due_date, a.days_past_due, " +
+            "COUNT(*) OVER (PARTITION BY a.bucket, a.vendor_name), " +
+            "SUM(a.remaining_balance) OVER (PARTITION BY a.bucket, a.vendor_name), " +
+            "COUNT(*) FILTER (WHERE a.bucket = 0) OVER (), SUM(a.remaining_balance) FILTER (WHERE a.bucket = 0) OVER (), " +
+            "COUNT(*) FILTER (WHERE a.bucket = 1) OVER (), SUM(a.remaining_balance) FILTER (WHERE a.bucket = 1) OVER (), " +
+            "COUNT(*) FILTER (WHERE a.bucket = 2) OVER (), SUM(a.remaining_balance) FILTER (WHERE a.bucket = 2) OVER (), " +
+            "COUNT(*) FILTER (WHERE a.bucket = 3) OVER (), SUM(a.remaining_balance) FILTER (WHERE a.bucket = 3) OVER () " +
+            "FROM " + AGED_INVOICES +
+            "ORDER BY a.bucket, a.vendor_name, a.due_date, a.invoice_number", nativeQuery = true)
+    Stream<Object[]> streamAgingReport(@Param("statuses") Collection<String> statuses,
+                                       @Param("asOfDate") LocalDate asOfDate);
+
+    // Unpaid invoices of one bucket, oldest due date first
+    List<Invoice> findByStatusInAndDueDateGreaterThanEqualOrderByDueDateAsc(
+            Collection<InvoiceStatus> statuses, LocalDate dueFrom);
+
+    List<Invoice> findByStatusInAndDueDateBetweenOrderByDueDateAsc(
+            Collection<InvoiceStatus> statuses, LocalDate dueFrom, LocalDate dueTo);
+
+    List<Invoice> findByStatusInAndDueDateLessThanOrderByDueDateAsc(
+            Collection<InvoiceStatus> statuses, LocalDate dueBefore);
 
-    // Get invoices aged 0-30 days (Current)
-    @Query("SELECT i FROM Invoice i WHERE " +
-            "i.dueDate <= :currentDate " +
-            "AND i.dueDate >= :thirtyDaysAgo " +
-            "AND i.status NOT IN ('FULLY_PAID', 'CANCELLED') ORDER BY i.dueDate ASC")
-    List<Invoice> findInvoicesAged0To30Days(@Param("currentDate") LocalDate currentDate,
-                                            @Param("thirtyDaysAgo") LocalDate thirtyDaysAgo);
-
-    // Get invoices aged 31-60 days
-    @Query("SELECT i FROM Invoice i WHERE " +
-            "i.dueDate < :thirtyDaysAgo " +
-            "AND i.dueDate >= :sixtyDaysAgo " +
-            "AND i.status NOT IN ('FULLY_PAID', 'CANCELLED') ORDER BY i.dueDate ASC")
-    List<Invoice> findInvoicesAged31To60Days(@Param("thirtyDaysAgo") LocalDate thirtyDaysAgo,
-                                             @Param("sixtyDaysAgo") LocalDate sixtyDaysAgo);
-
-    // Get invoices aged 61-90 days
-    @Query("SELECT i FROM Invoice i WHERE " +
-            "i.dueDate < :sixtyDaysAgo " +
-            "AND i.dueDate >= :ninetyDaysAgo " +
-            "AND i.status NOT IN ('FULLY_PAID', 'CANCELLED') ORDER BY i.dueDate ASC")
-    List<Invoice> findInvoicesAged61To90Days(@Param("sixtyDaysAgo") LocalDate sixtyDaysAgo,
-                                             @Param("ninetyDaysAgo") LocalDate ninetyDaysAgo);
-
-    // Get invoices aged over 90 days
-    @Query("SELECT i FROM Invoice i WHERE " +
-            "i.dueDate < :ninetyDaysAgo " +
-            "AND i.status NOT IN ('FULLY_PAID', 'CANCELLED') ORDER BY i.dueDate ASC")
-    List<Invoice> findInvoicesAgedOver90Days(@Param("ninetyDaysAgo") LocalDate ninetyDaysAgo);
     // Get vendor statistics
     @Query("SELECT i.vendorName, " +
             "COUNT(i) as invoiceCount, " +
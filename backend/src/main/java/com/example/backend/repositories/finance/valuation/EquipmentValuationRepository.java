@@ -3,8 +3,12 @@ package com.example.backend.repositories.finance.valuation;
 import com.example.backend.models.equipment.Equipment;
 import com.example.backend.models.finance.Valuation.EquipmentValuation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,4 +23,14 @@ public interface EquipmentValuationRepository extends JpaRepository<EquipmentVal
     List<EquipmentValuation> findByEquipmentSiteId(UUID siteId);
 
     boolean existsByEquipmentId(UUID equipmentId);
-}
\ No newline at end of file
+
+    /**
+     * Apply a change to the consumable expenses in place. Returns 0 when the equipment has no valuation yet.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EquipmentValuation v SET v.totalExpenses = v.totalExpenses + :expenseDelta, v.updatedAt = :now " +
+            "WHERE v.equipment.id = :equipmentId")
+    int applyExpenseDelta(@Param("equipmentId") UUID equipmentId,
+                          @Param("expenseDelta") double expenseDelta,
+                          @Param("now") LocalDateTime now);
+}
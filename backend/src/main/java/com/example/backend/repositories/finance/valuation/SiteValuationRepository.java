@@ -3,8 +3,13 @@ package com.example.backend.repositories.finance.valuation;
 import com.example.backend.models.finance.Valuation.SiteValuation;
 import com.example.backend.models.site.Site;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,4 +21,30 @@ public interface SiteValuationRepository extends JpaRepository<SiteValuation, UU
     Optional<SiteValuation> findBySiteId(UUID siteId);
 
     boolean existsBySiteId(UUID siteId);
-}
\ No newline at end of file
+
+    @Query("SELECT v FROM SiteValuation v JOIN FETCH v.site")
+    List<SiteValuation> findAllWithSite();
+
+    /**
+     * Apply a change in place, keeping the totals equal to the sum of their categories.
+     * Returns 0 when the site has no valuation yet (it will be calculated in full on first read).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SiteValuation v SET " +
+            "v.warehouseValue = v.warehouseValue + :warehouseValueDelta, " +
+            "v.warehouseExpenses = v.warehouseExpenses + :warehouseExpenseDelta, " +
+            "v.equipmentValue = v.equipmentValue + :equipmentValueDelta, " +
+            "v.equipmentExpenses = v.equipmentExpenses + :equipmentExpenseDelta, " +
+            "v.equipmentCount = COALESCE(v.equipmentCount, 0) + :equipmentCountDelta, " +
+            "v.totalValue = v.totalValue + :warehouseValueDelta + :equipmentValueDelta, " +
+            "v.totalExpenses = v.totalExpenses + :warehouseExpenseDelta + :equipmentExpenseDelta, " +
+            "v.updatedAt = :now " +
+            "WHERE v.site.id = :siteId")
+    int applyDelta(@Param("siteId") UUID siteId,
+                   @Param("warehouseValueDelta") double warehouseValueDelta,
+                   @Param("warehouseExpenseDelta") double warehouseExpenseDelta,
+                   @Param("equipmentValueDelta") double equipmentValueDelta,
+                   @Param("equipmentExpenseDelta") double equipmentExpenseDelta,
+                   @Param("equipmentCountDelta") int equipmentCountDelta,
+                   @Param("now") LocalDateTime now);
+}
@@ -3,8 +3,14 @@ package com.example.backend.repositories.finance.valuation;
 import com.example.backend.models.finance.Valuation.WarehouseValuation;
 import com.example.backend.models.warehouse.Warehouse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,4 +22,23 @@ public interface WarehouseValuationRepository extends JpaRepository<WarehouseVal
     Optional<WarehouseValuation> findByWarehouseId(UUID warehouseId);
 
     boolean existsByWarehouseId(UUID warehouseId);
-}
\ No newline at end of file
+
+    List<WarehouseValuation> findByWarehouseIdIn(Collection<UUID> warehouseIds);
+
+    /**
+     * Apply a change in place. Returns 0 when the warehouse has no valuation yet
+     * (it will be calculated in full on first read).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WarehouseValuation v SET " +
+            "v.currentValue = v.currentValue + :valueDelta, " +
+            "v.totalItems = COALESCE(v.totalItems, 0) + :quantityDelta, " +
+            "v.totalExpenses = v.totalExpenses + :expenseDelta, " +
+            "v.updatedAt = :now " +
+            "WHERE v.warehouse.id = :warehouseId")
+    int applyDelta(@Param("warehouseId") UUID warehouseId,
+                   @Param("valueDelta") double valueDelta,
+                   @Param("quantityDelta") int quantityDelta,
+                   @Param("expenseDelta") double expenseDelta,
+                   @Param("now") LocalDateTime now);
+}
@@ -108,5 +108,18 @@ public interface AttendanceRepository extends JpaRepository<Attendance, UUID> {
             LocalDate endDate
     );
 
+    /**
+     * Fetches every attendance record in a date range for employees with the given status,
+     * ordered by employee and date. Used by the bulk payroll attendance import so the
+     * whole payroll window is loaded in one range query.
+     */
+    @Query("SELECT a FROM Attendance a WHERE a.employee.status = :status " +
+            "AND a.date BETWEEN :startDate AND :endDate ORDER BY a.employee.id, a.date")
+    List<Attendance> findByEmployeeStatusAndDateRange(
+            @Param("status") String status,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
 
 }
\ No newline at end of file
@@ -33,6 +33,18 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
 
     // Find by email
     List<Employee> findByStatus(String status);
+
+    /**
+     * Find employees by status with everything the payroll snapshot reads
+     * (job position, department, payment type) fetched in a single query,
+     * so the entities can be processed off the persistence-context thread.
+     */
+    @Query("SELECT DISTINCT e FROM Employee e " +
+           "LEFT JOIN FETCH e.jobPosition jp " +
+           "LEFT JOIN FETCH jp.department " +
+           "LEFT JOIN FETCH e.paymentType " +
+           "WHERE e.status = :status")
+    List<Employee> findByStatusWithPayrollDetails(@Param("status") String status);
     // Find by department
     @Query("SELECT e FROM Employee e JOIN e.jobPosition jp WHERE jp.department.name = :departmentName")
     List<Employee> findByJobPositionDepartment(String departmentName);
@@ -2,10 +2,12 @@ package com.example.backend.repositories.hr;
 
 import com.example.backend.models.hr.VacationBalance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,4 +45,73 @@ public interface VacationBalanceRepository extends JpaRepository<VacationBalance
 
     // Check if balance exists for employee and year
     boolean existsByEmployeeIdAndYear(UUID employeeId, Integer year);
-}
\ No newline at end of file
+
+    // ==================== Year rollover (set-based) ====================
+
+    /**
+     * Next chunk of ACTIVE employee ids after the given id, in id order
+     */
+    @Query(value = "SELECT e.id FROM employee e " +
+           "WHERE e.status = 'ACTIVE' AND e.id > :afterId " +
+           "ORDER BY e.id LIMIT :limit", nativeQuery = true)
+    List<UUID> findActiveEmployeeIdsAfter(@Param("afterId") UUID afterId, @Param("limit") int limit);
+
+    /**
+     * Create the year's balance for each of the employees that does not have one yet. The allocation
+     * follows the same rule as VacationBalanceService.calculateAllocatedVacationDays: the job position's
+     * vacation_days, else the number in its legacy vacations text ("21 days"), else the default.
+     * Safe to re-run: existing balances are never touched.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO vacation_balances (id, employee_id, year, total_allocated, used_days, " +
+           "pending_days, carried_forward, bonus_days, created_at, updated_at) " +
+           "SELECT gen_random_uuid(), e.id, :year, " +
+           "COALESCE(jp.vacation_days, CAST(substring(lower(jp.vacations) FROM '(\\d+)\\s*days?') AS INTEGER), :defaultDays), " +
+           "0, 0, 0, 0, now(), now() " +
+           "FROM employee e LEFT JOIN job_positions jp ON jp.id = e.job_position_id " +
+           "WHERE e.id IN (:employeeIds) " +
+           "AND NOT EXISTS (SELECT 1 FROM vacation_balances vb WHERE vb.employee_id = e.id AND vb.year = :year) " +
+           "ON CONFLICT (employee_id, year) DO NOTHING", nativeQuery = true)
+    int insertMissingBalances(@Param("employeeIds") Collection<UUID> employeeIds,
+                              @Param("year") int year,
+                              @Param("defaultDays") int defaultDays);
+
+    /**
+     * Next chunk of employee ids with a balance in the given year, after the given id, in id order
+     */
+    @Query(value = "SELECT vb.employee_id FROM vacation_balances vb " +
+           "WHERE vb.year = :year AND vb.employee_id > :afterId " +
+           "ORDER BY vb.employee_id LIMIT :limit", nativeQuery = true)
+    List<UUID> findEmployeeIdsWithBalanceAfter(@Param("year") int year,
+                                               @Param("afterId") UUID afterId,
+                                               @Param("limit") int limit);
+
+    /**
+     * Set each employee's carried-forward days in toYear to their unused fromYear days, capped at
+     * maxCarryForward. Employees with nothing left are not touched. Sets rather than adds, so
+     * re-running gives the same result.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE vacation_balances nb " +
+           "SET carried_forward = LEAST(pb.total_allocated + pb.carried_forward + pb.bonus_days " +
+           "- pb.used_days - pb.pending_days, :maxCarryForward), updated_at = now() " +
+           "FROM vacation_balances pb " +
+           "WHERE pb.year = :fromYear AND pb.employee_id IN (:employeeIds) " +
+           "AND nb.employee_id = pb.employee_id AND nb.year = :toYear " +
+           "AND pb.total_allocated + pb.carried_forward + pb.bonus_days - pb.used_days - pb.pending_days > 0",
+           nativeQuery = true)
+    int carryForwardRemainingDays(@Param("employeeIds") Collection<UUID> employeeIds,
+                                  @Param("fromYear") int fromYear,
+                                  @Param("toYear") int toYear,
+                                  @Param("maxCarryForward") int maxCarryForward);
+
+    /**
+     * Of the given employees, those with unused days in the year (they need a balance to carry into)
+     */
+    @Query(value = "SELECT vb.employee_id FROM vacation_balances vb " +
+           "WHERE vb.year = :year AND vb.employee_id IN (:employeeIds) " +
+           "AND vb.total_allocated + vb.carried_forward + vb.bonus_days - vb.used_days - vb.pending_days > 0",
+           nativeQuery = true)
+    List<UUID> findEmployeeIdsWithRemainingDays(@Param("employeeIds") Collection<UUID> employeeIds,
+                                                @Param("year") int year);
+}
@@ -4,7 +4,11 @@ import com.example.backend.models.id.EntityIdSequence;
 import com.example.backend.models.id.EntityTypeConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.LockModeType;
 import java.util.Optional;
@@ -14,4 +18,19 @@ public interface EntityIdSequenceRepository extends JpaRepository<EntityIdSequen
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<EntityIdSequence> findByEntityType(EntityTypeConfig entityType);
-}
\ No newline at end of file
+
+    /**
+     * Reserve the next blockSize sequence numbers of an entity type in one statement, creating the
+     * sequence if needed. Returns the last number of the reserved block.
+     * Runs in its own transaction so the row lock is released right away rather than when the
+     * caller's (possibly long) transaction commits.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO entity_id_sequences (entity_type, current_sequence, version) " +
+                   "VALUES (:entityType, :blockSize, 0) " +
+                   "ON CONFLICT (entity_type) DO UPDATE " +
+                   "SET current_sequence = entity_id_sequences.current_sequence + :blockSize, " +
+                   "    version = COALESCE(entity_id_sequences.version, 0) + 1 " +
+                   "RETURNING current_sequence", nativeQuery = true)
+    Long reserveBlock(@Param("entityType") String entityType, @Param("blockSize") long blockSize);
+}
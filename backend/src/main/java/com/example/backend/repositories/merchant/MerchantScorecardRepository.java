@@ -0,0 +1,141 @@
+package com.example.backend.repositories.merchant;
+
+import com.example.backend.models.merchant.MerchantScorecard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface MerchantScorecardRepository extends JpaRepository<MerchantScorecard, UUID> {
+
+    // One row per receipt with its issue totals, then one aggregate row per merchant. The merchant filter
+    // (if any) goes between the two halves.
+    String UPSERT_HEAD = "WITH receipt AS (" +
+            "SELECT poi.merchant_id, r.good_quantity, r.is_redelivery, ds.processed_at, it.name AS item_name, " +
+            "COUNT(iss.id) AS issue_count, " +
+            "COUNT(iss.id) FILTER (WHERE iss.issue_status = 'RESOLVED') AS resolved_count, " +
+            "COALESCE(SUM(iss.affected_quantity), 0) AS issue_quantity " +
+            "FROM delivery_item_receipts r " +
+            "JOIN delivery_sessions ds ON ds.id = r.delivery_session_id " +
+            "JOIN purchase_order_item poi ON poi.id = r.purchase_order_item_id " +
+            "LEFT JOIN item_type it ON it.id = poi.item_type_id " +
+            "LEFT JOIN purchase_order_issues iss ON iss.delivery_item_receipt_id = r.id " +
+            "WHERE poi.merchant_id IS NOT NULL ";
+
+    String UPSERT_TAIL = "GROUP BY r.id, poi.merchant_id, ds.processed_at, it.name), " +
+            "ordered AS (" +
+            "SELECT receipt.*, " +
+            "MAX(processed_at) FILTER (WHERE issue_count > 0) OVER (PARTITION BY merchant_id) AS last_issue_at, " +
+            "CAST(processed_at AS DATE) - CAST(LAG(processed_at) OVER " +
+            "(PARTITION BY merchant_id ORDER BY processed_at) AS DATE) AS gap_days " +
+            "FROM receipt), " +
+            "totals AS (" +
+            "SELECT merchant_id, COUNT(*) AS total_receipts, " +
+            "COUNT(*) FILTER (WHERE issue_count = 0) AS good_deliveries, " +
+            "COUNT(*) FILTER (WHERE is_redelivery) AS redeliveries, " +
+            "SUM(good_quantity) AS total_items_delivered, " +
+            "SUM(issue_quantity) AS total_issue_quantity, " +
+            "SUM(issue_count) AS total_issues, " +
+            "SUM(resolved_count) AS issues_resolved, " +
+            "MIN(processed_at) AS first_delivery_at, " +
+            "MAX(processed_at) AS last_delivery_at, " +
+            "COUNT(*) FILTER (WHERE issue_count = 0 " +
+            "AND (last_issue_at IS NULL OR processed_at > last_issue_at)) AS consecutive_good_deliveries, " +
+            "AVG(gap_days) AS delivery_gap_average, " +
+            "STDDEV_POP(gap_days) AS delivery_gap_std_dev, " +
+            "COUNT(*) FILTER (WHERE CAST(processed_at AS DATE) > CURRENT_DATE - 30) AS recent_deliveries, " +
+            "COUNT(*) FILTER (WHERE CAST(processed_at AS DATE) > CURRENT_DATE - 60 " +
+            "AND CAST(processed_at AS DATE) <= CURRENT_DATE - 30) AS previous_deliveries " +
+            "FROM ordered GROUP BY merchant_id), " +
+            "top_item AS (" +
+            "SELECT DISTINCT ON (merchant_id) merchant_id, item_name, quantity " +
+            "FROM (SELECT merchant_id, item_name, SUM(TRUNC(good_quantity)) AS quantity FROM receipt " +
+            "WHERE item_name IS NOT NULL GROUP BY merchant_id, item_name) per_item " +
+            "WHERE quantity > 0 " +
+            "ORDER BY merchant_id, quantity DESC, item_name) " +
+            "INSERT INTO merchant_scorecards (merchant_id, total_receipts, good_deliveries, redeliveries, " +
+            "total_items_delivered, total_issue_quantity, total_issues, issues_resolved, " +
+            "first_delivery_at, last_delivery_at, consecutive_good_deliveries, " +
+            "delivery_gap_average, delivery_gap_std_dev, recent_deliveries, previous_deliveries, " +
+            "most_ordered_item, most_ordered_item_quantity, computed_at) " +
+            "SELECT t.merchant_id, t.total_receipts, t.good_deliveries, t.redeliveries, " +
+            "t.total_items_delivered, t.total_issue_quantity, t.total_issues, t.issues_resolved, " +
+            "t.first_delivery_at, t.last_delivery_at, t.consecutive_good_deliveries, " +
+            "t.delivery_gap_average, t.delivery_gap_std_dev, t.recent_deliveries, t.previous_deliveries, " +
+            "ti.item_name, COALESCE(ti.quantity, 0), now() " +
+            "FROM totals t LEFT JOIN top_item ti ON ti.merchant_id = t.merchant_id " +
+            "ON CONFLICT (merchant_id) DO UPDATE SET " +
+            "total_receipts = EXCLUDED.total_receipts, " +
+            "good_deliveries = EXCLUDED.good_deliveries, " +
+            "redeliveries = EXCLUDED.redeliveries, " +
+            "total_items_delivered = EXCLUDED.total_items_delivered, " +
+            "total_issue_quantity = EXCLUDED.total_issue_quantity, " +
+            "total_issues = EXCLUDED.total_issues, " +
+            "issues_resolved = EXCLUDED.issues_resolved, " +
+            "first_delivery_at = EXCLUDED.first_delivery_at, " +
+            "last_delivery_at = EXCLUDED.last_delivery_at, " +
+            "consecutive_good_deliveries = EXCLUDED.consecutive_good_deliveries, " +
+            "delivery_gap_average = EXCLUDED.delivery_gap_average, " +
+            "delivery_gap_std_dev = EXCLUDED.delivery_gap_std_dev, " +
+            "recent_deliveries = EXCLUDED.recent_deliveries, " +
+            "previous_deliveries = EXCLUDED.previous_deliveries, " +
+            "most_ordered_item = EXCLUDED.most_ordered_item, " +
+            "most_ordered_item_quantity = EXCLUDED.most_ordered_item_quantity, " +
+            "computed_at = EXCLUDED.computed_at";
+
+    String ISSUE_TYPES_HEAD = "INSERT INTO merchant_scorecard_issue_types (merchant_id, issue_type, issue_count) " +
+            "SELECT poi.merchant_id, iss.issue_type, COUNT(*) " +
+            "FROM purchase_order_issues iss " +
+            "JOIN delivery_item_receipts r ON r.id = iss.delivery_item_receipt_id " +
+            "JOIN purchase_order_item poi ON poi.id = r.purchase_order_item_id " +
+            "WHERE poi.merchant_id IS NOT NULL ";
+
+    String ISSUE_TYPES_TAIL = "GROUP BY poi.merchant_id, iss.issue_type " +
+            "ON CONFLICT (merchant_id, issue_type) DO UPDATE SET issue_count = EXCLUDED.issue_count";
+
+    String WITHOUT_RECEIPTS = "NOT EXISTS (SELECT 1 FROM delivery_item_receipts r " +
+            "JOIN purchase_order_item poi ON poi.id = r.purchase_order_item_id " +
+            "WHERE poi.merchant_id = s.merchant_id)";
+
+    // ---- Refresh of the given merchants ----
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_HEAD + "AND poi.merchant_id IN (:merchantIds) " + UPSERT_TAIL, nativeQuery = true)
+    int upsertScorecards(@Param("merchantIds") Collection<UUID> merchantIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM merchant_scorecards s WHERE s.merchant_id IN (:merchantIds) AND " + WITHOUT_RECEIPTS,
+            nativeQuery = true)
+    int deleteScorecardsWithoutReceipts(@Param("merchantIds") Collection<UUID> merchantIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM merchant_scorecard_issue_types WHERE merchant_id IN (:merchantIds)", nativeQuery = true)
+    int deleteIssueTypeCounts(@Param("merchantIds") Collection<UUID> merchantIds);
+
+    @Modifying
+    @Query(value = ISSUE_TYPES_HEAD + "AND poi.merchant_id IN (:merchantIds) " + ISSUE_TYPES_TAIL, nativeQuery = true)
+    int insertIssueTypeCounts(@Param("merchantIds") Collection<UUID> merchantIds);
+
+    // ---- Full rebuild ----
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = UPSERT_HEAD + UPSERT_TAIL, nativeQuery = true)
+    int upsertAllScorecards();
+
+    @Modifying
+    @Query(value = "DELETE FROM merchant_scorecards s WHERE " + WITHOUT_RECEIPTS, nativeQuery = true)
+    int deleteAllScorecardsWithoutReceipts();
+
+    @Modifying
+    @Query(value = "DELETE FROM merchant_scorecard_issue_types", nativeQuery = true)
+    int deleteAllIssueTypeCounts();
+
+    @Modifying
+    @Query(value = ISSUE_TYPES_HEAD + ISSUE_TYPES_TAIL, nativeQuery = true)
+    int insertAllIssueTypeCounts();
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,9 +25,46 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     // Find broadcast notifications (user is null)
     List<Notification> findByUserIsNullOrderByCreatedAtDesc();
 
+    // Broadcast notifications the user has not hidden
+    @Query("SELECT n FROM Notification n WHERE n.user IS NULL AND NOT EXISTS (" +
+            "SELECT s.id FROM NotificationUserState s " +
+            "WHERE s.notification = n AND s.userId = :userId AND s.hidden = true) " +
+            "ORDER BY n.createdAt DESC")
+    List<Notification> findVisibleBroadcastsForUser(@Param("userId") UUID userId);
+
+    /**
+     * One keyset page of the user's feed: own notifications merged with visible broadcasts,
+     * newest first. Each branch is bounded by its own index scan before the merge.
+     * Pass the created_at / id of the last row of the previous page as the cursor.
+     */
+    @Query(value = "SELECT feed.* FROM (" +
+            "(SELECT n.* FROM notifications n " +
+            "WHERE n.user_id = :userId AND (n.created_at, n.id) < (:cursorCreatedAt, :cursorId) " +
+            "ORDER BY n.created_at DESC, n.id DESC LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT n.* FROM notifications n " +
+            "WHERE n.user_id IS NULL AND (n.created_at, n.id) < (:cursorCreatedAt, :cursorId) " +
+            "AND NOT EXISTS (SELECT 1 FROM notification_user_states s " +
+            "WHERE s.notification_id = n.id AND s.user_id = :userId AND s.is_hidden = TRUE) " +
+            "ORDER BY n.created_at DESC, n.id DESC LIMIT :limit)" +
+            ") feed ORDER BY feed.created_at DESC, feed.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<Notification> findFeedPageForUser(@Param("userId") UUID userId,
+                                           @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                           @Param("cursorId") UUID cursorId,
+                                           @Param("limit") int limit);
+
     // Count unread notifications for a user
     long countByUserAndReadFalse(User user);
 
+    // Unread user-specific notifications plus broadcasts the user has neither read nor hidden
+    @Query("SELECT COUNT(n) FROM Notification n WHERE " +
+            "(n.user.id = :userId AND n.read = false) OR " +
+            "(n.user IS NULL AND NOT EXISTS (" +
+            "SELECT s.id FROM NotificationUserState s " +
+            "WHERE s.notification = n AND s.userId = :userId AND (s.read = true OR s.hidden = true)))")
+    long countUnreadForUser(@Param("userId") UUID userId);
+
     // Mark notification as read
     @Modifying
     @Query("UPDATE Notification n SET n.read = true WHERE n.id = :notificationId AND n.user = :user")
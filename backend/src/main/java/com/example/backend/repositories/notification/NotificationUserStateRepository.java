@@ -0,0 +1,24 @@
+package com.example.backend.repositories.notification;
+
+import com.example.backend.models.notification.NotificationUserState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface NotificationUserStateRepository extends JpaRepository<NotificationUserState, UUID> {
+
+    Optional<NotificationUserState> findByNotificationIdAndUserId(UUID notificationId, UUID userId);
+
+    // Which of the given broadcasts the user has already read
+    @Query("SELECT s.notification.id FROM NotificationUserState s " +
+            "WHERE s.userId = :userId AND s.read = true AND s.notification.id IN :notificationIds")
+    Set<UUID> findReadNotificationIds(@Param("userId") UUID userId,
+                                      @Param("notificationIds") Collection<UUID> notificationIds);
+}
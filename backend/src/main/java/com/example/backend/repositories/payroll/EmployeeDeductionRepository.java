@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -52,6 +53,23 @@ public interface EmployeeDeductionRepository extends JpaRepository<EmployeeDeduc
         @Param("periodEnd") LocalDate periodEnd
     );
 
+    /**
+     * Find deductions active during a payroll period for a set of employees,
+     * with the deduction type fetched (batch payroll calculation)
+     */
+    @Query("SELECT ed FROM EmployeeDeduction ed " +
+           "JOIN FETCH ed.deductionType " +
+           "WHERE ed.employee.id IN :employeeIds " +
+           "AND ed.isActive = true " +
+           "AND ed.effectiveStartDate <= :periodEnd " +
+           "AND (ed.effectiveEndDate IS NULL OR ed.effectiveEndDate >= :periodStart) " +
+           "ORDER BY ed.priority ASC")
+    List<EmployeeDeduction> findActiveForPayrollPeriodByEmployeeIds(
+        @Param("employeeIds") Collection<UUID> employeeIds,
+        @Param("periodStart") LocalDate periodStart,
+        @Param("periodEnd") LocalDate periodEnd
+    );
+
     /**
      * Find by employee and deduction type
      */
@@ -17,6 +17,42 @@ public interface EmployeePayrollRepository extends JpaRepository<EmployeePayroll
      * Find all employee payrolls for a specific payroll
      */
     List<EmployeePayroll> findByPayrollId(UUID payrollId);
+
+    /**
+     * Find all employee payrolls for a payroll with attendance snapshots fetched.
+     * Combine with {@link #findByPayrollIdWithDeductions} in the same transaction
+     * to initialise both collections without one query per employee.
+     */
+    @Query("SELECT DISTINCT ep FROM EmployeePayroll ep " +
+           "LEFT JOIN FETCH ep.attendanceSnapshots " +
+           "WHERE ep.payroll.id = :payrollId")
+    List<EmployeePayroll> findByPayrollIdWithAttendanceSnapshots(@Param("payrollId") UUID payrollId);
+
+    /**
+     * Find all employee payrolls for a payroll with deductions fetched
+     */
+    @Query("SELECT DISTINCT ep FROM EmployeePayroll ep " +
+           "LEFT JOIN FETCH ep.deductions " +
+           "WHERE ep.payroll.id = :payrollId")
+    List<EmployeePayroll> findByPayrollIdWithDeductions(@Param("payrollId") UUID payrollId);
+
+    /**
+     * Sum forgiven late days per employee across other payrolls overlapping a date range.
+     * Returns rows of [employeeId, forgivenLateDays].
+     */
+    @Query("SELECT ep.employeeId, SUM(COALESCE(ep.forgivenLateDays, 0)) FROM EmployeePayroll ep " +
+           "JOIN ep.payroll p " +
+           "WHERE ep.employeeId IN :employeeIds " +
+           "AND p.id <> :excludedPayrollId " +
+           "AND p.endDate >= :startDate " +
+           "AND p.startDate <= :endDate " +
+           "GROUP BY ep.employeeId")
+    List<Object[]> sumForgivenLateDaysByEmployee(
+        @Param("employeeIds") java.util.Collection<UUID> employeeIds,
+        @Param("excludedPayrollId") UUID excludedPayrollId,
+        @Param("startDate") java.time.LocalDate startDate,
+        @Param("endDate") java.time.LocalDate endDate
+    );
     
     /**
      * Find employee payroll by payroll and employee
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,6 +33,13 @@ public interface LoanRepository extends JpaRepository<Loan, UUID> {
      */
     List<Loan> findByEmployeeIdAndStatus(UUID employeeId, Loan.LoanStatus status);
 
+    /**
+     * Find loans for a set of employees by status (batch payroll calculation)
+     */
+    @Query("SELECT l FROM Loan l WHERE l.employee.id IN :employeeIds AND l.status = :status")
+    List<Loan> findByEmployeeIdsAndStatus(@Param("employeeIds") Collection<UUID> employeeIds,
+                                          @Param("status") Loan.LoanStatus status);
+
     /**
      * Find active loans for a specific employee
      */
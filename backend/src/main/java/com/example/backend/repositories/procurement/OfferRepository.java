@@ -6,12 +6,13 @@ import com.example.backend.models.procurement.Offer.Offer;
 import com.example.backend.models.procurement.RequestOrder.RequestOrder;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface OfferRepository extends JpaRepository<Offer, UUID> {
+public interface OfferRepository extends JpaRepository<Offer, UUID>, JpaSpecificationExecutor<Offer> {
     List<Offer> findByRequestOrder(RequestOrder requestOrder);
     List<Offer> findByStatus(String status);
 
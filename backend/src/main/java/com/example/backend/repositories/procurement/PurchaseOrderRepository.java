@@ -4,12 +4,14 @@ import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrder;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.Collection;
 
-public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, UUID> {
+public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, UUID>, JpaSpecificationExecutor<PurchaseOrder> {
     // Dashboard metrics methods
     long countByStatus(String status);
     List<PurchaseOrder> findByStatus(String status);
@@ -25,6 +27,15 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, UU
             "LEFT JOIN FETCH poi.merchant")
     List<PurchaseOrder> findAllWithDetails();
 
+    // Same details for one page of POs (initializes the already loaded instances)
+    @Query("SELECT DISTINCT po FROM PurchaseOrder po " +
+            "LEFT JOIN FETCH po.purchaseOrderItems poi " +
+            "LEFT JOIN FETCH poi.itemType it " +
+            "LEFT JOIN FETCH it.itemCategory " +
+            "LEFT JOIN FETCH poi.merchant " +
+            "WHERE po.id IN :ids")
+    List<PurchaseOrder> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
     // NEW: Fetch single PO with item details including category
     @Query("SELECT po FROM PurchaseOrder po " +
             "LEFT JOIN FETCH po.purchaseOrderItems poi " +
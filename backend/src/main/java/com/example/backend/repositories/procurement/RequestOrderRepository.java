@@ -4,13 +4,15 @@ import com.example.backend.models.procurement.RequestOrder.RequestOrder;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface RequestOrderRepository extends JpaRepository<RequestOrder, UUID> {
+public interface RequestOrderRepository extends JpaRepository<RequestOrder, UUID>, JpaSpecificationExecutor<RequestOrder> {
 
     @Query("SELECT ro FROM RequestOrder ro " +
             "LEFT JOIN FETCH ro.requestItems ri " +
@@ -31,6 +33,25 @@ public interface RequestOrderRepository extends JpaRepository<RequestOrder, UUID
             @Param("createdAfter") LocalDateTime createdAfter
     );
 
+    /**
+     * For each of the item types, the newest request order of the warehouse that requests it with
+     * one of the statuses since createdAfter. One row per item type that has one:
+     * [item_type_id, request_order_id, status, title, created_at]
+     */
+    @Query(value = "SELECT latest.item_type_id, latest.id, latest.status, latest.title, latest.created_at " +
+            "FROM (SELECT ri.item_type_id, ro.id, ro.status, ro.title, ro.created_at, " +
+            "ROW_NUMBER() OVER (PARTITION BY ri.item_type_id ORDER BY ro.created_at DESC, ro.id DESC) AS rn " +
+            "FROM request_order ro JOIN request_order_item ri ON ri.request_order_id = ro.id " +
+            "WHERE ro.requester_id = :warehouseId AND ri.item_type_id IN (:itemTypeIds) " +
+            "AND ro.status IN (:statuses) AND ro.created_at >= :createdAfter) latest " +
+            "WHERE latest.rn = 1", nativeQuery = true)
+    List<Object[]> findMostRecentByWarehouseAndItemTypes(
+            @Param("warehouseId") UUID warehouseId,
+            @Param("itemTypeIds") Collection<UUID> itemTypeIds,
+            @Param("statuses") List<String> statuses,
+            @Param("createdAfter") LocalDateTime createdAfter
+    );
+
     // Dashboard metrics methods
     long countByStatus(String status);
     List<RequestOrder> findByStatus(String status);
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,6 +19,15 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
 
     Optional<Transaction> findByBatchNumber(Integer batchNumber);
 
+    /**
+     * Transactions with their items and item types in one query, for bulk acceptance
+     */
+    @Query("SELECT DISTINCT t FROM Transaction t " +
+            "LEFT JOIN FETCH t.items i " +
+            "LEFT JOIN FETCH i.itemType " +
+            "WHERE t.id IN :ids")
+    List<Transaction> findAllWithItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
     List<Transaction> findByPurpose(TransactionPurpose purpose);
 
 
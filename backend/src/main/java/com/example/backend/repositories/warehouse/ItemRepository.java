@@ -5,11 +5,13 @@ import com.example.backend.models.warehouse.Item;
 import com.example.backend.models.warehouse.ItemStatus;
 import com.example.backend.models.warehouse.ItemType;
 import com.example.backend.models.warehouse.Warehouse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +29,33 @@ public interface ItemRepository extends JpaRepository<Item, UUID> {
             UUID warehouseId,
             ItemStatus status);
 
+    /**
+     * Oldest lots first (undated lots last), served by idx_item_fifo_lots.
+     * Page through with the first page only: fully consumed lots are deleted before the next fetch.
+     */
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.warehouse.id = :warehouseId " +
+            "AND i.itemType.id = :itemTypeId " +
+            "AND i.itemStatus = :itemStatus " +
+            "ORDER BY i.createdAt ASC NULLS LAST, i.id ASC")
+    List<Item> findFifoLots(@Param("warehouseId") UUID warehouseId,
+                            @Param("itemTypeId") UUID itemTypeId,
+                            @Param("itemStatus") ItemStatus itemStatus,
+                            Pageable pageable);
+
+    /**
+     * (warehouseId, itemTypeId, unitPrice) of the priced IN_WAREHOUSE lots of the given warehouses and item types,
+     * newest first, so stock returned to many warehouses can be priced without a query per line
+     */
+    @Query("SELECT i.warehouse.id, i.itemType.id, i.unitPrice FROM Item i " +
+            "WHERE i.warehouse.id IN :warehouseIds " +
+            "AND i.itemType.id IN :itemTypeIds " +
+            "AND i.itemStatus = 'IN_WAREHOUSE' " +
+            "AND i.unitPrice > 0 " +
+            "ORDER BY i.createdAt DESC NULLS LAST")
+    List<Object[]> findLotUnitPrices(@Param("warehouseIds") Collection<UUID> warehouseIds,
+                                     @Param("itemTypeIds") Collection<UUID> itemTypeIds);
+
     List<Item> findAllByItemTypeIdAndWarehouseIdAndItemStatusAndQuantity(
             UUID itemTypeId,
             UUID warehouseId,
@@ -23,4 +23,10 @@ public interface WarehouseRepository extends JpaRepository<Warehouse, UUID> {
 
     @Query("SELECT w FROM Warehouse w LEFT JOIN FETCH w.site LEFT JOIN FETCH w.employees e LEFT JOIN FETCH e.jobPosition WHERE w.id = :id")
     Optional<Warehouse> findByIdWithSiteAndEmployees(@Param("id") UUID id);
+
+    @Query("SELECT w FROM Warehouse w JOIN FETCH w.site")
+    List<Warehouse> findAllWithSite();
+
+    @Query("SELECT w.site.id FROM Warehouse w WHERE w.id = :id")
+    UUID findSiteIdById(@Param("id") UUID id);
 }
@@ -0,0 +1,33 @@
+package com.example.backend.repositories.warehouse;
+
+import com.example.backend.models.warehouse.ItemStatus;
+import com.example.backend.models.warehouse.WarehouseStockLevel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WarehouseStockLevelRepository extends JpaRepository<WarehouseStockLevel, UUID> {
+
+    Optional<WarehouseStockLevel> findByWarehouseIdAndItemTypeIdAndItemStatus(
+            UUID warehouseId, UUID itemTypeId, ItemStatus itemStatus);
+
+    List<WarehouseStockLevel> findByWarehouseIdAndItemStatus(UUID warehouseId, ItemStatus itemStatus);
+
+    /**
+     * Read the on-hand quantity and lock the aggregate row until the transaction ends.
+     * A scalar query, so a stale copy in the persistence context can never be returned;
+     * pending item changes are flushed (and applied by the trigger) before it runs.
+     */
+    @Query(value = "SELECT quantity FROM warehouse_stock_levels " +
+            "WHERE warehouse_id = :warehouseId AND item_type_id = :itemTypeId AND item_status = :itemStatus " +
+            "FOR UPDATE", nativeQuery = true)
+    Long lockQuantity(@Param("warehouseId") UUID warehouseId,
+                      @Param("itemTypeId") UUID itemTypeId,
+                      @Param("itemStatus") String itemStatus);
+}
@@ -5,11 +5,13 @@ import com.example.backend.authentication.AuthenticationService;
 import com.example.backend.authentication.RegisterRequest;
 import com.example.backend.dto.user.UserDTO;
 import com.example.backend.dto.warehouse.WarehouseDTO;
+import com.example.backend.events.UserAccessChangedEvent;
 import com.example.backend.models.user.Role;
 import com.example.backend.models.user.User;
 import com.example.backend.models.warehouse.Warehouse;
 import com.example.backend.repositories.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,6 +29,7 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final AuthenticationService authenticationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Register a new user with a specific role
@@ -51,6 +54,7 @@ public class AdminService {
         User user = userOptional.get();
         user.setRole(newRole);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getUsername()));
 
         return true;
     }
@@ -107,11 +111,11 @@ public class AdminService {
     public boolean removeUser(UUID userId) {
         checkAdminAccess();
 
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found with ID: " + userId);
-        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
-        userRepository.deleteById(userId);
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getUsername()));
         return true;
     }
 
@@ -123,6 +127,7 @@ public class AdminService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User with ID " + userId + " not found"));
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getUsername()));
     }
 
     /**
@@ -0,0 +1,239 @@
+package com.example.backend.services;
+
+import com.example.backend.dto.dashboard.*;
+import com.example.backend.events.ValuationDeltaEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Precomputed role dashboards.
+ * <p>
+ * Dashboards are the same for every user of a role, so they are computed on a schedule (in parallel)
+ * and kept in memory; requests just return the latest snapshot. Snapshots older than the refresh
+ * interval are still served while a background refresh runs (stale-while-revalidate); only a missing
+ * snapshot or one older than the max-stale limit is computed on the request thread.
+ * Stock movements mark the affected dashboards stale so they are refreshed on their next read.
+ */
+@Service
+@Slf4j
+public class DashboardSnapshotService {
+
+    public static final DashboardView<AdminDashboardDTO> ADMIN =
+            new DashboardView<>("admin", DashboardService::getAdminDashboard);
+    public static final DashboardView<SiteAdminDashboardDTO> SITE_ADMIN =
+            new DashboardView<>("site-admin", DashboardService::getSiteAdminDashboard);
+    public static final DashboardView<EquipmentManagerDashboardDTO> EQUIPMENT_MANAGER =
+            new DashboardView<>("equipment-manager", DashboardService::getEquipmentManagerDashboard);
+    public static final DashboardView<WarehouseManagerDashboardDTO> WAREHOUSE_MANAGER =
+            new DashboardView<>("warehouse-manager", DashboardService::getWarehouseManagerDashboard);
+    public static final DashboardView<HRManagerDashboardDTO> HR_MANAGER =
+            new DashboardView<>("hr-manager", DashboardService::getHRManagerDashboard);
+    public static final DashboardView<HREmployeeDashboardDTO> HR_EMPLOYEE =
+            new DashboardView<>("hr-employee", DashboardService::getHREmployeeDashboard);
+    public static final DashboardView<FinanceDashboardDTO> FINANCE =
+            new DashboardView<>("finance", DashboardService::getFinanceDashboard);
+    public static final DashboardView<MaintenanceDashboardDTO> MAINTENANCE =
+            new DashboardView<>("maintenance", DashboardService::getMaintenanceDashboard);
+    public static final DashboardView<ProcurementDashboardDTO> PROCUREMENT =
+            new DashboardView<>("procurement", DashboardService::getProcurementDashboard);
+    public static final DashboardView<SecretaryDashboardDTO> SECRETARY =
+            new DashboardView<>("secretary", DashboardService::getSecretaryDashboard);
+
+    static final List<DashboardView<?>> VIEWS = List.of(ADMIN, SITE_ADMIN, EQUIPMENT_MANAGER, WAREHOUSE_MANAGER,
+            HR_MANAGER, HR_EMPLOYEE, FINANCE, MAINTENANCE, PROCUREMENT, SECRETARY);
+
+    private final DashboardService dashboardService;
+    private final Executor refreshExecutor;
+    private final Duration refreshInterval;
+    private final Duration maxStale;
+    private final Map<DashboardView<?>, Entry> entries = new ConcurrentHashMap<>();
+
+    Clock clock = Clock.systemUTC();
+
+    public DashboardSnapshotService(DashboardService dashboardService,
+                                    @Qualifier("dashboardRefreshExecutor") Executor refreshExecutor,
+                                    @Value("${dashboard.snapshot.refresh-ms:60000}") long refreshMs,
+                                    @Value("${dashboard.snapshot.max-stale-ms:600000}") long maxStaleMs) {
+        this.dashboardService = dashboardService;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshInterval = Duration.ofMillis(refreshMs);
+        this.maxStale = Duration.ofMillis(maxStaleMs);
+        VIEWS.forEach(view -> entries.put(view, new Entry()));
+    }
+
+    /**
+     * Latest snapshot of a dashboard, refreshing it in the background if it is stale
+     */
+    @SuppressWarnings("unchecked")
+    public <T> DashboardSnapshot<T> get(DashboardView<T> view) {
+        Entry entry = entries.get(view);
+        DashboardSnapshot<?> snapshot = entry.snapshot;
+
+        if (snapshot == null || snapshot.age(clock).compareTo(maxStale) > 0) {
+            synchronized (entry) {
+                // Another request may have computed it while we waited
+                snapshot = entry.snapshot;
+                if (snapshot == null || snapshot.age(clock).compareTo(maxStale) > 0) {
+                    snapshot = compute(view, entry);
+                }
+            }
+        } else if (entry.invalidated || snapshot.age(clock).compareTo(refreshInterval) > 0) {
+            refreshInBackground(view, entry);
+        }
+        return (DashboardSnapshot<T>) snapshot;
+    }
+
+    /**
+     * Dashboard of the authenticated user's role
+     */
+    public DashboardSnapshot<?> getForCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String role = authentication.getAuthorities().stream()
+                .findFirst()
+                .map(auth -> auth.getAuthority().replace("ROLE_", ""))
+                .orElse("USER");
+
+        return getByRole(role);
+    }
+
+    /**
+     * Dashboard for a role, as routed by {@link DashboardService#getDashboardByRole}.
+     * The user dashboard is per user and always computed live.
+     */
+    public DashboardSnapshot<?> getByRole(String role) {
+        switch (role) {
+            case "ADMIN":
+                return get(ADMIN);
+            case "SITE_ADMIN":
+                return get(SITE_ADMIN);
+            case "EQUIPMENT_MANAGER":
+                return get(EQUIPMENT_MANAGER);
+            case "WAREHOUSE_MANAGER":
+            case "WAREHOUSE_EMPLOYEE":
+                return get(WAREHOUSE_MANAGER);
+            case "HR_MANAGER":
+                return get(HR_MANAGER);
+            case "HR_EMPLOYEE":
+                return get(HR_EMPLOYEE);
+            case "FINANCE_MANAGER":
+            case "FINANCE_EMPLOYEE":
+                return get(FINANCE);
+            case "MAINTENANCE_MANAGER":
+            case "MAINTENANCE_EMPLOYEE":
+                return get(MAINTENANCE);
+            case "PROCUREMENT":
+                return get(PROCUREMENT);
+            case "SECRETARY":
+                return get(SECRETARY);
+            case "USER":
+            default:
+                return new DashboardSnapshot<>(dashboardService.getUserDashboard(), Instant.now(clock));
+        }
+    }
+
+    /**
+     * Recompute every dashboard in parallel. Runs once at startup and then after each interval.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.refresh-ms:60000}")
+    public void refreshAll() {
+        List<CompletableFuture<Void>> refreshes = VIEWS.stream()
+                .map(view -> CompletableFuture.runAsync(() -> refresh(view, entries.get(view)), refreshExecutor))
+                .toList();
+        CompletableFuture.allOf(refreshes.toArray(new CompletableFuture[0])).join();
+        log.debug("Refreshed {} dashboard snapshots", refreshes.size());
+    }
+
+    /**
+     * Stock moved: warehouse counts on the admin and warehouse dashboards are out of date
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(ValuationDeltaEvent event) {
+        invalidate(ADMIN, WAREHOUSE_MANAGER);
+    }
+
+    /**
+     * Mark dashboards stale so their next read triggers a background refresh
+     */
+    public void invalidate(DashboardView<?>... views) {
+        for (DashboardView<?> view : views) {
+            entries.get(view).invalidated = true;
+        }
+    }
+
+    private void refreshInBackground(DashboardView<?> view, Entry entry) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    compute(view, entry);
+                } catch (Exception e) {
+                    log.warn("Background refresh of {} dashboard failed: {}", view.name(), e.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Pool is busy; the next read or scheduled refresh tries again
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void refresh(DashboardView<?> view, Entry entry) {
+        try {
+            compute(view, entry);
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            log.error("Failed to refresh {} dashboard", view.name(), e);
+        }
+    }
+
+    private DashboardSnapshot<?> compute(DashboardView<?> view, Entry entry) {
+        // Clear the flag first so invalidations during the computation are not lost
+        entry.invalidated = false;
+        Instant computedAt = Instant.now(clock);
+        DashboardSnapshot<?> snapshot = new DashboardSnapshot<>(view.loader().apply(dashboardService), computedAt);
+        entry.snapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * A precomputed dashboard and how to compute it
+     */
+    public record DashboardView<T>(String name, Function<DashboardService, T> loader) {}
+
+    /**
+     * Dashboard data with the time it was computed
+     */
+    public record DashboardSnapshot<T>(T data, Instant computedAt) {
+        public Duration age(Clock clock) {
+            return Duration.between(computedAt, Instant.now(clock));
+        }
+    }
+
+    private static final class Entry {
+        private volatile DashboardSnapshot<?> snapshot;
+        private volatile boolean invalidated;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+    }
+}
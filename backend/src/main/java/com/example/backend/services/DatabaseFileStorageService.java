@@ -7,10 +7,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.persistence.*;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.Date;
 import java.util.UUID;
 
 @Service
@@ -23,6 +25,10 @@ public class DatabaseFileStorageService {
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
 
+    // Bytes fetched per query when streaming a stored file
+    @Value("${app.db-storage.read-chunk-bytes:1048576}")
+    private int readChunkBytes = 1024 * 1024;
+
     @Transactional
     public String uploadFile(String bucketName, String fileName, MultipartFile file) throws IOException {
         String fileId = UUID.randomUUID().toString();
@@ -42,15 +48,18 @@ public class DatabaseFileStorageService {
         return baseUrl + "/api/v1/files/" + fileId;
     }
 
+    /**
+     * Content of a stored file as a stream that fetches it chunk by chunk, like {@link #openDownload}
+     */
     @Transactional(readOnly = true)
     public InputStream getFile(String bucketName, String fileName) {
-        String query = "SELECT f FROM FileEntity f WHERE f.bucketName = :bucket AND f.fileName = :fileName";
-        FileEntity file = entityManager.createQuery(query, FileEntity.class)
+        String query = "SELECT f.id, f.size FROM FileEntity f WHERE f.bucketName = :bucket AND f.fileName = :fileName";
+        Object[] file = entityManager.createQuery(query, Object[].class)
                 .setParameter("bucket", bucketName)
                 .setParameter("fileName", fileName)
                 .getSingleResult();
-        
-        return new ByteArrayInputStream(file.getData());
+
+        return new DatabaseFileInputStream((String) file[0], (Long) file[1]);
     }
 
     @Transactional(readOnly = true)
@@ -58,6 +67,32 @@ public class DatabaseFileStorageService {
         return entityManager.find(FileEntity.class, fileId);
     }
 
+    /**
+     * Metadata of a stored file, with content read chunk-wise (substring of the bytea column)
+     * while it is written, so the whole blob is never held in memory. Returns null if unknown.
+     */
+    @Transactional(readOnly = true)
+    public FileDownload openDownload(String fileId) {
+        String query = "SELECT f.fileName, f.contentType, f.size, f.uploadedAt FROM FileEntity f WHERE f.id = :id";
+        return entityManager.createQuery(query, Object[].class)
+                .setParameter("id", fileId)
+                .getResultStream()
+                .findFirst()
+                .map(row -> (FileDownload) new DatabaseFileDownload(fileId, (String) row[0], (String) row[1],
+                        (Long) row[2], (Date) row[3]))
+                .orElse(null);
+    }
+
+    private byte[] readChunk(String fileId, long offset, int length) {
+        // substring on bytea is 1-based
+        return (byte[]) entityManager.createNativeQuery(
+                        "SELECT substring(data FROM :from FOR :length) FROM stored_files WHERE id = :id")
+                .setParameter("from", offset + 1)
+                .setParameter("length", length)
+                .setParameter("id", fileId)
+                .getSingleResult();
+    }
+
     @Transactional
     public void deleteFile(String bucketName, String fileName) {
         String query = "DELETE FROM FileEntity f WHERE f.bucketName = :bucket AND f.fileName = :fileName";
@@ -70,6 +105,121 @@ public class DatabaseFileStorageService {
     public void ensureBucketExists(String bucketName) {
         // No-op for database storage
     }
+
+    private class DatabaseFileInputStream extends InputStream {
+        private final String fileId;
+        private final long size;
+        private long position;
+        private byte[] chunk = new byte[0];
+        private int chunkPosition;
+
+        DatabaseFileInputStream(String fileId, long size) {
+            this.fileId = fileId;
+            this.size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fillChunk()) {
+                return -1;
+            }
+            return chunk[chunkPosition++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fillChunk()) {
+                return -1;
+            }
+            int count = Math.min(length, chunk.length - chunkPosition);
+            System.arraycopy(chunk, chunkPosition, buffer, offset, count);
+            chunkPosition += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chunk.length - chunkPosition;
+        }
+
+        private boolean fillChunk() {
+            if (chunkPosition < chunk.length) {
+                return true;
+            }
+            if (position >= size) {
+                return false;
+            }
+            byte[] next = readChunk(fileId, position, (int) Math.min(readChunkBytes, size - position));
+            if (next == null || next.length == 0) {
+                position = size;
+                return false;
+            }
+            chunk = next;
+            chunkPosition = 0;
+            position += next.length;
+            return true;
+        }
+    }
+
+    private class DatabaseFileDownload implements FileDownload {
+        private final String fileId;
+        private final String fileName;
+        private final String contentType;
+        private final long size;
+        private final Date uploadedAt;
+
+        DatabaseFileDownload(String fileId, String fileName, String contentType, long size, Date uploadedAt) {
+            this.fileId = fileId;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+            this.uploadedAt = uploadedAt;
+        }
+
+        @Override
+        public String fileName() {
+            return fileName;
+        }
+
+        @Override
+        public String contentType() {
+            return contentType;
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+
+        @Override
+        public String eTag() {
+            // Stored files are never modified in place, the id identifies the content
+            return fileId;
+        }
+
+        @Override
+        public Instant lastModified() {
+            return uploadedAt != null ? uploadedAt.toInstant() : null;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, long offset, long length) throws IOException {
+            long position = offset;
+            long end = offset + length;
+            while (position < end) {
+                int chunkLength = (int) Math.min(readChunkBytes, end - position);
+                byte[] chunk = readChunk(fileId, position, chunkLength);
+                if (chunk == null || chunk.length == 0) {
+                    break;
+                }
+                out.write(chunk);
+                position += chunk.length;
+            }
+        }
+    }
 }
 
 @Entity
@@ -90,7 +240,9 @@ class FileEntity {
     @Column(nullable = false)
     private Long size;
     
+    // Lazy so loading the entity does not pull the whole blob; downloads read it in chunks
     @Lob
+    @Basic(fetch = FetchType.LAZY)
     @Column(nullable = false, columnDefinition = "BYTEA")
     private byte[] data;
     
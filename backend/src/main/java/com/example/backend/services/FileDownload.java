@@ -0,0 +1,34 @@
+package com.example.backend.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * A stored file that can be streamed to a client, whole or as a byte range,
+ * without loading it into memory. Metadata is known up front so conditional
+ * and range requests can be answered before any content is read.
+ */
+public interface FileDownload {
+
+    String fileName();
+
+    String contentType();
+
+    long contentLength();
+
+    /**
+     * Entity tag of the current content (unquoted), used for If-None-Match / If-Range
+     */
+    String eTag();
+
+    /**
+     * Last modification time, or null when the backend does not track it
+     */
+    Instant lastModified();
+
+    /**
+     * Write {@code length} bytes starting at {@code offset} to the output stream
+     */
+    void writeTo(OutputStream out, long offset, long length) throws IOException;
+}
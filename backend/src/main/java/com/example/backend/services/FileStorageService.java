@@ -4,6 +4,7 @@ import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,12 +15,23 @@ public interface FileStorageService {
     String uploadFile(String bucketName, MultipartFile file, String fileName) throws Exception;
     void uploadFile(MultipartFile file, String fileName) throws Exception;
     InputStream downloadFile(String fileName) throws Exception;
+    FileDownload openDownload(String bucketName, String fileName) throws Exception;
     String getFileUrl(String fileName);
     String getFileUrl(String bucketName, String fileName);
     void deleteFile(String fileName);
     void deleteFile(String bucketName, String fileName);
     List<S3Object> listFiles(String bucketName) throws Exception;
 
+    // Uploads several files under generated names; implementations may upload them concurrently.
+    // Returns the stored file names in the order of the given files.
+    default List<String> uploadFiles(List<MultipartFile> files) throws Exception {
+        List<String> fileNames = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            fileNames.add(uploadFile(file));
+        }
+        return fileNames;
+    }
+
     // Bucket operations
     void createBucketIfNotExists(String bucketName);
     void setBucketPublicReadPolicy(String bucketName);
@@ -32,20 +32,38 @@ import com.example.backend.models.id.EntityTypeConfig;
 import com.example.backend.models.finance.accountsPayable.OfferFinancialReview;
 import com.example.backend.repositories.finance.accountsPayable.OfferFinancialReviewRepository;
 import com.example.backend.models.finance.accountsPayable.enums.FinanceReviewStatus;
+import com.example.backend.dtos.MaintenanceRecordFilter;
+import com.example.backend.events.MaintenanceDataChangedEvent;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
+import com.example.backend.utils.pagination.KeysetPager;
+import com.example.backend.utils.pagination.SortKeys;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -70,6 +88,18 @@ public class MaintenanceService {
     private final OfferFinancialReviewRepository offerFinancialReviewRepository;
     private final PaymentRequestService paymentRequestService;
     private final EntityIdGeneratorService entityIdGeneratorService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String DASHBOARD_KEY = "dashboard";
+
+    /**
+     * Dashboard metrics, dropped when a maintenance record or step change commits.
+     * The TTL bounds staleness from equipment status changes made elsewhere.
+     */
+    private final Cache<String, MaintenanceDashboardDto> dashboardCache = Caffeine.newBuilder()
+            .maximumSize(1)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
 
     // Maintenance Record Operations
 
@@ -188,6 +218,7 @@ public class MaintenanceService {
 
         record.setStatus(initialStatus);
         MaintenanceRecord savedRecord = maintenanceRecordRepository.save(record);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(savedRecord.getId()));
 
         // If status is PENDING_FINANCE_APPROVAL, create the OfferFinancialReview entity
         if (savedRecord.getStatus() == MaintenanceStatus.PENDING_FINANCE_APPROVAL) {
@@ -275,30 +306,40 @@ public class MaintenanceService {
 
     @Transactional(readOnly = true)
     public List<MaintenanceRecordDto> getAllMaintenanceRecords() {
-        return maintenanceRecordRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(maintenanceRecordRepository.findAll());
+    }
+
+    private static final SortKeys<MaintenanceRecord> MAINTENANCE_RECORD_SORTS = SortKeys
+            .<MaintenanceRecord>by(MaintenanceRecord::getId, "creationDate", MaintenanceRecord::getCreationDate,
+                    Sort.Direction.DESC)
+            .or("issueDate", MaintenanceRecord::getIssueDate)
+            .or("expectedCompletionDate", MaintenanceRecord::getExpectedCompletionDate)
+            .or("recordNumber", MaintenanceRecord::getRecordNumber)
+            .or("status", MaintenanceRecord::getStatus);
+
+    /**
+     * One page of maintenance records, filtered and sorted in the database
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MaintenanceRecordDto> getMaintenanceRecordsPage(MaintenanceRecordFilter filter,
+                                                                     KeysetPageRequest page) {
+        return KeysetPager.fetch(maintenanceRecordRepository, filter.toSpecification(), page,
+                MAINTENANCE_RECORD_SORTS, this::convertToDtos);
     }
 
     @Transactional(readOnly = true)
     public List<MaintenanceRecordDto> getMaintenanceRecordsByEquipment(UUID equipmentId) {
-        return maintenanceRecordRepository.findByEquipmentIdOrderByCreationDateDesc(equipmentId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(maintenanceRecordRepository.findByEquipmentIdOrderByCreationDateDesc(equipmentId));
     }
 
     @Transactional(readOnly = true)
     public List<MaintenanceRecordDto> getActiveMaintenanceRecords() {
-        return maintenanceRecordRepository.findByStatus(MaintenanceStatus.ACTIVE).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(maintenanceRecordRepository.findByStatus(MaintenanceStatus.ACTIVE));
     }
 
     @Transactional(readOnly = true)
     public List<MaintenanceRecordDto> getOverdueMaintenanceRecords() {
-        return maintenanceRecordRepository.findOverdueRecords(LocalDateTime.now()).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return convertToDtos(maintenanceRecordRepository.findOverdueRecords(LocalDateTime.now()));
     }
 
     public MaintenanceRecordDto completeMaintenanceRecord(UUID id) {
@@ -315,6 +356,7 @@ public class MaintenanceService {
         // Only allow explicit completion if not in approval flow or if approved
         if (record.getStatus() == MaintenanceStatus.ACTIVE) {
             completeMaintenanceRecordIfFinalStepCompleted(record);
+            eventPublisher.publishEvent(new MaintenanceDataChangedEvent(id));
             return convertToDto(record);
         }
 
@@ -356,6 +398,7 @@ public class MaintenanceService {
         }
 
         MaintenanceRecord savedRecord = maintenanceRecordRepository.save(record);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(savedRecord.getId()));
         return convertToDto(savedRecord);
     }
 
@@ -378,6 +421,7 @@ public class MaintenanceService {
         log.info("Record {} approved by Manager {}. now PENDING_FINANCE_APPROVAL", id, currentUser.getId());
 
         MaintenanceRecord savedRecord = maintenanceRecordRepository.save(record);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(savedRecord.getId()));
 
         // Create the OfferFinancialReview entity
         createPendingFinancialReview(savedRecord);
@@ -409,6 +453,7 @@ public class MaintenanceService {
         }
 
         MaintenanceRecord savedRecord = maintenanceRecordRepository.save(record);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(savedRecord.getId()));
         return convertToDto(savedRecord);
     }
 
@@ -431,6 +476,7 @@ public class MaintenanceService {
         log.info("Record {} rejected. Reason: {}", id, rejectionReason);
 
         MaintenanceRecord savedRecord = maintenanceRecordRepository.save(record);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(savedRecord.getId()));
         return convertToDto(savedRecord);
     }
 
@@ -560,6 +606,7 @@ public class MaintenanceService {
         }
 
         MaintenanceRecord savedRecord = maintenanceRecordRepository.save(record);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(savedRecord.getId()));
         return convertToDto(savedRecord);
     }
 
@@ -581,6 +628,7 @@ public class MaintenanceService {
 
         // Delete the maintenance record
         maintenanceRecordRepository.delete(record);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(id));
 
         // Check if there are any remaining active maintenance records for this
         // equipment
@@ -759,6 +807,7 @@ public class MaintenanceService {
                 .build();
 
         MaintenanceStep savedStep = maintenanceStepRepository.save(step);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(maintenanceRecordId));
 
         // Handle merchant items if merchant is selected
         if (selectedMerchant != null && dto.getMerchantItems() != null && !dto.getMerchantItems().isEmpty()) {
@@ -987,6 +1036,7 @@ public class MaintenanceService {
         }
 
         MaintenanceStep savedStep = maintenanceStepRepository.save(step);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(step.getMaintenanceRecord().getId()));
 
         // Recalculate total cost of parent record
         updateRecordTotalCost(step.getMaintenanceRecord().getId());
@@ -1011,6 +1061,7 @@ public class MaintenanceService {
         }
 
         maintenanceStepRepository.delete(step);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(recordId));
 
         // Recalculate total cost of parent record
         updateRecordTotalCost(recordId);
@@ -1032,6 +1083,7 @@ public class MaintenanceService {
 
         stepToMark.setFinalStep(true);
         MaintenanceStep savedStep = maintenanceStepRepository.save(stepToMark);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(record.getId()));
 
         // Send notifications for marking step as final
         try {
@@ -1122,6 +1174,7 @@ public class MaintenanceService {
         }
 
         maintenanceStepRepository.save(step);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(step.getMaintenanceRecord().getId()));
 
         // Recalculate total cost of parent record
         updateRecordTotalCost(step.getMaintenanceRecord().getId());
@@ -1333,6 +1386,7 @@ public class MaintenanceService {
         step.setResponsibleContact(contact);
 
         MaintenanceStep savedStep = maintenanceStepRepository.save(step);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(step.getMaintenanceRecord().getId()));
 
         // Update main record's current responsible contact if this is the current step
         MaintenanceRecord record = step.getMaintenanceRecord();
@@ -1398,6 +1452,7 @@ public class MaintenanceService {
                 .build();
 
         ContactLog savedLog = contactLogRepository.save(contactLog);
+        eventPublisher.publishEvent(new MaintenanceDataChangedEvent(step.getMaintenanceRecord().getId()));
 
         // Update step's last contact date
         step.updateLastContact();
@@ -1416,45 +1471,62 @@ public class MaintenanceService {
 
     // Dashboard and Analytics
 
+    /**
+     * Maintenance dashboard, computed with grouped counts and SQL aggregates rather than by loading
+     * every record, step and equipment. Cached briefly; see dashboardCache.
+     */
     @Transactional(readOnly = true)
     public MaintenanceDashboardDto getDashboardData() {
-        long totalRecords = maintenanceRecordRepository.count();
-        long activeRecords = maintenanceRecordRepository.countByStatus(MaintenanceStatus.ACTIVE);
-        long overdueRecords = maintenanceRecordRepository.findOverdueRecords(LocalDateTime.now()).size();
-        long completedRecords = maintenanceRecordRepository
-                .countByStatus(MaintenanceStatus.COMPLETED);
+        return dashboardCache.get(DASHBOARD_KEY, key -> computeDashboardData());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMaintenanceDataChanged(MaintenanceDataChangedEvent event) {
+        dashboardCache.invalidateAll();
+    }
+
+    private MaintenanceDashboardDto computeDashboardData() {
+        Map<MaintenanceStatus, Long> recordsByStatus = new EnumMap<>(MaintenanceStatus.class);
+        long totalRecords = 0;
+        for (Object[] row : maintenanceRecordRepository.countGroupByStatus()) {
+            long count = ((Number) row[1]).longValue();
+            totalRecords += count;
+            if (row[0] != null) {
+                recordsByStatus.put((MaintenanceStatus) row[0], count);
+            }
+        }
+        long activeRecords = recordsByStatus.getOrDefault(MaintenanceStatus.ACTIVE, 0L);
+        long completedRecords = recordsByStatus.getOrDefault(MaintenanceStatus.COMPLETED, 0L);
+        long overdueRecords = maintenanceRecordRepository.countOverdueRecords(LocalDateTime.now());
 
         // Get recent records for dashboard display
-        List<MaintenanceRecordDto> recentRecords = maintenanceRecordRepository.findAll().stream()
-                .limit(5)
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        List<MaintenanceRecordDto> recentRecords = convertToDtos(
+                maintenanceRecordRepository.findTop5ByOrderByCreationDateDesc());
 
         // Calculate performance metrics
         double completionRate = totalRecords > 0 ? (double) completedRecords / totalRecords * 100 : 0;
 
         // Calculate cost metrics
-        double totalCost = maintenanceRecordRepository.findAll().stream()
-                .mapToDouble(record -> record.getTotalCost() != null ? record.getTotalCost().doubleValue() : 0.0)
-                .sum();
-        double averageCost = totalRecords > 0 ? totalCost / totalRecords : 0;
+        Object[] cost = maintenanceRecordRepository.sumAndAverageTotalCost().get(0);
+        double totalCost = ((Number) cost[0]).doubleValue();
+        double averageCost = ((Number) cost[1]).doubleValue();
 
         // Calculate step metrics
-        long totalSteps = maintenanceStepRepository.count();
-        long completedSteps = maintenanceStepRepository.findAll().stream()
-                .filter(MaintenanceStep::isCompleted)
-                .count();
+        Object[] steps = maintenanceStepRepository.countTotalAndCompleted().get(0);
+        long totalSteps = ((Number) steps[0]).longValue();
+        long completedSteps = ((Number) steps[1]).longValue();
         long activeSteps = totalSteps - completedSteps;
 
-        // Calculate equipment metrics - use findAll and filter instead of non-existent
-        // countByStatus
-        List<Equipment> allEquipment = equipmentRepository.findAll();
-        long equipmentInMaintenance = allEquipment.stream()
-                .filter(eq -> eq.getStatus() == EquipmentStatus.IN_MAINTENANCE)
-                .count();
-        long equipmentAvailable = allEquipment.stream()
-                .filter(eq -> eq.getStatus() == EquipmentStatus.AVAILABLE)
-                .count();
+        // Calculate equipment metrics
+        long equipmentInMaintenance = 0;
+        long equipmentAvailable = 0;
+        for (Object[] row : equipmentRepository.countGroupByStatus()) {
+            if (row[0] == EquipmentStatus.IN_MAINTENANCE) {
+                equipmentInMaintenance = ((Number) row[1]).longValue();
+            } else if (row[0] == EquipmentStatus.AVAILABLE) {
+                equipmentAvailable = ((Number) row[1]).longValue();
+            }
+        }
 
         return MaintenanceDashboardDto.builder()
                 .totalRecords(totalRecords)
@@ -1478,17 +1550,85 @@ public class MaintenanceService {
         if (record == null)
             return null;
 
-        // Get maintenance steps
-        List<MaintenanceStep> steps = maintenanceStepRepository
-                .findByMaintenanceRecordIdOrderByStartDateAsc(record.getId());
+        return convertToDtos(List.of(record)).get(0);
+    }
 
-        List<MaintenanceStepDto> stepDtos = steps.stream()
-                .map(this::convertToDto)
+    /**
+     * Convert a page of records. Steps (with their type, responsible contact/employee and merchant items),
+     * finance reviews, equipment details and responsible users/contacts are each loaded for the whole page
+     * in one query, so the number of queries does not grow with the number of records.
+     */
+    private List<MaintenanceRecordDto> convertToDtos(List<MaintenanceRecord> records) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> recordIds = records.stream().map(MaintenanceRecord::getId).collect(Collectors.toList());
+
+        Map<UUID, List<MaintenanceStep>> stepsByRecord = maintenanceStepRepository
+                .findByMaintenanceRecordIdInOrderByStartDateAsc(recordIds).stream()
+                .collect(Collectors.groupingBy(step -> step.getMaintenanceRecord().getId()));
+        Map<UUID, List<OfferFinancialReview>> reviewsByRecord = offerFinancialReviewRepository
+                .findByMaintenanceRecordIdInOrderByCreatedAtDesc(recordIds).stream()
+                .collect(Collectors.groupingBy(review -> review.getMaintenanceRecord().getId()));
+
+        Set<UUID> equipmentIds = records.stream().map(MaintenanceRecord::getEquipmentId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<UUID, EquipmentSummary> equipmentById = new HashMap<>();
+        if (!equipmentIds.isEmpty()) {
+            for (Object[] row : equipmentRepository.findSummariesByIdIn(equipmentIds)) {
+                equipmentById.put((UUID) row[0], new EquipmentSummary((String) row[1], (String) row[2],
+                        (String) row[3], (String) row[4], (String) row[5]));
+            }
+        }
+
+        // The responsible user and contact are lazy; loading them up front lets the persistence context
+        // resolve every record's reference instead of issuing one select per record
+        Set<UUID> userIds = records.stream().map(MaintenanceRecord::getResponsibleUser)
+                .filter(Objects::nonNull).map(User::getId).collect(Collectors.toSet());
+        if (!userIds.isEmpty()) {
+            userRepository.findAllById(userIds);
+        }
+        Set<UUID> contactIds = records.stream().map(MaintenanceRecord::getCurrentResponsibleContact)
+                .filter(Objects::nonNull).map(Contact::getId).collect(Collectors.toSet());
+        if (!contactIds.isEmpty()) {
+            contactRepository.findAllById(contactIds);
+        }
+
+        return records.stream()
+                .map(record -> convertToDto(record,
+                        stepsByRecord.getOrDefault(record.getId(), List.of()),
+                        reviewsByRecord.getOrDefault(record.getId(), List.of()),
+                        equipmentById.get(record.getEquipmentId())))
                 .collect(Collectors.toList());
+    }
+
+    private record EquipmentSummary(String name, String model, String type, String serialNumber, String site) {
+    }
 
-        // Calculate steps stats
+    /**
+     * Convert a record whose steps (ordered by start date), reviews (newest first) and equipment were
+     * already loaded
+     */
+    private MaintenanceRecordDto convertToDto(MaintenanceRecord record, List<MaintenanceStep> steps,
+                                              List<OfferFinancialReview> reviews, EquipmentSummary equipment) {
+        // Step DTOs, step stats, the current (first incomplete) step and costs in one pass
+        List<MaintenanceStepDto> stepDtos = new ArrayList<>(steps.size());
+        int completedSteps = 0;
+        MaintenanceStepDto currentStep = null;
+        BigDecimal stepCostTotal = BigDecimal.ZERO;
+        BigDecimal consumedBudget = BigDecimal.ZERO;
+        for (MaintenanceStep step : steps) {
+            MaintenanceStepDto stepDto = convertToDto(step);
+            stepDtos.add(stepDto);
+            if (stepDto.getIsCompleted()) {
+                completedSteps++;
+            } else if (currentStep == null) {
+                currentStep = stepDto;
+            }
+            stepCostTotal = stepCostTotal.add(step.getStepCost() != null ? step.getStepCost() : BigDecimal.ZERO);
+            consumedBudget = consumedBudget.add(consumedCost(step));
+        }
         int totalSteps = stepDtos.size();
-        int completedSteps = (int) stepDtos.stream().filter(MaintenanceStepDto::getIsCompleted).count();
         int activeSteps = totalSteps - completedSteps;
 
         // Get current step info
@@ -1497,16 +1637,11 @@ public class MaintenanceService {
         LocalDateTime currentStepExpectedEndDate = null;
         boolean currentStepIsOverdue = false;
 
-        Optional<MaintenanceStepDto> currentStep = stepDtos.stream()
-                .filter(s -> !s.getIsCompleted())
-                .findFirst();
-
-        if (currentStep.isPresent()) {
-            currentStepDescription = currentStep.get().getDescription() + " (" + currentStep.get().getStepTypeName()
-                    + ")";
-            currentStepResponsiblePerson = currentStep.get().getResponsiblePerson();
-            currentStepExpectedEndDate = currentStep.get().getExpectedEndDate();
-            currentStepIsOverdue = currentStep.get().getIsOverdue();
+        if (currentStep != null) {
+            currentStepDescription = currentStep.getDescription() + " (" + currentStep.getStepTypeName() + ")";
+            currentStepResponsiblePerson = currentStep.getResponsiblePerson();
+            currentStepExpectedEndDate = currentStep.getExpectedEndDate();
+            currentStepIsOverdue = currentStep.getIsOverdue();
         }
 
         // Get responsible person details
@@ -1514,11 +1649,6 @@ public class MaintenanceService {
         String responsiblePersonPhone = record.getCurrentResponsiblePersonPhone();
         String responsiblePersonEmail = record.getCurrentResponsiblePersonEmail();
 
-        // Fetch rejection reason if status is REJECTED
-        // Fetch reviews for timeline and rejection reason
-        List<OfferFinancialReview> reviews = offerFinancialReviewRepository
-                .findByMaintenanceRecordIdOrderByCreatedAtDesc(record.getId());
-
         // Fetch rejection reason if status is REJECTED
         String rejectionReason = null;
         if (record.getStatus() == MaintenanceStatus.REJECTED) {
@@ -1613,22 +1743,19 @@ public class MaintenanceService {
         String equipmentSerialNumber = null;
         String site = null;
 
-        Equipment equipment = equipmentRepository.findById(record.getEquipmentId()).orElse(null);
         if (equipment != null) {
-            equipmentName = equipment.getName();
-            equipmentModel = equipment.getModel();
-            equipmentType = equipment.getType() != null ? equipment.getType().getName() : null;
-            equipmentSerialNumber = equipment.getSerialNumber();
-            site = equipment.getSite() != null ? equipment.getSite().getName() : null;
+            equipmentName = equipment.name();
+            equipmentModel = equipment.model();
+            equipmentType = equipment.type();
+            equipmentSerialNumber = equipment.serialNumber();
+            site = equipment.site();
         }
 
         // Only recalculate cost from steps if there are steps, otherwise preserve the
         // record's totalCost
         BigDecimal totalCost;
         if (!steps.isEmpty()) {
-            totalCost = steps.stream()
-                    .map(step -> step.getStepCost() != null ? step.getStepCost() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            totalCost = stepCostTotal;
             // We don't save here to avoid side effects in GET, but we return the calculated
             // cost
         } else {
@@ -1636,7 +1763,6 @@ public class MaintenanceService {
         }
 
         // Calculate budget tracking fields
-        BigDecimal consumedBudget = calculateConsumedBudget(record.getId());
         BigDecimal remainingBudget = null;
         Boolean isOverBudget = null;
         if (record.getApprovedBudget() != null) {
@@ -1784,23 +1910,26 @@ public class MaintenanceService {
      * Consumed = sum of actualCost for completed steps + expectedCost for incomplete steps
      */
     private BigDecimal calculateConsumedBudget(UUID recordId) {
-        List<MaintenanceStep> steps = maintenanceStepRepository
-                .findByMaintenanceRecordIdOrderByStartDateAsc(recordId);
+        return calculateConsumedBudget(maintenanceStepRepository
+                .findByMaintenanceRecordIdOrderByStartDateAsc(recordId));
+    }
 
+    private BigDecimal calculateConsumedBudget(List<MaintenanceStep> steps) {
         return steps.stream()
-                .map(step -> {
-                    if (step.isCompleted()) {
-                        // For completed steps, use actual cost (or stepCost as fallback)
-                        return step.getActualCost() != null ? step.getActualCost()
-                                : (step.getStepCost() != null ? step.getStepCost() : BigDecimal.ZERO);
-                    } else {
-                        // For incomplete steps, use expected cost
-                        return step.getExpectedCost() != null ? step.getExpectedCost() : BigDecimal.ZERO;
-                    }
-                })
+                .map(this::consumedCost)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    private BigDecimal consumedCost(MaintenanceStep step) {
+        if (step.isCompleted()) {
+            // For completed steps, use actual cost (or stepCost as fallback)
+            return step.getActualCost() != null ? step.getActualCost()
+                    : (step.getStepCost() != null ? step.getStepCost() : BigDecimal.ZERO);
+        }
+        // For incomplete steps, use expected cost
+        return step.getExpectedCost() != null ? step.getExpectedCost() : BigDecimal.ZERO;
+    }
+
     /**
      * Calculate remaining budget for a maintenance record.
      * Remaining = approvedBudget - consumedBudget
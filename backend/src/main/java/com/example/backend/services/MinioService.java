@@ -1,5 +1,11 @@
 package com.example.backend.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -12,15 +18,25 @@ import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 @Service
 public class MinioService implements FileStorageService {
 
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
+    private final Executor uploadExecutor;
+
+    // Buckets confirmed to exist, so uploads skip the HEAD (or CREATE) round trip
+    private final Set<String> knownBuckets = ConcurrentHashMap.newKeySet();
 
     @Value("${aws.s3.bucket-name:rockops}")
     private String bucketName;
@@ -34,9 +50,79 @@ public class MinioService implements FileStorageService {
     @Value("${aws.s3.enabled:true}")
     private boolean s3Enabled;
 
-    public MinioService(S3Client s3Client, S3Presigner s3Presigner) {
+    // Files at least this large are sent with S3 multipart upload, one part in memory at a time
+    @Value("${aws.s3.multipart-threshold-bytes:16777216}")
+    private long multipartThresholdBytes = 16 * 1024 * 1024;
+
+    // S3 requires at least 5 MB for every part but the last
+    @Value("${aws.s3.multipart-part-size-bytes:8388608}")
+    private int multipartPartSizeBytes = 8 * 1024 * 1024;
+
+    // Lifetime of URLs handed out for equipment images
+    private static final int EQUIPMENT_IMAGE_URL_MINUTES = 10080; // 7 days
+    private static final int LEGACY_IMAGE_URL_MINUTES = 60;
+
+    private static final Duration FOUND_IMAGE_TTL = Duration.ofHours(12);
+    private static final Duration MISSING_IMAGE_TTL = Duration.ofMinutes(10);
+
+    /**
+     * Where each equipment's main image lives, so detail pages don't repeat the
+     * ListObjects (and legacy bucket) search. Misses are remembered for a shorter time
+     * so an image added outside this service is picked up reasonably soon.
+     */
+    private final Cache<UUID, EquipmentImageLocation> equipmentImageLocations = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .expireAfter(new Expiry<UUID, EquipmentImageLocation>() {
+                @Override
+                public long expireAfterCreate(UUID key, EquipmentImageLocation value, long currentTime) {
+                    return (value.isFound() ? FOUND_IMAGE_TTL : MISSING_IMAGE_TTL).toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(UUID key, EquipmentImageLocation value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(UUID key, EquipmentImageLocation value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+    /**
+     * Presigned GET URLs keyed by bucket, object key and requested lifetime.
+     * Each entry is dropped a little before the URL itself expires (10% of its lifetime,
+     * at least a minute), so a URL returned from here is always still usable.
+     */
+    private final Cache<String, PresignedUrl> presignedUrls = Caffeine.newBuilder()
+            .maximumSize(20_000)
+            .expireAfter(new Expiry<String, PresignedUrl>() {
+                @Override
+                public long expireAfterCreate(String key, PresignedUrl value, long currentTime) {
+                    return value.reusableFor().toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, PresignedUrl value, long currentTime, long currentDuration) {
+                    return value.reusableFor().toNanos();
+                }
+
+                @Override
+                public long expireAfterRead(String key, PresignedUrl value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+
+    @Autowired
+    public MinioService(S3Client s3Client, S3Presigner s3Presigner,
+                        @Qualifier("storageUploadExecutor") Executor uploadExecutor) {
         this.s3Client = s3Client;
         this.s3Presigner = s3Presigner;
+        this.uploadExecutor = uploadExecutor;
 
         // Force enable S3 for local MinIO development
         if (s3Client != null) {
@@ -59,16 +145,22 @@ public class MinioService implements FileStorageService {
             return;
         }
 
+        if (knownBuckets.contains(bucketName)) {
+            return;
+        }
+
         try {
             HeadBucketRequest headBucketRequest = HeadBucketRequest.builder()
                     .bucket(bucketName)
                     .build();
             s3Client.headBucket(headBucketRequest);
+            knownBuckets.add(bucketName);
         } catch (NoSuchBucketException e) {
             CreateBucketRequest createBucketRequest = CreateBucketRequest.builder()
                     .bucket(bucketName)
                     .build();
             s3Client.createBucket(createBucketRequest);
+            knownBuckets.add(bucketName);
             System.out.println("✅ S3 bucket created: " + bucketName);
         } catch (Exception e) {
             System.err.println("Error checking/creating S3 bucket: " + e.getMessage());
@@ -130,18 +222,143 @@ public class MinioService implements FileStorageService {
 
         try {
             createBucketIfNotExists(bucketName);
+            putFile(bucketName, file, fileName);
+            return fileName;
+        } catch (Exception e) {
+            throw new Exception("Error uploading file to S3: " + e.getMessage());
+        }
+    }
 
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+    /**
+     * Uploads the files concurrently under generated names in the main bucket.
+     * Returns the stored file names in the order of the given files.
+     */
+    @Override
+    public List<String> uploadFiles(List<MultipartFile> files) throws Exception {
+        List<String> fileNames = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            fileNames.add(UUID.randomUUID().toString() + "_" + file.getOriginalFilename());
+        }
+        uploadConcurrently(bucketName, files, fileNames);
+        return fileNames;
+    }
+
+    /**
+     * Runs one upload per file on the storage upload executor and waits for all of them.
+     * If any upload fails, the ones that did succeed are deleted again before the error is rethrown.
+     */
+    private void uploadConcurrently(String bucketName, List<MultipartFile> files, List<String> fileKeys) throws Exception {
+        if (!s3Enabled || s3Client == null) {
+            System.out.println("✅ S3 is disabled for local development, simulating upload of " + files.size() + " files");
+            return;
+        }
+        if (files.isEmpty()) {
+            return;
+        }
+
+        createBucketIfNotExists(bucketName);
+
+        List<CompletableFuture<String>> uploads = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            String fileKey = fileKeys.get(i);
+            uploads.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    putFile(bucketName, file, fileKey);
+                    return fileKey;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, uploadExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            for (CompletableFuture<String> upload : uploads) {
+                if (!upload.isCompletedExceptionally()) {
+                    deleteObjectQuietly(bucketName, upload.join());
+                }
+            }
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new Exception("Error uploading files to S3: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void putFile(String bucketName, MultipartFile file, String fileKey) throws IOException {
+        if (file.getSize() >= multipartThresholdBytes) {
+            putFileMultipart(bucketName, file, fileKey);
+            return;
+        }
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileKey)
+                .contentType(file.getContentType())
+                .contentLength(file.getSize())
+                .build();
+
+        try (InputStream inputStream = file.getInputStream()) {
+            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, file.getSize()));
+        }
+    }
+
+    /**
+     * Multipart upload reading the file part by part, so a large file never sits in memory whole.
+     * The upload is aborted on failure so S3 does not keep the orphaned parts.
+     */
+    private void putFileMultipart(String bucketName, MultipartFile file, String fileKey) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(fileKey)
+                .contentType(file.getContentType())
+                .build()).uploadId();
+
+        try (InputStream inputStream = file.getInputStream()) {
+            List<CompletedPart> completedParts = new ArrayList<>();
+            byte[] buffer = new byte[multipartPartSizeBytes];
+            int partNumber = 1;
+            int read;
+            while ((read = inputStream.readNBytes(buffer, 0, buffer.length)) > 0) {
+                UploadPartRequest partRequest = UploadPartRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileKey)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) read)
+                        .build();
+                // ByteArrayInputStream is resettable, so the SDK can retry a part without a copy
+                String eTag = s3Client.uploadPart(partRequest,
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read)).eTag();
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+                partNumber++;
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
                     .bucket(bucketName)
-                    .key(fileName)
-                    .contentType(file.getContentType())
-                    .contentLength(file.getSize())
-                    .build();
+                    .key(fileKey)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(fileKey)
+                        .uploadId(uploadId)
+                        .build());
+            } catch (Exception abortEx) {
+                System.err.println("Error aborting multipart upload of " + fileKey + ": " + abortEx.getMessage());
+            }
+            throw e;
+        }
+    }
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
-            return fileName;
+    private void deleteObjectQuietly(String bucketName, String fileKey) {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucketName).key(fileKey).build());
         } catch (Exception e) {
-            throw new Exception("Error uploading file to S3: " + e.getMessage());
+            System.err.println("Error removing partially uploaded file " + fileKey + ": " + e.getMessage());
         }
     }
 
@@ -167,6 +384,14 @@ public class MinioService implements FileStorageService {
         return s3Client.getObject(getObjectRequest);
     }
 
+    @Override
+    public FileDownload openDownload(String bucketName, String fileName) throws Exception {
+        if (!s3Enabled || s3Client == null) {
+            throw new Exception("S3 is disabled for local development, cannot download file");
+        }
+        return S3FileDownload.open(s3Client, bucketName, fileName);
+    }
+
     @Override
     public String getFileUrl(String fileName) {
         if (!s3Enabled || s3Client == null) {
@@ -240,6 +465,10 @@ public class MinioService implements FileStorageService {
         // Use folder structure: equipment/{equipmentId}/{fileName}
         String fileKey = "equipment/" + equipmentId.toString() + "/" + fileName;
         uploadFile(bucketName, file, fileKey);
+
+        if ("Main_Image".equals(customFileName)) {
+            equipmentImageLocations.put(equipmentId, new EquipmentImageLocation(bucketName, fileKey));
+        }
         
         // Return just the filename, not the full path
         // getEquipmentFileUrl will add the equipment/{id}/ prefix
@@ -249,15 +478,32 @@ public class MinioService implements FileStorageService {
     /**
      * Finds the equipment image key, handling migration from old buckets if necessary.
      * returns the KEY of the object in the MAIN bucket.
+     * The result is cached, so only the first lookup per equipment goes to S3.
      */
     public String findAndMigrateEquipmentImage(UUID equipmentId) {
-        // Log entry
-        System.out.println("🔍 Finding image for equipment: " + equipmentId);
-
         if (!s3Enabled || s3Client == null) {
             return "equipment/" + equipmentId + "/main-image.jpg";
         }
 
+        EquipmentImageLocation location = resolveEquipmentImageLocation(equipmentId);
+        return location.isFound() && bucketName.equals(location.bucket()) ? location.key() : null;
+    }
+
+    /**
+     * Forget the cached image location of an equipment, e.g. after its photo changed in S3 directly
+     */
+    public void evictEquipmentImage(UUID equipmentId) {
+        equipmentImageLocations.invalidate(equipmentId);
+    }
+
+    private EquipmentImageLocation resolveEquipmentImageLocation(UUID equipmentId) {
+        // Concurrent lookups for the same equipment wait for one S3 search
+        return equipmentImageLocations.get(equipmentId, this::lookupEquipmentImage);
+    }
+
+    private EquipmentImageLocation lookupEquipmentImage(UUID equipmentId) {
+        System.out.println("🔍 Finding image for equipment: " + equipmentId);
+
         String folderPrefix = "equipment/" + equipmentId.toString() + "/";
         
         // 1. Check NEW structure first (rockops bucket)
@@ -274,7 +520,7 @@ public class MinioService implements FileStorageService {
             if (!response.contents().isEmpty()) {
                 String objectKey = response.contents().get(0).key();
                 System.out.println("✅ Found equipment photo in standard structure: " + objectKey);
-                return objectKey;
+                return new EquipmentImageLocation(bucketName, objectKey);
             } else {
                 System.out.println("   ⚠️ Strict prefix search found nothing. Trying broader folder search...");
                 
@@ -292,7 +538,7 @@ public class MinioService implements FileStorageService {
                         // Recovery: If we find a PNG/JPG that looks like a main image, pick it
                         if (obj.key().contains("Main_Image") || obj.key().toLowerCase().endsWith(".png") || obj.key().toLowerCase().endsWith(".jpg")) {
                             System.out.println("   ✨ Recovered likely image: " + obj.key());
-                            return obj.key();
+                            return new EquipmentImageLocation(bucketName, obj.key());
                         }
                     }
                 } else {
@@ -335,11 +581,12 @@ public class MinioService implements FileStorageService {
                         
                     s3Client.copyObject(copyReq);
                     System.out.println("✅ Migration Copy Success: " + newKey);
-                    return newKey;
+                    return new EquipmentImageLocation(bucketName, newKey);
                     
                 } catch (Exception copyEx) {
                    System.err.println("❌ Migration Copy FAILED: " + copyEx.getMessage());
-                   return null; 
+                   // Keep serving the image from the legacy bucket until a later copy succeeds
+                   return new EquipmentImageLocation(oldBucketName, oldKey);
                 }
             } else {
                 System.out.println("   Legacy bucket empty or not found.");
@@ -350,7 +597,7 @@ public class MinioService implements FileStorageService {
             System.err.println("Error checking old structure: " + e.getMessage());
         }
 
-        return null; // Not found in either
+        return EquipmentImageLocation.NOT_FOUND; // Not found in either
     }
 
     /**
@@ -368,20 +615,9 @@ public class MinioService implements FileStorageService {
             return s3PublicUrl + "/" + bucketName + "/" + key;
         }
 
-        // Presigned URL (Zero network call to S3, just crypto)
+        // Presigned URL (Zero network call to S3, just crypto - and cached)
         try {
-             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                .bucket(bucketName)
-                .key(key)
-                .build();
-
-            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofMinutes(10080)) // 7 days
-                .getObjectRequest(getObjectRequest)
-                .build();
-
-            PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
-            return presignedRequest.url().toString();
+            return presign(bucketName, key, EQUIPMENT_IMAGE_URL_MINUTES);
         } catch (Exception e) {
              System.err.println("Error generating presigned URL from key: " + e.getMessage());
              return null;
@@ -392,34 +628,25 @@ public class MinioService implements FileStorageService {
     // DEPRECATED / LEGACY - Kept for compilation compatibility or rare fallbacks
     @Override
     public String getEquipmentMainPhoto(UUID equipmentId) {
-        // 1. Try to find valid key (handling migration)
-        String key = findAndMigrateEquipmentImage(equipmentId);
-        if (key != null) {
-            return generateUrlFromKey(key);
-        }
-
-        // 2. Fallback: If migration returned null (e.g. copy failed), 
-        // try to find in the legacy bucket directly and return that URL
-        if (s3Enabled && s3Client != null) {
-             String oldBucketName = "equipment-" + equipmentId.toString();
-             try {
-                ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
-                        .bucket(oldBucketName)
-                        .prefix("Main_Image")
-                        .build();
+        if (!s3Enabled || s3Client == null) {
+            return generateUrlFromKey(findAndMigrateEquipmentImage(equipmentId));
+        }
 
-                ListObjectsV2Response response = s3Client.listObjectsV2(listRequest);
-                if (!response.contents().isEmpty()) {
-                    String oldKey = response.contents().get(0).key();
-                    // Return presigned URL for the OLD bucket
-                    return getPresignedDownloadUrl(oldBucketName, oldKey, 60); // 1 hour
-                }
-             } catch (Exception e) {
-                 // Ignore, nothing found
-             }
+        // Migrated images live in the main bucket; if the copy failed the location
+        // still points at the legacy bucket and gets a short-lived presigned URL
+        EquipmentImageLocation location = resolveEquipmentImageLocation(equipmentId);
+        if (!location.isFound()) {
+            return null;
+        }
+        if (bucketName.equals(location.bucket())) {
+            return generateUrlFromKey(location.key());
         }
 
-        return null;
+        try {
+            return presign(location.bucket(), location.key(), LEGACY_IMAGE_URL_MINUTES);
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     @Override
@@ -432,6 +659,7 @@ public class MinioService implements FileStorageService {
         // Delete from equipment/{equipmentId}/ folder
         String fileKey = "equipment/" + equipmentId.toString() + "/" + fileName;
         deleteFile(bucketName, fileKey);
+        evictEquipmentImage(equipmentId);
     }
 
     @Override
@@ -509,18 +737,7 @@ public class MinioService implements FileStorageService {
             return url;
         }
 
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                .bucket(bucketName)
-                .key(fileName)
-                .build();
-
-        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofMinutes(expirationMinutes))
-                .getObjectRequest(getObjectRequest)
-                .build();
-
-        PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
-        return presignedRequest.url().toString();
+        return presign(bucketName, fileName, expirationMinutes);
     }
 
     @Override
@@ -531,18 +748,44 @@ public class MinioService implements FileStorageService {
             return url;
         }
 
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                .bucket(bucketName)
-                .key(fileName)
-                .build();
+        return presign(bucketName, fileName, expirationMinutes);
+    }
 
-        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofMinutes(expirationMinutes))
-                .getObjectRequest(getObjectRequest)
-                .build();
+    /**
+     * Presign a GET for the object, reusing a previously signed URL while it is comfortably valid
+     */
+    private String presign(String bucket, String key, int expirationMinutes) {
+        String cacheKey = bucket + "/" + key + "@" + expirationMinutes;
+        return presignedUrls.get(cacheKey, k -> {
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build();
 
-        PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
-        return presignedRequest.url().toString();
+            Duration lifetime = Duration.ofMinutes(expirationMinutes);
+            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                    .signatureDuration(lifetime)
+                    .getObjectRequest(getObjectRequest)
+                    .build();
+
+            PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
+            return new PresignedUrl(presignedRequest.url().toString(), PresignedUrl.reuseWindow(lifetime));
+        }).url();
+    }
+
+    /**
+     * Hit / miss counters of the image location and presigned URL caches
+     */
+    public StorageCacheStats getCacheStats() {
+        CacheStats locations = equipmentImageLocations.stats();
+        CacheStats urls = presignedUrls.stats();
+        return new StorageCacheStats(
+                locations.hitCount(),
+                locations.missCount(),
+                equipmentImageLocations.estimatedSize(),
+                urls.hitCount(),
+                urls.missCount(),
+                presignedUrls.estimatedSize());
     }
 
     // List and delete methods
@@ -600,4 +843,26 @@ public class MinioService implements FileStorageService {
             System.err.println("Error deleting file from S3: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private record EquipmentImageLocation(String bucket, String key) {
+        static final EquipmentImageLocation NOT_FOUND = new EquipmentImageLocation(null, null);
+
+        boolean isFound() {
+            return key != null;
+        }
+    }
+
+    private record PresignedUrl(String url, Duration reusableFor) {
+        static Duration reuseWindow(Duration lifetime) {
+            Duration margin = lifetime.dividedBy(10);
+            if (margin.compareTo(Duration.ofMinutes(1)) < 0) {
+                margin = Duration.ofMinutes(1);
+            }
+            Duration reusable = lifetime.minus(margin);
+            return reusable.isNegative() ? Duration.ZERO : reusable;
+        }
+    }
+
+    public record StorageCacheStats(long imageLocationHits, long imageLocationMisses, long cachedImageLocations,
+                                    long presignedUrlHits, long presignedUrlMisses, long cachedPresignedUrls) {}
+}
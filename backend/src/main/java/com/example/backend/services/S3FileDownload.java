@@ -0,0 +1,85 @@
+package com.example.backend.services;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * {@link FileDownload} of an S3 / MinIO object.
+ * Metadata comes from one HEAD request; content is fetched with a ranged GET so only
+ * the requested bytes leave the bucket, and is copied straight to the response.
+ */
+public class S3FileDownload implements FileDownload {
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final String key;
+    private final HeadObjectResponse head;
+
+    private S3FileDownload(S3Client s3Client, String bucketName, String key, HeadObjectResponse head) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.head = head;
+    }
+
+    public static S3FileDownload open(S3Client s3Client, String bucketName, String key) {
+        HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+        return new S3FileDownload(s3Client, bucketName, key, head);
+    }
+
+    @Override
+    public String fileName() {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String contentType() {
+        return head.contentType();
+    }
+
+    @Override
+    public long contentLength() {
+        return head.contentLength();
+    }
+
+    @Override
+    public String eTag() {
+        String eTag = head.eTag();
+        return eTag != null ? eTag.replace("\"", "") : null;
+    }
+
+    @Override
+    public Instant lastModified() {
+        return head.lastModified();
+    }
+
+    @Override
+    public void writeTo(OutputStream out, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return;
+        }
+
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                // Fail instead of mixing bytes of two versions if the object was replaced meanwhile
+                .ifMatch(head.eTag())
+                .build();
+
+        try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+            in.transferTo(out);
+        }
+    }
+}
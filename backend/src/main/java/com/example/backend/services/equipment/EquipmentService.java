@@ -10,6 +10,7 @@ import com.example.backend.dto.equipment.WorkTypeAnalyticsDTO;
 import com.example.backend.dto.equipment.DriverAnalyticsDTO;
 import com.example.backend.dto.equipment.MonthlyWorkHoursDTO;
 import com.example.backend.dto.hr.employee.EmployeeSummaryDTO;
+import com.example.backend.events.EquipmentValuationChangedEvent;
 import com.example.backend.exceptions.ResourceNotFoundException;
 import com.example.backend.models.equipment.*;
 import com.example.backend.models.maintenance.MaintenanceRecord;
@@ -31,11 +32,20 @@ import com.example.backend.repositories.hr.EmployeeRepository;
 import com.example.backend.repositories.site.SiteRepository;
 import com.example.backend.repositories.MaintenanceRecordRepository;
 import com.example.backend.services.notification.NotificationService;
+import com.example.backend.dto.equipment.EquipmentFilter;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
+import com.example.backend.utils.pagination.KeysetPager;
+import com.example.backend.utils.pagination.SortKeys;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.criteria.JoinType;
 
 import java.time.LocalDate;
 import java.time.Year;
@@ -50,6 +60,7 @@ public class EquipmentService {
     private final SiteRepository siteRepository;
     private final EmployeeRepository employeeRepository;
     private final MinioService minioService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private MerchantRepository merchantRepository;
@@ -72,13 +83,15 @@ public class EquipmentService {
             EquipmentTypeRepository equipmentTypeRepository,
             SiteRepository siteRepository,
             EmployeeRepository employeeRepository,
-            MinioService minioService, EquipmentBrandRepository equipmentBrandRepository) {
+            MinioService minioService, EquipmentBrandRepository equipmentBrandRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.equipmentRepository = equipmentRepository;
         this.equipmentTypeRepository = equipmentTypeRepository;
         this.siteRepository = siteRepository;
         this.employeeRepository = employeeRepository;
         this.minioService = minioService;
         this.equipmentBrandRepository = equipmentBrandRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // Fast image URL resolution - no S3 network calls, pure computation only
@@ -93,18 +106,36 @@ public class EquipmentService {
         }
     }
 
-    // Full image resolution with S3 lookup - only for single equipment detail view
+    // Full image resolution with S3 lookup - only for single equipment detail view.
+    // MinioService caches the lookup, and a discovered key is saved on the equipment
+    // so list views can show the image without S3 as well.
     private String resolveEquipmentImageUrlWithS3Fallback(Equipment equipment) {
         try {
             if (equipment.getImageStorageKey() != null && !equipment.getImageStorageKey().isEmpty()) {
                 return minioService.generateUrlFromKey(equipment.getImageStorageKey());
             }
+
+            String discoveredKey = minioService.findAndMigrateEquipmentImage(equipment.getId());
+            if (discoveredKey != null) {
+                saveDiscoveredImageKey(equipment, discoveredKey);
+                return minioService.generateUrlFromKey(discoveredKey);
+            }
+            // Legacy bucket fallback (image not migrated yet)
             return minioService.getEquipmentMainPhoto(equipment.getId());
         } catch (Exception e) {
             return null;
         }
     }
 
+    private void saveDiscoveredImageKey(Equipment equipment, String imageStorageKey) {
+        try {
+            equipmentRepository.saveDiscoveredImageStorageKey(equipment.getId(), imageStorageKey);
+        } catch (Exception e) {
+            // Not fatal: the key stays cached in MinioService and is saved on a later view
+            System.err.println("Could not save image key for equipment " + equipment.getId() + ": " + e.getMessage());
+        }
+    }
+
     // GET methods
 
     @Transactional(readOnly = true)
@@ -119,6 +150,45 @@ public class EquipmentService {
                 .collect(Collectors.toList());
     }
 
+    private static final SortKeys<Equipment> EQUIPMENT_SORTS = SortKeys
+            .<Equipment>by(Equipment::getId, "name", Equipment::getName, Sort.Direction.ASC)
+            .or("serialNumber", Equipment::getSerialNumber)
+            .or("purchasedDate", Equipment::getPurchasedDate)
+            .or("status", Equipment::getStatus);
+
+    /**
+     * One page of equipment, filtered and sorted in the database
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EquipmentDTO> getEquipmentPage(EquipmentFilter filter, KeysetPageRequest page) {
+        Specification<Equipment> spec = Specification.where(filter.toSpecification()).and(fetchAssociations());
+        return KeysetPager.fetch(equipmentRepository, spec, page, EQUIPMENT_SORTS, equipments -> equipments.stream()
+                .map(equipment -> {
+                    EquipmentDTO dto = EquipmentDTO.fromEntity(equipment);
+                    dto.setImageUrl(resolveEquipmentImageUrl(equipment));
+                    return dto;
+                })
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Same to-one associations as findAllWithAssociations, joined into the page query
+     */
+    private static Specification<Equipment> fetchAssociations() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("type", JoinType.LEFT);
+                root.fetch("brand", JoinType.LEFT);
+                root.fetch("site", JoinType.LEFT);
+                root.fetch("mainDriver", JoinType.LEFT);
+                root.fetch("subDriver", JoinType.LEFT);
+                root.fetch("purchasedFrom", JoinType.LEFT);
+                root.fetch("purchaseSpec", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
     @Transactional(readOnly = true)
     public EquipmentDTO getEquipmentById(UUID id) {
         Equipment equipment = equipmentRepository.findById(id)
@@ -292,6 +362,8 @@ public class EquipmentService {
             savedEquipment = equipmentRepository.save(savedEquipment);
         }
 
+        eventPublisher.publishEvent(EquipmentValuationChangedEvent.changed(savedEquipment.getId(), null));
+
         // Create and return DTO
         EquipmentDTO resultDTO = EquipmentDTO.fromEntity(savedEquipment);
         resultDTO.setImageUrl(resolveEquipmentImageUrl(savedEquipment));
@@ -424,6 +496,7 @@ public class EquipmentService {
         // Check if equipment exists
         Equipment equipment = equipmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Equipment not found with id: " + id));
+        UUID previousSiteId = equipment.getSite() != null ? equipment.getSite().getId() : null;
 
         // Check if serial number already exists for another equipment
         if (updateDTO.getSerialNumber() != null &&
@@ -580,6 +653,7 @@ public class EquipmentService {
 
         // Save the equipment
         Equipment updatedEquipment = equipmentRepository.save(equipment);
+        eventPublisher.publishEvent(EquipmentValuationChangedEvent.changed(updatedEquipment.getId(), previousSiteId));
 
         // Create and return DTO
         EquipmentDTO resultDTO = EquipmentDTO.fromEntity(updatedEquipment);
@@ -807,6 +881,8 @@ public class EquipmentService {
             System.err.println("Failed to send equipment deletion notifications: " + e.getMessage());
         }
 
+        eventPublisher.publishEvent(EquipmentValuationChangedEvent.removed(
+                equipment.getId(), equipment.getSite() != null ? equipment.getSite().getId() : null));
         equipmentRepository.delete(equipment);
     }
 
@@ -3,7 +3,6 @@ package com.example.backend.services.finance.accountsPayable;
 import com.example.backend.dto.finance.accountsPayable.BalanceSummaryResponseDTO;
 import com.example.backend.dto.finance.accountsPayable.AccountsPayableDashboardSummaryResponseDTO;
 import com.example.backend.dto.finance.accountsPayable.MerchantPaymentSummaryResponseDTO;
-import com.example.backend.models.finance.accountsPayable.AccountPayablePayment;
 import com.example.backend.models.finance.accountsPayable.enums.PaymentRequestStatus;
 import com.example.backend.models.finance.accountsPayable.enums.PaymentStatus;
 import com.example.backend.repositories.finance.accountsPayable.OfferFinancialReviewRepository;
@@ -14,14 +13,19 @@ import com.example.backend.repositories.finance.balances.CashSafeRepository;
 import com.example.backend.repositories.finance.balances.CashWithPersonRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -71,18 +75,17 @@ public class AccountsPayableDashboardService {
                 paymentRequestRepository.sumAmountByStatus(PaymentRequestStatus.PARTIALLY_PAID);
 
         // 4. Paid Today
-        List<AccountPayablePayment> todayPayments =
-                paymentRepository.findPaymentsMadeToday(LocalDate.now());
-        long paidTodayCount = todayPayments.size();
-        Double paidTodayAmount = todayPayments.stream()
-                .map(p -> p.getAmount().doubleValue())
-                .reduce(0.0, Double::sum);
-
-        // 5. Available Balance
-        BigDecimal availableBalance = calculateTotalAvailableBalance();
-
-        // 6. Total Balance
-        BigDecimal totalBalance = calculateTotalBalance();
+        Object[] paidToday = firstRow(paymentRepository.countAndSumPaymentsMadeOn(LocalDate.now()));
+        long paidTodayCount = toLong(paidToday[0]);
+        BigDecimal paidTodayAmount = toBigDecimal(paidToday[1]);
+
+        // 5. Available Balance and 6. Total Balance
+        List<AccountTotals> accountTotals = List.of(
+                toAccountTotals(bankAccountRepository.summarizeBalances()),
+                toAccountTotals(cashSafeRepository.summarizeBalances()),
+                toAccountTotals(cashWithPersonRepository.summarizeBalances()));
+        BigDecimal availableBalance = sumBalances(accountTotals, AccountTotals::availableBalance);
+        BigDecimal totalBalance = sumBalances(accountTotals, AccountTotals::currentBalance);
 
         return AccountsPayableDashboardSummaryResponseDTO.builder()
                 .pendingOffersCount(pendingOffersCount)
@@ -92,7 +95,7 @@ public class AccountsPayableDashboardService {
                 .readyToPayCount(readyToPayCount)
                 .readyToPayAmount(BigDecimal.valueOf(readyToPayAmount != null ? readyToPayAmount : 0.0))
                 .paidTodayCount(paidTodayCount)
-                .paidTodayAmount(BigDecimal.valueOf(paidTodayAmount))
+                .paidTodayAmount(paidTodayAmount)
                 .availableBalance(availableBalance)
                 .totalBalance(totalBalance)
                 .build();
@@ -101,137 +104,109 @@ public class AccountsPayableDashboardService {
     /**
      * Get balance summary (overview of all accounts)
      */
+    @Cacheable(value = "dashboardCache", key = "'financeBalances'")
     @Transactional(readOnly = true)
     public BalanceSummaryResponseDTO getBalanceSummary() {
-        // Bank Accounts
-        List<com.example.backend.models.finance.balances.BankAccount> bankAccounts = bankAccountRepository.findAll();
-        BigDecimal bankAccountsBalance = bankAccounts.stream()
-                .map(acc -> acc.getCurrentBalance())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long totalBankAccounts = bankAccounts.size();
-        long activeBankAccounts = bankAccounts.stream().filter(acc -> acc.getIsActive()).count();
-
-        // Cash Safes
-        List<com.example.backend.models.finance.balances.CashSafe> cashSafes = cashSafeRepository.findAll();
-        BigDecimal cashSafesBalance = cashSafes.stream()
-                .map(safe -> safe.getCurrentBalance())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long totalCashSafes = cashSafes.size();
-        long activeCashSafes = cashSafes.stream().filter(safe -> safe.getIsActive()).count();
-
-        // Cash With Persons
-        List<com.example.backend.models.finance.balances.CashWithPerson> cashWithPersons = cashWithPersonRepository.findAll();
-        BigDecimal cashWithPersonsBalance = cashWithPersons.stream()
-                .map(person -> person.getCurrentBalance())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long totalCashWithPersons = cashWithPersons.size();
-        long activeCashWithPersons = cashWithPersons.stream().filter(person -> person.getIsActive()).count();
+        AccountTotals bankAccounts = toAccountTotals(bankAccountRepository.summarizeBalances());
+        AccountTotals cashSafes = toAccountTotals(cashSafeRepository.summarizeBalances());
+        AccountTotals cashWithPersons = toAccountTotals(cashWithPersonRepository.summarizeBalances());
+        List<AccountTotals> accountTotals = List.of(bankAccounts, cashSafes, cashWithPersons);
 
         // Totals
-        BigDecimal totalBalance = bankAccountsBalance.add(cashSafesBalance).add(cashWithPersonsBalance);
-        BigDecimal availableBalance = calculateTotalAvailableBalance();
+        BigDecimal totalBalance = sumBalances(accountTotals, AccountTotals::currentBalance);
+        BigDecimal availableBalance = sumBalances(accountTotals, AccountTotals::availableBalance);
         BigDecimal reservedBalance = totalBalance.subtract(availableBalance);
 
         return BalanceSummaryResponseDTO.builder()
                 .totalBalance(totalBalance)
                 .availableBalance(availableBalance)
                 .reservedBalance(reservedBalance)
-                .bankAccountsBalance(bankAccountsBalance)
-                .cashSafesBalance(cashSafesBalance)
-                .cashWithPersonsBalance(cashWithPersonsBalance)
-                .totalBankAccounts(totalBankAccounts)
-                .totalCashSafes(totalCashSafes)
-                .totalCashWithPersons(totalCashWithPersons)
-                .activeBankAccounts(activeBankAccounts)
-                .activeCashSafes(activeCashSafes)
-                .activeCashWithPersons(activeCashWithPersons)
+                .bankAccountsBalance(bankAccounts.currentBalance())
+                .cashSafesBalance(cashSafes.currentBalance())
+                .cashWithPersonsBalance(cashWithPersons.currentBalance())
+                .totalBankAccounts(bankAccounts.accounts())
+                .totalCashSafes(cashSafes.accounts())
+                .totalCashWithPersons(cashWithPersons.accounts())
+                .activeBankAccounts(bankAccounts.activeAccounts())
+                .activeCashSafes(cashSafes.activeAccounts())
+                .activeCashWithPersons(cashWithPersons.activeAccounts())
                 .build();
     }
 
     /**
-     * Get merchant payment summary (for "By Merchant" page)
+     * Get merchant payment summary (for "By Merchant" page), largest total paid first.
+     * Optionally only the top {@code limit} merchants and only payments dated within fromDate..toDate
+     * (either end may be open). Grouped in the database, so only one row per listed merchant is loaded.
      */
-    @Cacheable(value = "dashboardCache", key = "'financeMerchants'")
+    @Cacheable(value = "merchantPaymentSummaries", key = "#limit + ':' + #fromDate + ':' + #toDate")
     @Transactional(readOnly = true)
-    public List<MerchantPaymentSummaryResponseDTO> getMerchantPaymentSummaries() {
-        // Get all payments grouped by merchant
-        List<AccountPayablePayment> allPayments =
-                paymentRepository.findByStatus(PaymentStatus.COMPLETED);
-
-        // Group by merchant
-        Map<java.util.UUID, List<AccountPayablePayment>> paymentsByMerchant =
-                allPayments.stream()
-                        .filter(p -> p.getPaidToMerchant() != null)
-                        .collect(Collectors.groupingBy(p -> p.getPaidToMerchant().getId()));
-
-        List<MerchantPaymentSummaryResponseDTO> summaries = new ArrayList<>();
-
-        for (Map.Entry<java.util.UUID, List<AccountPayablePayment>> entry : paymentsByMerchant.entrySet()) {
-            java.util.UUID merchantId = entry.getKey();
-            List<AccountPayablePayment> merchantPayments = entry.getValue();
-
-            BigDecimal totalPaid = merchantPayments.stream()
-                    .map(AccountPayablePayment::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            AccountPayablePayment lastPayment = merchantPayments.stream()
-                    .max((p1, p2) -> p1.getPaymentDate().compareTo(p2.getPaymentDate()))
-                    .orElse(null);
-
-            String merchantName = merchantPayments.get(0).getPaidToName();
-
-            MerchantPaymentSummaryResponseDTO summary = MerchantPaymentSummaryResponseDTO.builder()
-                    .merchantId(merchantId)
-                    .merchantName(merchantName)
-                    .totalPaid(totalPaid)
-                    .numberOfPayments((long) merchantPayments.size())
-                    .lastPaymentDate(lastPayment != null ? lastPayment.getPaymentDate() : null)
-                    .lastPaymentAmount(lastPayment != null ? lastPayment.getAmount() : null)
-                    .build();
-
-            summaries.add(summary);
+    public List<MerchantPaymentSummaryResponseDTO> getMerchantPaymentSummaries(
+            Integer limit, LocalDate fromDate, LocalDate toDate) {
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+
+        Pageable pageable = limit != null ? PageRequest.of(0, limit) : Pageable.unpaged();
+        List<Object[]> rows = paymentRepository.summarizePaymentsByMerchant(
+                PaymentStatus.COMPLETED, fromDate, toDate, pageable);
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // Sort by total paid descending
-        summaries.sort((s1, s2) -> s2.getTotalPaid().compareTo(s1.getTotalPaid()));
+        // Amount of each listed merchant's latest payment (the most recently processed one on its last date)
+        List<UUID> merchantIds = rows.stream().map(row -> (UUID) row[0]).toList();
+        Map<UUID, BigDecimal> lastPaymentAmounts = new HashMap<>();
+        for (Object[] row : paymentRepository.findLastPaymentAmountsByMerchant(
+                merchantIds, PaymentStatus.COMPLETED, fromDate, toDate)) {
+            lastPaymentAmounts.putIfAbsent((UUID) row[0], (BigDecimal) row[1]);
+        }
 
-        return summaries;
+        return rows.stream()
+                .map(row -> MerchantPaymentSummaryResponseDTO.builder()
+                        .merchantId((UUID) row[0])
+                        .merchantName((String) row[1])
+                        .totalPaid(toBigDecimal(row[2]))
+                        .numberOfPayments(toLong(row[3]))
+                        .lastPaymentDate((LocalDate) row[4])
+                        .lastPaymentAmount(lastPaymentAmounts.get((UUID) row[0]))
+                        .build())
+                .collect(Collectors.toList());
     }
 
     // ================== Helper Methods ==================
 
-    private BigDecimal calculateTotalAvailableBalance() {
-        BigDecimal bankBalance = bankAccountRepository.findAll().stream()
-                .filter(acc -> acc.getIsActive())
-                .map(acc -> acc.getAvailableBalance() != null ? acc.getAvailableBalance() : acc.getCurrentBalance())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal safeBalance = cashSafeRepository.findAll().stream()
-                .filter(safe -> safe.getIsActive())
-                .map(safe -> safe.getAvailableBalance() != null ? safe.getAvailableBalance() : safe.getCurrentBalance())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal personBalance = cashWithPersonRepository.findAll().stream()
-                .filter(person -> person.getIsActive())
-                .map(person -> person.getAvailableBalance() != null ? person.getAvailableBalance() : person.getCurrentBalance())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // Balance totals of one account type, as returned by summarizeBalances
+    private record AccountTotals(long accounts, long activeAccounts,
+                                 BigDecimal currentBalance, BigDecimal availableBalance) {
+    }
 
-        return bankBalance.add(safeBalance).add(personBalance);
+    private AccountTotals toAccountTotals(List<Object[]> rows) {
+        Object[] row = firstRow(rows);
+        return new AccountTotals(toLong(row[0]), toLong(row[1]), toBigDecimal(row[2]), toBigDecimal(row[3]));
     }
 
-    private BigDecimal calculateTotalBalance() {
-        BigDecimal bankBalance = bankAccountRepository.findAll().stream()
-                .map(acc -> acc.getCurrentBalance())
+    private BigDecimal sumBalances(List<AccountTotals> accountTotals, Function<AccountTotals, BigDecimal> balance) {
+        return accountTotals.stream()
+                .map(balance)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 
-        BigDecimal safeBalance = cashSafeRepository.findAll().stream()
-                .map(safe -> safe.getCurrentBalance())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // Aggregate queries always return a single row; treat a missing one as all zeros
+    private Object[] firstRow(List<Object[]> rows) {
+        return rows.isEmpty() ? new Object[4] : rows.get(0);
+    }
 
-        BigDecimal personBalance = cashWithPersonRepository.findAll().stream()
-                .map(person -> person.getCurrentBalance())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
 
-        return bankBalance.add(safeBalance).add(personBalance);
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
     }
-}
\ No newline at end of file
+}
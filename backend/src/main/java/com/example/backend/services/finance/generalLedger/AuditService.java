@@ -1,33 +1,56 @@
 package com.example.backend.services.finance.generalLedger;
 
+import com.example.backend.dto.finance.generalLedger.AuditLogExportRow;
 import com.example.backend.dto.finance.generalLedger.AuditLogResponseDTO;
 import com.example.backend.models.finance.generalLedger.AuditAction;
 import com.example.backend.models.finance.generalLedger.AuditLog;
 import com.example.backend.models.user.User;
 import com.example.backend.repositories.finance.generalLedger.AuditLogRepository;
+import com.example.backend.utils.ExportUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AuditService {
 
+    // Rows fetched per round trip by the export cursor
+    private static final int EXPORT_FETCH_SIZE = 500;
+
     private final AuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ExportUtil exportUtil;
+
+    public enum ExportFormat { XLSX, CSV }
+
+    /**
+     * Optional export filters; null fields are not applied
+     */
+    public record ExportFilter(String entityType, UUID entityId, UUID userId,
+                               LocalDateTime startDate, LocalDateTime endDate) {}
 
     public void logEvent(String entityType, UUID entityId, AuditAction action,
                          Map<String, Object> changes, User user) {
@@ -64,13 +87,56 @@ public class AuditService {
     }
 
     /**
-     * Retrieves all audit logs without pagination
+     * Writes the matching audit logs, newest first, to {@code out}.
+     * Rows come from a forward-only database cursor and are written one by one,
+     * so memory use stays flat however many rows match.
      */
-    public List<AuditLogResponseDTO> getAllAuditLogs() {
-        List<AuditLog> logs = auditLogRepository.findAll(Sort.by(Sort.Direction.DESC, "timestamp"));
-        return logs.stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void exportAuditLogs(ExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<AuditLogExportRow> rows = streamAuditLogsForExport(filter)) {
+            if (format == ExportFormat.CSV) {
+                exportUtil.writeAuditLogsToCsv(rows, out);
+            } else {
+                exportUtil.writeAuditLogsToExcel(rows, out);
+            }
+        }
+    }
+
+    private Stream<AuditLogExportRow> streamAuditLogsForExport(ExportFilter filter) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.example.backend.dto.finance.generalLedger.AuditLogExportRow(" +
+                "a.id, a.entityType, a.entityId, a.action, a.changes, u.username, a.timestamp, a.ipAddress, a.userAgent) " +
+                "FROM AuditLog a LEFT JOIN a.user u WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        // Only present filters become predicates, so no untyped null parameters reach PostgreSQL
+        if (filter.entityType() != null) {
+            jpql.append(" AND a.entityType = :entityType");
+            parameters.put("entityType", filter.entityType());
+        }
+        if (filter.entityId() != null) {
+            jpql.append(" AND a.entityId = :entityId");
+            parameters.put("entityId", filter.entityId());
+        }
+        if (filter.userId() != null) {
+            jpql.append(" AND u.id = :userId");
+            parameters.put("userId", filter.userId());
+        }
+        if (filter.startDate() != null) {
+            jpql.append(" AND a.timestamp >= :startDate");
+            parameters.put("startDate", filter.startDate());
+        }
+        if (filter.endDate() != null) {
+            jpql.append(" AND a.timestamp <= :endDate");
+            parameters.put("endDate", filter.endDate());
+        }
+        jpql.append(" ORDER BY a.timestamp DESC");
+
+        TypedQuery<AuditLogExportRow> query = entityManager.createQuery(jpql.toString(), AuditLogExportRow.class);
+        parameters.forEach(query::setParameter);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
     }
 
     /**
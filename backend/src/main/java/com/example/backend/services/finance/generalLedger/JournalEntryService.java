@@ -11,9 +11,15 @@ import com.example.backend.models.finance.generalLedger.JournalEntryLine;
 import com.example.backend.models.finance.generalLedger.JournalEntryStatus;
 import com.example.backend.repositories.finance.generalLedger.JournalEntryRepository;
 import com.example.backend.repositories.user.UserRepository;
+import com.example.backend.dto.finance.generalLedger.JournalEntryFilter;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
+import com.example.backend.utils.pagination.KeysetPager;
+import com.example.backend.utils.pagination.SortKeys;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -164,6 +170,22 @@ public class JournalEntryService {
                 .collect(Collectors.toList());
     }
 
+    private static final SortKeys<JournalEntry> JOURNAL_ENTRY_SORTS = SortKeys
+            .<JournalEntry>by(JournalEntry::getId, "entryDate", JournalEntry::getEntryDate, Sort.Direction.DESC)
+            .or("createdAt", JournalEntry::getCreatedAt)
+            .or("referenceNumber", JournalEntry::getReferenceNumber);
+
+    /**
+     * One page of journal entries, filtered and sorted in the database
+     */
+    @Transactional
+    public CursorPage<JournalEntryResponseDTO> getJournalEntriesPage(JournalEntryFilter filter, KeysetPageRequest page) {
+        return KeysetPager.fetch(journalEntryRepository, filter.toSpecification(), page, JOURNAL_ENTRY_SORTS,
+                journalEntries -> journalEntries.stream()
+                        .map(this::mapToJournalEntryResponseDTO)
+                        .collect(Collectors.toList()));
+    }
+
     public List<JournalEntryResponseDTO> getJournalEntriesByStatus(JournalEntryStatus status) {
         List<JournalEntry> journalEntries = journalEntryRepository.findByStatus(status);
 
@@ -2,6 +2,7 @@ package com.example.backend.services.finance.inventoryValuation;
 
 import com.example.backend.dto.finance.inventoryValuation.*;
 import com.example.backend.dto.finance.valuation.*;
+import com.example.backend.events.ValuationDeltaEvent;
 import com.example.backend.models.PartyType;
 import com.example.backend.models.equipment.Consumable;
 import com.example.backend.models.equipment.Equipment;
@@ -29,6 +30,7 @@ import com.example.backend.services.finance.valuation.SiteValuationService;
 import com.example.backend.services.finance.valuation.WarehouseValuationService;
 import com.example.backend.services.notification.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -74,6 +76,9 @@ public class InventoryValuationService {
     @Autowired
     private ConsumableRepository consumableRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ==================== PRICE APPROVAL METHODS (UNCHANGED) ====================
 
     /**
@@ -121,6 +126,8 @@ public class InventoryValuationService {
         }
 
         Item item = approval.getItem();
+        double valueBefore = ValuationDeltaEvent.stockValueOf(item);
+        int quantityBefore = ValuationDeltaEvent.stockQuantityOf(item);
 
         // Update item with price
         item.setUnitPrice(approvedPrice);
@@ -139,9 +146,11 @@ public class InventoryValuationService {
 
         ItemPriceApproval savedApproval = itemPriceApprovalRepository.save(approval);
 
-        // ✅ NEW: Update valuations using new service
-        warehouseValuationService.calculateWarehouseValuation(item.getWarehouse().getId(), approvedBy);
-        siteValuationService.calculateSiteValuation(item.getWarehouse().getSite().getId(), approvedBy);
+        // Newly priced stock now counts towards the warehouse and site valuations
+        eventPublisher.publishEvent(ValuationDeltaEvent.forWarehouse(item.getWarehouse().getId(),
+                ValuationDeltaEvent.stockValueOf(item) - valueBefore,
+                ValuationDeltaEvent.stockQuantityOf(item) - quantityBefore,
+                0.0));
 
         // Send notification
         try {
@@ -216,16 +225,7 @@ public class InventoryValuationService {
 
         Long pendingCount = itemPriceApprovalRepository.countPendingApprovalsByWarehouse(warehouse);
 
-        return WarehouseBalanceDTO.builder()
-                .warehouseId(warehouse.getId())
-                .warehouseName(warehouse.getName())
-                .siteId(warehouse.getSite().getId())
-                .siteName(warehouse.getSite().getName())
-                .totalValue(valuation.getCurrentValue())
-                .totalItems(valuation.getTotalItems())
-                .pendingApprovalCount(pendingCount.intValue())
-                 .photoUrl(warehouse.getPhotoUrl())
-                .build();
+        return toWarehouseBalanceDTO(warehouse, valuation, pendingCount);
     }
 
     /**
@@ -247,44 +247,92 @@ public class InventoryValuationService {
                     .collect(Collectors.toList())
                 : Collections.emptyList();
 
-        return SiteBalanceDTO.builder()
-                .siteId(site.getId())
-                .siteName(site.getName())
-                .totalValue(siteValuation.getTotalValue() != null ? siteValuation.getTotalValue() : 0.0)
-                .totalWarehouses(siteValuation.getWarehouseCount() != null ? siteValuation.getWarehouseCount() : 0)
-                .equipmentCount(siteValuation.getEquipmentCount() != null ? siteValuation.getEquipmentCount() : 0)
-                .totalEquipmentValue(siteValuation.getEquipmentValue() != null ? siteValuation.getEquipmentValue() : 0.0)
-                .totalWarehouseValue(siteValuation.getWarehouseValue() != null ? siteValuation.getWarehouseValue() : 0.0)
-                .warehouses(warehouseBalances)
-                .build();
+        return toSiteBalanceDTO(site, siteValuation, warehouseBalances);
     }
 
     /**
-     * Get all site balances with valuation data
+     * Get all site balances with valuation data.
+     * Reads the stored aggregates with a fixed number of queries, whatever the number of sites and warehouses.
      */
     @Transactional
     public List<SiteBalanceDTO> getAllSiteBalances() {
-        List<Site> sites = siteRepository.findAll();
+        List<SiteValuation> siteValuations = siteValuationService.getAllSiteValuations();
+        if (siteValuations.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Warehouse> warehouses = warehouseRepository.findAllWithSite();
+        Map<UUID, WarehouseValuation> warehouseValuations = warehouseValuationService.getWarehouseValuations(warehouses);
+        Map<UUID, Long> pendingCounts = new HashMap<>();
+        for (Object[] row : itemPriceApprovalRepository.countPendingApprovalsGroupedByWarehouse()) {
+            pendingCounts.put((UUID) row[0], (Long) row[1]);
+        }
 
-        return sites.stream()
-                .map(site -> getSiteBalance(site.getId()))
+        Map<UUID, List<WarehouseBalanceDTO>> warehouseBalancesBySite = warehouses.stream()
+                .collect(Collectors.groupingBy(
+                        warehouse -> warehouse.getSite().getId(),
+                        Collectors.mapping(warehouse -> toWarehouseBalanceDTO(
+                                        warehouse,
+                                        warehouseValuations.get(warehouse.getId()),
+                                        pendingCounts.getOrDefault(warehouse.getId(), 0L)),
+                                Collectors.toList())));
+
+        return siteValuations.stream()
+                .map(valuation -> toSiteBalanceDTO(valuation.getSite(), valuation,
+                        warehouseBalancesBySite.getOrDefault(valuation.getSite().getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
     /**
-     * NEW: Get complete site valuation with expenses
-     */
-    /**
-     * NEW: Get complete site valuation with expenses
-     * ALWAYS recalculates to ensure fresh data
+     * Get complete site valuation with expenses.
+     * Served from the stored aggregate, which is kept current by valuation deltas
+     * (calculated in full only if the site has never been valued).
      */
+    @Transactional
     public SiteValuationDTO getSiteValuationComplete(UUID siteId) {
         Site site = siteRepository.findById(siteId)
                 .orElseThrow(() -> new IllegalArgumentException("Site not found"));
 
-        // ✅ ALWAYS recalculate to get fresh data
-        SiteValuation valuation = siteValuationService.calculateSiteValuation(siteId, "SYSTEM");
+        return toSiteValuationDTO(site, siteValuationService.getSiteValuation(siteId));
+    }
+
+    /**
+     * Get all sites with complete valuation data including expenses, from the stored aggregates
+     */
+    @Transactional
+    public List<SiteValuationDTO> getAllSiteValuations() {
+        return siteValuationService.getAllSiteValuations().stream()
+                .map(valuation -> toSiteValuationDTO(valuation.getSite(), valuation))
+                .collect(Collectors.toList());
+    }
+
+    private WarehouseBalanceDTO toWarehouseBalanceDTO(Warehouse warehouse, WarehouseValuation valuation, Long pendingCount) {
+        return WarehouseBalanceDTO.builder()
+                .warehouseId(warehouse.getId())
+                .warehouseName(warehouse.getName())
+                .siteId(warehouse.getSite().getId())
+                .siteName(warehouse.getSite().getName())
+                .totalValue(valuation.getCurrentValue())
+                .totalItems(valuation.getTotalItems())
+                .pendingApprovalCount(pendingCount.intValue())
+                .photoUrl(warehouse.getPhotoUrl())
+                .build();
+    }
 
+    private SiteBalanceDTO toSiteBalanceDTO(Site site, SiteValuation siteValuation, List<WarehouseBalanceDTO> warehouseBalances) {
+        return SiteBalanceDTO.builder()
+                .siteId(site.getId())
+                .siteName(site.getName())
+                .totalValue(siteValuation.getTotalValue() != null ? siteValuation.getTotalValue() : 0.0)
+                .totalWarehouses(siteValuation.getWarehouseCount() != null ? siteValuation.getWarehouseCount() : 0)
+                .equipmentCount(siteValuation.getEquipmentCount() != null ? siteValuation.getEquipmentCount() : 0)
+                .totalEquipmentValue(siteValuation.getEquipmentValue() != null ? siteValuation.getEquipmentValue() : 0.0)
+                .totalWarehouseValue(siteValuation.getWarehouseValue() != null ? siteValuation.getWarehouseValue() : 0.0)
+                .warehouses(warehouseBalances)
+                .build();
+    }
+
+    private SiteValuationDTO toSiteValuationDTO(Site site, SiteValuation valuation) {
         return SiteValuationDTO.builder()
                 .siteId(site.getId())
                 .siteName(site.getName())
@@ -305,20 +353,6 @@ public class InventoryValuationService {
                 .build();
     }
 
-    /**
-     * NEW: Get all sites with complete valuation data including expenses
-     * ALWAYS recalculates to ensure fresh data
-     */
-    public List<SiteValuationDTO> getAllSiteValuations() {
-        List<Site> sites = siteRepository.findAll();
-
-        return sites.stream()
-                .map(site -> {
-                    // ✅ Recalculate is now called inside getSiteValuationComplete
-                    return getSiteValuationComplete(site.getId());
-                })
-                .collect(Collectors.toList());
-    }
     /**
      * NEW: Get equipment financial breakdown
      */
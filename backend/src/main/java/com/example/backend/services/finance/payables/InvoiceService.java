@@ -1,6 +1,9 @@
 // Invoice Service - handles all invoice business logic
 package com.example.backend.services.finance.payables;
 
+import com.example.backend.dto.finance.payables.AgingBucket;
+import com.example.backend.dto.finance.payables.InvoiceAgingRow;
+import com.example.backend.dto.finance.payables.InvoiceAgingSummary;
 import com.example.backend.dto.finance.payables.InvoiceRequestDTO;
 import com.example.backend.dto.finance.payables.InvoiceSearchRequestDTO;
 import com.example.backend.dto.finance.payables.InvoiceResponseDTO;
@@ -9,6 +12,7 @@ import com.example.backend.models.finance.payables.Invoice;
 import com.example.backend.models.finance.payables.InvoiceStatus;
 import com.example.backend.models.finance.payables.PaymentStatus;
 import com.example.backend.repositories.finance.payables.InvoiceRepository;
+import com.example.backend.utils.ExportUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -16,22 +20,37 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class InvoiceService {
 
+    private static final List<InvoiceStatus> UNPAID_STATUSES = List.of(
+            InvoiceStatus.PENDING,
+            InvoiceStatus.PARTIALLY_PAID,
+            InvoiceStatus.OVERDUE
+    );
+
     private final InvoiceRepository invoiceRepository;
+    private final ExportUtil exportUtil;
 
     // Create a new invoice
     public InvoiceResponseDTO createInvoice(InvoiceRequestDTO request, String createdBy) {
@@ -335,114 +354,59 @@ public class InvoiceService {
     }
 
     // AGING REPORT METHODS (P-004 requirement)
-// Replace these methods in your InvoiceService class
-
-    // Replace these aging methods in your InvoiceService with consistent logic
+    // Buckets by days past due as of today; invoices not yet due count as 0-30 days
 
     @Transactional(readOnly = true)
     public List<InvoiceResponseDTO> getInvoicesAged0To30Days() {
         LocalDate currentDate = LocalDate.now();
-
-        // Get unpaid invoices with the same statuses as getAgingTotals()
-        List<InvoiceStatus> unpaidStatuses = Arrays.asList(
-                InvoiceStatus.PENDING,
-                InvoiceStatus.PARTIALLY_PAID,
-                InvoiceStatus.OVERDUE
-        );
-
-        List<Invoice> unpaidInvoices = invoiceRepository.findUnpaidInvoices(unpaidStatuses);
-
-        // Filter for 0-30 days bucket (includes not due yet AND past due 0-30 days)
-        List<Invoice> filtered = unpaidInvoices.stream()
-                .filter(invoice -> {
-                    if (invoice.getDueDate() != null) {
-                        long daysPastDue = ChronoUnit.DAYS.between(invoice.getDueDate(), currentDate);
-                        // Include: not due yet (negative days) OR past due 0-30 days
-                        return daysPastDue <= 30;
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
-
-        return filtered.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return toResponses(invoiceRepository.findByStatusInAndDueDateGreaterThanEqualOrderByDueDateAsc(
+                UNPAID_STATUSES, currentDate.minusDays(30)));
     }
 
     @Transactional(readOnly = true)
     public List<InvoiceResponseDTO> getInvoicesAged31To60Days() {
         LocalDate currentDate = LocalDate.now();
-
-        List<InvoiceStatus> unpaidStatuses = Arrays.asList(
-                InvoiceStatus.PENDING,
-                InvoiceStatus.PARTIALLY_PAID,
-                InvoiceStatus.OVERDUE
-        );
-
-        List<Invoice> unpaidInvoices = invoiceRepository.findUnpaidInvoices(unpaidStatuses);
-
-        // Filter for 31-60 days past due
-        List<Invoice> filtered = unpaidInvoices.stream()
-                .filter(invoice -> {
-                    if (invoice.getDueDate() != null) {
-                        long daysPastDue = ChronoUnit.DAYS.between(invoice.getDueDate(), currentDate);
-                        return daysPastDue >= 31 && daysPastDue <= 60;
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
-
-        return filtered.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return toResponses(invoiceRepository.findByStatusInAndDueDateBetweenOrderByDueDateAsc(
+                UNPAID_STATUSES, currentDate.minusDays(60), currentDate.minusDays(31)));
     }
 
     @Transactional(readOnly = true)
     public List<InvoiceResponseDTO> getInvoicesAged61To90Days() {
         LocalDate currentDate = LocalDate.now();
-
-        List<InvoiceStatus> unpaidStatuses = Arrays.asList(
-                InvoiceStatus.PENDING,
-                InvoiceStatus.PARTIALLY_PAID,
-                InvoiceStatus.OVERDUE
-        );
-
-        List<Invoice> unpaidInvoices = invoiceRepository.findUnpaidInvoices(unpaidStatuses);
-
-        // Filter for 61-90 days past due
-        List<Invoice> filtered = unpaidInvoices.stream()
-                .filter(invoice -> {
-                    if (invoice.getDueDate() != null) {
-                        long daysPastDue = ChronoUnit.DAYS.between(invoice.getDueDate(), currentDate);
-                        return daysPastDue >= 61 && daysPastDue <= 90;
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
-
-        return filtered.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return toResponses(invoiceRepository.findByStatusInAndDueDateBetweenOrderByDueDateAsc(
+                UNPAID_STATUSES, currentDate.minusDays(90), currentDate.minusDays(61)));
     }
 
     @Transactional(readOnly = true)
     public List<InvoiceResponseDTO> getInvoicesAgedOver90Days() {
         LocalDate currentDate = LocalDate.now();
+        return toResponses(invoiceRepository.findByStatusInAndDueDateLessThanOrderByDueDateAsc(
+                UNPAID_STATUSES, currentDate.minusDays(90)));
+    }
 
-        List<InvoiceStatus> unpaidStatuses = Arrays.asList(
-                InvoiceStatus.PENDING,
-                InvoiceStatus.PARTIALLY_PAID,
-                InvoiceStatus.OVERDUE
-        );
-
-        List<Invoice> unpaidInvoices = invoiceRepository.findUnpaidInvoices(unpaidStatuses);
-
-        // Filter for over 90 days past due
-        List<Invoice> filtered = unpaidInvoices.stream()
-                .filter(invoice -> {
-                    if (invoice.getDueDate() != null) {
-                        long daysPastDue = ChronoUnit.DAYS.between(invoice.getDueDate(), currentDate);
-                        return daysPastDue > 90;
-                    }
-                    return false;
-                })
-                .collect(Collectors.toList());
+    /**
+     * Writes the full aging report as a PDF to {@code out}: one query buckets every unpaid invoice
+     * with its vendor subtotal, and the rows are rendered as they arrive from the database cursor,
+     * so memory use stays flat however many invoices are open.
+     */
+    @Transactional(readOnly = true)
+    public void exportAgingReport(OutputStream out) throws IOException {
+        LocalDate asOfDate = LocalDate.now();
+        try (Stream<Object[]> result = invoiceRepository.streamAgingReport(unpaidStatusNames(), asOfDate)) {
+            Iterator<Object[]> rows = result.iterator();
+            if (!rows.hasNext()) {
+                exportUtil.writeAgingReportToPDF(InvoiceAgingSummary.empty(), Collections.emptyIterator(), out);
+                return;
+            }
 
-        return filtered.stream().map(this::convertToResponse).collect(Collectors.toList());
+            // Every row carries the bucket totals; take them from the first one for the summary
+            Object[] first = rows.next();
+            Iterator<InvoiceAgingRow> agingRows = Stream.concat(Stream.<Object[]>of(first),
+                            StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false))
+                    .map(this::toAgingRow)
+                    .iterator();
+            exportUtil.writeAgingReportToPDF(toAgingSummary(first), agingRows, out);
+        }
     }
 
     // Also add this debug method to verify your data
@@ -477,71 +441,76 @@ public class InvoiceService {
         System.out.println("=== END DEBUG ===");
     }
 
-    //@Override
-    // Add this debug method to your InvoiceService temporarily
-    // Replace your aging method with this corrected version
-    //@Override
+    /**
+     * Invoice count and remaining balance of each aging bucket, grouped in the database.
+     */
+    @Transactional(readOnly = true)
+    public InvoiceAgingSummary getAgingSummary() {
+        InvoiceAgingSummary summary = InvoiceAgingSummary.empty();
+        for (Object[] row : invoiceRepository.sumAgingBuckets(unpaidStatusNames(), LocalDate.now())) {
+            AgingBucket bucket = AgingBucket.fromIndex(((Number) row[0]).intValue());
+            summary.invoiceCounts().put(bucket, ((Number) row[1]).longValue());
+            summary.remainingBalances().put(bucket, toBigDecimal(row[2]));
+        }
+        return summary;
+    }
+
+    // Remaining balances of the 0-30, 31-60, 61-90 and over 90 days buckets
     @Transactional(readOnly = true)
     public Object[] getAgingTotals() {
-        LocalDate currentDate = LocalDate.now();
+        InvoiceAgingSummary summary = getAgingSummary();
+        return Arrays.stream(AgingBucket.values())
+                .map(summary::remainingBalance)
+                .toArray();
+    }
 
-        // Fix 1: Include OVERDUE status in unpaid statuses (using correct enum values)
-        List<InvoiceStatus> unpaidStatuses = Arrays.asList(
-                InvoiceStatus.PENDING,
-                InvoiceStatus.PARTIALLY_PAID,
-                InvoiceStatus.OVERDUE  // Added this!
-                // Note: FULLY_PAID and CANCELLED are excluded as they shouldn't be in aging
-        );
+    private List<String> unpaidStatusNames() {
+        return UNPAID_STATUSES.stream().map(InvoiceStatus::name).toList();
+    }
 
-        List<Invoice> unpaidInvoices = invoiceRepository.findUnpaidInvoices(unpaidStatuses);
+    // Columns of InvoiceRepository.streamAgingReport
+    private InvoiceAgingRow toAgingRow(Object[] row) {
+        return new InvoiceAgingRow(
+                AgingBucket.fromIndex(((Number) row[0]).intValue()),
+                (String) row[1],
+                (String) row[2],
+                toBigDecimal(row[3]),
+                toBigDecimal(row[4]),
+                toLocalDate(row[5]),
+                ((Number) row[6]).longValue(),
+                ((Number) row[7]).longValue(),
+                toBigDecimal(row[8]));
+    }
 
-        BigDecimal aged0To30 = BigDecimal.ZERO;
-        BigDecimal aged31To60 = BigDecimal.ZERO;
-        BigDecimal aged61To90 = BigDecimal.ZERO;
-        BigDecimal agedOver90 = BigDecimal.ZERO;
+    private InvoiceAgingSummary toAgingSummary(Object[] row) {
+        InvoiceAgingSummary summary = InvoiceAgingSummary.empty();
+        for (AgingBucket bucket : AgingBucket.values()) {
+            int column = 9 + bucket.ordinal() * 2;
+            summary.invoiceCounts().put(bucket, ((Number) row[column]).longValue());
+            summary.remainingBalances().put(bucket, toBigDecimal(row[column + 1]));
+        }
+        return summary;
+    }
 
-        for (Invoice invoice : unpaidInvoices) {
-            if (invoice.getDueDate() != null) {
-                // Fix 2: Correct the days calculation (currentDate - dueDate, not dueDate - currentDate)
-                long daysPastDue = ChronoUnit.DAYS.between(invoice.getDueDate(), currentDate);
-                BigDecimal remainingBalance = invoice.getTotalAmount().subtract(
-                        invoice.getPaidAmount() != null ? invoice.getPaidAmount() : BigDecimal.ZERO
-                );
-
-                // Debug output (remove this later)
-                System.out.println("Invoice " + invoice.getInvoiceNumber() +
-                        ": " + daysPastDue + " days past due, " +
-                        "Remaining: $" + remainingBalance);
-
-                if (daysPastDue < 0) {
-                    // Not past due yet - these go in current/0-30 bucket for "due soon"
-                    aged0To30 = aged0To30.add(remainingBalance);
-                    System.out.println("  -> Added to 0-30 bucket (not due yet)");
-                } else if (daysPastDue >= 0 && daysPastDue <= 30) {
-                    // Past due 0-30 days
-                    aged0To30 = aged0To30.add(remainingBalance);
-                    System.out.println("  -> Added to 0-30 bucket (past due)");
-                } else if (daysPastDue >= 31 && daysPastDue <= 60) {
-                    aged31To60 = aged31To60.add(remainingBalance);
-                    System.out.println("  -> Added to 31-60 bucket");
-                } else if (daysPastDue >= 61 && daysPastDue <= 90) {
-                    aged61To90 = aged61To90.add(remainingBalance);
-                    System.out.println("  -> Added to 61-90 bucket");
-                } else if (daysPastDue > 90) {
-                    agedOver90 = agedOver90.add(remainingBalance);
-                    System.out.println("  -> Added to 90+ bucket");
-                }
-            }
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
         }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
 
-        System.out.println("Final totals:");
-        System.out.println("0-30: $" + aged0To30);
-        System.out.println("31-60: $" + aged31To60);
-        System.out.println("61-90: $" + aged61To90);
-        System.out.println("90+: $" + agedOver90);
+    // Native queries may return DATE columns as java.sql.Date
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
 
-        return new Object[]{aged0To30, aged31To60, aged61To90, agedOver90};
+    private List<InvoiceResponseDTO> toResponses(List<Invoice> invoices) {
+        return invoices.stream().map(this::convertToResponse).collect(Collectors.toList());
     }
+
     // Helper method to convert Invoice entity to InvoiceResponse DTO
     private InvoiceResponseDTO convertToResponse(Invoice invoice) {
         InvoiceResponseDTO response = new InvoiceResponseDTO();
@@ -13,8 +13,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service for calculating and managing site-level financial valuations
@@ -158,14 +160,17 @@ public class SiteValuationService {
     }
 
     /**
-     * Get all site valuations
+     * Get all site valuations from the stored aggregates (calculate only sites that have none yet)
      */
     @Transactional
     public List<SiteValuation> getAllSiteValuations() {
-        List<Site> sites = siteRepository.findAll();
+        Map<UUID, SiteValuation> stored = siteValuationRepository.findAllWithSite().stream()
+                .collect(Collectors.toMap(valuation -> valuation.getSite().getId(), valuation -> valuation));
 
-        return sites.stream()
-                .map(site -> getSiteValuation(site.getId()))
+        return siteRepository.findAll().stream()
+                .map(site -> stored.containsKey(site.getId())
+                        ? stored.get(site.getId())
+                        : calculateSiteValuation(site.getId(), "SYSTEM"))
                 .toList();
     }
 
@@ -0,0 +1,130 @@
+package com.example.backend.services.finance.valuation;
+
+import com.example.backend.events.ValuationDeltaEvent;
+import com.example.backend.models.finance.Valuation.EquipmentValuation;
+import com.example.backend.models.site.Site;
+import com.example.backend.repositories.equipment.EquipmentRepository;
+import com.example.backend.repositories.finance.valuation.EquipmentValuationRepository;
+import com.example.backend.repositories.finance.valuation.SiteValuationRepository;
+import com.example.backend.repositories.finance.valuation.WarehouseValuationRepository;
+import com.example.backend.repositories.warehouse.WarehouseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps the stored warehouse, equipment and site valuations up to date incrementally.
+ * <p>
+ * Stock movements arrive as {@link ValuationDeltaEvent}s and are added to the aggregates with
+ * in-place UPDATEs; equipment changes re-value only the affected equipment and move the difference
+ * into its site. Aggregates that do not exist yet are left alone, they are calculated in full
+ * on first read. {@link ValuationReconcileJob} recalculates everything periodically to correct drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ValuationDeltaService {
+
+    private final WarehouseValuationRepository warehouseValuationRepository;
+    private final EquipmentValuationRepository equipmentValuationRepository;
+    private final SiteValuationRepository siteValuationRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final EquipmentValuationService equipmentValuationService;
+
+    @Transactional
+    public void apply(ValuationDeltaEvent event) {
+        if (event.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        if (event.getWarehouseId() != null) {
+            warehouseValuationRepository.applyDelta(event.getWarehouseId(),
+                    event.getValueDelta(), event.getQuantityDelta(), event.getExpenseDelta(), now);
+
+            // A site's warehouse value is the sum of its warehouses, so the site follows
+            // even when this warehouse has not been valued on its own yet
+            UUID siteId = warehouseRepository.findSiteIdById(event.getWarehouseId());
+            if (siteId != null) {
+                siteValuationRepository.applyDelta(siteId,
+                        event.getValueDelta(), event.getExpenseDelta(), 0.0, 0.0, 0, now);
+            }
+        }
+
+        if (event.getEquipmentId() != null) {
+            int updated = equipmentValuationRepository.applyExpenseDelta(
+                    event.getEquipmentId(), event.getExpenseDelta(), now);
+
+            // An equipment without a valuation is not part of its site's totals yet
+            UUID siteId = updated > 0 ? equipmentRepository.findSiteIdById(event.getEquipmentId()) : null;
+            if (siteId != null) {
+                siteValuationRepository.applyDelta(siteId, 0.0, 0.0, 0.0, event.getExpenseDelta(), 0, now);
+            }
+        }
+
+        log.debug("Applied valuation delta: warehouse={}, equipment={}, value={}, quantity={}, expenses={}",
+                event.getWarehouseId(), event.getEquipmentId(),
+                event.getValueDelta(), event.getQuantityDelta(), event.getExpenseDelta());
+    }
+
+    /**
+     * Re-value one equipment after it was created or updated and move the difference into its site.
+     * When the equipment changed site, its old contribution is taken out of the previous site.
+     */
+    @Transactional
+    public void refreshEquipment(UUID equipmentId, UUID previousSiteId) {
+        Optional<EquipmentValuation> existing = equipmentValuationRepository.findByEquipmentId(equipmentId);
+        // Snapshot before recalculating, which updates the same managed entity
+        boolean counted = existing.isPresent();
+        double oldValue = existing.map(v -> valueOrZero(v.getCurrentValue())).orElse(0.0);
+        double oldExpenses = existing.map(v -> valueOrZero(v.getTotalExpenses())).orElse(0.0);
+
+        EquipmentValuation valuation = equipmentValuationService.calculateEquipmentValuation(equipmentId, "SYSTEM");
+        double newValue = valueOrZero(valuation.getCurrentValue());
+        double newExpenses = valueOrZero(valuation.getTotalExpenses());
+        Site site = valuation.getEquipment().getSite();
+        UUID siteId = site != null ? site.getId() : null;
+
+        LocalDateTime now = LocalDateTime.now();
+        if (counted && Objects.equals(previousSiteId, siteId)) {
+            if (siteId != null) {
+                siteValuationRepository.applyDelta(siteId, 0.0, 0.0,
+                        newValue - oldValue, newExpenses - oldExpenses, 0, now);
+            }
+            return;
+        }
+
+        if (counted && previousSiteId != null) {
+            siteValuationRepository.applyDelta(previousSiteId, 0.0, 0.0, -oldValue, -oldExpenses, -1, now);
+        }
+        if (siteId != null) {
+            siteValuationRepository.applyDelta(siteId, 0.0, 0.0, newValue, newExpenses, 1, now);
+        }
+    }
+
+    /**
+     * Take an equipment that is about to be deleted out of its site and drop its valuation
+     */
+    @Transactional
+    public void removeEquipment(UUID equipmentId, UUID siteId) {
+        equipmentValuationRepository.findByEquipmentId(equipmentId).ifPresent(valuation -> {
+            if (siteId != null) {
+                siteValuationRepository.applyDelta(siteId, 0.0, 0.0,
+                        -valueOrZero(valuation.getCurrentValue()), -valueOrZero(valuation.getTotalExpenses()),
+                        -1, LocalDateTime.now());
+            }
+            equipmentValuationRepository.delete(valuation);
+        });
+    }
+
+    private double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.backend.services.finance.valuation;
+
+import com.example.backend.models.finance.Valuation.SiteValuation;
+import com.example.backend.models.site.Site;
+import com.example.backend.repositories.finance.valuation.SiteValuationRepository;
+import com.example.backend.repositories.site.SiteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodic full recalculation of every site, warehouse and equipment valuation.
+ * Corrects drift in the incrementally maintained aggregates (stock changes made outside the
+ * delta-publishing paths, depreciation that accrues with time) without putting a full
+ * recalculation on the read path.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ValuationReconcileJob {
+
+    static final String RECONCILED_BY = "SYSTEM_RECONCILE";
+    private static final double DRIFT_TOLERANCE = 0.01;
+
+    private final SiteRepository siteRepository;
+    private final SiteValuationRepository siteValuationRepository;
+    private final SiteValuationService siteValuationService;
+
+    @Scheduled(cron = "${valuation.reconcile.cron:0 30 2 * * ?}")
+    public void reconcileAllSites() {
+        log.info("Starting valuation reconcile");
+        int reconciled = 0;
+        int drifted = 0;
+
+        for (Site site : siteRepository.findAll()) {
+            try {
+                // Each site is recalculated in its own transaction so one failure does not undo the rest
+                Double storedTotal = siteValuationRepository.findBySiteId(site.getId())
+                        .map(SiteValuation::getTotalValue)
+                        .orElse(null);
+                SiteValuation recalculated = siteValuationService.calculateSiteValuation(site.getId(), RECONCILED_BY);
+                reconciled++;
+
+                if (storedTotal != null && Math.abs(recalculated.getTotalValue() - storedTotal) > DRIFT_TOLERANCE) {
+                    drifted++;
+                    log.info("Valuation of site '{}' corrected from {} to {}",
+                            site.getName(), storedTotal, recalculated.getTotalValue());
+                }
+            } catch (Exception e) {
+                log.error("Failed to reconcile valuation of site {}", site.getId(), e);
+            }
+        }
+
+        log.info("Valuation reconcile finished: {} sites recalculated, {} corrected", reconciled, drifted);
+    }
+}
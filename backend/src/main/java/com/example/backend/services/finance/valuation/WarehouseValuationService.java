@@ -13,7 +13,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -113,6 +117,29 @@ public class WarehouseValuationService {
                 .orElseGet(() -> calculateWarehouseValuation(warehouseId, "SYSTEM"));
     }
 
+    /**
+     * Get the valuations of several warehouses in one query, keyed by warehouse id
+     * (calculate only warehouses that have none yet)
+     */
+    @Transactional
+    public Map<UUID, WarehouseValuation> getWarehouseValuations(Collection<Warehouse> warehouses) {
+        if (warehouses.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<UUID, WarehouseValuation> valuations = new HashMap<>();
+        List<UUID> warehouseIds = warehouses.stream().map(Warehouse::getId).toList();
+        for (WarehouseValuation valuation : warehouseValuationRepository.findByWarehouseIdIn(warehouseIds)) {
+            valuations.put(valuation.getWarehouse().getId(), valuation);
+        }
+        for (UUID warehouseId : warehouseIds) {
+            if (!valuations.containsKey(warehouseId)) {
+                valuations.put(warehouseId, calculateWarehouseValuation(warehouseId, "SYSTEM"));
+            }
+        }
+        return valuations;
+    }
+
     /**
      * Recalculate all warehouse valuations for a site
      */
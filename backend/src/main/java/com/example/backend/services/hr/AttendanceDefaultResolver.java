@@ -0,0 +1,84 @@
+package com.example.backend.services.hr;
+
+import com.example.backend.models.hr.Attendance;
+import com.example.backend.models.hr.Employee;
+import com.example.backend.models.hr.JobPosition;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Default attendance for days without a stored record.
+ * <p>
+ * Defaults are not persisted: the attendance sheet shows them and the payroll import snapshots them,
+ * so an unedited working day is an absence in both. Pure in-memory work, safe to call off the
+ * transaction thread as long as the employee's job position is already loaded.
+ */
+@Service
+public class AttendanceDefaultResolver {
+
+    /**
+     * The employee's attendance for each day from start to end (inclusive): the stored record, or an unsaved default.
+     * Employees without a job position have no defaults, so only their stored days are returned.
+     */
+    public List<Attendance> resolve(Employee employee, Collection<Attendance> stored,
+                                    LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, Attendance> attendanceMap = new HashMap<>();
+        for (Attendance attendance : stored) {
+            attendanceMap.putIfAbsent(attendance.getDate(), attendance);
+        }
+
+        List<Attendance> days = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            Attendance attendance = attendanceMap.get(date);
+
+            if (attendance == null && employee.getJobPosition() != null) {
+                attendance = createDefault(employee, date);
+            }
+
+            if (attendance != null) {
+                days.add(attendance);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Create default attendance record based on contract type and day
+     */
+    public Attendance createDefault(Employee employee, LocalDate date) {
+        JobPosition jobPosition = employee.getJobPosition();
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+
+        Attendance attendance = Attendance.builder()
+                .employee(employee)
+                .date(date)
+                .build();
+
+        // Determine if it's a working day
+        boolean isWeekend = (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.FRIDAY);
+
+        if (isWeekend) {
+            attendance.setDayType(Attendance.DayType.WEEKEND);
+            attendance.setStatus(Attendance.AttendanceStatus.OFF);
+        } else {
+            attendance.setDayType(Attendance.DayType.WORKING_DAY);
+            attendance.setStatus(Attendance.AttendanceStatus.ABSENT); // Default to absent
+        }
+
+        // Set expected hours for HOURLY employees
+        if (jobPosition.getContractType() == JobPosition.ContractType.HOURLY) {
+            if (!isWeekend && jobPosition.getHoursPerShift() != null) {
+                attendance.setExpectedHours(jobPosition.getHoursPerShift().doubleValue());
+            }
+        }
+
+        return attendance;
+    }
+}
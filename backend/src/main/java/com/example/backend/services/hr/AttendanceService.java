@@ -5,6 +5,7 @@ import com.example.backend.dto.hr.attendance.AttendanceResponseDTO;
 import com.example.backend.dto.hr.attendance.BulkAttendanceDTO;
 import com.example.backend.dto.hr.employee.EmployeeMonthlyAttendanceDTO;
 import com.example.backend.dto.hr.attendance.DailyAttendanceDTO;
+import com.example.backend.dto.hr.attendance.MonthlyAttendanceGridDTO;
 import com.example.backend.models.hr.Attendance;
 import com.example.backend.models.hr.Employee;
 import com.example.backend.models.hr.JobPosition;
@@ -29,11 +30,14 @@ public class AttendanceService {
     private final AttendanceRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
     private final NotificationService notificationService;
+    private final AttendanceDefaultResolver attendanceDefaultResolver;
 
     /**
-     * Generate monthly attendance sheet for a site
+     * Generate monthly attendance sheet for a site.
+     * Days without a stored record are shown with their default (see AttendanceDefaultResolver) but
+     * not persisted; a record is written only when the day is edited.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<EmployeeMonthlyAttendanceDTO> generateMonthlyAttendanceSheet(UUID siteId, int year, int month) {
         log.info("Generating monthly attendance sheet for site: {} for {}/{}", siteId, month, year);
 
@@ -43,65 +47,7 @@ public class AttendanceService {
                     .filter(emp -> "ACTIVE".equalsIgnoreCase(emp.getStatus()))
                     .collect(Collectors.toList());
 
-            YearMonth yearMonth = YearMonth.of(year, month);
-            LocalDate startDate = yearMonth.atDay(1);
-            LocalDate endDate = yearMonth.atEndOfMonth();
-
-            List<EmployeeMonthlyAttendanceDTO> monthlySheets = new ArrayList<>();
-
-            // Bulk fetch ALL attendance for ALL employees in one query (instead of 1 query per employee)
-            List<UUID> employeeIds = employees.stream().map(Employee::getId).collect(Collectors.toList());
-            List<Attendance> allAttendance = attendanceRepository.findByEmployeeIdInAndDateBetween(
-                    employeeIds, startDate, endDate
-            );
-
-            // Group by employee ID for quick lookup
-            Map<UUID, Map<LocalDate, Attendance>> attendanceByEmployee = allAttendance.stream()
-                    .collect(Collectors.groupingBy(
-                            a -> a.getEmployee().getId(),
-                            Collectors.toMap(Attendance::getDate, a -> a, (a1, a2) -> a1)
-                    ));
-
-            // Collect all new records for batch save
-            List<Attendance> newRecords = new ArrayList<>();
-
-            for (Employee employee : employees) {
-                Map<LocalDate, Attendance> attendanceMap = attendanceByEmployee.getOrDefault(
-                        employee.getId(), new HashMap<>());
-
-                // Generate or update attendance for each day
-                List<DailyAttendanceDTO> dailyAttendance = new ArrayList<>();
-                LocalDate currentDate = startDate;
-
-                while (!currentDate.isAfter(endDate)) {
-                    Attendance attendance = attendanceMap.get(currentDate);
-
-                    if (attendance == null && employee.getJobPosition() != null) {
-                        // Create new attendance record based on contract type
-                        attendance = createDefaultAttendance(employee, currentDate);
-                        newRecords.add(attendance);
-                    }
-
-                    if (attendance != null) {
-                        dailyAttendance.add(convertToDailyDTO(attendance));
-                    }
-
-                    currentDate = currentDate.plusDays(1);
-                }
-
-                // Create monthly DTO
-                EmployeeMonthlyAttendanceDTO monthlyDTO = buildMonthlyAttendanceDTO(employee, dailyAttendance, yearMonth);
-                monthlySheets.add(monthlyDTO);
-            }
-
-            // Batch save all new attendance records at once (instead of 1 save per record)
-            if (!newRecords.isEmpty()) {
-                attendanceRepository.saveAll(newRecords);
-            }
-
-
-
-            return monthlySheets;
+            return buildMonthlySheets(employees, YearMonth.of(year, month));
 
         } catch (Exception e) {
             log.error("Error generating monthly attendance sheet", e);
@@ -120,36 +66,103 @@ public class AttendanceService {
     }
 
     /**
-     * Create default attendance record based on contract type and day
+     * Monthly sheets for the given employees, with missing days filled in memory from the defaults
      */
-    private Attendance createDefaultAttendance(Employee employee, LocalDate date) {
-        JobPosition jobPosition = employee.getJobPosition();
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
+    private List<EmployeeMonthlyAttendanceDTO> buildMonthlySheets(List<Employee> employees, YearMonth yearMonth) {
+        Map<UUID, Map<LocalDate, Attendance>> attendanceByEmployee = findMonthAttendance(employees, yearMonth);
 
-        Attendance attendance = Attendance.builder()
-                .employee(employee)
-                .date(date)
-                .build();
+        List<EmployeeMonthlyAttendanceDTO> monthlySheets = new ArrayList<>();
+        for (Employee employee : employees) {
+            List<DailyAttendanceDTO> dailyAttendance = resolveMonth(employee, attendanceByEmployee, yearMonth).stream()
+                    .map(this::convertToDailyDTO)
+                    .collect(Collectors.toList());
 
-        // Determine if it's a working day
-        boolean isWeekend = (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.FRIDAY);
+            monthlySheets.add(buildMonthlyAttendanceDTO(employee, dailyAttendance, yearMonth));
+        }
+        return monthlySheets;
+    }
 
-        if (isWeekend) {
-            attendance.setDayType(Attendance.DayType.WEEKEND);
-            attendance.setStatus(Attendance.AttendanceStatus.OFF);
-        } else {
-            attendance.setDayType(Attendance.DayType.WORKING_DAY);
-            attendance.setStatus(Attendance.AttendanceStatus.ABSENT); // Default to absent
+    /**
+     * Bulk fetch the stored attendance of all employees for the month in one query, grouped by employee and date
+     */
+    private Map<UUID, Map<LocalDate, Attendance>> findMonthAttendance(List<Employee> employees, YearMonth yearMonth) {
+        if (employees.isEmpty()) {
+            return Collections.emptyMap();
         }
 
-        // Set expected hours for HOURLY employees
-        if (jobPosition.getContractType() == JobPosition.ContractType.HOURLY) {
-            if (!isWeekend && jobPosition.getHoursPerShift() != null) {
-                attendance.setExpectedHours(jobPosition.getHoursPerShift().doubleValue());
+        List<UUID> employeeIds = employees.stream().map(Employee::getId).collect(Collectors.toList());
+        return attendanceRepository.findByEmployeeIdInAndDateBetween(
+                        employeeIds, yearMonth.atDay(1), yearMonth.atEndOfMonth())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        a -> a.getEmployee().getId(),
+                        Collectors.toMap(Attendance::getDate, a -> a, (a1, a2) -> a1)
+                ));
+    }
+
+    /**
+     * The employee's attendance for each day of the month: the stored record, or an unsaved default
+     */
+    private List<Attendance> resolveMonth(Employee employee,
+                                          Map<UUID, Map<LocalDate, Attendance>> attendanceByEmployee,
+                                          YearMonth yearMonth) {
+        return attendanceDefaultResolver.resolve(employee,
+                attendanceByEmployee.getOrDefault(employee.getId(), Collections.emptyMap()).values(),
+                yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    /**
+     * Compact monthly grid: for each employee, one day bitmask per status (bit 0 is the 1st of the month)
+     * plus a mask of the days that have a stored record. siteId is a site UUID, "no-site" or "all".
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyAttendanceGridDTO> getMonthlyAttendanceGrid(String siteId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        List<Employee> employees = findActiveEmployees(siteId);
+        Map<UUID, Map<LocalDate, Attendance>> attendanceByEmployee = findMonthAttendance(employees, yearMonth);
+
+        List<MonthlyAttendanceGridDTO> grid = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            Map<String, Integer> statusDays = new LinkedHashMap<>();
+            int recordedDays = 0;
+
+            for (Attendance attendance : resolveMonth(employee, attendanceByEmployee, yearMonth)) {
+                int bit = 1 << (attendance.getDate().getDayOfMonth() - 1);
+                if (attendance.getStatus() != null) {
+                    statusDays.merge(attendance.getStatus().name(), bit, (a, b) -> a | b);
+                }
+                if (attendance.getId() != null) {
+                    recordedDays |= bit;
+                }
             }
+
+            JobPosition jobPosition = employee.getJobPosition();
+            grid.add(MonthlyAttendanceGridDTO.builder()
+                    .employeeId(employee.getId())
+                    .employeeName(employee.getFullName())
+                    .contractType(jobPosition != null && jobPosition.getContractType() != null ?
+                            jobPosition.getContractType().name() : "MONTHLY")
+                    .year(year)
+                    .month(month)
+                    .daysInMonth(yearMonth.lengthOfMonth())
+                    .statusDays(statusDays)
+                    .recordedDays(recordedDays)
+                    .build());
         }
+        return grid;
+    }
 
-        return attendance;
+    private List<Employee> findActiveEmployees(String siteId) {
+        if ("all".equalsIgnoreCase(siteId)) {
+            return employeeRepository.findAllActive();
+        }
+
+        List<Employee> employees = "no-site".equalsIgnoreCase(siteId)
+                ? employeeRepository.findBySiteIsNull()
+                : employeeRepository.findBySiteId(UUID.fromString(siteId));
+        return employees.stream()
+                .filter(emp -> "ACTIVE".equalsIgnoreCase(emp.getStatus()))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -167,13 +180,7 @@ public class AttendanceService {
             // Find or create attendance record
             Attendance attendance = attendanceRepository.findByEmployeeIdAndDate(
                     requestDTO.getEmployeeId(), requestDTO.getDate()
-            ).orElseGet(() -> {
-                Attendance newAttendance = new Attendance();
-                newAttendance.setEmployee(employee);
-                newAttendance.setDate(requestDTO.getDate());
-                newAttendance.setDayType(determineDayType(requestDTO.getDate()));
-                return newAttendance;
-            });
+            ).orElseGet(() -> newAttendance(employee, requestDTO.getDate()));
 
             Attendance.AttendanceStatus oldStatus = attendance.getStatus();
 
@@ -263,7 +270,24 @@ public class AttendanceService {
     }
 
     /**
-     * Bulk update attendance for multiple employees
+     * First record for a day that so far only had its virtual default: start from that default
+     */
+    private Attendance newAttendance(Employee employee, LocalDate date) {
+        if (employee.getJobPosition() != null) {
+            return attendanceDefaultResolver.createDefault(employee, date);
+        }
+
+        Attendance attendance = new Attendance();
+        attendance.setEmployee(employee);
+        attendance.setDate(date);
+        attendance.setDayType(determineDayType(date));
+        return attendance;
+    }
+
+    /**
+     * Bulk update attendance for multiple employees.
+     * The employees and existing records are loaded in two queries and every change is written with one
+     * saveAll, which hibernate.jdbc.batch_size turns into batched JDBC inserts and updates.
      */
     @Transactional
     public List<AttendanceResponseDTO> bulkUpdateAttendance(BulkAttendanceDTO bulkDTO) {
@@ -272,28 +296,71 @@ public class AttendanceService {
         List<AttendanceResponseDTO> responses = new ArrayList<>();
         List<String> errors = new ArrayList<>();
 
+        List<AttendanceRequestDTO> records = new ArrayList<>();
         for (AttendanceRequestDTO record : bulkDTO.getAttendanceRecords()) {
+            // CRITICAL FIX: Don't overwrite the date if it's already set in the record
+            // Only set the date from bulkDTO if the record doesn't have one
+            if (record.getDate() == null && bulkDTO.getDate() != null) {
+                record.setDate(bulkDTO.getDate());
+            }
+
+            // Validate that we have a date before proceeding
+            if (record.getDate() == null) {
+                log.error("No date provided for employee: {} in bulk update", record.getEmployeeId());
+                errors.add("Employee " + record.getEmployeeId() + ": Date is required for attendance record for employee: "
+                        + record.getEmployeeId());
+                continue;
+            }
+            records.add(record);
+        }
+
+        Map<UUID, Employee> employees = new HashMap<>();
+        Map<UUID, Map<LocalDate, Attendance>> existing = new HashMap<>();
+        if (!records.isEmpty()) {
+            Set<UUID> employeeIds = records.stream().map(AttendanceRequestDTO::getEmployeeId).collect(Collectors.toSet());
+            LocalDate from = records.stream().map(AttendanceRequestDTO::getDate).min(LocalDate::compareTo).get();
+            LocalDate to = records.stream().map(AttendanceRequestDTO::getDate).max(LocalDate::compareTo).get();
+
+            employeeRepository.findAllById(employeeIds).forEach(employee -> employees.put(employee.getId(), employee));
+            for (Attendance attendance : attendanceRepository.findByEmployeeIdInAndDateBetween(
+                    new ArrayList<>(employeeIds), from, to)) {
+                existing.computeIfAbsent(attendance.getEmployee().getId(), id -> new HashMap<>())
+                        .putIfAbsent(attendance.getDate(), attendance);
+            }
+        }
+
+        List<PendingEdit> edits = new ArrayList<>();
+        Set<Attendance> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AttendanceRequestDTO record : records) {
             try {
-                // CRITICAL FIX: Don't overwrite the date if it's already set in the record
-                // Only set the date from bulkDTO if the record doesn't have one
-                if (record.getDate() == null && bulkDTO.getDate() != null) {
-                    record.setDate(bulkDTO.getDate());
+                Employee employee = employees.get(record.getEmployeeId());
+                if (employee == null) {
+                    throw new RuntimeException("Employee not found with ID: " + record.getEmployeeId());
                 }
 
-                // Validate that we have a date before proceeding
-                if (record.getDate() == null) {
-                    log.error("No date provided for employee: {} in bulk update", record.getEmployeeId());
-                    throw new RuntimeException("Date is required for attendance record for employee: " + record.getEmployeeId());
-                }
+                Attendance attendance = existing.computeIfAbsent(employee.getId(), id -> new HashMap<>())
+                        .computeIfAbsent(record.getDate(), date -> newAttendance(employee, date));
+                Attendance.AttendanceStatus oldStatus = attendance.getStatus();
+
+                updateAttendanceByContractType(attendance, record, employee);
 
-                AttendanceResponseDTO response = updateAttendance(record);
-                responses.add(response);
+                changed.add(attendance);
+                edits.add(new PendingEdit(employee, attendance, oldStatus));
             } catch (Exception e) {
                 log.error("Error updating attendance for employee: {}", record.getEmployeeId(), e);
                 errors.add("Employee " + record.getEmployeeId() + ": " + e.getMessage());
             }
         }
 
+        if (!changed.isEmpty()) {
+            attendanceRepository.saveAll(changed);
+        }
+
+        for (PendingEdit edit : edits) {
+            sendAttendanceNotifications(edit.employee(), edit.attendance(), edit.oldStatus());
+            responses.add(convertToResponseDTO(edit.attendance()));
+        }
+
         // Send notification about bulk update results
         if (!errors.isEmpty()) {
             notificationService.sendNotificationToHRUsers(
@@ -316,13 +383,15 @@ public class AttendanceService {
         return responses;
     }
 
+    private record PendingEdit(Employee employee, Attendance attendance, Attendance.AttendanceStatus oldStatus) {}
+
     /**
      * Get monthly attendance view for employees
      */
+    @Transactional(readOnly = true)
     public List<EmployeeMonthlyAttendanceDTO> getMonthlyAttendance(UUID siteId, int year, int month) {
         log.info("Fetching monthly attendance for site: {} for {}/{}", siteId, month, year);
 
-        // First generate/ensure attendance records exist
         List<EmployeeMonthlyAttendanceDTO> monthlyAttendance = generateMonthlyAttendanceSheet(siteId, year, month);
 
         return monthlyAttendance;
@@ -806,7 +875,7 @@ public class AttendanceService {
     /**
      * Get monthly attendance for employees without site assignment
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<EmployeeMonthlyAttendanceDTO> getMonthlyAttendanceForUnassignedEmployees(int year, int month) {
         log.info("Fetching monthly attendance for unassigned employees for {}/{}", month, year);
 
@@ -818,61 +887,7 @@ public class AttendanceService {
 
             log.info("Found {} active unassigned employees", unassignedEmployees.size());
 
-            YearMonth yearMonth = YearMonth.of(year, month);
-            LocalDate startDate = yearMonth.atDay(1);
-            LocalDate endDate = yearMonth.atEndOfMonth();
-
-            List<EmployeeMonthlyAttendanceDTO> monthlySheets = new ArrayList<>();
-
-            // Bulk fetch ALL attendance for ALL employees in one query (N+1 fix)
-            List<UUID> employeeIds = unassignedEmployees.stream().map(Employee::getId).collect(Collectors.toList());
-            List<Attendance> allAttendance = attendanceRepository.findByEmployeeIdInAndDateBetween(
-                    employeeIds, startDate, endDate
-            );
-
-            // Group by employee ID for quick lookup
-            Map<UUID, Map<LocalDate, Attendance>> attendanceByEmployee = allAttendance.stream()
-                    .collect(Collectors.groupingBy(
-                            a -> a.getEmployee().getId(),
-                            Collectors.toMap(Attendance::getDate, a -> a, (a1, a2) -> a1)
-                    ));
-
-            // Collect all new records for batch save
-            List<Attendance> newRecords = new ArrayList<>();
-
-            for (Employee employee : unassignedEmployees) {
-                Map<LocalDate, Attendance> attendanceMap = attendanceByEmployee.getOrDefault(
-                        employee.getId(), new HashMap<>());
-
-                // Generate or update attendance for each day
-                List<DailyAttendanceDTO> dailyAttendance = new ArrayList<>();
-                LocalDate currentDate = startDate;
-
-                while (!currentDate.isAfter(endDate)) {
-                    Attendance attendance = attendanceMap.get(currentDate);
-
-                    if (attendance == null && employee.getJobPosition() != null) {
-                        // Create new attendance record based on contract type
-                        attendance = createDefaultAttendance(employee, currentDate);
-                        newRecords.add(attendance);
-                    }
-
-                    if (attendance != null) {
-                        dailyAttendance.add(convertToDailyDTO(attendance));
-                    }
-
-                    currentDate = currentDate.plusDays(1);
-                }
-
-                // Create monthly DTO
-                EmployeeMonthlyAttendanceDTO monthlyDTO = buildMonthlyAttendanceDTO(employee, dailyAttendance, yearMonth);
-                monthlySheets.add(monthlyDTO);
-            }
-
-            // Batch save all new attendance records at once (instead of 1 save per record)
-            if (!newRecords.isEmpty()) {
-                attendanceRepository.saveAll(newRecords);
-            }
+            List<EmployeeMonthlyAttendanceDTO> monthlySheets = buildMonthlySheets(unassignedEmployees, YearMonth.of(year, month));
 
             log.info("Generated monthly attendance for {} unassigned employees", monthlySheets.size());
             return monthlySheets;
@@ -895,75 +910,18 @@ public class AttendanceService {
 
     /**
      * Get monthly attendance for all employees (regardless of site)
-     * Future enhancement
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<EmployeeMonthlyAttendanceDTO> getAllEmployeesMonthlyAttendance(int year, int month) {
         log.info("Fetching monthly attendance for all employees for {}/{}", month, year);
 
         try {
             // Get all active employees
-            List<Employee> allEmployees = employeeRepository.findAll().stream()
-                    .filter(emp -> "ACTIVE".equalsIgnoreCase(emp.getStatus()))
-                    .collect(Collectors.toList());
+            List<Employee> allEmployees = employeeRepository.findAllActive();
 
             log.info("Found {} active employees", allEmployees.size());
 
-            YearMonth yearMonth = YearMonth.of(year, month);
-            LocalDate startDate = yearMonth.atDay(1);
-            LocalDate endDate = yearMonth.atEndOfMonth();
-
-            List<EmployeeMonthlyAttendanceDTO> monthlySheets = new ArrayList<>();
-
-            // Bulk fetch ALL attendance for ALL employees in one query (N+1 fix)
-            List<UUID> employeeIds = allEmployees.stream().map(Employee::getId).collect(Collectors.toList());
-            List<Attendance> allAttendance = attendanceRepository.findByEmployeeIdInAndDateBetween(
-                    employeeIds, startDate, endDate
-            );
-
-            // Group by employee ID for quick lookup
-            Map<UUID, Map<LocalDate, Attendance>> attendanceByEmployee = allAttendance.stream()
-                    .collect(Collectors.groupingBy(
-                            a -> a.getEmployee().getId(),
-                            Collectors.toMap(Attendance::getDate, a -> a, (a1, a2) -> a1)
-                    ));
-
-            // Collect all new records for batch save
-            List<Attendance> newRecords = new ArrayList<>();
-
-            for (Employee employee : allEmployees) {
-                Map<LocalDate, Attendance> attendanceMap = attendanceByEmployee.getOrDefault(
-                        employee.getId(), new HashMap<>());
-
-                // Generate or update attendance for each day
-                List<DailyAttendanceDTO> dailyAttendance = new ArrayList<>();
-                LocalDate currentDate = startDate;
-
-                while (!currentDate.isAfter(endDate)) {
-                    Attendance attendance = attendanceMap.get(currentDate);
-
-                    if (attendance == null && employee.getJobPosition() != null) {
-                        // Create new attendance record based on contract type
-                        attendance = createDefaultAttendance(employee, currentDate);
-                        newRecords.add(attendance);
-                    }
-
-                    if (attendance != null) {
-                        dailyAttendance.add(convertToDailyDTO(attendance));
-                    }
-
-                    currentDate = currentDate.plusDays(1);
-                }
-
-                // Create monthly DTO
-                EmployeeMonthlyAttendanceDTO monthlyDTO = buildMonthlyAttendanceDTO(employee, dailyAttendance, yearMonth);
-                monthlySheets.add(monthlyDTO);
-            }
-
-            // Batch save all new attendance records at once (instead of 1 save per record)
-            if (!newRecords.isEmpty()) {
-                attendanceRepository.saveAll(newRecords);
-            }
+            List<EmployeeMonthlyAttendanceDTO> monthlySheets = buildMonthlySheets(allEmployees, YearMonth.of(year, month));
 
             log.info("Generated monthly attendance for {} employees", monthlySheets.size());
             return monthlySheets;
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -72,34 +73,12 @@ public class EmployeeDocumentService {
             throw new RuntimeException("File is required");
         }
 
-        // Parse document type
-        EmployeeDocument.DocumentType documentType;
-        try {
-            documentType = EmployeeDocument.DocumentType.valueOf(documentTypeStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("Invalid document type: " + documentTypeStr);
-        }
+        EmployeeDocument.DocumentType documentType = parseDocumentType(documentTypeStr);
 
         try {
             // Upload file to storage
             String fileName = fileStorageService.uploadFile(file);
-            String fileUrl = fileStorageService.getFileUrl(fileName);
-
-            // Create document record
-            EmployeeDocument document = EmployeeDocument.builder()
-                    .employee(employee)
-                    .fileName(file.getOriginalFilename())
-                    .fileUrl(fileUrl)
-                    .fileSize(file.getSize())
-                    .mimeType(file.getContentType())
-                    .documentType(documentType)
-                    .description(description)
-                    .uploadedBy(uploadedBy)
-                    .isDeleted(false)
-                    .build();
-
-            document = documentRepository.save(document);
-            return EmployeeDocumentDTO.fromEntity(document);
+            return saveDocument(employee, file, fileName, documentType, description, uploadedBy);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload document: " + e.getMessage(), e);
@@ -107,7 +86,9 @@ public class EmployeeDocumentService {
     }
 
     /**
-     * Upload multiple documents at once
+     * Upload multiple documents at once.
+     * The files are uploaded to storage together (concurrently where the storage supports it)
+     * before any document record is created.
      */
     @Transactional
     public List<EmployeeDocumentDTO> uploadMultipleDocuments(
@@ -117,9 +98,57 @@ public class EmployeeDocumentService {
             String description,
             String uploadedBy
     ) {
-        return files.stream()
-                .map(file -> uploadDocument(employeeId, file, documentTypeStr, description, uploadedBy))
-                .collect(Collectors.toList());
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id: " + employeeId));
+
+        if (files == null || files.isEmpty() || files.stream().anyMatch(file -> file == null || file.isEmpty())) {
+            throw new RuntimeException("File is required");
+        }
+
+        EmployeeDocument.DocumentType documentType = parseDocumentType(documentTypeStr);
+
+        try {
+            List<String> fileNames = fileStorageService.uploadFiles(files);
+
+            List<EmployeeDocumentDTO> documents = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                documents.add(saveDocument(employee, files.get(i), fileNames.get(i), documentType, description, uploadedBy));
+            }
+            return documents;
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to upload document: " + e.getMessage(), e);
+        }
+    }
+
+    private EmployeeDocument.DocumentType parseDocumentType(String documentTypeStr) {
+        try {
+            return EmployeeDocument.DocumentType.valueOf(documentTypeStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid document type: " + documentTypeStr);
+        }
+    }
+
+    private EmployeeDocumentDTO saveDocument(Employee employee, MultipartFile file, String fileName,
+                                             EmployeeDocument.DocumentType documentType,
+                                             String description, String uploadedBy) {
+        String fileUrl = fileStorageService.getFileUrl(fileName);
+
+        // Create document record
+        EmployeeDocument document = EmployeeDocument.builder()
+                .employee(employee)
+                .fileName(file.getOriginalFilename())
+                .fileUrl(fileUrl)
+                .fileSize(file.getSize())
+                .mimeType(file.getContentType())
+                .documentType(documentType)
+                .description(description)
+                .uploadedBy(uploadedBy)
+                .isDeleted(false)
+                .build();
+
+        document = documentRepository.save(document);
+        return EmployeeDocumentDTO.fromEntity(document);
     }
 
     /**
@@ -7,6 +7,7 @@ import com.example.backend.repositories.hr.EmployeeRepository;
 import com.example.backend.repositories.hr.VacationBalanceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,9 +24,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class VacationBalanceService {
 
+    private static final int DEFAULT_VACATION_DAYS = 21;
+    // Lowest UUID in PostgreSQL order (unsigned bytes), where the keyset walk over employee ids starts
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
     private final VacationBalanceRepository vacationBalanceRepository;
     private final EmployeeRepository employeeRepository;
 
+    @Value("${vacation.rollover.chunk-size:1000}")
+    private int rolloverChunkSize = 1000;
+
     /**
      * Get or create vacation balance for employee and year
      */
@@ -82,47 +90,58 @@ public class VacationBalanceService {
     }
 
     /**
-     * Initialize vacation balances for all employees for a given year
+     * Initialize vacation balances for all active employees for a given year.
+     * Runs as set-based statements over chunks of employee ids; employees that already have a
+     * balance are skipped by the insert itself, so a failed or repeated run can simply be re-run.
      */
     public void initializeYearlyBalances(Integer year) {
         log.info("Initializing vacation balances for year: {}", year);
-        
-        List<Employee> activeEmployees = employeeRepository.findAll().stream()
-            .filter(emp -> "ACTIVE".equals(emp.getStatus()))
-            .collect(Collectors.toList());
 
         int initializedCount = 0;
-        for (Employee employee : activeEmployees) {
-            if (!vacationBalanceRepository.existsByEmployeeIdAndYear(employee.getId(), year)) {
-                createInitialBalance(employee.getId(), year);
-                initializedCount++;
-            }
+        int employeeCount = 0;
+        UUID afterId = FIRST_ID;
+        List<UUID> chunk;
+        while (!(chunk = vacationBalanceRepository.findActiveEmployeeIdsAfter(afterId, rolloverChunkSize)).isEmpty()) {
+            int inserted = vacationBalanceRepository.insertMissingBalances(chunk, year, DEFAULT_VACATION_DAYS);
+            initializedCount += inserted;
+            employeeCount += chunk.size();
+            afterId = chunk.get(chunk.size() - 1);
+            log.debug("Vacation balances {}: {} employees checked, {} created so far", year, employeeCount,
+                initializedCount);
         }
 
-        log.info("Initialized {} vacation balances for year {}", initializedCount, year);
+        log.info("Initialized {} vacation balances for year {} ({} active employees)", initializedCount, year,
+            employeeCount);
     }
 
     /**
-     * Carry forward unused vacation days to next year
+     * Carry forward unused vacation days to next year.
+     * Each chunk creates any missing target-year balances (INSERT ... SELECT) and then sets their
+     * carried-forward days in one UPDATE. The value is set, not added, so re-running is idempotent.
      */
     public void carryForwardBalances(Integer fromYear, Integer toYear, Integer maxCarryForward) {
         log.info("Carrying forward balances from {} to {} (max: {})", fromYear, toYear, maxCarryForward);
-        
-        List<VacationBalance> previousYearBalances = vacationBalanceRepository.findByYear(fromYear);
-        
-        for (VacationBalance prevBalance : previousYearBalances) {
-            int remainingDays = prevBalance.getRemainingDays();
-            int carryForward = Math.min(remainingDays, maxCarryForward);
-            
-            if (carryForward > 0) {
-                VacationBalance newBalance = getOrCreateBalance(prevBalance.getEmployee().getId(), toYear);
-                newBalance.setCarriedForward(carryForward);
-                vacationBalanceRepository.save(newBalance);
-                
-                log.debug("Carried forward {} days for employee {}", carryForward, 
-                    prevBalance.getEmployee().getId());
+
+        int carriedCount = 0;
+        int balanceCount = 0;
+        UUID afterId = FIRST_ID;
+        List<UUID> chunk;
+        while (!(chunk = vacationBalanceRepository.findEmployeeIdsWithBalanceAfter(fromYear, afterId,
+                rolloverChunkSize)).isEmpty()) {
+            List<UUID> withRemainingDays = vacationBalanceRepository.findEmployeeIdsWithRemainingDays(chunk, fromYear);
+            if (!withRemainingDays.isEmpty()) {
+                vacationBalanceRepository.insertMissingBalances(withRemainingDays, toYear, DEFAULT_VACATION_DAYS);
+                carriedCount += vacationBalanceRepository.carryForwardRemainingDays(withRemainingDays, fromYear,
+                    toYear, maxCarryForward);
             }
+            balanceCount += chunk.size();
+            afterId = chunk.get(chunk.size() - 1);
+            log.debug("Carry forward {} -> {}: {} balances checked, {} carried so far", fromYear, toYear,
+                balanceCount, carriedCount);
         }
+
+        log.info("Carried forward unused days for {} of {} employees from {} to {}", carriedCount, balanceCount,
+            fromYear, toYear);
     }
 
     /**
@@ -181,7 +200,7 @@ public class VacationBalanceService {
 
     private int calculateAllocatedVacationDays(Employee employee) {
         if (employee.getJobPosition() == null) {
-            return 21; // Default
+            return DEFAULT_VACATION_DAYS;
         }
 
         // Use the numeric vacationDays field (preferred)
@@ -200,7 +219,7 @@ public class VacationBalanceService {
         }
 
         // Default if nothing is set
-        return 21;
+        return DEFAULT_VACATION_DAYS;
     }
 
     /**
@@ -4,10 +4,22 @@ import com.example.backend.models.id.EntityIdSequence;
 import com.example.backend.models.id.EntityTypeConfig;
 import com.example.backend.repositories.id.EntityIdSequenceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates business IDs from per-entity-type sequences.
+ * <p>
+ * Sequence numbers are reserved from the database in blocks (hi/lo): one statement reserves
+ * {@code blockSize} numbers for this node, which are then handed out from memory without touching
+ * the database. Numbers left in a block when the application stops are never used, so IDs can have
+ * gaps and, with several nodes, are not strictly in creation order.
+ */
 @Service
 public class EntityIdGeneratorService {
 
@@ -17,62 +29,67 @@ public class EntityIdGeneratorService {
     @Autowired
     private EntityIdSequenceRepository sequenceRepository;
 
+    @Value("${entity-id.block-size:50}")
+    private int blockSize;
+
+    private final Map<EntityTypeConfig, IdBlock> blocks = new ConcurrentHashMap<>();
+
     /**
      * Generate next ID for an entity type.
      * - Hashed types:     PREFIX-XXXXXX  (e.g., "DEPT-7WDRQP", "POS-FSRJHE")
      * - Sequential types:  PREFIX000001   (e.g., "MCH000001", "WH000002")
      */
-    @Transactional(propagation = Propagation.MANDATORY)
     public String generateNextId(EntityTypeConfig entityType) {
-        int maxRetries = 5;
-        int retryCount = 0;
-
-        while (retryCount < maxRetries) {
-            try {
-                // Find or create sequence
-                EntityIdSequence sequence = sequenceRepository.findByEntityType(entityType)
-                        .orElseGet(() -> {
-                            EntityIdSequence newSequence = EntityIdSequence.builder()
-                                    .entityType(entityType)
-                                    .currentSequence(0L)
-                                    .build();
-                            return sequenceRepository.saveAndFlush(newSequence);
-                        });
-
-                // Increment sequence
-                Long nextNumber = sequence.getCurrentSequence() + 1;
-                sequence.setCurrentSequence(nextNumber);
-                sequenceRepository.saveAndFlush(sequence);
-
-                if (entityType.isHashed()) {
-                    // Hashed unique: PREFIX-XXXXXX
-                    String code = hashToBase36(nextNumber, entityType.getPaddingLength());
-                    return entityType.getPrefix() + "-" + code;
-                } else {
-                    // Sequential: PREFIX-000001
-                    String paddedNumber = String.format(
-                            "%0" + entityType.getPaddingLength() + "d",
-                            nextNumber
-                    );
-                    return entityType.getPrefix() + "-" + paddedNumber;
-                }
+        long nextNumber = nextSequenceNumber(entityType);
+
+        if (entityType.isHashed()) {
+            // Hashed unique: PREFIX-XXXXXX
+            String code = hashToBase36(nextNumber, entityType.getPaddingLength());
+            return entityType.getPrefix() + "-" + code;
+        } else {
+            // Sequential: PREFIX-000001
+            String paddedNumber = String.format(
+                    "%0" + entityType.getPaddingLength() + "d",
+                    nextNumber
+            );
+            return entityType.getPrefix() + "-" + paddedNumber;
+        }
+    }
 
-            } catch (Exception e) {
-                retryCount++;
-                if (retryCount >= maxRetries) {
-                    throw new RuntimeException("Failed to generate ID after " + maxRetries + " attempts", e);
+    /**
+     * Take the next number from this node's block, reserving a new block when it runs out
+     */
+    private long nextSequenceNumber(EntityTypeConfig entityType) {
+        while (true) {
+            IdBlock block = blocks.get(entityType);
+            if (block != null) {
+                long number = block.take();
+                if (number > 0) {
+                    return number;
                 }
+            }
 
-                try {
-                    Thread.sleep(50);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted while retrying ID generation", ie);
+            synchronized (this) {
+                // Another thread may have refilled it while we waited
+                if (blocks.get(entityType) == block) {
+                    blocks.put(entityType, reserveBlock(entityType));
                 }
             }
         }
+    }
 
-        throw new RuntimeException("Failed to generate ID for " + entityType.name());
+    private IdBlock reserveBlock(EntityTypeConfig entityType) {
+        int size = Math.max(1, blockSize);
+        Long last;
+        try {
+            last = sequenceRepository.reserveBlock(entityType.name(), size);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to reserve IDs for " + entityType.name(), e);
+        }
+        if (last == null) {
+            throw new RuntimeException("Failed to reserve IDs for " + entityType.name());
+        }
+        return new IdBlock(last - size + 1, last);
     }
 
     /**
@@ -99,7 +116,7 @@ public class EntityIdGeneratorService {
     }
 
     /**
-     * Initialize a sequence with starting number
+     * Initialize a sequence with starting number (only while it has not handed out any IDs)
      */
     @Transactional
     public void initializeSequence(EntityTypeConfig entityType, Long startFrom) {
@@ -117,11 +134,31 @@ public class EntityIdGeneratorService {
     }
 
     /**
-     * Get current sequence number without incrementing
+     * Get current sequence number without incrementing.
+     * This is the end of the last reserved block, not necessarily the last ID handed out.
      */
     public Long getCurrentSequence(EntityTypeConfig entityType) {
         return sequenceRepository.findByEntityType(entityType)
                 .map(EntityIdSequence::getCurrentSequence)
                 .orElse(0L);
     }
-}
+
+    /**
+     * Range of sequence numbers reserved for this node, handed out lock-free
+     */
+    private static final class IdBlock {
+        private final AtomicLong next;
+        private final long last;
+
+        IdBlock(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+
+        /** Next number of the block, or -1 once it is used up */
+        long take() {
+            long number = next.getAndIncrement();
+            return number <= last ? number : -1;
+        }
+    }
+}
\ No newline at end of file
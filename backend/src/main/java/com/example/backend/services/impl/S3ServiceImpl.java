@@ -1,6 +1,8 @@
 package com.example.backend.services.impl;
 
+import com.example.backend.services.FileDownload;
 import com.example.backend.services.FileStorageService;
+import com.example.backend.services.S3FileDownload;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
@@ -127,6 +129,11 @@ public class S3ServiceImpl implements FileStorageService {
         return s3Client.getObject(getObjectRequest);
     }
 
+    @Override
+    public FileDownload openDownload(String bucketName, String fileName) throws Exception {
+        return S3FileDownload.open(s3Client, bucketName, fileName);
+    }
+
     @Override
     public String getFileUrl(String fileName) {
         if (!s3PublicUrl.isEmpty()) {
@@ -0,0 +1,29 @@
+package com.example.backend.services.merchant;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodic full rebuild of the merchant scorecards. Rolls the 30-day activity windows forward for
+ * merchants without new deliveries and corrects changes made outside the refreshing paths.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MerchantScorecardRebuildJob {
+
+    private final MerchantScorecardService merchantScorecardService;
+
+    @Scheduled(cron = "${merchant.scorecard.rebuild-cron:0 15 3 * * ?}")
+    public void rebuildScorecards() {
+        log.info("Starting merchant scorecard rebuild");
+        try {
+            int written = merchantScorecardService.rebuildAll();
+            log.info("Merchant scorecard rebuild finished: {} scorecards written", written);
+        } catch (Exception e) {
+            log.error("Merchant scorecard rebuild failed", e);
+        }
+    }
+}
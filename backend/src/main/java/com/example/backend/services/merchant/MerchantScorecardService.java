@@ -0,0 +1,54 @@
+package com.example.backend.services.merchant;
+
+import com.example.backend.repositories.merchant.MerchantScorecardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Maintains the materialized merchant scorecards. Every aggregate is computed in the database from
+ * the merchant's delivery receipts and issues; only the merchants whose deliveries changed are recomputed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MerchantScorecardService {
+
+    private final MerchantScorecardRepository merchantScorecardRepository;
+
+    /**
+     * Recompute the scorecards of the given merchants, in a transaction of its own so it can run
+     * after the delivery change has committed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refresh(Collection<UUID> merchantIds) {
+        if (merchantIds == null || merchantIds.isEmpty()) {
+            return;
+        }
+        // Issue counts go first and last: they reference the scorecard row
+        merchantScorecardRepository.deleteIssueTypeCounts(merchantIds);
+        merchantScorecardRepository.upsertScorecards(merchantIds);
+        merchantScorecardRepository.deleteScorecardsWithoutReceipts(merchantIds);
+        merchantScorecardRepository.insertIssueTypeCounts(merchantIds);
+    }
+
+    /**
+     * Recompute every merchant's scorecard in one set-based pass. Returns the number of scorecards written.
+     */
+    @Transactional
+    public int rebuildAll() {
+        merchantScorecardRepository.deleteAllIssueTypeCounts();
+        int written = merchantScorecardRepository.upsertAllScorecards();
+        int removed = merchantScorecardRepository.deleteAllScorecardsWithoutReceipts();
+        merchantScorecardRepository.insertAllIssueTypeCounts();
+        if (removed > 0) {
+            log.info("Removed {} merchant scorecards with no deliveries left", removed);
+        }
+        return written;
+    }
+}
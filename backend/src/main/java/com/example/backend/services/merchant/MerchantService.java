@@ -2,11 +2,13 @@ package com.example.backend.services.merchant;
 
 import com.example.backend.dto.merchant.MerchantTransactionDTO;
 import com.example.backend.models.merchant.Merchant;
+import com.example.backend.models.merchant.MerchantScorecard;
 import com.example.backend.models.merchant.MerchantType;
 import com.example.backend.models.procurement.DeliveryItemReceipt;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrderIssue;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrderItem;
 import com.example.backend.repositories.merchant.MerchantRepository;
+import com.example.backend.repositories.merchant.MerchantScorecardRepository;
 import com.example.backend.repositories.procurement.DeliveryItemReceiptRepository;
 import com.example.backend.repositories.procurement.PurchaseOrderItemRepository;
 import com.example.backend.repositories.site.SiteRepository;
@@ -18,9 +20,10 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.backend.dto.merchant.MerchantPerformanceDTO;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.Map;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -35,6 +38,8 @@ public class MerchantService {
     private final ItemCategoryRepository itemCategoryRepository;
     private final PurchaseOrderItemRepository purchaseOrderItemRepository;  // ADD THIS
     private final DeliveryItemReceiptRepository deliveryItemReceiptRepository;  // ADD THIS
+    private final MerchantScorecardRepository merchantScorecardRepository;
+    private final MerchantScorecardService merchantScorecardService;
 
 
     @Cacheable("merchants")
@@ -101,11 +106,20 @@ public class MerchantService {
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Performance view of a merchant, read from its materialized scorecard. A merchant seen for the first
+     * time has its scorecard computed on the spot.
+     */
     @Transactional(readOnly = true)
     public MerchantPerformanceDTO getMerchantPerformance(UUID merchantId) {
-        List<DeliveryItemReceipt> receipts = getMerchantTransactions(merchantId);
-
-        if (receipts.isEmpty()) {
+        MerchantScorecard scorecard = merchantScorecardRepository.findById(merchantId)
+                .or(() -> {
+                    merchantScorecardService.refresh(List.of(merchantId));
+                    return merchantScorecardRepository.findById(merchantId);
+                })
+                .orElse(null);
+
+        if (scorecard == null || scorecard.getTotalReceipts() == 0) {
             return MerchantPerformanceDTO.builder()
                     .overallScore(0)
                     .performanceRating("NEW")
@@ -114,79 +128,36 @@ public class MerchantService {
                     .merchantStatus("NEW")
                     .build();
         }
+        return toPerformance(scorecard, LocalDate.now());
+    }
 
+    private MerchantPerformanceDTO toPerformance(MerchantScorecard scorecard, LocalDate today) {
         // Basic counts
-        int totalOrders = receipts.size();
-        long goodDeliveriesCount = receipts.stream()
-                .filter(r -> r.getIssues() == null || r.getIssues().isEmpty())
-                .count();
-        int goodDeliveries = (int) goodDeliveriesCount;
+        int totalOrders = scorecard.getTotalReceipts();
+        int goodDeliveries = scorecard.getGoodDeliveries();
         int deliveriesWithIssues = totalOrders - goodDeliveries;
-
-        long redeliveriesCount = receipts.stream()
-                .filter(r -> Boolean.TRUE.equals(r.getIsRedelivery()))
-                .count();
-        int redeliveries = (int) redeliveriesCount;
+        int redeliveries = scorecard.getRedeliveries();
 
         // Quantity calculations
-        int totalItemsDelivered = 0;
-        for (DeliveryItemReceipt receipt : receipts) {
-            if (receipt.getGoodQuantity() != null) {
-                totalItemsDelivered += receipt.getGoodQuantity();
-            }
-        }
+        int totalItemsDelivered = (int) scorecard.getTotalItemsDelivered();
+        int totalIssueQuantity = (int) scorecard.getTotalIssueQuantity();
 
-        int totalIssueQuantity = 0;
-        for (DeliveryItemReceipt receipt : receipts) {
-            if (receipt.getIssues() != null) {
-                for (PurchaseOrderIssue issue : receipt.getIssues()) {
-                    if (issue.getAffectedQuantity() != null) {
-                        totalIssueQuantity += issue.getAffectedQuantity();
-                    }
-                }
-            }
-        }
-
-        // Dates - FIXED to use LocalDateTime directly
-        List<LocalDate> orderDates = new ArrayList<>();
-        for (DeliveryItemReceipt receipt : receipts) {
-            if (receipt.getDeliverySession() != null && receipt.getDeliverySession().getProcessedAt() != null) {
-                LocalDate date = receipt.getDeliverySession().getProcessedAt().toLocalDate();
-                orderDates.add(date);
-            }
-        }
-
-        LocalDate firstOrderDate = orderDates.isEmpty() ? null : orderDates.stream().min(java.util.Comparator.naturalOrder()).orElse(null);
-        LocalDate lastOrderDate = orderDates.isEmpty() ? null : orderDates.stream().max(java.util.Comparator.naturalOrder()).orElse(null);
+        // Dates
+        LocalDate firstOrderDate = scorecard.getFirstDeliveryAt() != null
+                ? scorecard.getFirstDeliveryAt().toLocalDate() : null;
+        LocalDate lastOrderDate = scorecard.getLastDeliveryAt() != null
+                ? scorecard.getLastDeliveryAt().toLocalDate() : null;
 
         int daysSinceLastOrder = lastOrderDate != null
-                ? (int) java.time.temporal.ChronoUnit.DAYS.between(lastOrderDate, LocalDate.now())
+                ? (int) ChronoUnit.DAYS.between(lastOrderDate, today)
                 : 0;
 
         // Issue analysis
-        List<PurchaseOrderIssue> allIssues = new ArrayList<>();
-        for (DeliveryItemReceipt receipt : receipts) {
-            if (receipt.getIssues() != null) {
-                allIssues.addAll(receipt.getIssues());
-            }
-        }
-
-        int totalIssuesReported = allIssues.size();
-        int issuesResolved = 0;
-        for (PurchaseOrderIssue issue : allIssues) {
-            if ("RESOLVED".equals(issue.getIssueStatus().toString())) {
-                issuesResolved++;
-            }
-        }
+        int totalIssuesReported = scorecard.getTotalIssues();
+        int issuesResolved = scorecard.getIssuesResolved();
         int issuesPending = totalIssuesReported - issuesResolved;
 
-        // Issue type breakdown
-        Map<String, Integer> issueTypeBreakdown = new java.util.HashMap<>();
-        for (PurchaseOrderIssue issue : allIssues) {
-            String type = issue.getIssueType().toString();
-            issueTypeBreakdown.put(type, issueTypeBreakdown.getOrDefault(type, 0) + 1);
-        }
-
+        Map<String, Integer> issueTypeBreakdown = new HashMap<>(scorecard.getIssueTypeCounts());
         String mostCommonIssueType = "None";
         int maxCount = 0;
         for (Map.Entry<String, Integer> entry : issueTypeBreakdown.entrySet()) {
@@ -197,11 +168,11 @@ public class MerchantService {
         }
 
         // Calculate rates
-        double successRate = totalOrders > 0 ? (goodDeliveries * 100.0 / totalOrders) : 0;
-        double issueRate = totalOrders > 0 ? (deliveriesWithIssues * 100.0 / totalOrders) : 0;
+        double successRate = goodDeliveries * 100.0 / totalOrders;
+        double issueRate = deliveriesWithIssues * 100.0 / totalOrders;
         double resolutionRate = totalIssuesReported > 0 ? (issuesResolved * 100.0 / totalIssuesReported) : 0;
-        double redeliveryRate = totalOrders > 0 ? (redeliveries * 100.0 / totalOrders) : 0;
-        double firstTimeSuccessRate = totalOrders > 0 ? ((totalOrders - redeliveries) * 100.0 / totalOrders) : 0;
+        double redeliveryRate = redeliveries * 100.0 / totalOrders;
+        double firstTimeSuccessRate = (totalOrders - redeliveries) * 100.0 / totalOrders;
 
         // Quantity accuracy
         int totalExpectedQuantity = totalItemsDelivered + totalIssueQuantity;
@@ -209,48 +180,13 @@ public class MerchantService {
                 ? (totalItemsDelivered * 100.0 / totalExpectedQuantity)
                 : 100;
 
-        // Most ordered item - FIXED
-        // Most ordered item - FIXED
-        // Most ordered item
-        Map<String, Integer> itemCounts = new java.util.HashMap<>();
-        for (DeliveryItemReceipt receipt : receipts) {
-            String itemName = receipt.getPurchaseOrderItem().getItemType().getName();
-            if (receipt.getGoodQuantity() != null) {
-                Integer currentCount = itemCounts.getOrDefault(itemName, 0);
-                Integer quantity = receipt.getGoodQuantity().intValue();  // Convert Double to Integer
-                Integer newCount = currentCount + quantity;
-                itemCounts.put(itemName, newCount);
-            }
-        }
-
-        String mostOrderedItem = null;
-        Integer mostOrderedItemQuantity = 0;
-        for (Map.Entry<String, Integer> entry : itemCounts.entrySet()) {
-            if (entry.getValue() > mostOrderedItemQuantity) {
-                mostOrderedItemQuantity = entry.getValue();
-                mostOrderedItem = entry.getKey();
-            }
-        }
-
-        // Recent activity (last 30 days) - FIXED
-        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-        int recentActivity30Days = 0;
-        for (DeliveryItemReceipt receipt : receipts) {
-            if (receipt.getDeliverySession() != null && receipt.getDeliverySession().getProcessedAt() != null) {
-                LocalDate receiptDate = receipt.getDeliverySession().getProcessedAt().toLocalDate();
-                if (receiptDate.isAfter(thirtyDaysAgo)) {
-                    recentActivity30Days++;
-                }
-            }
-        }
-
         // Average calculations
-        double avgItemsPerDelivery = totalOrders > 0 ? ((double) totalItemsDelivered / totalOrders) : 0;
-        double avgIssuesPerOrder = totalOrders > 0 ? ((double) totalIssueQuantity / totalOrders) : 0;
+        double avgItemsPerDelivery = (double) totalItemsDelivered / totalOrders;
+        double avgIssuesPerOrder = (double) totalIssueQuantity / totalOrders;
 
         // Monthly order frequency
         long monthsBetween = firstOrderDate != null && lastOrderDate != null
-                ? java.time.temporal.ChronoUnit.MONTHS.between(firstOrderDate, lastOrderDate) + 1
+                ? ChronoUnit.MONTHS.between(firstOrderDate, lastOrderDate) + 1
                 : 1;
         double monthlyOrderFrequency = (double) totalOrders / monthsBetween;
 
@@ -264,22 +200,9 @@ public class MerchantService {
             merchantStatus = "ACTIVE";
         }
 
-        // Performance trend - FIXED
-        LocalDate sixtyDaysAgo = LocalDate.now().minusDays(60);
-        int recentOrders = 0;
-        int previousOrders = 0;
-
-        for (DeliveryItemReceipt receipt : receipts) {
-            if (receipt.getDeliverySession() != null && receipt.getDeliverySession().getProcessedAt() != null) {
-                LocalDate receiptDate = receipt.getDeliverySession().getProcessedAt().toLocalDate();
-                if (receiptDate.isAfter(thirtyDaysAgo)) {
-                    recentOrders++;
-                } else if (receiptDate.isAfter(sixtyDaysAgo)) {
-                    previousOrders++;
-                }
-            }
-        }
-
+        // Performance trend: last 30 days against the 30 days before
+        int recentOrders = scorecard.getRecentDeliveries();
+        int previousOrders = scorecard.getPreviousDeliveries();
         String performanceTrend;
         if (recentOrders > previousOrders * 1.1) {
             performanceTrend = "IMPROVING";
@@ -289,26 +212,6 @@ public class MerchantService {
             performanceTrend = "STABLE";
         }
 
-        // Consecutive good deliveries
-        List<DeliveryItemReceipt> sortedReceipts = new ArrayList<>(receipts);
-        sortedReceipts.sort((a, b) -> {
-            if (a.getDeliverySession() == null || a.getDeliverySession().getProcessedAt() == null) return 1;
-            if (b.getDeliverySession() == null || b.getDeliverySession().getProcessedAt() == null) return -1;
-            return b.getDeliverySession().getProcessedAt().compareTo(a.getDeliverySession().getProcessedAt());
-        });
-
-        int consecutiveGoodDeliveries = 0;
-        for (DeliveryItemReceipt receipt : sortedReceipts) {
-            if (receipt.getIssues() == null || receipt.getIssues().isEmpty()) {
-                consecutiveGoodDeliveries++;
-            } else {
-                break;
-            }
-        }
-
-        // Order consistency
-        double orderFulfillmentConsistency = calculateOrderConsistency(receipts);
-
         // Calculate overall score
         int overallScore = (int) Math.round(
                 (successRate * 0.35) +
@@ -348,63 +251,33 @@ public class MerchantService {
                 .issuesPending(issuesPending)
                 .avgItemsPerDelivery(avgItemsPerDelivery)
                 .avgIssuesPerOrder(avgIssuesPerOrder)
-                .recentActivity30Days(recentActivity30Days)
+                .recentActivity30Days(recentOrders)
                 .goodDeliveries(goodDeliveries)
                 .deliveriesWithIssues(deliveriesWithIssues)
                 .redeliveries(redeliveries)
                 .redeliveryRate(redeliveryRate)
-                .mostOrderedItem(mostOrderedItem)
-                .mostOrderedItemQuantity(mostOrderedItemQuantity)
+                .mostOrderedItem(scorecard.getMostOrderedItem())
+                .mostOrderedItemQuantity(scorecard.getMostOrderedItemQuantity())
                 .performanceTrend(performanceTrend)
                 .monthlyOrderFrequency(monthlyOrderFrequency)
                 .issueTypeBreakdown(issueTypeBreakdown)
                 .mostCommonIssueType(mostCommonIssueType)
-                .consecutiveGoodDeliveries(consecutiveGoodDeliveries)
-                .orderFulfillmentConsistency(orderFulfillmentConsistency)
+                .consecutiveGoodDeliveries(scorecard.getConsecutiveGoodDeliveries())
+                .orderFulfillmentConsistency(calculateOrderConsistency(scorecard))
                 .build();
     }
 
-    private double calculateOrderConsistency(List<DeliveryItemReceipt> receipts) {
-        if (receipts.size() < 2) {
+    /**
+     * Regularity of deliveries: 100 minus the coefficient of variation (in %) of the days between them
+     */
+    private double calculateOrderConsistency(MerchantScorecard scorecard) {
+        Double average = scorecard.getDeliveryGapAverage();
+        Double stdDev = scorecard.getDeliveryGapStdDev();
+        // Fewer than two deliveries, or all on the same day
+        if (average == null || stdDev == null || average == 0) {
             return 100.0;
         }
-
-        List<LocalDate> dates = new ArrayList<>();
-        for (DeliveryItemReceipt receipt : receipts) {
-            if (receipt.getDeliverySession() != null && receipt.getDeliverySession().getProcessedAt() != null) {
-                LocalDate date = receipt.getDeliverySession().getProcessedAt().toLocalDate();
-                dates.add(date);
-            }
-        }
-
-        if (dates.size() < 2) {
-            return 100.0;
-        }
-
-        dates.sort(java.util.Comparator.naturalOrder());
-
-        List<Long> daysBetween = new ArrayList<>();
-        for (int i = 1; i < dates.size(); i++) {
-            long days = java.time.temporal.ChronoUnit.DAYS.between(dates.get(i-1), dates.get(i));
-            daysBetween.add(days);
-        }
-
-        double sum = 0;
-        for (Long days : daysBetween) {
-            sum += days;
-        }
-        double average = sum / daysBetween.size();
-
-        double varianceSum = 0;
-        for (Long days : daysBetween) {
-            varianceSum += Math.pow(days - average, 2);
-        }
-        double variance = varianceSum / daysBetween.size();
-
-        double stdDev = Math.sqrt(variance);
-        double consistencyScore = Math.max(0, 100 - (stdDev / average * 100));
-
-        return consistencyScore;
+        return Math.max(0, 100 - (stdDev / average * 100));
     }
 
     @Transactional(readOnly = true)
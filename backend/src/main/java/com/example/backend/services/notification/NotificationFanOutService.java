@@ -0,0 +1,193 @@
+package com.example.backend.services.notification;
+
+import com.example.backend.controllers.notification.WebSocketController;
+import com.example.backend.dto.notification.NotificationMessage;
+import com.example.backend.models.notification.Notification;
+import com.example.backend.models.notification.NotificationType;
+import com.example.backend.models.user.User;
+import com.example.backend.repositories.notification.NotificationRepository;
+import com.example.backend.repositories.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers one notification to many users off the caller's thread.
+ * <p>
+ * Work is handed to a bounded executor once the caller's transaction commits (so a rolled back
+ * business operation sends nothing). Notifications are written in chunks with saveAll so
+ * Hibernate batches the inserts, and websocket pushes go through {@link NotificationPushDispatcher}
+ * which coalesces them per user.
+ */
+@Service
+@Slf4j
+public class NotificationFanOutService {
+
+    static final int INSERT_CHUNK_SIZE = 200;
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final NotificationReadStateService readStateService;
+    private final NotificationPushDispatcher pushDispatcher;
+    private final WebSocketController webSocketController;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor fanOutExecutor;
+
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+    private final AtomicLong completedRequests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong notificationsWritten = new AtomicLong();
+    private final AtomicLong totalLatencyMs = new AtomicLong();
+    private final AtomicLong maxLatencyMs = new AtomicLong();
+
+    public NotificationFanOutService(NotificationRepository notificationRepository,
+                                     UserRepository userRepository,
+                                     NotificationReadStateService readStateService,
+                                     NotificationPushDispatcher pushDispatcher,
+                                     WebSocketController webSocketController,
+                                     PlatformTransactionManager transactionManager,
+                                     @Qualifier("notificationFanOutExecutor") Executor fanOutExecutor) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.readStateService = readStateService;
+        this.pushDispatcher = pushDispatcher;
+        this.webSocketController = webSocketController;
+        // dispatch runs from afterCommit, and CallerRunsPolicy can put process() on the committing
+        // thread, where REQUIRED would join the finished transaction and never commit the inserts
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fanOutExecutor = fanOutExecutor;
+    }
+
+    /**
+     * Queue a notification for every given user.
+     * Runs after the current transaction commits, or immediately when there is none.
+     */
+    public void submit(List<User> users, String title, String message, NotificationType type,
+                       String actionUrl, String relatedEntity) {
+        if (users == null || users.isEmpty()) {
+            return;
+        }
+
+        // Only ids and usernames cross the thread boundary, never the caller's entities
+        List<Recipient> recipients = users.stream()
+                .map(user -> new Recipient(user.getId(), user.getUsername()))
+                .toList();
+        FanOutRequest request = new FanOutRequest(recipients, title, message, type, actionUrl, relatedEntity);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(request);
+                }
+            });
+        } else {
+            dispatch(request);
+        }
+    }
+
+    private void dispatch(FanOutRequest request) {
+        queuedRequests.incrementAndGet();
+        long queuedAt = System.currentTimeMillis();
+        fanOutExecutor.execute(() -> {
+            queuedRequests.decrementAndGet();
+            process(request, queuedAt);
+        });
+    }
+
+    private void process(FanOutRequest request, long queuedAt) {
+        int written = 0;
+        try {
+            List<Recipient> recipients = request.recipients();
+            for (int from = 0; from < recipients.size(); from += INSERT_CHUNK_SIZE) {
+                List<Recipient> chunk = recipients.subList(from, Math.min(from + INSERT_CHUNK_SIZE, recipients.size()));
+                List<Notification> saved = transactionTemplate.execute(status -> saveChunk(request, chunk));
+                if (saved == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < saved.size(); i++) {
+                    Recipient recipient = chunk.get(i);
+                    readStateService.adjustUnreadCount(recipient.id(), 1);
+                    if (webSocketController.isUserConnected(recipient.id())) {
+                        pushDispatcher.enqueue(recipient.username(), toMessage(saved.get(i), recipient.id()));
+                    }
+                }
+                written += saved.size();
+            }
+            completedRequests.incrementAndGet();
+        } catch (Exception e) {
+            failedRequests.incrementAndGet();
+            log.error("Notification fan-out '{}' failed after {} of {} recipients",
+                    request.title(), written, request.recipients().size(), e);
+        } finally {
+            long latency = System.currentTimeMillis() - queuedAt;
+            notificationsWritten.addAndGet(written);
+            totalLatencyMs.addAndGet(latency);
+            maxLatencyMs.accumulateAndGet(latency, Math::max);
+            log.debug("Notification fan-out '{}' wrote {} notifications in {} ms",
+                    request.title(), written, latency);
+        }
+    }
+
+    private List<Notification> saveChunk(FanOutRequest request, List<Recipient> chunk) {
+        List<Notification> notifications = new ArrayList<>(chunk.size());
+        for (Recipient recipient : chunk) {
+            notifications.add(new Notification(request.title(), request.message(), request.type(),
+                    userRepository.getReferenceById(recipient.id()),
+                    request.actionUrl(), request.relatedEntity()));
+        }
+        // hibernate.jdbc.batch_size groups these into batched INSERTs
+        return notificationRepository.saveAll(notifications);
+    }
+
+    private NotificationMessage toMessage(Notification notification, UUID userId) {
+        NotificationMessage dto = new NotificationMessage();
+        dto.setId(notification.getId());
+        dto.setTitle(notification.getTitle());
+        dto.setMessage(notification.getMessage());
+        dto.setType(notification.getType());
+        dto.setUserId(userId);
+        dto.setCreatedAt(notification.getCreatedAt());
+        dto.setActionUrl(notification.getActionUrl());
+        dto.setRelatedEntity(notification.getRelatedEntity());
+        dto.setRead(false);
+        return dto;
+    }
+
+    /**
+     * Queue depth, throughput and latency (queued to written) of the fan-out pipeline
+     */
+    public FanOutStats getStats() {
+        long completed = completedRequests.get() + failedRequests.get();
+        return new FanOutStats(
+                queuedRequests.get(),
+                pushDispatcher.getPendingCount(),
+                completedRequests.get(),
+                failedRequests.get(),
+                notificationsWritten.get(),
+                completed > 0 ? totalLatencyMs.get() / completed : 0,
+                maxLatencyMs.get());
+    }
+
+    private record Recipient(UUID id, String username) {}
+
+    private record FanOutRequest(List<Recipient> recipients, String title, String message, NotificationType type,
+                                 String actionUrl, String relatedEntity) {}
+
+    public record FanOutStats(int queuedRequests, int pendingPushes, long completedRequests, long failedRequests,
+                              long notificationsWritten, long averageLatencyMs, long maxLatencyMs) {}
+}
@@ -0,0 +1,60 @@
+package com.example.backend.services.notification;
+
+import com.example.backend.dto.notification.NotificationMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces user notification pushes into one STOMP frame per user per flush interval.
+ * The client already accepts either a single notification or an array on /user/queue/notifications.
+ */
+@Component
+@Slf4j
+public class NotificationPushDispatcher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // username -> messages waiting for the next flush; lists are only touched inside compute/remove
+    private final ConcurrentHashMap<String, List<NotificationMessage>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public NotificationPushDispatcher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public void enqueue(String username, NotificationMessage message) {
+        pending.compute(username, (key, messages) -> {
+            List<NotificationMessage> target = messages != null ? messages : new ArrayList<>();
+            target.add(message);
+            return target;
+        });
+        pendingCount.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.push.flush-interval-ms:250}")
+    public void flush() {
+        for (String username : pending.keySet()) {
+            List<NotificationMessage> batch = pending.remove(username);
+            if (batch == null || batch.isEmpty()) {
+                continue;
+            }
+            pendingCount.addAndGet(-batch.size());
+            try {
+                messagingTemplate.convertAndSendToUser(username, "/queue/notifications", batch);
+            } catch (Exception e) {
+                log.error("Error pushing {} notifications to user {}", batch.size(), username, e);
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+}
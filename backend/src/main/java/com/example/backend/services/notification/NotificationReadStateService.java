@@ -0,0 +1,173 @@
+package com.example.backend.services.notification;
+
+import com.example.backend.models.notification.Notification;
+import com.example.backend.models.notification.NotificationUserState;
+import com.example.backend.repositories.notification.NotificationRepository;
+import com.example.backend.repositories.notification.NotificationUserStateRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read / hidden state of notifications per user, and the unread counter polled by every client.
+ * <p>
+ * The unread count is computed with one aggregate query and then kept in a per-user cache that
+ * is adjusted in place when notifications are created, read, unread or hidden. Entries expire
+ * after a few minutes so any drift (e.g. from a rolled back transaction) corrects itself.
+ */
+@Service
+@Slf4j
+public class NotificationReadStateService {
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationUserStateRepository userStateRepository;
+
+    private final Cache<UUID, AtomicLong> unreadCounts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .build();
+
+    public NotificationReadStateService(NotificationRepository notificationRepository,
+                                        NotificationUserStateRepository userStateRepository) {
+        this.notificationRepository = notificationRepository;
+        this.userStateRepository = userStateRepository;
+    }
+
+    // ================= UNREAD COUNTER =================
+
+    /**
+     * Unread notifications for a user, including broadcasts not read or hidden by them
+     */
+    @Transactional(readOnly = true)
+    public long getUnreadCount(UUID userId) {
+        return unreadCounts.get(userId, id -> new AtomicLong(notificationRepository.countUnreadForUser(id))).get();
+    }
+
+    /**
+     * Adjust a cached counter; users without a cached counter are loaded on their next poll
+     */
+    public void adjustUnreadCount(UUID userId, long delta) {
+        AtomicLong counter = unreadCounts.getIfPresent(userId);
+        if (counter != null) {
+            counter.updateAndGet(current -> Math.max(0, current + delta));
+        }
+    }
+
+    /**
+     * A broadcast is unread for every user
+     */
+    public void broadcastCreated() {
+        unreadCounts.asMap().values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    public void evictUnreadCount(UUID userId) {
+        unreadCounts.invalidate(userId);
+    }
+
+    // ================= READ / HIDDEN STATE =================
+
+    /**
+     * IDs of the given broadcasts that the user has read
+     */
+    @Transactional(readOnly = true)
+    public Set<UUID> findReadBroadcastIds(UUID userId, Collection<Notification> notifications) {
+        List<UUID> broadcastIds = notifications.stream()
+                .filter(notification -> notification.getUser() == null)
+                .map(Notification::getId)
+                .toList();
+
+        if (broadcastIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return userStateRepository.findReadNotificationIds(userId, broadcastIds);
+    }
+
+    /**
+     * Mark a notification as read for the user
+     *
+     * @return true if it was unread before
+     */
+    @Transactional
+    public boolean markAsRead(Notification notification, UUID userId) {
+        if (notification.getUser() != null) {
+            if (notification.isRead()) {
+                return false;
+            }
+            notification.setRead(true);
+            notificationRepository.save(notification);
+            adjustUnreadCount(userId, -1);
+            return true;
+        }
+
+        NotificationUserState state = getOrCreateState(notification, userId);
+        if (state.isRead()) {
+            return false;
+        }
+        state.markRead();
+        userStateRepository.save(state);
+        if (!state.isHidden()) {
+            adjustUnreadCount(userId, -1);
+        }
+        return true;
+    }
+
+    /**
+     * Flip the read state of a notification for the user
+     *
+     * @return the new read state
+     */
+    @Transactional
+    public boolean toggleRead(Notification notification, UUID userId) {
+        if (notification.getUser() != null) {
+            boolean read = !notification.isRead();
+            notification.setRead(read);
+            notificationRepository.save(notification);
+            adjustUnreadCount(userId, read ? -1 : 1);
+            return read;
+        }
+
+        NotificationUserState state = getOrCreateState(notification, userId);
+        if (state.isRead()) {
+            state.markUnread();
+        } else {
+            state.markRead();
+        }
+        userStateRepository.save(state);
+        if (!state.isHidden()) {
+            adjustUnreadCount(userId, state.isRead() ? -1 : 1);
+        }
+        return state.isRead();
+    }
+
+    /**
+     * Hide a broadcast notification for the user
+     */
+    @Transactional
+    public void hide(Notification notification, UUID userId) {
+        NotificationUserState state = getOrCreateState(notification, userId);
+        if (state.isHidden()) {
+            return;
+        }
+        state.hide();
+        userStateRepository.save(state);
+        if (!state.isRead()) {
+            adjustUnreadCount(userId, -1);
+        }
+        log.debug("Hid broadcast notification {} for user {}", notification.getId(), userId);
+    }
+
+    private NotificationUserState getOrCreateState(Notification notification, UUID userId) {
+        return userStateRepository.findByNotificationIdAndUserId(notification.getId(), userId)
+                .orElseGet(() -> new NotificationUserState(notification, userId));
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.backend.services.notification;
 
 import com.example.backend.controllers.notification.WebSocketController;
+import com.example.backend.dto.notification.NotificationFeedCursor;
+import com.example.backend.dto.notification.NotificationFeedPage;
 import com.example.backend.dto.notification.NotificationMessage;
 import com.example.backend.models.notification.Notification;
 import com.example.backend.models.notification.NotificationType;
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,6 +36,14 @@ public class NotificationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationReadStateService readStateService;
+
+    @Autowired
+    private NotificationFanOutService fanOutService;
+
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     // ================= HELPER METHOD FOR AUTHENTICATION =================
 
     /**
@@ -68,8 +79,8 @@ public class NotificationService {
     /**
      * Send notification to warehouse users with action URL and related entity (AUTO USER)
      */
-    public List<Notification> sendNotificationToWarehouseUsers(String title, String message,
-                                                               NotificationType type, String actionUrl, String relatedEntity) {
+    public void sendNotificationToWarehouseUsers(String title, String message,
+                                                 NotificationType type, String actionUrl, String relatedEntity) {
         System.out.println("🔍 DEBUG: Finding warehouse users...");
         List<User> warehouseUsers = userRepository.findWarehouseUsers();
         System.out.println("🔍 DEBUG: Found " + warehouseUsers.size() + " warehouse users: " +
@@ -83,17 +94,16 @@ public class NotificationService {
                     currentUser.getFirstName(), currentUser.getLastName());
         }
 
-        List<Notification> notifications = sendNotificationToUsers(warehouseUsers, title, finalMessage, type, actionUrl, relatedEntity);
+        sendNotificationToUsers(warehouseUsers, title, finalMessage, type, actionUrl, relatedEntity);
 
         logNotificationSent("warehouse users", relatedEntity, actionUrl);
-        return notifications;
     }
 
     /**
      * Send notification to equipment users with action URL and related entity (AUTO USER)
      */
-    public List<Notification> sendNotificationToEquipmentUsers(String title, String message,
-                                                               NotificationType type, String actionUrl, String relatedEntity) {
+    public void sendNotificationToEquipmentUsers(String title, String message,
+                                                 NotificationType type, String actionUrl, String relatedEntity) {
         List<User> equipmentUsers = userRepository.findEquipmentUsers();
 
         String finalMessage = message;
@@ -103,17 +113,16 @@ public class NotificationService {
                     currentUser.getFirstName(), currentUser.getLastName());
         }
 
-        List<Notification> notifications = sendNotificationToUsers(equipmentUsers, title, finalMessage, type, actionUrl, relatedEntity);
+        sendNotificationToUsers(equipmentUsers, title, finalMessage, type, actionUrl, relatedEntity);
 
         logNotificationSent("equipment users", relatedEntity, actionUrl);
-        return notifications;
     }
 
     /**
      * Send notification to finance users with action URL and related entity (AUTO USER)
      */
-    public List<Notification> sendNotificationToFinanceUsers(String title, String message,
-                                                             NotificationType type, String actionUrl, String relatedEntity) {
+    public void sendNotificationToFinanceUsers(String title, String message,
+                                               NotificationType type, String actionUrl, String relatedEntity) {
         List<User> financeUsers = userRepository.findFinanceUsers();
 
         String finalMessage = message;
@@ -123,17 +132,16 @@ public class NotificationService {
                     currentUser.getFirstName(), currentUser.getLastName());
         }
 
-        List<Notification> notifications = sendNotificationToUsers(financeUsers, title, finalMessage, type, actionUrl, relatedEntity);
+        sendNotificationToUsers(financeUsers, title, finalMessage, type, actionUrl, relatedEntity);
 
         logNotificationSent("finance users", relatedEntity, actionUrl);
-        return notifications;
     }
 
     /**
      * Send notification to HR users with action URL and related entity (AUTO USER)
      */
-    public List<Notification> sendNotificationToHRUsers(String title, String message,
-                                                        NotificationType type, String actionUrl, String relatedEntity) {
+    public void sendNotificationToHRUsers(String title, String message,
+                                          NotificationType type, String actionUrl, String relatedEntity) {
         List<User> hrUsers = userRepository.findHRUsers();
 
         String finalMessage = message;
@@ -143,17 +151,16 @@ public class NotificationService {
                     currentUser.getFirstName(), currentUser.getLastName());
         }
 
-        List<Notification> notifications = sendNotificationToUsers(hrUsers, title, finalMessage, type, actionUrl, relatedEntity);
+        sendNotificationToUsers(hrUsers, title, finalMessage, type, actionUrl, relatedEntity);
 
         logNotificationSent("HR users", relatedEntity, actionUrl);
-        return notifications;
     }
 
     /**
      * Send notification to procurement users with action URL and related entity (AUTO USER)
      */
-    public List<Notification> sendNotificationToProcurementUsers(String title, String message,
-                                                                 NotificationType type, String actionUrl, String relatedEntity) {
+    public void sendNotificationToProcurementUsers(String title, String message,
+                                                   NotificationType type, String actionUrl, String relatedEntity) {
         List<User> procurementUsers = userRepository.findProcurementUsers();
 
         String finalMessage = message;
@@ -163,10 +170,9 @@ public class NotificationService {
                     currentUser.getFirstName(), currentUser.getLastName());
         }
 
-        List<Notification> notifications = sendNotificationToUsers(procurementUsers, title, finalMessage, type, actionUrl, relatedEntity);
+        sendNotificationToUsers(procurementUsers, title, finalMessage, type, actionUrl, relatedEntity);
 
         logNotificationSent("procurement users", relatedEntity, actionUrl);
-        return notifications;
     }
 
     /**
@@ -188,123 +194,95 @@ public class NotificationService {
     /**
      * Send notification to warehouse users (WAREHOUSE_MANAGER, WAREHOUSE_EMPLOYEE, ADMIN)
      */
-    public List<Notification> sendNotificationToWarehouseUsers(String title, String message, NotificationType type) {
+    public void sendNotificationToWarehouseUsers(String title, String message, NotificationType type) {
         List<User> warehouseUsers = userRepository.findWarehouseUsers();
-        return sendNotificationToUsers(warehouseUsers, title, message, type);
+        sendNotificationToUsers(warehouseUsers, title, message, type);
     }
 
     /**
      * Send notification to warehouse users with action URL
      */
-    public List<Notification> sendNotificationToWarehouseUsers(String title, String message, NotificationType type, String actionUrl) {
+    public void sendNotificationToWarehouseUsers(String title, String message, NotificationType type, String actionUrl) {
         List<User> warehouseUsers = userRepository.findWarehouseUsers();
-        return sendNotificationToUsers(warehouseUsers, title, message, type, actionUrl);
+        sendNotificationToUsers(warehouseUsers, title, message, type, actionUrl);
     }
 
     /**
      * Send notification to equipment users (EQUIPMENT_MANAGER, ADMIN) with related entity
      */
-    public List<Notification> sendNotificationToEquipmentUsers(String title, String message, NotificationType type, String relatedEntity) {
+    public void sendNotificationToEquipmentUsers(String title, String message, NotificationType type, String relatedEntity) {
         List<User> equipmentUsers = userRepository.findEquipmentUsers();
-        return sendNotificationToUsers(equipmentUsers, title, message, type, null, relatedEntity);
+        sendNotificationToUsers(equipmentUsers, title, message, type, null, relatedEntity);
     }
 
     /**
      * Send notification to finance users (FINANCE_MANAGER, FINANCE_EMPLOYEE, ADMIN) with related entity
      */
-    public List<Notification> sendNotificationToFinanceUsers(String title, String message, NotificationType type, String relatedEntity) {
+    public void sendNotificationToFinanceUsers(String title, String message, NotificationType type, String relatedEntity) {
         List<User> financeUsers = userRepository.findFinanceUsers();
-        return sendNotificationToUsers(financeUsers, title, message, type, null, relatedEntity);
+        sendNotificationToUsers(financeUsers, title, message, type, null, relatedEntity);
     }
 
     /**
      * Send notification to HR users (HR_MANAGER, HR_EMPLOYEE, ADMIN) with related entity
      */
-    public List<Notification> sendNotificationToHRUsers(String title, String message, NotificationType type, String relatedEntity) {
+    public void sendNotificationToHRUsers(String title, String message, NotificationType type, String relatedEntity) {
         List<User> hrUsers = userRepository.findHRUsers();
-        return sendNotificationToUsers(hrUsers, title, message, type, null, relatedEntity);
+        sendNotificationToUsers(hrUsers, title, message, type, null, relatedEntity);
     }
 
     /**
      * Send notification to procurement users (PROCUREMENT, ADMIN) with related entity
      */
-    public List<Notification> sendNotificationToProcurementUsers(String title, String message, NotificationType type, String relatedEntity) {
+    public void sendNotificationToProcurementUsers(String title, String message, NotificationType type, String relatedEntity) {
         List<User> procurementUsers = userRepository.findProcurementUsers();
-        return sendNotificationToUsers(procurementUsers, title, message, type, null, relatedEntity);
+        sendNotificationToUsers(procurementUsers, title, message, type, null, relatedEntity);
     }
 
     /**
      * Send notification to users with specific roles
      */
-    public List<Notification> sendNotificationToUsersByRoles(List<Role> roles, String title, String message, NotificationType type) {
+    public void sendNotificationToUsersByRoles(List<Role> roles, String title, String message, NotificationType type) {
         List<User> users = getUsersByRoles(roles);
-        return sendNotificationToUsers(users, title, message, type);
+        sendNotificationToUsers(users, title, message, type);
     }
 
     /**
      * Send notification to users with specific roles with action URL
      */
-    public List<Notification> sendNotificationToUsersByRoles(List<Role> roles, String title, String message, NotificationType type, String actionUrl) {
+    public void sendNotificationToUsersByRoles(List<Role> roles, String title, String message, NotificationType type, String actionUrl) {
         List<User> users = getUsersByRoles(roles);
-        return sendNotificationToUsers(users, title, message, type, actionUrl);
+        sendNotificationToUsers(users, title, message, type, actionUrl);
     }
 
     /**
      * Send notification to users with specific roles with action URL and related entity
      */
-    public List<Notification> sendNotificationToUsersByRoles(List<Role> roles, String title, String message, NotificationType type, String actionUrl, String relatedEntity) {
+    public void sendNotificationToUsersByRoles(List<Role> roles, String title, String message, NotificationType type, String actionUrl, String relatedEntity) {
         List<User> users = getUsersByRoles(roles);
-        return sendNotificationToUsers(users, title, message, type, actionUrl, relatedEntity);
+        sendNotificationToUsers(users, title, message, type, actionUrl, relatedEntity);
     }
 
     /**
-     * Send notification to a list of users
+     * Send notification to a list of users.
+     * Delivery is asynchronous and happens after the current transaction commits.
      */
-    public List<Notification> sendNotificationToUsers(List<User> users, String title, String message, NotificationType type) {
-        List<Notification> notifications = new ArrayList<>();
-
-        for (User user : users) {
-            Notification notification = sendNotificationToUser(user, title, message, type);
-            notifications.add(notification);
-
-        }
-
-        System.out.println("✅ Sent notifications to " + users.size() + " users");
-        return notifications;
+    public void sendNotificationToUsers(List<User> users, String title, String message, NotificationType type) {
+        fanOutService.submit(users, title, message, type, null, null);
     }
 
     /**
      * Send notification to a list of users with action URL
      */
-    public List<Notification> sendNotificationToUsers(List<User> users, String title, String message, NotificationType type, String actionUrl) {
-        List<Notification> notifications = new ArrayList<>();
-
-        for (User user : users) {
-            Notification notification = sendNotificationToUser(user, title, message, type, actionUrl);
-            notifications.add(notification);
-        }
-
-        System.out.println("✅ Sent notifications to " + users.size() + " users with action URL");
-        return notifications;
+    public void sendNotificationToUsers(List<User> users, String title, String message, NotificationType type, String actionUrl) {
+        fanOutService.submit(users, title, message, type, actionUrl, null);
     }
 
     /**
      * Send notification to a list of users with action URL and related entity
      */
-    public List<Notification> sendNotificationToUsers(List<User> users, String title, String message, NotificationType type, String actionUrl, String relatedEntity) {
-        List<Notification> notifications = new ArrayList<>();
-
-        System.out.println("🔍 DEBUG: Starting to send notifications to " + users.size() + " users");
-        System.out.println("🔍 DEBUG: Users found: " + users.stream().map(User::getUsername).collect(Collectors.toList()));
-
-        for (User user : users) {
-            System.out.println("🔍 DEBUG: Processing user: " + user.getUsername() + " (ID: " + user.getId() + ")");
-            Notification notification = sendNotificationToUser(user, title, message, type, actionUrl, relatedEntity);
-            notifications.add(notification);
-        }
-
-        System.out.println("✅ Sent notifications to " + users.size() + " users with action URL and related entity");
-        return notifications;
+    public void sendNotificationToUsers(List<User> users, String title, String message, NotificationType type, String actionUrl, String relatedEntity) {
+        fanOutService.submit(users, title, message, type, actionUrl, relatedEntity);
     }
 
     /**
@@ -322,6 +300,7 @@ public class NotificationService {
     public Notification sendNotificationToUser(User user, String title, String message, NotificationType type) {
         Notification notification = new Notification(title, message, type, user);
         notification = notificationRepository.save(notification);
+        readStateService.adjustUnreadCount(user.getId(), 1);
 
         if (webSocketController.isUserConnected(user.getId())) {
             NotificationMessage dto = convertToDTO(notification);
@@ -338,6 +317,7 @@ public class NotificationService {
                                                NotificationType type, String actionUrl) {
         Notification notification = new Notification(title, message, type, user, actionUrl);
         notification = notificationRepository.save(notification);
+        readStateService.adjustUnreadCount(user.getId(), 1);
 
         if (webSocketController.isUserConnected(user.getId())) {
             NotificationMessage dto = convertToDTO(notification);
@@ -361,6 +341,7 @@ public class NotificationService {
 
         System.out.println("🔍 DEBUG: Before saving notification");
         notification = notificationRepository.save(notification);
+        readStateService.adjustUnreadCount(user.getId(), 1);
         System.out.println("🔍 DEBUG: After saving notification. ID: " + notification.getId());
 
         if (webSocketController.isUserConnected(user.getId())) {
@@ -383,6 +364,7 @@ public class NotificationService {
 
         Notification notification = new Notification(title, message, type, user);
         notification = notificationRepository.save(notification);
+        readStateService.adjustUnreadCount(userId, 1);
 
         if (webSocketController.isUserConnected(userId)) {
             NotificationMessage dto = convertToDTO(notification);
@@ -400,6 +382,7 @@ public class NotificationService {
     public Notification broadcastNotification(String title, String message, NotificationType type) {
         Notification notification = new Notification(title, message, type);
         notification = notificationRepository.save(notification);
+        readStateService.broadcastCreated();
 
         NotificationMessage dto = convertToDTO(notification);
         webSocketController.broadcastNotification(dto);
@@ -414,6 +397,7 @@ public class NotificationService {
         Notification notification = new Notification(title, message, type);
         notification.setActionUrl(actionUrl);
         notification = notificationRepository.save(notification);
+        readStateService.broadcastCreated();
 
         NotificationMessage dto = convertToDTO(notification);
         webSocketController.broadcastNotification(dto);
@@ -437,6 +421,7 @@ public class NotificationService {
 
         System.out.println("🔍 DEBUG: Before saving broadcast notification");
         notification = notificationRepository.save(notification);
+        readStateService.broadcastCreated();
         System.out.println("🔍 DEBUG: After saving broadcast notification. ID: " + notification.getId());
 
         NotificationMessage dto = convertToDTO(notification);
@@ -460,13 +445,9 @@ public class NotificationService {
         System.out.println("🔍 DEBUG: Found " + userNotifications.size() + " user-specific notifications");
 
         // Get broadcast notifications (user = null) that are not hidden by this user
-        List<Notification> broadcastNotifications = notificationRepository.findByUserIsNullOrderByCreatedAtDesc();
-        List<Notification> visibleBroadcastNotifications = broadcastNotifications.stream()
-                .filter(notification -> !notification.isHiddenByUser(user.getId()))
-                .collect(Collectors.toList());
+        List<Notification> visibleBroadcastNotifications = notificationRepository.findVisibleBroadcastsForUser(user.getId());
 
-        System.out.println("🔍 DEBUG: Found " + broadcastNotifications.size() + " broadcast notifications");
-        System.out.println("🔍 DEBUG: " + visibleBroadcastNotifications.size() + " visible to user " + user.getId());
+        System.out.println("🔍 DEBUG: " + visibleBroadcastNotifications.size() + " broadcast notifications visible to user " + user.getId());
 
         // Combine both lists
         List<Notification> allNotifications = new ArrayList<>();
@@ -478,11 +459,42 @@ public class NotificationService {
 
         System.out.println("🔍 DEBUG: Total visible notifications to return: " + allNotifications.size());
 
+        Set<UUID> readBroadcastIds = readStateService.findReadBroadcastIds(user.getId(), visibleBroadcastNotifications);
         return allNotifications.stream()
-                .map(notification -> convertToDTO(notification, user))
+                .map(notification -> convertToDTO(notification, readBroadcastIds))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of the user's feed (own notifications and visible broadcasts, newest first).
+     * Keyset pagination on (createdAt, id) keeps the cost of a page independent of history size.
+     */
+    @Transactional(readOnly = true)
+    public NotificationFeedPage getNotificationFeed(User user, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+        NotificationFeedCursor position = NotificationFeedCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<Notification> rows = notificationRepository.findFeedPageForUser(
+                user.getId(), position.createdAt(), position.id(), pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Set<UUID> readBroadcastIds = readStateService.findReadBroadcastIds(user.getId(), page);
+        List<NotificationMessage> items = page.stream()
+                .map(notification -> convertToDTO(notification, readBroadcastIds))
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = page.get(page.size() - 1);
+            nextCursor = new NotificationFeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new NotificationFeedPage(items, nextCursor, hasMore);
+    }
+
     /**
      * Get unread notifications for a user
      */
@@ -499,17 +511,7 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public long getUnreadCountForUser(User user) {
-        // Count user-specific unread notifications
-        long userUnread = notificationRepository.countByUserAndReadFalse(user);
-
-        // Count broadcast notifications that are NOT read by this user
-        List<Notification> broadcastNotifications = notificationRepository.findByUserIsNullOrderByCreatedAtDesc();
-        long unreadBroadcastCount = broadcastNotifications.stream()
-                .filter(notification -> !notification.isReadByUser(user.getId()) && !notification.isHiddenByUser(user.getId()))
-                .count();
-
-        System.out.println("🔍 DEBUG: User unread: " + userUnread + ", Unread broadcast count: " + unreadBroadcastCount);
-        return userUnread + unreadBroadcastCount;
+        return readStateService.getUnreadCount(user.getId());
     }
 
     /**
@@ -526,18 +528,25 @@ public class NotificationService {
     // ================= NOTIFICATION MANAGEMENT METHODS =================
 
     /**
-     * Mark notification as read
+     * Mark notification as read (user-specific or broadcast)
      */
     public boolean markAsRead(UUID notificationId, User user) {
-        int updated = notificationRepository.markAsRead(notificationId, user);
-        return updated > 0;
+        Optional<Notification> notification = notificationRepository.findByIdAndUserOrBroadcast(notificationId, user);
+        if (notification.isEmpty()) {
+            return false;
+        }
+
+        readStateService.markAsRead(notification.get(), user.getId());
+        return true;
     }
 
     /**
      * Mark all notifications as read for a user
      */
     public int markAllAsReadForUser(User user) {
-        return notificationRepository.markAllAsReadForUser(user);
+        int updated = notificationRepository.markAllAsReadForUser(user);
+        readStateService.adjustUnreadCount(user.getId(), -updated);
+        return updated;
     }
 
     /**
@@ -569,13 +578,14 @@ public class NotificationService {
                 if (notification.getUser() != null) {
                     // User-specific notification (GREEN) - actually delete it
                     notificationRepository.deleteById(notificationId);
+                    if (!notification.isRead()) {
+                        readStateService.adjustUnreadCount(user.getId(), -1);
+                    }
                     System.out.println("🗑️ DEBUG: Deleted user-specific notification " + notificationId);
                 } else {
                     // Broadcast notification (BLUE) - just hide it for this user
-                    notification.hideForUser(user.getId());
-                    notificationRepository.save(notification);
+                    readStateService.hide(notification, user.getId());
                     System.out.println("🙈 DEBUG: Hidden broadcast notification " + notificationId + " for user: " + user.getId());
-                    System.out.println("🔍 DEBUG: Hidden by users: " + notification.getHiddenByUsers());
                 }
                 return true;
             }
@@ -684,7 +694,7 @@ public class NotificationService {
     /**
      * Convert Notification entity to NotificationMessage DTO WITH USER CONTEXT
      */
-    private NotificationMessage convertToDTO(Notification notification, User currentUser) {
+    private NotificationMessage convertToDTO(Notification notification, Set<UUID> readBroadcastIds) {
         NotificationMessage dto = new NotificationMessage();
         dto.setId(notification.getId());
         dto.setTitle(notification.getTitle());
@@ -702,10 +712,7 @@ public class NotificationService {
             System.out.println("🔍 DEBUG: User-specific notification " + notification.getId() + " read status: " + notification.isRead());
         } else {
             // Broadcast notification - check if this specific user has read it
-            boolean isReadByUser = notification.isReadByUser(currentUser.getId());
-            dto.setRead(isReadByUser);
-            System.out.println("🔍 DEBUG: Broadcast notification " + notification.getId() + " read by user " + currentUser.getId() + ": " + isReadByUser);
-            System.out.println("🔍 DEBUG: ReadByUsers field: " + notification.getReadByUsers());
+            dto.setRead(readBroadcastIds.contains(notification.getId()));
         }
 
         return dto;
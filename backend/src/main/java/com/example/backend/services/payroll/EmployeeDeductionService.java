@@ -15,7 +15,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -212,6 +215,18 @@ public class EmployeeDeductionService {
         List<EmployeeDeduction> deductions = employeeDeductionRepository
             .findActiveForPayrollPeriod(employeeId, periodStart, periodEnd);
 
+        return calculateDeductions(deductions, periodStart, periodEnd, grossSalary, basicSalary);
+    }
+
+    /**
+     * Calculate deductions for a payroll period from already-loaded deductions.
+     * Pure calculation - safe to call from calculation worker threads.
+     */
+    public List<CalculatedDeduction> calculateDeductions(List<EmployeeDeduction> deductions,
+                                                         LocalDate periodStart,
+                                                         LocalDate periodEnd,
+                                                         BigDecimal grossSalary,
+                                                         BigDecimal basicSalary) {
         return deductions.stream()
             .filter(d -> d.shouldApplyForPeriod(periodStart, periodEnd))
             .map(d -> {
@@ -230,6 +245,36 @@ public class EmployeeDeductionService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Load deductions active in a payroll period for a set of employees in one query,
+     * grouped by employee ID (priority order is preserved within each group)
+     */
+    public Map<UUID, List<EmployeeDeduction>> getActiveDeductionsByEmployee(Collection<UUID> employeeIds,
+                                                                           LocalDate periodStart,
+                                                                           LocalDate periodEnd) {
+        if (employeeIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return employeeDeductionRepository
+            .findActiveForPayrollPeriodByEmployeeIds(employeeIds, periodStart, periodEnd).stream()
+            .collect(Collectors.groupingBy(d -> d.getEmployee().getId()));
+    }
+
+    /**
+     * Record already-loaded deductions as applied in a payroll and save them in one batch
+     */
+    @Transactional
+    public void recordAppliedDeductions(Collection<EmployeeDeduction> deductions, LocalDate payrollEndDate) {
+        if (deductions.isEmpty()) {
+            return;
+        }
+        for (EmployeeDeduction deduction : deductions) {
+            deduction.recordDeduction(deduction.getAmount(), payrollEndDate);
+        }
+        employeeDeductionRepository.saveAll(deductions);
+        log.debug("Recorded {} deductions applied", deductions.size());
+    }
+
     /**
      * Record that deductions were applied in a payroll
      */
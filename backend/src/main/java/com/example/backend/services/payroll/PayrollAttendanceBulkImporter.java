@@ -0,0 +1,214 @@
+package com.example.backend.services.payroll;
+
+import com.example.backend.models.hr.Attendance;
+import com.example.backend.models.hr.Employee;
+import com.example.backend.models.id.EntityTypeConfig;
+import com.example.backend.models.payroll.EmployeePayroll;
+import com.example.backend.models.payroll.Payroll;
+import com.example.backend.models.payroll.PayrollPublicHoliday;
+import com.example.backend.repositories.hr.AttendanceRepository;
+import com.example.backend.repositories.hr.EmployeeRepository;
+import com.example.backend.repositories.payroll.EmployeePayrollRepository;
+import com.example.backend.services.hr.AttendanceDefaultResolver;
+import com.example.backend.services.id.EntityIdGeneratorService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based attendance import for a payroll period.
+ * <p>
+ * Loads all active employees and all of their attendance for the payroll window
+ * in two queries, builds the {@link EmployeePayroll} / attendance snapshot graph
+ * for each chunk of employees in parallel, then persists chunk by chunk so
+ * Hibernate can group the inserts into JDBC batches.
+ * Days without a stored attendance record are snapshotted from the same defaults
+ * the attendance sheet shows (see {@link AttendanceDefaultResolver}).
+ * A failure for one employee is logged and skipped without affecting the others.
+ */
+@Service
+@Slf4j
+public class PayrollAttendanceBulkImporter {
+
+    static final int DEFAULT_CHUNK_SIZE = 200;
+
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final EmployeePayrollRepository employeePayrollRepository;
+    private final PayrollSnapshotService snapshotService;
+    private final AttendanceDefaultResolver attendanceDefaultResolver;
+    private final EntityIdGeneratorService entityIdGeneratorService;
+    private final EntityManager entityManager;
+    private final Executor payrollImportExecutor;
+
+    public PayrollAttendanceBulkImporter(EmployeeRepository employeeRepository,
+                                         AttendanceRepository attendanceRepository,
+                                         EmployeePayrollRepository employeePayrollRepository,
+                                         PayrollSnapshotService snapshotService,
+                                         AttendanceDefaultResolver attendanceDefaultResolver,
+                                         EntityIdGeneratorService entityIdGeneratorService,
+                                         EntityManager entityManager,
+                                         @Qualifier("payrollImportExecutor") Executor payrollImportExecutor) {
+        this.employeeRepository = employeeRepository;
+        this.attendanceRepository = attendanceRepository;
+        this.employeePayrollRepository = employeePayrollRepository;
+        this.snapshotService = snapshotService;
+        this.attendanceDefaultResolver = attendanceDefaultResolver;
+        this.entityIdGeneratorService = entityIdGeneratorService;
+        this.entityManager = entityManager;
+        this.payrollImportExecutor = payrollImportExecutor;
+    }
+
+    /**
+     * Import attendance for every active employee into the given payroll.
+     * Must run inside the caller's transaction; each chunk is flushed as soon as it is attached.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BulkImportResult importAttendance(Payroll payroll) {
+        return importAttendance(payroll, DEFAULT_CHUNK_SIZE);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BulkImportResult importAttendance(Payroll payroll, int chunkSize) {
+        long startedAt = System.currentTimeMillis();
+
+        List<Employee> employees = employeeRepository.findByStatusWithPayrollDetails("ACTIVE");
+
+        // One range query for the whole window, grouped here on the session thread
+        // (reading the employee id from the lazy proxy does not initialise it)
+        Map<UUID, List<Attendance>> attendanceByEmployee = attendanceRepository
+                .findByEmployeeStatusAndDateRange("ACTIVE", payroll.getStartDate(), payroll.getEndDate())
+                .stream()
+                .collect(Collectors.groupingBy(a -> a.getEmployee().getId()));
+
+        // Copy so workers never touch the lazy collection
+        List<PayrollPublicHoliday> publicHolidays = payroll.getPublicHolidays() != null
+                ? List.copyOf(payroll.getPublicHolidays())
+                : Collections.emptyList();
+
+        List<List<Employee>> chunks = partition(employees, chunkSize);
+
+        log.info("Bulk attendance import for payroll {}: {} employees, {} attendance rows, {} chunks",
+                payroll.getId(), employees.size(),
+                attendanceByEmployee.values().stream().mapToInt(List::size).sum(), chunks.size());
+
+        // Fan out the pure snapshot building; persistence stays on this thread
+        List<CompletableFuture<ChunkResult>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(
+                        () -> buildChunk(payroll, chunk, attendanceByEmployee, publicHolidays),
+                        payrollImportExecutor))
+                .toList();
+
+        int imported = 0;
+        int snapshots = 0;
+        List<UUID> failedEmployeeIds = new ArrayList<>();
+
+        for (int i = 0; i < futures.size(); i++) {
+            ChunkResult chunk = futures.get(i).join();
+
+            persistChunk(payroll, chunk.employeePayrolls());
+
+            imported += chunk.employeePayrolls().size();
+            snapshots += chunk.snapshotCount();
+            failedEmployeeIds.addAll(chunk.failedEmployeeIds());
+
+            log.info("Attendance import chunk {}/{}: {} employees imported, {} snapshots, {} failed",
+                    i + 1, chunks.size(), chunk.employeePayrolls().size(),
+                    chunk.snapshotCount(), chunk.failedEmployeeIds().size());
+        }
+
+        log.info("Bulk attendance import for payroll {} finished in {} ms: {} imported, {} snapshots, {} failed",
+                payroll.getId(), System.currentTimeMillis() - startedAt, imported, snapshots, failedEmployeeIds.size());
+
+        return new BulkImportResult(imported, snapshots, failedEmployeeIds);
+    }
+
+    /**
+     * Build employee payrolls and their attendance snapshots for one chunk.
+     * Runs on the import executor, so it must not touch the database or the managed payroll.
+     */
+    private ChunkResult buildChunk(Payroll payroll,
+                                   List<Employee> employees,
+                                   Map<UUID, List<Attendance>> attendanceByEmployee,
+                                   List<PayrollPublicHoliday> publicHolidays) {
+        List<EmployeePayroll> built = new ArrayList<>(employees.size());
+        List<UUID> failed = new ArrayList<>();
+        int snapshotCount = 0;
+
+        for (Employee employee : employees) {
+            try {
+                EmployeePayroll employeePayroll = snapshotService.buildEmployeePayrollSnapshot(employee);
+
+                List<Attendance> days = attendanceDefaultResolver.resolve(employee,
+                        attendanceByEmployee.getOrDefault(employee.getId(), List.of()),
+                        payroll.getStartDate(), payroll.getEndDate());
+
+                for (Attendance attendance : days) {
+                    employeePayroll.addAttendanceSnapshot(
+                            snapshotService.createAttendanceSnapshot(employeePayroll, attendance, publicHolidays));
+                }
+
+                snapshotCount += employeePayroll.getAttendanceSnapshots().size();
+                built.add(employeePayroll);
+            } catch (Exception e) {
+                log.error("Failed to import attendance for employee {}: {}",
+                        employee.getId(), e.getMessage(), e);
+                failed.add(employee.getId());
+            }
+        }
+
+        return new ChunkResult(built, snapshotCount, failed);
+    }
+
+    /**
+     * Attach a built chunk to the payroll and write it. Runs on the session thread: setting the payroll
+     * adds the row to the managed Payroll.employeePayrolls, which must not be touched concurrently.
+     * The rows stay managed afterwards, since a detached row in that cascaded collection would fail the next flush.
+     */
+    private void persistChunk(Payroll payroll, List<EmployeePayroll> employeePayrolls) {
+        if (employeePayrolls.isEmpty()) {
+            return;
+        }
+
+        for (EmployeePayroll employeePayroll : employeePayrolls) {
+            employeePayroll.setPayroll(payroll);
+            employeePayroll.setEmployeePayrollNumber(
+                    entityIdGeneratorService.generateNextId(EntityTypeConfig.EMPLOYEE_PAYROLL));
+        }
+
+        // Snapshots cascade from EmployeePayroll; hibernate.jdbc.batch_size groups the inserts
+        employeePayrollRepository.saveAll(employeePayrolls);
+        entityManager.flush();
+    }
+
+    static <T> List<List<T>> partition(List<T> items, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += size) {
+            chunks.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return chunks;
+    }
+
+    private record ChunkResult(List<EmployeePayroll> employeePayrolls, int snapshotCount, List<UUID> failedEmployeeIds) {}
+
+    /**
+     * Outcome of a bulk import: how many employees were imported, how many
+     * attendance snapshots were written, and which employees were skipped.
+     */
+    public record BulkImportResult(int importedCount, int snapshotCount, List<UUID> failedEmployeeIds) {}
+}
@@ -1,7 +1,10 @@
 package com.example.backend.services.payroll;
 
 import com.example.backend.models.hr.JobPosition;
+import com.example.backend.models.payroll.EmployeeDeduction;
 import com.example.backend.models.payroll.EmployeePayroll;
+import com.example.backend.models.payroll.Loan;
+import com.example.backend.models.payroll.Payroll;
 import com.example.backend.models.payroll.PayrollAttendanceSnapshot;
 import com.example.backend.models.payroll.PayrollDeduction;
 import com.example.backend.repositories.payroll.EmployeePayrollRepository;
@@ -15,8 +18,15 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -35,29 +45,135 @@ public class PayrollCalculationEngine {
     private final PayrollRepository payrollRepository;
     private final PayrollLoanService loanService;
     private final EmployeeDeductionService employeeDeductionService;
+    private final ForkJoinPool payrollCalculationPool;
 
     /**
      * Main calculation method - delegates to contract-specific calculators
      */
     @Transactional
     public void calculateEmployeePayroll(EmployeePayroll employeePayroll) {
-        log.info("Calculating payroll for employee: {} ({})",
+        log.debug("Calculating payroll for employee: {} ({})",
                 employeePayroll.getEmployeeName(),
                 employeePayroll.getContractType());
 
+        calculate(employeePayroll, new PerEmployeeInputs());
+
+        employeePayrollRepository.save(employeePayroll);
+
+        log.debug("Payroll calculation completed: {} - Gross: {}, Deductions: {}, Net: {}",
+                employeePayroll.getEmployeeName(),
+                employeePayroll.getGrossPay(),
+                employeePayroll.getTotalDeductions(),
+                employeePayroll.getNetPay());
+    }
+
+    /**
+     * Batch calculation for every employee payroll in a payroll.
+     * Loads snapshots, deductions, loans and quarterly forgiveness for the whole payroll
+     * in a handful of queries, runs the pure calculations on the fork-join pool,
+     * then writes the results back in one batch.
+     *
+     * @return the calculated employee payrolls
+     */
+    @Transactional
+    public List<EmployeePayroll> calculatePayroll(UUID payrollId) {
+        Payroll payroll = payrollRepository.findById(payrollId)
+                .orElseThrow(() -> new PayrollService.PayrollNotFoundException("Payroll not found: " + payrollId));
+
+        List<EmployeePayroll> employeePayrolls = employeePayrollRepository.findByPayrollId(payrollId);
+
+        calculateEmployeePayrolls(payroll, employeePayrolls);
+        return employeePayrolls;
+    }
+
+    /**
+     * Batch calculation for already-loaded employee payrolls of one payroll.
+     * A failure for one employee is logged and does not stop the others.
+     */
+    @Transactional
+    public void calculateEmployeePayrolls(Payroll payroll, List<EmployeePayroll> employeePayrolls) {
+        if (employeePayrolls.isEmpty()) {
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+
+        // Two fetch-join queries initialise snapshots and deductions on the managed instances,
+        // so the worker threads never trigger lazy loading
+        employeePayrollRepository.findByPayrollIdWithAttendanceSnapshots(payroll.getId());
+        employeePayrollRepository.findByPayrollIdWithDeductions(payroll.getId());
+
+        BatchInputs inputs = prefetchInputs(payroll, employeePayrolls);
+
+        // Pure BigDecimal work - no repository access inside the pool
+        Set<UUID> failed = ConcurrentHashMap.newKeySet();
+        payrollCalculationPool.submit(() -> employeePayrolls.parallelStream().forEach(ep -> {
+            try {
+                calculate(ep, inputs);
+            } catch (Exception e) {
+                log.error("Failed to calculate payroll for employee {}: {}",
+                        ep.getEmployeeName(), e.getMessage());
+                failed.add(ep.getEmployeeId());
+            }
+        })).join();
+
+        // Attach generated deduction lines and record applied deductions on the transaction thread
+        inputs.pendingDeductions.stream()
+                .filter(pending -> !failed.contains(pending.employeePayroll().getEmployeeId()))
+                .forEach(pending -> pending.employeePayroll().addDeduction(pending.deduction()));
+        employeeDeductionService.recordAppliedDeductions(inputs.appliedDeductions.stream()
+                .filter(applied -> !failed.contains(applied.employeeId()))
+                .map(AppliedDeduction::deduction)
+                .toList(), payroll.getEndDate());
+
+        employeePayrollRepository.saveAll(employeePayrolls);
+
+        log.info("Calculated {} employee payrolls for payroll {} in {} ms ({} failed)",
+                employeePayrolls.size() - failed.size(), payroll.getId(),
+                System.currentTimeMillis() - startedAt, failed.size());
+    }
+
+    /**
+     * Load everything the calculation needs for a set of employee payrolls in a few queries
+     */
+    private BatchInputs prefetchInputs(Payroll payroll, List<EmployeePayroll> employeePayrolls) {
+        Set<UUID> employeeIds = employeePayrolls.stream()
+                .map(EmployeePayroll::getEmployeeId)
+                .collect(Collectors.toSet());
+
+        Map<UUID, List<Loan>> loans = loanService.getApprovedLoansByEmployee(employeeIds);
+        Map<UUID, List<EmployeeDeduction>> deductions = employeeDeductionService.getActiveDeductionsByEmployee(
+                employeeIds, payroll.getStartDate(), payroll.getEndDate());
+
+        int quarter = getCurrentQuarter(payroll.getStartDate());
+        int year = payroll.getStartDate().getYear();
+        Map<UUID, Integer> forgivenessUsed = new HashMap<>();
+        for (Object[] row : employeePayrollRepository.sumForgivenLateDaysByEmployee(
+                employeeIds, payroll.getId(), getQuarterStart(year, quarter), getQuarterEnd(year, quarter))) {
+            forgivenessUsed.put((UUID) row[0], ((Number) row[1]).intValue());
+        }
+
+        return new BatchInputs(loans, deductions, forgivenessUsed);
+    }
+
+    /**
+     * Pure calculation of one employee payroll; data that lives outside the
+     * employee payroll is obtained through {@code inputs}
+     */
+    private void calculate(EmployeePayroll employeePayroll, CalculationInputs inputs) {
         // Calculate attendance summary
         calculateAttendanceSummary(employeePayroll);
 
         // Calculate based on contract type
         switch (employeePayroll.getContractType()) {
             case MONTHLY:
-                calculateMonthlyPayroll(employeePayroll);
+                calculateMonthlyPayroll(employeePayroll, inputs);
                 break;
             case DAILY:
-                calculateDailyPayroll(employeePayroll);
+                calculateDailyPayroll(employeePayroll, inputs);
                 break;
             case HOURLY:
-                calculateHourlyPayroll(employeePayroll);
+                calculateHourlyPayroll(employeePayroll, inputs);
                 break;
         }
 
@@ -74,14 +190,6 @@ public class PayrollCalculationEngine {
 
         employeePayroll.setNetPay(netPay.setScale(SCALE, ROUNDING_MODE));
         employeePayroll.setCalculatedAt(LocalDateTime.now());
-
-        employeePayrollRepository.save(employeePayroll);
-
-        log.info("Payroll calculation completed: {} - Gross: {}, Deductions: {}, Net: {}",
-                employeePayroll.getEmployeeName(),
-                employeePayroll.getGrossPay(),
-                employeePayroll.getTotalDeductions(),
-                employeePayroll.getNetPay());
     }
 
     /**
@@ -89,7 +197,7 @@ public class PayrollCalculationEngine {
      * Formula: Gross = Base Salary + Overtime
      *          Deductions = Absence + Late + Excess Leave + Loans + Other
      */
-    private void calculateMonthlyPayroll(EmployeePayroll ep) {
+    private void calculateMonthlyPayroll(EmployeePayroll ep, CalculationInputs inputs) {
         // Check for missing attendance (0/0 case) — don't pay if no attendance data
         Integer totalWorkingDays = ep.getTotalWorkingDays();
         Integer attendedDays = ep.getAttendedDays();
@@ -120,7 +228,7 @@ public class PayrollCalculationEngine {
         ep.setOvertimePay(overtimePay.setScale(SCALE, ROUNDING_MODE));
 
         // Calculate deductions
-        calculateMonthlyDeductions(ep);
+        calculateMonthlyDeductions(ep, inputs);
 
         log.debug("MONTHLY calculation - Base: {}, Overtime: {}, Gross: {}",
                 baseSalary, overtimePay, grossPay);
@@ -131,7 +239,7 @@ public class PayrollCalculationEngine {
      * Formula: Gross = Attended Days × Daily Rate + Overtime
      *          Deductions = Loans + Other (no attendance-based deductions)
      */
-    private void calculateDailyPayroll(EmployeePayroll ep) {
+    private void calculateDailyPayroll(EmployeePayroll ep, CalculationInputs inputs) {
         BigDecimal dailyRate = ep.getDailyRate() != null ?
                 ep.getDailyRate() : BigDecimal.ZERO;
 
@@ -146,7 +254,7 @@ public class PayrollCalculationEngine {
         ep.setOvertimePay(overtimePay.setScale(SCALE, ROUNDING_MODE));
 
         // Calculate deductions (no attendance-based for DAILY)
-        calculateNonAttendanceDeductions(ep);
+        calculateNonAttendanceDeductions(ep, inputs);
 
         log.debug("DAILY calculation - Days: {}, Rate: {}, Base: {}, Overtime: {}, Gross: {}",
                 attendedDays, dailyRate, basePay, overtimePay, grossPay);
@@ -157,7 +265,7 @@ public class PayrollCalculationEngine {
      * Formula: Gross = Worked Hours × Hourly Rate + Overtime
      *          Deductions = Loans + Other (no attendance-based deductions)
      */
-    private void calculateHourlyPayroll(EmployeePayroll ep) {
+    private void calculateHourlyPayroll(EmployeePayroll ep, CalculationInputs inputs) {
         BigDecimal hourlyRate = ep.getHourlyRate() != null ?
                 ep.getHourlyRate() : BigDecimal.ZERO;
 
@@ -172,7 +280,7 @@ public class PayrollCalculationEngine {
         ep.setOvertimePay(overtimePay.setScale(SCALE, ROUNDING_MODE));
 
         // Calculate deductions (no attendance-based for HOURLY)
-        calculateNonAttendanceDeductions(ep);
+        calculateNonAttendanceDeductions(ep, inputs);
 
         log.debug("HOURLY calculation - Hours: {}, Rate: {}, Base: {}, Overtime: {}, Gross: {}",
                 workedHours, hourlyRate, basePay, overtimePay, grossPay);
@@ -224,13 +332,13 @@ public class PayrollCalculationEngine {
      * Calculate deductions for MONTHLY employees
      * Includes: Absence, Late, Excess Leave, Loans, Other
      */
-    private void calculateMonthlyDeductions(EmployeePayroll ep) {
+    private void calculateMonthlyDeductions(EmployeePayroll ep, CalculationInputs inputs) {
         // 1. Absence deduction
         BigDecimal absenceDeduction = calculateAbsenceDeduction(ep);
         ep.setAbsenceDeductionAmount(absenceDeduction);
 
         // 2. Late deduction (with forgiveness logic)
-        BigDecimal lateDeduction = calculateLateDeduction(ep);
+        BigDecimal lateDeduction = calculateLateDeduction(ep, inputs);
         ep.setLateDeductionAmount(lateDeduction);
 
         // 3. Excess leave deduction
@@ -238,11 +346,11 @@ public class PayrollCalculationEngine {
         ep.setLeaveDeductionAmount(leaveDeduction);
 
         // 4. Loan deduction
-        BigDecimal loanDeduction = calculateLoanDeduction(ep);
+        BigDecimal loanDeduction = calculateLoanDeduction(ep, inputs);
         ep.setLoanDeductionAmount(loanDeduction);
 
         // 5. Other deductions (tax, insurance, etc.)
-        BigDecimal otherDeduction = calculateOtherDeductions(ep);
+        BigDecimal otherDeduction = calculateOtherDeductions(ep, inputs);
         ep.setOtherDeductionAmount(otherDeduction);
 
         // Total deductions
@@ -262,18 +370,18 @@ public class PayrollCalculationEngine {
      * Calculate deductions for DAILY and HOURLY employees
      * Only: Loans + Other (no attendance-based deductions)
      */
-    private void calculateNonAttendanceDeductions(EmployeePayroll ep) {
+    private void calculateNonAttendanceDeductions(EmployeePayroll ep, CalculationInputs inputs) {
         // Set attendance-based deductions to zero
         ep.setAbsenceDeductionAmount(BigDecimal.ZERO);
         ep.setLateDeductionAmount(BigDecimal.ZERO);
         ep.setLeaveDeductionAmount(BigDecimal.ZERO);
 
         // Calculate loan deduction
-        BigDecimal loanDeduction = calculateLoanDeduction(ep);
+        BigDecimal loanDeduction = calculateLoanDeduction(ep, inputs);
         ep.setLoanDeductionAmount(loanDeduction);
 
         // Calculate other deductions
-        BigDecimal otherDeduction = calculateOtherDeductions(ep);
+        BigDecimal otherDeduction = calculateOtherDeductions(ep, inputs);
         ep.setOtherDeductionAmount(otherDeduction);
 
         // Total deductions
@@ -333,7 +441,7 @@ public class PayrollCalculationEngine {
      * 1. Grace period (minutes) - immediate forgiveness
      * 2. Quarterly count - forgive N occurrences per quarter
      */
-    private BigDecimal calculateLateDeduction(EmployeePayroll ep) {
+    private BigDecimal calculateLateDeduction(EmployeePayroll ep, CalculationInputs inputs) {
         if (ep.getLateDeduction() == null) {
             return BigDecimal.ZERO;
         }
@@ -354,7 +462,7 @@ public class PayrollCalculationEngine {
         }
 
         // Get quarterly forgiveness already used in previous payrolls this quarter
-        int forgivenessUsed = getForgivenessUsedInQuarter(ep);
+        int forgivenessUsed = inputs.forgivenessUsedInQuarter(ep);
 
         int chargedLateCount = 0;
         int forgivenLateCount = 0;
@@ -395,7 +503,7 @@ public class PayrollCalculationEngine {
                 .multiply(BigDecimal.valueOf(chargedLateCount))
                 .setScale(SCALE, ROUNDING_MODE);
 
-        log.info("Late deduction summary - Total: {}, Forgiven: {}, Charged: {}, Amount: {}",
+        log.debug("Late deduction summary - Total: {}, Forgiven: {}, Charged: {}, Amount: {}",
                 lateSnapshots.size(), forgivenLateCount, chargedLateCount, deduction);
 
         return deduction;
@@ -457,22 +565,17 @@ public class PayrollCalculationEngine {
     /**
      * Calculate loan deductions
      */
-    private BigDecimal calculateLoanDeduction(EmployeePayroll ep) {
-        BigDecimal loanDeduction = loanService.calculateLoanDeductionForPayroll(
-                ep.getEmployeeId(),
-                ep.getPayroll().getStartDate(),
-                ep.getPayroll().getEndDate()
-        );
+    private BigDecimal calculateLoanDeduction(EmployeePayroll ep, CalculationInputs inputs) {
+        BigDecimal loanDeduction = inputs.loanDeduction(ep);
 
         // Create deduction record
         if (loanDeduction.compareTo(BigDecimal.ZERO) > 0) {
             PayrollDeduction deduction = PayrollDeduction.builder()
-                    .employeePayroll(ep)
                     .deductionType(PayrollDeduction.DeductionType.LOAN_REPAYMENT)
                     .deductionAmount(loanDeduction)
                     .description("Loan repayment for period")
                     .build();
-            ep.addDeduction(deduction);
+            inputs.addDeduction(ep, deduction);
         }
 
         return loanDeduction;
@@ -482,18 +585,12 @@ public class PayrollCalculationEngine {
      * Calculate other deductions (tax, insurance, pension, etc.)
      * Now integrates with the EmployeeDeduction system for configured recurring deductions
      */
-    private BigDecimal calculateOtherDeductions(EmployeePayroll ep) {
+    private BigDecimal calculateOtherDeductions(EmployeePayroll ep, CalculationInputs inputs) {
         BigDecimal total = BigDecimal.ZERO;
 
         // First, get configured employee deductions from the new system
         List<EmployeeDeductionService.CalculatedDeduction> configuredDeductions =
-            employeeDeductionService.calculateDeductionsForPayroll(
-                ep.getEmployeeId(),
-                ep.getPayroll().getStartDate(),
-                ep.getPayroll().getEndDate(),
-                ep.getGrossPay(),
-                ep.getMonthlyBaseSalary()
-            );
+            inputs.configuredDeductions(ep);
 
         // Track deduction IDs for recording
         List<UUID> appliedDeductionIds = new java.util.ArrayList<>();
@@ -509,14 +606,13 @@ public class PayrollCalculationEngine {
                 PayrollDeduction.DeductionType deductionType = mapCategoryToDeductionType(configured.getCategory());
 
                 PayrollDeduction deduction = PayrollDeduction.builder()
-                    .employeePayroll(ep)
                     .deductionType(deductionType)
                     .deductionAmount(configured.getAmount())
                     .referenceId(configured.getDeductionId())
                     .description(configured.getName())
                     .calculationDetails("Configured deduction: " + configured.getCalculationMethod())
                     .build();
-                ep.addDeduction(deduction);
+                inputs.addDeduction(ep, deduction);
 
                 total = total.add(configured.getAmount());
                 appliedDeductionIds.add(configured.getDeductionId());
@@ -528,10 +624,7 @@ public class PayrollCalculationEngine {
 
         // Record that deductions were applied (updates tracking in EmployeeDeduction)
         if (!appliedDeductionIds.isEmpty()) {
-            employeeDeductionService.recordDeductionsApplied(
-                appliedDeductionIds,
-                ep.getPayroll().getEndDate()
-            );
+            inputs.deductionsApplied(ep, appliedDeductionIds);
         }
 
         // Also sum up any manually added deductions that were already on the employee payroll
@@ -547,7 +640,7 @@ public class PayrollCalculationEngine {
 
         total = total.add(manualDeductions);
 
-        log.info("Total other deductions for {}: {} (configured: {}, manual: {})",
+        log.debug("Total other deductions for {}: {} (configured: {}, manual: {})",
             ep.getEmployeeName(), total,
             total.subtract(manualDeductions), manualDeductions);
 
@@ -720,9 +813,130 @@ public class PayrollCalculationEngine {
         ep.setTotalWorkedHours(totalWorkedHours.setScale(2, RoundingMode.HALF_UP));
         ep.setOvertimeHours(overtimeHours.setScale(2, RoundingMode.HALF_UP));
 
-        log.info("Attendance summary for {}: Working={}, Attended={}, Absent={}, Late={}, " +
+        log.debug("Attendance summary for {}: Working={}, Attended={}, Absent={}, Late={}, " +
                         "PaidHolidays={}, UnpaidHolidays={}, Hours={}, OT={}",
                 ep.getEmployeeName(), totalWorkingDays, attendedDays, absentDays, lateDays,
                 paidHolidayCount, unpaidHolidayCount, totalWorkedHours, overtimeHours);
     }
-}
\ No newline at end of file
+
+    // ========================================
+    // CALCULATION INPUTS
+    // ========================================
+
+    /**
+     * Data the calculation needs from outside the employee payroll itself
+     */
+    private interface CalculationInputs {
+        BigDecimal loanDeduction(EmployeePayroll ep);
+
+        List<EmployeeDeductionService.CalculatedDeduction> configuredDeductions(EmployeePayroll ep);
+
+        int forgivenessUsedInQuarter(EmployeePayroll ep);
+
+        void addDeduction(EmployeePayroll ep, PayrollDeduction deduction);
+
+        void deductionsApplied(EmployeePayroll ep, List<UUID> deductionIds);
+    }
+
+    /**
+     * Single-employee inputs: queries the services directly, as before
+     */
+    private class PerEmployeeInputs implements CalculationInputs {
+        @Override
+        public BigDecimal loanDeduction(EmployeePayroll ep) {
+            return loanService.calculateLoanDeductionForPayroll(
+                    ep.getEmployeeId(),
+                    ep.getPayroll().getStartDate(),
+                    ep.getPayroll().getEndDate());
+        }
+
+        @Override
+        public List<EmployeeDeductionService.CalculatedDeduction> configuredDeductions(EmployeePayroll ep) {
+            return employeeDeductionService.calculateDeductionsForPayroll(
+                    ep.getEmployeeId(),
+                    ep.getPayroll().getStartDate(),
+                    ep.getPayroll().getEndDate(),
+                    ep.getGrossPay(),
+                    ep.getMonthlyBaseSalary());
+        }
+
+        @Override
+        public int forgivenessUsedInQuarter(EmployeePayroll ep) {
+            return getForgivenessUsedInQuarter(ep);
+        }
+
+        @Override
+        public void addDeduction(EmployeePayroll ep, PayrollDeduction deduction) {
+            ep.addDeduction(deduction);
+        }
+
+        @Override
+        public void deductionsApplied(EmployeePayroll ep, List<UUID> deductionIds) {
+            employeeDeductionService.recordDeductionsApplied(deductionIds, ep.getPayroll().getEndDate());
+        }
+    }
+
+    /**
+     * Batch inputs: answers from prefetched maps and queues side effects
+     * so they can be applied on the transaction thread after the parallel pass
+     */
+    private class BatchInputs implements CalculationInputs {
+        private final Map<UUID, List<Loan>> loansByEmployee;
+        private final Map<UUID, List<EmployeeDeduction>> deductionsByEmployee;
+        private final Map<UUID, Integer> forgivenessUsedByEmployee;
+        private final Collection<PendingDeduction> pendingDeductions = new ConcurrentLinkedQueue<>();
+        private final Collection<AppliedDeduction> appliedDeductions = new ConcurrentLinkedQueue<>();
+
+        BatchInputs(Map<UUID, List<Loan>> loansByEmployee,
+                    Map<UUID, List<EmployeeDeduction>> deductionsByEmployee,
+                    Map<UUID, Integer> forgivenessUsedByEmployee) {
+            this.loansByEmployee = loansByEmployee;
+            this.deductionsByEmployee = deductionsByEmployee;
+            this.forgivenessUsedByEmployee = forgivenessUsedByEmployee;
+        }
+
+        @Override
+        public BigDecimal loanDeduction(EmployeePayroll ep) {
+            List<Loan> loans = loansByEmployee.getOrDefault(ep.getEmployeeId(), List.of());
+            if (loans.isEmpty()) {
+                return BigDecimal.ZERO;
+            }
+            return loanService.calculateLoanDeduction(
+                    loans, ep.getPayroll().getStartDate(), ep.getPayroll().getEndDate());
+        }
+
+        @Override
+        public List<EmployeeDeductionService.CalculatedDeduction> configuredDeductions(EmployeePayroll ep) {
+            return employeeDeductionService.calculateDeductions(
+                    deductionsByEmployee.getOrDefault(ep.getEmployeeId(), List.of()),
+                    ep.getPayroll().getStartDate(),
+                    ep.getPayroll().getEndDate(),
+                    ep.getGrossPay(),
+                    ep.getMonthlyBaseSalary());
+        }
+
+        @Override
+        public int forgivenessUsedInQuarter(EmployeePayroll ep) {
+            return forgivenessUsedByEmployee.getOrDefault(ep.getEmployeeId(), 0);
+        }
+
+        @Override
+        public void addDeduction(EmployeePayroll ep, PayrollDeduction deduction) {
+            pendingDeductions.add(new PendingDeduction(ep, deduction));
+        }
+
+        @Override
+        public void deductionsApplied(EmployeePayroll ep, List<UUID> deductionIds) {
+            Set<UUID> ids = Set.copyOf(deductionIds);
+            for (EmployeeDeduction deduction : deductionsByEmployee.getOrDefault(ep.getEmployeeId(), List.of())) {
+                if (ids.contains(deduction.getId())) {
+                    appliedDeductions.add(new AppliedDeduction(ep.getEmployeeId(), deduction));
+                }
+            }
+        }
+    }
+
+    private record PendingDeduction(EmployeePayroll employeePayroll, PayrollDeduction deduction) {}
+
+    private record AppliedDeduction(UUID employeeId, EmployeeDeduction deduction) {}
+}
@@ -9,8 +9,12 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service to calculate loan deductions for payroll
@@ -40,9 +44,20 @@ public class PayrollLoanService {
             return BigDecimal.ZERO;
         }
 
+        BigDecimal totalDeduction = calculateLoanDeduction(activeLoans, periodStart, periodEnd);
+
+        log.debug("Total loan deduction for employee {}: {}", employeeId, totalDeduction);
+        return totalDeduction;
+    }
+
+    /**
+     * Calculate the loan deduction for a period from already-loaded loans.
+     * Pure calculation - safe to call from calculation worker threads.
+     */
+    public BigDecimal calculateLoanDeduction(List<Loan> loans, LocalDate periodStart, LocalDate periodEnd) {
         BigDecimal totalDeduction = BigDecimal.ZERO;
 
-        for (Loan loan : activeLoans) {
+        for (Loan loan : loans) {
             // Check if loan is active during this period
             if (isLoanActiveInPeriod(loan, periodStart, periodEnd)) {
                 BigDecimal installment = calculateInstallmentAmount(loan);
@@ -52,10 +67,20 @@ public class PayrollLoanService {
             }
         }
 
-        log.info("Total loan deduction for employee {}: {}", employeeId, totalDeduction);
         return totalDeduction.setScale(2, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Load approved loans for a set of employees in one query, grouped by employee ID
+     */
+    public Map<UUID, List<Loan>> getApprovedLoansByEmployee(Collection<UUID> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return loanRepository.findByEmployeeIdsAndStatus(employeeIds, Loan.LoanStatus.APPROVED).stream()
+            .collect(Collectors.groupingBy(loan -> loan.getEmployee().getId()));
+    }
+
     /**
      * Check if loan is active during the payroll period
      */
@@ -41,6 +41,7 @@ public class PayrollService {
     private final PayrollSnapshotService snapshotService;
     private final BonusRepository bonusRepository;
     private final EntityIdGeneratorService entityIdGeneratorService;
+    private final PayrollAttendanceBulkImporter bulkImporter;
 
     @Transactional(readOnly = true)
     public Optional<Payroll> getLastPayroll() {
@@ -215,47 +216,9 @@ public class PayrollService {
         // Transition state
         stateMachine.transitionTo(payroll, PayrollStatus.ATTENDANCE_IMPORT, username);
 
-        // Get all active employees
-        List<Employee> activeEmployees = employeeRepository.findByStatus("ACTIVE");
-
-        log.info("Importing attendance for {} active employees", activeEmployees.size());
-
-        int importCount = 0;
-        for (Employee employee : activeEmployees) {
-            try {
-                // Create employee payroll record with snapshot
-                EmployeePayroll employeePayroll = snapshotService.createEmployeePayrollSnapshot(
-                        payroll,
-                        employee
-                );
-
-                // Import attendance records
-                List<Attendance> attendanceRecords = attendanceService.getEmployeeAttendanceHistory(
-                        employee.getId(),
-                        payroll.getStartDate(),
-                        payroll.getEndDate()
-                );
-
-                // Create attendance snapshots
-                for (Attendance attendance : attendanceRecords) {
-                    com.example.backend.models.payroll.PayrollAttendanceSnapshot snapshot =
-                            snapshotService.createAttendanceSnapshot(
-                                    employeePayroll,
-                                    attendance,
-                                    payroll.getPublicHolidays()
-                            );
-                    employeePayroll.addAttendanceSnapshot(snapshot);
-                }
-
-                payroll.addEmployeePayroll(employeePayroll);
-                importCount++;
-
-            } catch (Exception e) {
-                log.error("Failed to import attendance for employee {}: {}",
-                        employee.getId(), e.getMessage(), e);
-                // Continue with other employees
-            }
-        }
+        // Bulk import: one range query for the window, snapshots built in parallel chunks
+        PayrollAttendanceBulkImporter.BulkImportResult result = bulkImporter.importAttendance(payroll);
+        int importCount = result.importedCount();
 
         payroll.setEmployeeCount(importCount);
 
@@ -264,7 +227,8 @@ public class PayrollService {
 
         payrollRepository.save(payroll);
 
-        log.info("Attendance import completed: {} employees processed", importCount);
+        log.info("Attendance import completed: {} employees processed, {} failed",
+                importCount, result.failedEmployeeIds().size());
     }
 
 
@@ -714,16 +678,8 @@ public class PayrollService {
             return;
         }
 
-        // Calculate each employee payroll
-        for (EmployeePayroll employeePayroll : employeePayrolls) {
-            try {
-                calculationEngine.calculateEmployeePayroll(employeePayroll);
-            } catch (Exception e) {
-                log.error("Failed to calculate payroll for employee {}: {}",
-                        employeePayroll.getEmployeeName(), e.getMessage());
-                // Continue with other employees - don't fail the whole batch
-            }
-        }
+        // Batch-calculate all employee payrolls (per-employee failures are isolated by the engine)
+        calculationEngine.calculateEmployeePayrolls(payroll, employeePayrolls);
 
         // Sum up totals (null-safe)
         BigDecimal totalGross = employeePayrolls.stream()
@@ -17,6 +17,7 @@ import com.example.backend.repositories.payroll.PayrollAttendanceSnapshotReposit
 import com.example.backend.repositories.payroll.PayrollPublicHolidayRepository;
 import com.example.backend.models.id.EntityTypeConfig;
 import com.example.backend.repositories.payroll.PayrollRepository;
+import com.example.backend.services.hr.AttendanceDefaultResolver;
 import com.example.backend.services.id.EntityIdGeneratorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -51,6 +52,7 @@ public class PayrollSnapshotService {
     private final PayrollPublicHolidayRepository publicHolidayRepository;
     private final PayrollRepository payrollRepository;
     private final EntityIdGeneratorService entityIdGeneratorService;
+    private final AttendanceDefaultResolver attendanceDefaultResolver;
 
     // ✅ NEW DEPENDENCY: Required to calculate money immediately after import
     private final PayrollCalculationEngine calculationEngine;
@@ -173,13 +175,17 @@ public class PayrollSnapshotService {
                             payroll.getStartDate(), payroll.getEndDate());
 
                     // Uses the optimized Repo method if available, or standard JPA
-                    List<Attendance> attendanceRecords = attendanceRepository
+                    List<Attendance> storedRecords = attendanceRepository
                             .findByEmployeeIdAndDateBetween(
                                     employee.getId(),
                                     payroll.getStartDate(),
                                     payroll.getEndDate()
                             );
-                    log.info("     → Found {} attendance records", attendanceRecords.size());
+                    log.info("     → Found {} attendance records", storedRecords.size());
+
+                    // Days never edited on the attendance sheet are snapshotted from their defaults
+                    List<Attendance> attendanceRecords = attendanceDefaultResolver.resolve(
+                            employee, storedRecords, payroll.getStartDate(), payroll.getEndDate());
 
                     // Create Snapshots
                     for (Attendance attendance : attendanceRecords) {
@@ -301,6 +307,26 @@ public class PayrollSnapshotService {
     public EmployeePayroll createEmployeePayrollSnapshot(Payroll payroll, Employee employee) {
         log.info("     📸 createEmployeePayrollSnapshot START for: {}", employee.getFullName());
 
+        EmployeePayroll employeePayroll = buildEmployeePayrollSnapshot(employee);
+        employeePayroll.setPayroll(payroll);
+        // Generate employee payroll number
+        employeePayroll.setEmployeePayrollNumber(entityIdGeneratorService.generateNextId(EntityTypeConfig.EMPLOYEE_PAYROLL));
+
+        log.info("     📸 ✅ EmployeePayroll created: {} - {}",
+                employeePayroll.getEmployeeName(), employeePayroll.getContractType());
+
+        return employeePayroll;
+    }
+
+    /**
+     * Build the employee payroll snapshot without touching the database or the payroll.
+     * The payroll and the employee payroll number are left unset: setting the payroll adds the
+     * row to the managed Payroll.employeePayrolls, so callers attach it on the session thread.
+     * Safe to call from worker threads as long as the employee's job position,
+     * department and payment type are already loaded.
+     */
+    public EmployeePayroll buildEmployeePayrollSnapshot(Employee employee) {
+
         JobPosition jobPosition = employee.getJobPosition();
 
         if (jobPosition == null) {
@@ -309,18 +335,15 @@ public class PayrollSnapshotService {
             );
         }
 
-        log.info("     📸 JobPosition: {} ({})", jobPosition.getPositionName(), jobPosition.getContractType());
+        log.debug("     📸 JobPosition: {} ({})", jobPosition.getPositionName(), jobPosition.getContractType());
 
         // ⭐ FIX: Create entity manually instead of using Lombok builder
-        log.info("     📸 Creating EmployeePayroll entity manually...");
+        log.debug("     📸 Creating EmployeePayroll entity manually...");
         EmployeePayroll employeePayroll = new EmployeePayroll();
-        // Generate employee payroll number
-        employeePayroll.setEmployeePayrollNumber(entityIdGeneratorService.generateNextId(EntityTypeConfig.EMPLOYEE_PAYROLL));
 employeePayroll.setPaymentTypeCode(employee.getPaymentType().getCode());
 employeePayroll.setPaymentTypeName(employee.getPaymentType().getName());
 employeePayroll.setPaymentTypeId(employee.getPaymentType().getId());
         // Set required fields
-        employeePayroll.setPayroll(payroll);
         employeePayroll.setEmployeeId(employee.getId());
         employeePayroll.setEmployeeName(employee.getFullName());
         employeePayroll.setJobPositionId(jobPosition.getId());
@@ -344,13 +367,13 @@ employeePayroll.setPaymentTypeId(employee.getPaymentType().getId());
         employeePayroll.setAttendanceSnapshots(new ArrayList<>());
         employeePayroll.setDeductions(new ArrayList<>());
 
-        log.info("     📸 Base fields set");
+        log.debug("     📸 Base fields set");
 
         // Set contract-specific compensation
         switch (jobPosition.getContractType()) {
             case MONTHLY:
                 BigDecimal monthlySalary = employee.getMonthlySalary();
-                log.info("     📸 MONTHLY: salary={}", monthlySalary);
+                log.debug("     📸 MONTHLY: salary={}", monthlySalary);
 
                 employeePayroll.setMonthlyBaseSalary(monthlySalary != null ? monthlySalary : BigDecimal.ZERO);
 
@@ -372,7 +395,7 @@ employeePayroll.setPaymentTypeId(employee.getPaymentType().getId());
                 employeePayroll.setLateForgivenessCountPerQuarter(jobPosition.getLateForgivenessCountPerQuarter());
                 employeePayroll.setLeaveDeduction(leaveDeduction);
 
-                log.info("     📸 MONTHLY deductions set: absent={}, late={}, leave={}",
+                log.debug("     📸 MONTHLY deductions set: absent={}, late={}, leave={}",
                         absentDeduction, lateDeduction, leaveDeduction);
                 break;
 
@@ -380,20 +403,17 @@ employeePayroll.setPaymentTypeId(employee.getPaymentType().getId());
                 BigDecimal dailyRate = jobPosition.getDailyRate() != null ?
                         BigDecimal.valueOf(jobPosition.getDailyRate()) : BigDecimal.ZERO;
                 employeePayroll.setDailyRate(dailyRate);
-                log.info("     📸 DAILY: rate={}", dailyRate);
+                log.debug("     📸 DAILY: rate={}", dailyRate);
                 break;
 
             case HOURLY:
                 BigDecimal hourlyRate = jobPosition.getHourlyRate() != null ?
                         BigDecimal.valueOf(jobPosition.getHourlyRate()) : BigDecimal.ZERO;
                 employeePayroll.setHourlyRate(hourlyRate);
-                log.info("     📸 HOURLY: rate={}", hourlyRate);
+                log.debug("     📸 HOURLY: rate={}", hourlyRate);
                 break;
         }
 
-        log.info("     📸 ✅ EmployeePayroll created: {} - {}",
-                employeePayroll.getEmployeeName(), employeePayroll.getContractType());
-
         return employeePayroll;
     }
 
@@ -1,9 +1,12 @@
 package com.example.backend.services.procurement;
 
 import com.example.backend.dto.procurement.*;
+import com.example.backend.events.MerchantDeliveryChangedEvent;
+import com.example.backend.events.ValuationDeltaEvent;
 import com.example.backend.models.equipment.Equipment;
 import com.example.backend.models.equipment.EquipmentStatus;
 import com.example.backend.models.finance.accountsPayable.enums.POPaymentStatus;
+import com.example.backend.models.merchant.Merchant;
 import com.example.backend.models.procurement.*;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrder;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrderIssue;
@@ -18,6 +21,7 @@ import com.example.backend.repositories.warehouse.ItemRepository;
 import com.example.backend.repositories.warehouse.WarehouseRepository;
 import com.example.backend.services.warehouse.ItemTypeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,8 +30,10 @@ import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -43,6 +49,7 @@ public class DeliveryProcessingService {
     private final ItemTypeService itemTypeService;
     private final PurchaseOrderService purchaseOrderService;
     private final EquipmentRepository equipmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Transactional
@@ -152,6 +159,8 @@ public class DeliveryProcessingService {
             purchaseOrderRepository.save(po);
             System.out.println("✅ PO saved");
 
+            eventPublisher.publishEvent(new MerchantDeliveryChangedEvent(merchantIdsOf(session)));
+
             System.out.println("Converting to DTO...");
             DeliverySessionDTO dto = convertToDTO(session);
             System.out.println("✅ DTO created");
@@ -168,6 +177,14 @@ public class DeliveryProcessingService {
         }
     }
 
+    private Set<UUID> merchantIdsOf(DeliverySession session) {
+        return session.getItemReceipts().stream()
+                .map(receipt -> receipt.getPurchaseOrderItem().getMerchant())
+                .filter(Objects::nonNull)
+                .map(Merchant::getId)
+                .collect(Collectors.toSet());
+    }
+
     private void updateItemStatuses(PurchaseOrder po) {
         for (PurchaseOrderItem item : po.getPurchaseOrderItems()) {
             double totalGood = item.getItemReceipts().stream()
@@ -266,6 +283,8 @@ public class DeliveryProcessingService {
 
         System.out.println("📦 Target warehouse: " + warehouse.getName() + " (ID: " + warehouse.getId() + ")");
 
+        double addedValue = 0.0;
+        int addedQuantity = 0;
         for (DeliveryItemReceipt receipt : session.getItemReceipts()) {
             double goodQuantity = receipt.getGoodQuantity();
 
@@ -298,6 +317,8 @@ public class DeliveryProcessingService {
                 }
 
                 Item savedItem = itemRepository.save(item);
+                addedValue += ValuationDeltaEvent.stockValueOf(item);
+                addedQuantity += item.getQuantity();
                 System.out.println("  ✅ Saved item ID: " + savedItem.getId() +
                         " - Quantity: " + savedItem.getQuantity() +
                         " @ " + unitPrice + " EGP = " + savedItem.getTotalValue() + " EGP");
@@ -306,6 +327,7 @@ public class DeliveryProcessingService {
             }
         }
 
+        eventPublisher.publishEvent(ValuationDeltaEvent.forWarehouse(warehouseId, addedValue, addedQuantity, 0.0));
         System.out.println("✅ createWarehouseItems completed for warehouse: " + warehouse.getName());
     }
 
@@ -409,6 +431,8 @@ public class DeliveryProcessingService {
         updatePOStatus(po);
         purchaseOrderRepository.save(po);
 
+        eventPublisher.publishEvent(new MerchantDeliveryChangedEvent(merchantIdsOf(session)));
+
         return createdEquipment;
     }
 }
\ No newline at end of file
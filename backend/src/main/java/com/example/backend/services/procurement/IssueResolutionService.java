@@ -1,6 +1,7 @@
 package com.example.backend.services.procurement;
 
 import com.example.backend.dto.procurement.ResolveIssueRequest;
+import com.example.backend.events.MerchantDeliveryChangedEvent;
 import com.example.backend.models.procurement.*;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrder;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrderIssue;
@@ -10,6 +11,7 @@ import com.example.backend.repositories.procurement.*;
 import com.example.backend.services.finance.incomingPayments.IncomingPaymentRequestService; // ← CHANGED
 import com.example.backend.services.warehouse.ItemTypeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +31,7 @@ public class IssueResolutionService {
     private final IncomingPaymentRequestService incomingPaymentRequestService; // ← CHANGED
     private final ItemTypeService itemTypeService;
     private final PurchaseOrderService purchaseOrderService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void resolveIssues(List<ResolveIssueRequest> requests, String resolvedBy) {
@@ -66,6 +69,16 @@ public class IssueResolutionService {
                 // ← CHANGED: Use new method name
                 incomingPaymentRequestService.createIncomingPaymentRequestsFromRefundIssues(po.getId(), refundIssues);
             }
+
+            // Resolution rates of the merchants who delivered these items have changed
+            Set<UUID> merchantIds = resolvedIssues.stream()
+                    .map(PurchaseOrderIssue::getPurchaseOrderItem)
+                    .filter(item -> item != null && item.getMerchant() != null)
+                    .map(item -> item.getMerchant().getId())
+                    .collect(Collectors.toSet());
+            if (!merchantIds.isEmpty()) {
+                eventPublisher.publishEvent(new MerchantDeliveryChangedEvent(merchantIds));
+            }
         }
     }
 
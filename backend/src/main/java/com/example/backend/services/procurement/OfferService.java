@@ -20,10 +20,16 @@ import com.example.backend.services.finance.accountsPayable.PaymentRequestServic
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Sort;
 
 import com.example.backend.models.finance.accountsPayable.enums.OfferFinanceValidationStatus;
 import com.example.backend.models.procurement.Offer.TimelineEventType;
 import com.example.backend.models.finance.accountsPayable.enums.POPaymentStatus;
+import com.example.backend.dto.procurement.OfferFilter;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
+import com.example.backend.utils.pagination.KeysetPager;
+import com.example.backend.utils.pagination.SortKeys;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -538,6 +544,20 @@ public class OfferService {
         return offerMapper.toDTOList(offers);
     }
 
+    private static final SortKeys<Offer> OFFER_SORTS = SortKeys
+            .<Offer>by(Offer::getId, "createdAt", Offer::getCreatedAt, Sort.Direction.DESC)
+            .or("title", Offer::getTitle)
+            .or("validUntil", Offer::getValidUntil)
+            .or("status", Offer::getStatus);
+
+    /**
+     * One page of offers, filtered and sorted in the database
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OfferDTO> getOffersPage(OfferFilter filter, KeysetPageRequest page) {
+        return KeysetPager.fetch(offerRepository, filter.toSpecification(), page, OFFER_SORTS, offerMapper::toDTOList);
+    }
+
     public List<OfferDTO> getOffersByRequestOrder(UUID requestOrderId) {
         RequestOrder requestOrder = requestOrderRepository.findById(requestOrderId)
                 .orElseThrow(() -> new RuntimeException("Request Order not found"));
@@ -23,11 +23,17 @@ import com.example.backend.repositories.warehouse.ItemRepository;
 import com.example.backend.repositories.warehouse.WarehouseRepository;
 import com.example.backend.services.finance.accountsPayable.PaymentRequestService;
 import com.example.backend.services.warehouse.ItemTypeService;
+import com.example.backend.dto.procurement.PurchaseOrder.PurchaseOrderFilter;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
+import com.example.backend.utils.pagination.KeysetPager;
+import com.example.backend.utils.pagination.SortKeys;
 import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -689,6 +695,30 @@ public class PurchaseOrderService {
                 .collect(Collectors.toList());
     }
 
+    private static final SortKeys<PurchaseOrder> PURCHASE_ORDER_SORTS = SortKeys
+            .<PurchaseOrder>by(PurchaseOrder::getId, "createdAt", PurchaseOrder::getCreatedAt, Sort.Direction.DESC)
+            .or("poNumber", PurchaseOrder::getPoNumber)
+            .or("expectedDeliveryDate", PurchaseOrder::getExpectedDeliveryDate)
+            .or("status", PurchaseOrder::getStatus);
+
+    /**
+     * One page of purchase orders, filtered and sorted in the database.
+     * Item details are fetched for the page only, in one extra query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PurchaseOrderDTO> getPurchaseOrdersPage(PurchaseOrderFilter filter, KeysetPageRequest page) {
+        return KeysetPager.fetch(purchaseOrderRepository, filter.toSpecification(), page, PURCHASE_ORDER_SORTS,
+                purchaseOrders -> {
+                    if (!purchaseOrders.isEmpty()) {
+                        purchaseOrderRepository.findAllWithDetailsByIdIn(
+                                purchaseOrders.stream().map(PurchaseOrder::getId).toList());
+                    }
+                    return purchaseOrders.stream()
+                            .map(this::convertToBasicDTO)
+                            .collect(Collectors.toList());
+                });
+    }
+
     private PurchaseOrderDTO convertToBasicDTO(PurchaseOrder po) {
         PurchaseOrderDTO dto = new PurchaseOrderDTO();
         dto.setId(po.getId());
@@ -9,16 +9,31 @@ import com.example.backend.repositories.procurement.OfferRepository;
 import com.example.backend.repositories.procurement.OfferRequestItemRepository;
 import com.example.backend.repositories.warehouse.ItemTypeRepository;
 // Use fully qualified names for POI classes to avoid conflict with iText
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddressList;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.*;
 
@@ -38,7 +53,17 @@ public class RFQService {
         this.itemTypeRepository = itemTypeRepository;
     }
 
-    private void addCurrencyDropdown(XSSFSheet sheet, int firstRow, int lastRow, int col) {
+    /**
+     * Rows kept in memory while an RFQ is written; older rows are flushed to a temp file
+     */
+    private static final int EXPORT_ROW_WINDOW = 200;
+
+    /**
+     * Columns A..I of an RFQ sheet
+     */
+    private static final int RFQ_COLUMNS = 9;
+
+    private void addCurrencyDropdown(Sheet sheet, int firstRow, int lastRow, int col) {
         DataValidationHelper validationHelper = sheet.getDataValidationHelper();
         DataValidationConstraint constraint = validationHelper.createExplicitListConstraint(
                 new String[]{"EGP", "USD", "EUR", "GBP", "JPY", "CAD", "AUD", "CHF", "CNY", "INR", "SGD"}
@@ -152,7 +177,7 @@ public class RFQService {
         return style;
     }
 
-    private void addNumberValidation(XSSFSheet sheet, int firstRow, int lastRow, int col) {
+    private void addNumberValidation(Sheet sheet, int firstRow, int lastRow, int col) {
         DataValidationHelper validationHelper = sheet.getDataValidationHelper();
 
         // Create constraint for whole numbers greater than 0
@@ -177,151 +202,178 @@ public class RFQService {
      * Export RFQ to Excel
      */
     public byte[] exportRFQ(RFQExportRequest request) throws IOException {
-        XSSFWorkbook workbook = new XSSFWorkbook();
-        XSSFSheet sheet = workbook.createSheet("RFQ");
-
-        boolean isArabic = "ar".equalsIgnoreCase(request.getLanguage());
-
-        if (isArabic) {
-            sheet.setRightToLeft(true);
-        }
-
-        // Create styles
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle lockedStyle = createLockedStyle(workbook);
-        CellStyle unlockedStyle = createUnlockedStyle(workbook);
-        CellStyle formulaStyle = createFormulaStyle(workbook);
-        CellStyle numberStyle = createNumberStyle(workbook);
-        CellStyle summaryStyle = createSummaryStyle(workbook);
-        CellStyle deliveryUnlockedStyle = createDeliveryUnlockedStyle(workbook);
-        CellStyle deliveryFormulaStyle = createDeliveryFormulaStyle(workbook);
-
-        // Create header row
-        Row headerRow = sheet.createRow(0);
-        String[] headers = getHeaders(isArabic);
-
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-
-        // Add data rows
-        int rowNum = 1;
-        for (RFQExportRequest.RFQItemSelection item : request.getItems()) {
-            Row row = sheet.createRow(rowNum);
-
-            // # Column (A) - LOCKED
-            Cell numberCell = row.createCell(0);
-            setCellValueWithArabicSupport(numberCell, rowNum, isArabic);
-            numberCell.setCellStyle(numberStyle);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeRFQ(request, outputStream);
+        return outputStream.toByteArray();
+    }
 
-            // Item Name (Column B) - LOCKED
-            Cell itemNameCell = row.createCell(1);
-            itemNameCell.setCellValue(item.getItemTypeName());
-            itemNameCell.setCellStyle(lockedStyle);
+    /**
+     * Write the RFQ workbook to a stream. Rows are streamed (SXSSF): only the last EXPORT_ROW_WINDOW
+     * rows are held in memory, so large multi-merchant RFQs don't build the whole sheet as objects.
+     */
+    public void writeRFQ(RFQExportRequest request, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Sheet sheet = workbook.createSheet("RFQ");
 
-            // Measuring Unit (Column C) - LOCKED
-            Cell unitCell = row.createCell(2);
-            unitCell.setCellValue(item.getMeasuringUnit());
-            unitCell.setCellStyle(lockedStyle);
+            boolean isArabic = "ar".equalsIgnoreCase(request.getLanguage());
 
-            // Requested Quantity (Column D) - LOCKED
-            Cell requestedQtyCell = row.createCell(3);
             if (isArabic) {
-                requestedQtyCell.setCellValue(formatNumber(item.getRequestedQuantity(), isArabic));
-            } else {
-                requestedQtyCell.setCellValue(item.getRequestedQuantity());
+                sheet.setRightToLeft(true);
             }
-            requestedQtyCell.setCellStyle(lockedStyle);
-
-            // Response Quantity (Column E) - UNLOCKED
-            Cell responseQtyCell = row.createCell(4);
-            responseQtyCell.setCellStyle(unlockedStyle);
-
-            // Currency (Column F) - DROPDOWN - UNLOCKED
-            Cell currencyCell = row.createCell(5);
-            currencyCell.setCellValue("EGP");
-            currencyCell.setCellStyle(unlockedStyle);
-
-            // Unit Price (Column G) - UNLOCKED
-            Cell unitPriceCell = row.createCell(6);
-            unitPriceCell.setCellStyle(unlockedStyle);
-
-            // Total Price (Column H) - Formula - LOCKED
-            Cell totalPriceCell = row.createCell(7);
-            String formula = String.format("E%d*G%d", rowNum + 1, rowNum + 1);
-            totalPriceCell.setCellFormula(formula);
-            totalPriceCell.setCellStyle(formulaStyle);
-
-            // Estimated Delivery Days (Column I)
-            Cell deliveryCell = row.createCell(8);
-            if (rowNum == 1) {
-                // First row is editable
+
+            // Create styles
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            CellStyle lockedStyle = createLockedStyle(workbook);
+            CellStyle unlockedStyle = createUnlockedStyle(workbook);
+            CellStyle formulaStyle = createFormulaStyle(workbook);
+            CellStyle numberStyle = createNumberStyle(workbook);
+            CellStyle summaryStyle = createSummaryStyle(workbook);
+            CellStyle deliveryUnlockedStyle = createDeliveryUnlockedStyle(workbook);
+            CellStyle deliveryFormulaStyle = createDeliveryFormulaStyle(workbook);
+
+            // Flushed rows can't be measured by autoSizeColumn, so widths follow the longest text written
+            int[] columnChars = new int[RFQ_COLUMNS];
+
+            // Create header row
+            Row headerRow = sheet.createRow(0);
+            String[] headers = getHeaders(isArabic);
+
+            for (int i = 0; i < headers.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(headers[i]);
+                cell.setCellStyle(headerStyle);
+                trackWidth(columnChars, i, headers[i]);
+            }
+
+            // Add data rows
+            int rowNum = 1;
+            for (RFQExportRequest.RFQItemSelection item : request.getItems()) {
+                Row row = sheet.createRow(rowNum);
+
+                // # Column (A) - LOCKED
+                Cell numberCell = row.createCell(0);
+                setCellValueWithArabicSupport(numberCell, rowNum, isArabic);
+                numberCell.setCellStyle(numberStyle);
+
+                // Item Name (Column B) - LOCKED
+                Cell itemNameCell = row.createCell(1);
+                itemNameCell.setCellValue(item.getItemTypeName());
+                itemNameCell.setCellStyle(lockedStyle);
+                trackWidth(columnChars, 1, item.getItemTypeName());
+
+                // Measuring Unit (Column C) - LOCKED
+                Cell unitCell = row.createCell(2);
+                unitCell.setCellValue(item.getMeasuringUnit());
+                unitCell.setCellStyle(lockedStyle);
+                trackWidth(columnChars, 2, item.getMeasuringUnit());
+
+                // Requested Quantity (Column D) - LOCKED
+                Cell requestedQtyCell = row.createCell(3);
+                String requestedQuantity = formatNumber(item.getRequestedQuantity(), isArabic);
                 if (isArabic) {
-                    deliveryCell.setCellValue(convertToArabicNumerals("7")); // Default value in Arabic
+                    requestedQtyCell.setCellValue(requestedQuantity);
                 } else {
-                    deliveryCell.setCellValue(7);
+                    requestedQtyCell.setCellValue(item.getRequestedQuantity());
+                }
+                requestedQtyCell.setCellStyle(lockedStyle);
+                trackWidth(columnChars, 3, requestedQuantity);
+
+                // Response Quantity (Column E) - UNLOCKED
+                Cell responseQtyCell = row.createCell(4);
+                responseQtyCell.setCellStyle(unlockedStyle);
+
+                // Currency (Column F) - DROPDOWN - UNLOCKED
+                Cell currencyCell = row.createCell(5);
+                currencyCell.setCellValue("EGP");
+                currencyCell.setCellStyle(unlockedStyle);
+
+                // Unit Price (Column G) - UNLOCKED
+                Cell unitPriceCell = row.createCell(6);
+                unitPriceCell.setCellStyle(unlockedStyle);
+
+                // Total Price (Column H) - Formula - LOCKED
+                Cell totalPriceCell = row.createCell(7);
+                String formula = String.format("E%d*G%d", rowNum + 1, rowNum + 1);
+                totalPriceCell.setCellFormula(formula);
+                totalPriceCell.setCellStyle(formulaStyle);
+
+                // Estimated Delivery Days (Column I)
+                Cell deliveryCell = row.createCell(8);
+                if (rowNum == 1) {
+                    // First row is editable
+                    if (isArabic) {
+                        deliveryCell.setCellValue(convertToArabicNumerals("7")); // Default value in Arabic
+                    } else {
+                        deliveryCell.setCellValue(7);
+                    }
+                    deliveryCell.setCellStyle(deliveryUnlockedStyle);
+                } else {
+                    // Other rows reference the first row
+                    deliveryCell.setCellFormula("$I$2");
+                    deliveryCell.setCellStyle(deliveryFormulaStyle);
                 }
-                deliveryCell.setCellStyle(deliveryUnlockedStyle);
-            } else {
-                // Other rows reference the first row
-                deliveryCell.setCellFormula("$I$2");
-                deliveryCell.setCellStyle(deliveryFormulaStyle);
-            }
 
-            rowNum++;
-        }
+                rowNum++;
+            }
 
-        // Add currency dropdown validation
-        addCurrencyDropdown(sheet, 1, rowNum - 1, 5);
+            // Add currency dropdown validation
+            addCurrencyDropdown(sheet, 1, rowNum - 1, 5);
 
-        // Add number validation for delivery days
-        addNumberValidation(sheet, 1, rowNum - 1, 8);
+            // Add number validation for delivery days
+            addNumberValidation(sheet, 1, rowNum - 1, 8);
 
-        // Add summary row (directly under the data)
-        Row summaryRow = sheet.createRow(rowNum);
+            // Add summary row (directly under the data)
+            Row summaryRow = sheet.createRow(rowNum);
 
-        // Empty cells before totals
-        for (int i = 0; i < 4; i++) {
-            summaryRow.createCell(i);
-        }
+            // Empty cells before totals
+            for (int i = 0; i < 4; i++) {
+                summaryRow.createCell(i);
+            }
 
-        // Total Response Quantity (Column E)
-        Cell totalQtyCell = summaryRow.createCell(4);
-        totalQtyCell.setCellFormula(String.format("SUM(E2:E%d)", rowNum));
-        totalQtyCell.setCellStyle(summaryStyle);
+            // Total Response Quantity (Column E)
+            Cell totalQtyCell = summaryRow.createCell(4);
+            totalQtyCell.setCellFormula(String.format("SUM(E2:E%d)", rowNum));
+            totalQtyCell.setCellStyle(summaryStyle);
 
-        // Empty cells for F and G
-        summaryRow.createCell(5);
-        summaryRow.createCell(6);
+            // Empty cells for F and G
+            summaryRow.createCell(5);
+            summaryRow.createCell(6);
 
-        // Total Price (Column H)
-        Cell totalPriceCell = summaryRow.createCell(7);
-        totalPriceCell.setCellFormula(String.format("SUM(H2:H%d)", rowNum));
-        totalPriceCell.setCellStyle(summaryStyle);
+            // Total Price (Column H)
+            Cell totalPriceCell = summaryRow.createCell(7);
+            totalPriceCell.setCellFormula(String.format("SUM(H2:H%d)", rowNum));
+            totalPriceCell.setCellStyle(summaryStyle);
 
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-            sheet.setColumnWidth(i, sheet.getColumnWidth(i) + 1500);
-        }
+            // Size columns to their content
+            for (int i = 0; i < headers.length; i++) {
+                sheet.setColumnWidth(i, Math.min((columnChars[i] + 2) * 256 + 1500, 255 * 256));
+            }
 
-        // Make first column (numbers) narrower
-        sheet.setColumnWidth(0, 2000);
+            // Make first column (numbers) narrower
+            sheet.setColumnWidth(0, 2000);
 
-        // PROTECT THE SHEET
-        sheet.protectSheet("");
+            // PROTECT THE SHEET
+            sheet.protectSheet("");
 
-        // Write to byte array
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        workbook.close();
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
 
-        return outputStream.toByteArray();
+    private void trackWidth(int[] columnChars, int col, String text) {
+        if (text != null && text.length() > columnChars[col]) {
+            columnChars[col] = text.length();
+        }
     }
+
     /**
-     * Import and preview RFQ response
+     * Import and preview RFQ response.
+     * .xlsx uploads are read with the SAX event API: each row is validated as it is parsed and no
+     * workbook object model is built. Legacy .xls files fall back to the usermodel reader.
      */
     public RFQImportPreviewDTO importAndPreviewRFQ(UUID offerId, MultipartFile file) throws IOException {
         Offer offer = offerRepository.findById(offerId)
@@ -349,27 +401,117 @@ public class RFQService {
             }
         }
 
-        Workbook workbook = WorkbookFactory.create(file.getInputStream());
-        Sheet sheet = workbook.getSheetAt(0);
+        RFQImportCollector collector = new RFQImportCollector(itemTypeMap, requestItemIdMap);
+        try (InputStream in = FileMagic.prepareToCheckMagic(new BufferedInputStream(file.getInputStream()))) {
+            if (FileMagic.valueOf(in) == FileMagic.OOXML) {
+                readRowsStreaming(in, collector);
+            } else {
+                readRowsFromWorkbook(in, collector);
+            }
+        }
+
+        return RFQImportPreviewDTO.builder()
+                .rows(collector.rows)
+                .totalRows(collector.rows.size())
+                .validRows(collector.validRows)
+                .invalidRows(collector.invalidRows)
+                .errors(collector.errors)
+                .build();
+    }
 
-        List<RFQImportPreviewDTO.RFQImportRow> rows = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-        int validRows = 0;
-        int invalidRows = 0;
+    /**
+     * Stream the first sheet of an .xlsx through a SAX handler, one row of cell values at a time
+     */
+    private void readRowsStreaming(InputStream in, RFQImportCollector collector) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(in)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
 
-        // CHANGED: Skip header row (0), start from row 1, and stop when we hit empty rows or summary
-        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(
+                    reader.getStylesTable(), strings, new RFQSheetHandler(collector), new RawNumberFormatter(), false));
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            } catch (StopReading e) {
+                // Reached the summary row
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid Excel file: " + e.getMessage(), e);
+        }
+    }
 
-            // ADDED: Check if this is a summary row by checking if column B (item name) is empty
-            Cell itemNameCell = row.getCell(1);
-            if (itemNameCell == null || itemNameCell.getCellType() == CellType.BLANK) {
-                // This is likely the summary row or empty row, stop parsing
-                break;
+    /**
+     * Same row walk for workbooks the streaming reader can't handle (legacy .xls)
+     */
+    private void readRowsFromWorkbook(InputStream in, RFQImportCollector collector) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            // Skip header row (0), start from row 1
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                Row row = sheet.getRow(i);
+                if (row == null) continue;
+
+                String[] values = new String[RFQ_COLUMNS];
+                for (int col = 0; col < RFQ_COLUMNS; col++) {
+                    values[col] = rawCellValue(row.getCell(col));
+                }
+                if (!collector.accept(i + 1, values)) {
+                    break;
+                }
             }
+        }
+    }
 
-            RFQImportPreviewDTO.RFQImportRow importRow = parseRow(row, i + 1, itemTypeMap, requestItemIdMap);
+    private String rawCellValue(Cell cell) {
+        if (cell == null) return null;
+
+        CellType type = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+        switch (type) {
+            case STRING:
+                return cell.getStringCellValue();
+            case NUMERIC:
+                return plainNumber(cell.getNumericCellValue());
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            default:
+                return null;
+        }
+    }
+
+    private static String plainNumber(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Validates rows as they arrive and keeps the preview totals
+     */
+    private class RFQImportCollector {
+        private final Map<String, ItemType> itemTypeMap;
+        private final Map<String, UUID> requestItemIdMap;
+        private final List<RFQImportPreviewDTO.RFQImportRow> rows = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int validRows;
+        private int invalidRows;
+
+        RFQImportCollector(Map<String, ItemType> itemTypeMap, Map<String, UUID> requestItemIdMap) {
+            this.itemTypeMap = itemTypeMap;
+            this.requestItemIdMap = requestItemIdMap;
+        }
+
+        /**
+         * Validate one data row; false once the summary (or an empty) row is reached
+         */
+        boolean accept(int rowNumber, String[] values) {
+            // A row without an item name (column B) is the summary row or an empty row: stop parsing
+            if (isBlank(values[1])) {
+                return false;
+            }
+
+            RFQImportPreviewDTO.RFQImportRow importRow = parseRow(values, rowNumber, itemTypeMap, requestItemIdMap);
             rows.add(importRow);
 
             if (importRow.isValid()) {
@@ -378,23 +520,72 @@ public class RFQService {
                 invalidRows++;
                 errors.add("Row " + importRow.getRowNumber() + ": " + importRow.getErrorMessage());
             }
+            return true;
         }
+    }
 
-        workbook.close();
+    /**
+     * Collects the cell values of each sheet row from the SAX events and hands data rows to the collector
+     */
+    private static class RFQSheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RFQImportCollector collector;
+        private String[] values;
+        private int nextColumn;
 
-        return RFQImportPreviewDTO.builder()
-                .rows(rows)
-                .totalRows(rows.size())
-                .validRows(validRows)
-                .invalidRows(invalidRows)
-                .errors(errors)
-                .build();
+        RFQSheetHandler(RFQImportCollector collector) {
+            this.collector = collector;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values = new String[RFQ_COLUMNS];
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = col + 1;
+            if (col < RFQ_COLUMNS) {
+                values[col] = formattedValue;
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // Skip the header row
+            if (rowNum == 0) {
+                return;
+            }
+            if (!collector.accept(rowNum + 1, values)) {
+                throw new StopReading();
+            }
+        }
+    }
+
+    /**
+     * Hands numbers to the handler as exact plain strings instead of display-formatted ones
+     */
+    private static class RawNumberFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return plainNumber(value);
+        }
+    }
+
+    /**
+     * Thrown from the SAX handler to stop reading at the summary row
+     */
+    private static class StopReading extends RuntimeException {
+        StopReading() {
+            super(null, null, false, false);
+        }
     }
 
     /**
-     * Parse a single row from Excel
+     * Parse a single row of cell values (columns A..I, null when a cell is empty)
      */
-    private RFQImportPreviewDTO.RFQImportRow parseRow(Row row, int rowNumber,
+    private RFQImportPreviewDTO.RFQImportRow parseRow(String[] values, int rowNumber,
                                                       Map<String, ItemType> itemTypeMap,
                                                       Map<String, UUID> requestItemIdMap) {
         RFQImportPreviewDTO.RFQImportRow importRow = new RFQImportPreviewDTO.RFQImportRow();
@@ -405,26 +596,23 @@ public class RFQService {
             // Column A: # (Row number) - Skip this
 
             // Column B: Item Name
-            Cell itemNameCell = row.getCell(1);
-            if (itemNameCell == null || itemNameCell.getCellType() == CellType.BLANK) {
+            if (isBlank(values[1])) {
                 importRow.setValid(false);
                 importRow.setErrorMessage("Item name is required");
                 return importRow;
             }
-            String itemName = getCellValueAsString(itemNameCell);
+            String itemName = values[1].trim();
             importRow.setItemName(itemName);
 
             // Column C: Measuring Unit
-            Cell unitCell = row.getCell(2);
-            String measuringUnit = unitCell != null ? getCellValueAsString(unitCell) : "";
+            String measuringUnit = values[2] != null ? values[2].trim() : "";
             importRow.setMeasuringUnit(measuringUnit);
 
             // Column D: Requested Quantity (READ this for display)
-            Cell requestedQtyCell = row.getCell(3);
             Double requestedQuantity = null;
-            if (requestedQtyCell != null) {
+            if (!isBlank(values[3])) {
                 try {
-                    requestedQuantity = getNumericCellValue(requestedQtyCell);
+                    requestedQuantity = parseNumber(values[3]);
                 } catch (Exception e) {
                     // Ignore errors for requested quantity since it's just for display
                 }
@@ -432,14 +620,13 @@ public class RFQService {
             importRow.setRequestedQuantity(requestedQuantity);
 
             // Column E: Response Quantity
-            Cell responseQtyCell = row.getCell(4);
-            if (responseQtyCell == null || responseQtyCell.getCellType() == CellType.BLANK) {
+            if (isBlank(values[4])) {
                 importRow.setValid(false);
                 importRow.setErrorMessage("Response quantity is required");
                 return importRow;
             }
 
-            double responseQuantity = getNumericCellValue(responseQtyCell);
+            double responseQuantity = parseNumber(values[4]);
             if (responseQuantity <= 0) {
                 importRow.setValid(false);
                 importRow.setErrorMessage("Response quantity must be greater than 0");
@@ -448,10 +635,9 @@ public class RFQService {
             importRow.setResponseQuantity(responseQuantity);
 
             // Column F: Currency
-            Cell currencyCell = row.getCell(5);
             String currency = "EGP"; // Default
-            if (currencyCell != null) {
-                currency = getCellValueAsString(currencyCell).toUpperCase();
+            if (values[5] != null) {
+                currency = values[5].trim().toUpperCase();
                 // Validate currency
                 if (!isValidCurrency(currency)) {
                     importRow.setValid(false);
@@ -462,14 +648,13 @@ public class RFQService {
             importRow.setCurrency(currency);
 
             // Column G: Unit Price
-            Cell unitPriceCell = row.getCell(6);
-            if (unitPriceCell == null || unitPriceCell.getCellType() == CellType.BLANK) {
+            if (isBlank(values[6])) {
                 importRow.setValid(false);
                 importRow.setErrorMessage("Unit price is required");
                 return importRow;
             }
 
-            double unitPrice = getNumericCellValue(unitPriceCell);
+            double unitPrice = parseNumber(values[6]);
             if (unitPrice <= 0) {
                 importRow.setValid(false);
                 importRow.setErrorMessage("Unit price must be greater than 0");
@@ -477,24 +662,21 @@ public class RFQService {
             }
             importRow.setUnitPrice(BigDecimal.valueOf(unitPrice));
 
-            // Column H: Total Price (can be formula or value)
-            Cell totalPriceCell = row.getCell(7);
-            double totalPrice;
-            if (totalPriceCell != null && totalPriceCell.getCellType() == CellType.FORMULA) {
-                totalPrice = totalPriceCell.getNumericCellValue();
-            } else if (totalPriceCell != null && totalPriceCell.getCellType() == CellType.NUMERIC) {
-                totalPrice = totalPriceCell.getNumericCellValue();
-            } else {
-                // Calculate if not provided
-                totalPrice = responseQuantity * unitPrice;
+            // Column H: Total Price (formula result or value)
+            double totalPrice = responseQuantity * unitPrice;
+            if (!isBlank(values[7])) {
+                try {
+                    totalPrice = Double.parseDouble(values[7].trim());
+                } catch (NumberFormatException e) {
+                    // Not a number: keep the calculated total
+                }
             }
             importRow.setTotalPrice(BigDecimal.valueOf(totalPrice));
 
             // Column I: Delivery Days
-            Cell deliveryDaysCell = row.getCell(8);
             Integer deliveryDays = null;
-            if (deliveryDaysCell != null) {
-                double deliveryValue = getNumericCellValue(deliveryDaysCell);
+            if (!isBlank(values[8])) {
+                double deliveryValue = parseNumber(values[8]);
                 if (deliveryValue > 0) {
                     deliveryDays = (int) deliveryValue;
                 }
@@ -522,6 +704,17 @@ public class RFQService {
         return importRow;
     }
 
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Number from a cell value, accepting Arabic numerals
+     */
+    private double parseNumber(String value) {
+        return convertFromArabicNumerals(value.trim());
+    }
+
     private boolean isValidCurrency(String currency) {
         String[] validCurrencies = {"EGP", "USD", "EUR", "GBP", "JPY", "CAD", "AUD", "CHF", "CNY", "INR", "SGD"};
         for (String valid : validCurrencies) {
@@ -609,45 +802,6 @@ public class RFQService {
         }
     }
 
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) return "";
-
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                return String.valueOf((int) cell.getNumericCellValue());
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return "";
-        }
-    }
-
-    private double getNumericCellValue(Cell cell) {
-        if (cell == null) return 0;
-
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                return cell.getNumericCellValue();
-            case STRING:
-                String value = cell.getStringCellValue().trim();
-                // Try to parse Arabic numerals
-                try {
-                    return convertFromArabicNumerals(value);
-                } catch (Exception e) {
-                    // Try regular parsing
-                    return Double.parseDouble(value);
-                }
-            case FORMULA:
-                return cell.getNumericCellValue();
-            default:
-                return 0;
-        }
-    }
-
     private CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
 
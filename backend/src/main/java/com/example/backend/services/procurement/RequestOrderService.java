@@ -14,12 +14,24 @@ import com.example.backend.repositories.procurement.RequestOrderRepository;
 import com.example.backend.repositories.warehouse.ItemTypeRepository;
 import com.example.backend.repositories.warehouse.WarehouseRepository;
 import com.example.backend.services.notification.NotificationService;
+import com.example.backend.dto.procurement.RequestOrderFilter;
+import com.example.backend.utils.pagination.CursorPage;
+import com.example.backend.utils.pagination.KeysetPageRequest;
+import com.example.backend.utils.pagination.KeysetPager;
+import com.example.backend.utils.pagination.SortKeys;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class RequestOrderService {
@@ -38,6 +50,18 @@ public class RequestOrderService {
     @Autowired
     private EquipmentPurchaseSpecRepository equipmentPurchaseSpecRepository;
 
+    private static final int RESTOCK_VALIDATION_DAYS = 3;
+    private static final List<String> RESTOCK_VALIDATION_STATUSES = List.of("PENDING", "APPROVED");
+
+    /**
+     * Restock validation answers per warehouse (item type -> newest recent request, if any).
+     * Short-lived: request orders also change status outside this service.
+     */
+    private final Cache<UUID, Map<UUID, Optional<RecentRestockRequest>>> recentRestockRequests = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
+
     public RequestOrder createRequest(Map<String, Object> requestData) {
         try {
             System.out.println("Creating request with data: " + requestData);
@@ -247,6 +271,7 @@ public class RequestOrderService {
             // Save and return
             try {
                 RequestOrder savedOrder = requestOrderRepository.save(requestOrder);
+                evictRestockValidation(savedOrder);
                 System.out.println("Request order created successfully with ID: " + savedOrder.getId());
 
                 // Send notifications only for non-draft orders
@@ -355,6 +380,21 @@ public class RequestOrderService {
         }
     }
 
+    private static final SortKeys<RequestOrder> REQUEST_ORDER_SORTS = SortKeys
+            .<RequestOrder>by(RequestOrder::getId, "createdAt", RequestOrder::getCreatedAt, Sort.Direction.DESC)
+            .or("title", RequestOrder::getTitle)
+            .or("deadline", RequestOrder::getDeadline)
+            .or("status", RequestOrder::getStatus);
+
+    /**
+     * One page of request orders, filtered and sorted in the database
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<RequestOrder> getRequestOrdersPage(RequestOrderFilter filter, KeysetPageRequest page) {
+        return KeysetPager.fetch(requestOrderRepository, filter.toSpecification(), page, REQUEST_ORDER_SORTS,
+                requestOrders -> requestOrders);
+    }
+
     public Optional<RequestOrder> findById(UUID id) {
         // Use the new method that doesn't fetch purchaseOrders
         return requestOrderRepository.findByIdForDetails(id);
@@ -538,6 +578,7 @@ public class RequestOrderService {
             }
 
             RequestOrder updatedOrder = requestOrderRepository.save(existingOrder);
+            evictRestockValidation(updatedOrder);
 
             // Send notifications only for non-draft orders
             if (!"DRAFT".equalsIgnoreCase(statusStr) && partyType != null &&
@@ -684,6 +725,7 @@ public class RequestOrderService {
             requestOrder.setApprovedAt(LocalDateTime.now());
 
             RequestOrder updatedOrder = requestOrderRepository.save(requestOrder);
+            evictRestockValidation(updatedOrder);
 
             // Send notifications for status changes
             String orderPartyType = requestOrder.getPartyType();
@@ -796,47 +838,90 @@ public class RequestOrderService {
         }
     }
 
-    // In RequestOrderService.java
+    /**
+     * For each item type, whether the warehouse already has a PENDING or APPROVED request for it from
+     * the last few days (the frontend warns before a duplicate restock). The newest such request per
+     * item type comes from one windowed query; answers are kept per warehouse for a short time so
+     * re-validating while the form is being edited only queries item types not seen yet.
+     */
     public Map<String, Object> getRestockValidationInfo(UUID warehouseId, List<UUID> itemTypeIds) {
         Map<String, Object> result = new HashMap<>();
         Map<String, Object> itemValidations = new HashMap<>();
 
-        LocalDateTime threeDaysAgo = LocalDateTime.now().minusDays(3);
+        Map<UUID, Optional<RecentRestockRequest>> known =
+                recentRestockRequests.get(warehouseId, id -> new ConcurrentHashMap<>());
+        List<UUID> unknown = itemTypeIds.stream()
+                .distinct()
+                .filter(itemTypeId -> !known.containsKey(itemTypeId))
+                .toList();
+        if (!unknown.isEmpty()) {
+            Map<UUID, RecentRestockRequest> found = findMostRecentRestockRequests(warehouseId, unknown);
+            for (UUID itemTypeId : unknown) {
+                known.put(itemTypeId, Optional.ofNullable(found.get(itemTypeId)));
+            }
+        }
 
+        LocalDateTime now = LocalDateTime.now();
         for (UUID itemTypeId : itemTypeIds) {
-            // Check for pending or approved requests in last 3 days
-            List<RequestOrder> recentRequests = requestOrderRepository
-                    .findByWarehouseAndItemTypeAndStatusInAndCreatedAtAfter(
-                            warehouseId,
-                            itemTypeId,
-                            Arrays.asList("PENDING", "APPROVED"),
-                            threeDaysAgo);
+            Optional<RecentRestockRequest> mostRecent = known.getOrDefault(itemTypeId, Optional.empty());
 
             Map<String, Object> itemInfo = new HashMap<>();
-            itemInfo.put("hasRecentRequest", !recentRequests.isEmpty());
+            itemInfo.put("hasRecentRequest", mostRecent.isPresent());
             itemInfo.put("canStillRestock", true); // Always allow, but warn
 
-            if (!recentRequests.isEmpty()) {
-                RequestOrder mostRecent = recentRequests.get(0);
+            mostRecent.ifPresent(request -> {
                 Map<String, Object> requestInfo = new HashMap<>();
-                requestInfo.put("id", mostRecent.getId());
-                requestInfo.put("status", mostRecent.getStatus());
-                requestInfo.put("createdAt", mostRecent.getCreatedAt());
-                requestInfo.put("title", mostRecent.getTitle());
-                requestInfo.put("daysSince", ChronoUnit.DAYS.between(mostRecent.getCreatedAt(), LocalDateTime.now()));
+                requestInfo.put("id", request.id());
+                requestInfo.put("status", request.status());
+                requestInfo.put("createdAt", request.createdAt());
+                requestInfo.put("title", request.title());
+                requestInfo.put("daysSince", ChronoUnit.DAYS.between(request.createdAt(), now));
 
                 itemInfo.put("mostRecentRequest", requestInfo);
-            }
+            });
 
             itemValidations.put(itemTypeId.toString(), itemInfo);
         }
 
         result.put("validations", itemValidations);
-        result.put("validationPeriodDays", 3);
+        result.put("validationPeriodDays", RESTOCK_VALIDATION_DAYS);
 
         return result;
     }
 
+    private Map<UUID, RecentRestockRequest> findMostRecentRestockRequests(UUID warehouseId, List<UUID> itemTypeIds) {
+        List<Object[]> rows = requestOrderRepository.findMostRecentByWarehouseAndItemTypes(
+                warehouseId,
+                itemTypeIds,
+                RESTOCK_VALIDATION_STATUSES,
+                LocalDateTime.now().minusDays(RESTOCK_VALIDATION_DAYS));
+
+        Map<UUID, RecentRestockRequest> byItemType = new HashMap<>();
+        for (Object[] row : rows) {
+            byItemType.put(toUuid(row[0]), new RecentRestockRequest(
+                    toUuid(row[1]),
+                    (String) row[2],
+                    (String) row[3],
+                    row[4] instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) row[4]));
+        }
+        return byItemType;
+    }
+
+    private static UUID toUuid(Object value) {
+        return value instanceof UUID uuid ? uuid : UUID.fromString(value.toString());
+    }
+
+    /**
+     * Drop a warehouse's cached restock validation after one of its request orders changes
+     */
+    private void evictRestockValidation(RequestOrder requestOrder) {
+        if (requestOrder != null && requestOrder.getRequesterId() != null) {
+            recentRestockRequests.invalidate(requestOrder.getRequesterId());
+        }
+    }
+
+    private record RecentRestockRequest(UUID id, String status, String title, LocalDateTime createdAt) {}
+
     public void deleteRequest(UUID requestOrderId) {
         try {
             System.out.println("Deleting request order with ID: " + requestOrderId);
@@ -850,6 +935,7 @@ public class RequestOrderService {
             }
 
             requestOrderRepository.delete(requestOrder);
+            evictRestockValidation(requestOrder);
             System.out.println("Request order deleted successfully");
         } catch (Exception e) {
             System.err.println("Error deleting request order: " + e.getMessage());
@@ -0,0 +1,539 @@
+package com.example.backend.services.transaction;
+
+import com.example.backend.dto.transaction.BulkTransactionAcceptRequestDTO;
+import com.example.backend.dto.transaction.BulkTransactionAcceptResponseDTO;
+import com.example.backend.dto.transaction.BulkTransactionAcceptResponseDTO.TransactionAcceptResultDTO;
+import com.example.backend.dto.transaction.TransactionAcceptRequestDTO;
+import com.example.backend.events.ValuationDeltaEvent;
+import com.example.backend.models.PartyType;
+import com.example.backend.models.equipment.Consumable;
+import com.example.backend.models.equipment.Equipment;
+import com.example.backend.models.notification.NotificationType;
+import com.example.backend.models.transaction.Transaction;
+import com.example.backend.models.transaction.TransactionItem;
+import com.example.backend.models.transaction.TransactionPurpose;
+import com.example.backend.models.transaction.TransactionStatus;
+import com.example.backend.models.warehouse.*;
+import com.example.backend.repositories.equipment.ConsumableRepository;
+import com.example.backend.repositories.equipment.EquipmentRepository;
+import com.example.backend.repositories.transaction.TransactionRepository;
+import com.example.backend.repositories.warehouse.ItemRepository;
+import com.example.backend.repositories.warehouse.WarehouseRepository;
+import com.example.backend.services.notification.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts many pending transactions in one call, e.g. a truck of transfers being received.
+ * <p>
+ * Applies the same rules as {@link TransactionService#acceptTransaction}, but set-based: transactions,
+ * warehouses, equipment, consumables and lot prices are loaded up front with a handful of queries,
+ * new lots and consumables are written with saveAll, valuation deltas are published once per
+ * warehouse / equipment and notifications once per batch.
+ * <p>
+ * Every transaction gets its own result. Requests that fail validation are reported and skipped;
+ * if applying the batch fails unexpectedly, it is rolled back and the transactions are accepted
+ * one by one through {@link TransactionService} so one bad transaction cannot fail the others.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionBulkAcceptService {
+
+    private final TransactionRepository transactionRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final ItemRepository itemRepository;
+    private final ConsumableRepository consumableRepository;
+    private final TransactionService transactionService;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public BulkTransactionAcceptResponseDTO acceptTransactions(BulkTransactionAcceptRequestDTO request) {
+        String username = request.getUsername();
+        if (username == null || username.trim().isEmpty()) {
+            throw new IllegalArgumentException("Username is required");
+        }
+        if (request.getTransactions() == null || request.getTransactions().isEmpty()) {
+            throw new IllegalArgumentException("At least one transaction is required");
+        }
+
+        // Results keep the request order
+        Map<UUID, TransactionAcceptResultDTO> results = new LinkedHashMap<>();
+        List<Acceptance> acceptances = new ArrayList<>();
+        for (BulkTransactionAcceptRequestDTO.TransactionAcceptanceDTO entry : request.getTransactions()) {
+            UUID transactionId = entry.getTransactionId();
+            if (transactionId == null) {
+                throw new IllegalArgumentException("Every entry needs a transactionId");
+            }
+            if (results.containsKey(transactionId)) {
+                throw new IllegalArgumentException("Transaction listed more than once: " + transactionId);
+            }
+            results.put(transactionId, null);
+            try {
+                acceptances.add(parse(entry));
+            } catch (IllegalArgumentException e) {
+                results.put(transactionId, failure(transactionId, e.getMessage()));
+            }
+        }
+
+        List<Transaction> completed = new ArrayList<>();
+        if (!acceptances.isEmpty()) {
+            try {
+                BatchOutcome outcome = transactionTemplate.execute(status -> applyBatch(acceptances, username));
+                results.putAll(outcome.results());
+                completed.addAll(outcome.completed());
+            } catch (RuntimeException e) {
+                log.warn("Bulk acceptance of {} transactions failed, accepting them one by one", acceptances.size(), e);
+                for (Acceptance acceptance : acceptances) {
+                    results.put(acceptance.transactionId(), acceptIndividually(acceptance, username));
+                }
+            }
+        }
+
+        sendBatchNotifications(completed);
+
+        List<TransactionAcceptResultDTO> resultList = new ArrayList<>(results.values());
+        int failed = (int) resultList.stream().filter(r -> !r.isSuccess()).count();
+        return BulkTransactionAcceptResponseDTO.builder()
+                .processed(resultList.size() - failed)
+                .failed(failed)
+                .results(resultList)
+                .build();
+    }
+
+    private Acceptance parse(BulkTransactionAcceptRequestDTO.TransactionAcceptanceDTO entry) {
+        if (entry.getReceivedItems() == null || entry.getReceivedItems().isEmpty()) {
+            throw new IllegalArgumentException("Received items list is required");
+        }
+        Map<UUID, Integer> receivedQuantities = new HashMap<>();
+        Map<UUID, Boolean> itemsNotReceived = new HashMap<>();
+        for (TransactionAcceptRequestDTO.ReceivedItemDTO received : entry.getReceivedItems()) {
+            if (received.getTransactionItemId() == null) {
+                throw new IllegalArgumentException("Missing transactionItemId");
+            }
+            UUID itemId = UUID.fromString(received.getTransactionItemId());
+            if (received.getReceivedQuantity() == null) {
+                throw new IllegalArgumentException("Missing receivedQuantity for item " + itemId);
+            }
+            if (received.getReceivedQuantity() < 0) {
+                throw new IllegalArgumentException("Received quantity cannot be negative for item " + itemId);
+            }
+            receivedQuantities.put(itemId, received.getReceivedQuantity());
+            itemsNotReceived.put(itemId, Boolean.TRUE.equals(received.getItemNotReceived()));
+        }
+        return new Acceptance(entry.getTransactionId(), entry.getAcceptanceComment(),
+                receivedQuantities, itemsNotReceived);
+    }
+
+    private BatchOutcome applyBatch(List<Acceptance> acceptances, String username) {
+        Map<UUID, TransactionAcceptResultDTO> results = new HashMap<>();
+        Map<UUID, Transaction> transactions = transactionRepository.findAllWithItemsByIdIn(
+                        acceptances.stream().map(Acceptance::transactionId).toList()).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+        ReceivingBatch batch = new ReceivingBatch(transactions.values());
+        List<Transaction> completed = new ArrayList<>();
+
+        for (Acceptance acceptance : acceptances) {
+            Transaction transaction = transactions.get(acceptance.transactionId());
+            String error = validate(transaction, acceptance, batch);
+            if (error != null) {
+                results.put(acceptance.transactionId(), failure(acceptance.transactionId(), error));
+                continue;
+            }
+
+            accept(transaction, acceptance, username, batch);
+            completed.add(transaction);
+            results.put(acceptance.transactionId(), TransactionAcceptResultDTO.builder()
+                    .transactionId(transaction.getId())
+                    .success(true)
+                    .status(transaction.getStatus())
+                    .build());
+        }
+
+        batch.flush();
+        transactionRepository.saveAll(completed);
+        log.info("Bulk accepted {} of {} transactions", completed.size(), acceptances.size());
+        return new BatchOutcome(results, completed);
+    }
+
+    private String validate(Transaction transaction, Acceptance acceptance, ReceivingBatch batch) {
+        if (transaction == null) {
+            return "Transaction not found: " + acceptance.transactionId();
+        }
+        if (transaction.getReceiverType() == PartyType.LOSS) {
+            return "LOSS transactions are auto-completed and cannot be manually accepted";
+        }
+        if (transaction.getStatus() != TransactionStatus.PENDING) {
+            return "Transaction is not in PENDING status";
+        }
+        for (TransactionItem item : transaction.getItems()) {
+            if (!acceptance.receivedQuantities().containsKey(item.getId())) {
+                return "Received quantity not provided for item: " + item.getId();
+            }
+        }
+        if (!batch.warehouses.containsKey(transaction.getSenderId())) {
+            return "Sender warehouse not found";
+        }
+        if (transaction.getReceiverType() == PartyType.WAREHOUSE
+                && !batch.warehouses.containsKey(transaction.getReceiverId())) {
+            return "Warehouse not found: " + transaction.getReceiverId();
+        }
+        if (transaction.getReceiverType() == PartyType.EQUIPMENT
+                && !batch.equipment.containsKey(transaction.getReceiverId())) {
+            return "Equipment not found: " + transaction.getReceiverId();
+        }
+        return null;
+    }
+
+    /**
+     * Same outcome as TransactionService.acceptTransaction, with inventory changes queued on the batch
+     */
+    private void accept(Transaction transaction, Acceptance acceptance, String username, ReceivingBatch batch) {
+        transaction.setApprovedBy(username);
+        transaction.setAcceptanceComment(acceptance.acceptanceComment());
+        transaction.setCompletedAt(LocalDateTime.now());
+
+        boolean allItemsMatch = true;
+        for (TransactionItem item : transaction.getItems()) {
+            if (Boolean.TRUE.equals(acceptance.itemsNotReceived().get(item.getId()))) {
+                allItemsMatch = false;
+                item.setStatus(TransactionStatus.REJECTED);
+                item.setRejectionReason("Item was not received");
+                batch.recordMissing(transaction, item, item.getQuantity());
+                batch.returnToSender(transaction.getSenderId(), item.getItemType(), item.getQuantity());
+                continue;
+            }
+
+            int sent = item.getQuantity();
+            int received = acceptance.receivedQuantities().get(item.getId());
+            item.setReceivedQuantity(received);
+            if (transaction.getReceiverType() == PartyType.EQUIPMENT) {
+                item.setEquipmentReceivedQuantity(received);
+            }
+
+            if (sent != received) {
+                allItemsMatch = false;
+                item.setStatus(TransactionStatus.REJECTED);
+                item.setRejectionReason("Quantity mismatch between quantity sent and quantity received");
+            } else {
+                item.setStatus(TransactionStatus.ACCEPTED);
+                item.setRejectionReason(null);
+            }
+
+            if (received > 0) {
+                if (transaction.getReceiverType() == PartyType.WAREHOUSE) {
+                    batch.addToWarehouse(transaction, item, received);
+                } else if (transaction.getReceiverType() == PartyType.EQUIPMENT) {
+                    batch.addToEquipment(transaction, item, received);
+                }
+            }
+
+            if (sent > received) {
+                batch.recordMissing(transaction, item, sent - received);
+            } else if (received > sent) {
+                batch.recordOverReceived(transaction, item, received - sent);
+            }
+        }
+
+        transaction.setStatus(allItemsMatch ? TransactionStatus.ACCEPTED : TransactionStatus.REJECTED);
+        transaction.setRejectionReason(allItemsMatch ? null
+                : "Some items had quantity mismatches - check individual item statuses");
+    }
+
+    private TransactionAcceptResultDTO acceptIndividually(Acceptance acceptance, String username) {
+        try {
+            Transaction transaction = transactionService.acceptTransaction(acceptance.transactionId(),
+                    acceptance.receivedQuantities(), acceptance.itemsNotReceived(),
+                    username, acceptance.acceptanceComment());
+            return TransactionAcceptResultDTO.builder()
+                    .transactionId(transaction.getId())
+                    .success(true)
+                    .status(transaction.getStatus())
+                    .build();
+        } catch (RuntimeException e) {
+            return failure(acceptance.transactionId(), e.getMessage());
+        }
+    }
+
+    /**
+     * One summary notification per audience instead of several per transaction
+     */
+    private void sendBatchNotifications(List<Transaction> completed) {
+        if (completed.isEmpty()) {
+            return;
+        }
+        try {
+            long withIssues = completed.stream().filter(t -> t.getStatus() == TransactionStatus.REJECTED).count();
+            String batches = completed.stream()
+                    .map(t -> "#" + t.getBatchNumber())
+                    .collect(Collectors.joining(", "));
+            String summary = completed.size() + " transaction(s) received (" + batches + ")"
+                    + (withIssues > 0 ? ", " + withIssues + " with quantity issues" : "");
+            NotificationType type = withIssues > 0 ? NotificationType.WARNING : NotificationType.SUCCESS;
+
+            notificationService.sendNotificationToWarehouseUsers(
+                    "Transactions Received", summary, type, "/warehouses", "TRANSACTION_BULK");
+
+            if (completed.stream().anyMatch(t -> t.getReceiverType() == PartyType.EQUIPMENT)) {
+                notificationService.sendNotificationToEquipmentUsers(
+                        "Transactions Received", summary, type, "/equipment", "TRANSACTION_BULK");
+            }
+        } catch (Exception e) {
+            log.warn("Failed to send bulk acceptance notifications: {}", e.getMessage());
+        }
+    }
+
+    private TransactionAcceptResultDTO failure(UUID transactionId, String error) {
+        return TransactionAcceptResultDTO.builder()
+                .transactionId(transactionId)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    private record Acceptance(UUID transactionId, String acceptanceComment,
+                              Map<UUID, Integer> receivedQuantities, Map<UUID, Boolean> itemsNotReceived) {}
+
+    private record BatchOutcome(Map<UUID, TransactionAcceptResultDTO> results, List<Transaction> completed) {}
+
+    private record StockKey(UUID ownerId, UUID itemTypeId) {}
+
+    /**
+     * Everything a batch of acceptances reads, loaded once, and everything it writes, saved once
+     */
+    private class ReceivingBatch {
+        private final Map<UUID, Warehouse> warehouses;
+        private final Map<UUID, Equipment> equipment;
+        private final Map<StockKey, Consumable> equipmentStock;
+        private final Map<StockKey, Double> senderLotPrices = new HashMap<>();
+
+        private final List<Item> newItems = new ArrayList<>();
+        private final Map<UUID, Consumable> changedConsumables = new LinkedHashMap<>();
+        private final List<Consumable> newConsumables = new ArrayList<>();
+        private final Map<UUID, double[]> warehouseDeltas = new HashMap<>();
+        private final Map<UUID, Double> equipmentExpenseDeltas = new HashMap<>();
+
+        ReceivingBatch(Collection<Transaction> transactions) {
+            Set<UUID> warehouseIds = new HashSet<>();
+            Set<UUID> equipmentIds = new HashSet<>();
+            Set<UUID> itemTypeIds = new HashSet<>();
+            for (Transaction transaction : transactions) {
+                warehouseIds.add(transaction.getSenderId());
+                if (transaction.getReceiverType() == PartyType.WAREHOUSE) {
+                    warehouseIds.add(transaction.getReceiverId());
+                } else if (transaction.getReceiverType() == PartyType.EQUIPMENT) {
+                    equipmentIds.add(transaction.getReceiverId());
+                }
+                transaction.getItems().forEach(item -> itemTypeIds.add(item.getItemType().getId()));
+            }
+
+            warehouses = warehouseRepository.findAllById(warehouseIds).stream()
+                    .collect(Collectors.toMap(Warehouse::getId, Function.identity()));
+            equipment = equipmentIds.isEmpty() ? new HashMap<>()
+                    : equipmentRepository.findAllById(equipmentIds).stream()
+                            .collect(Collectors.toMap(Equipment::getId, Function.identity()));
+            equipmentStock = equipmentIds.isEmpty() ? new HashMap<>()
+                    : consumableRepository.findByEquipmentIdInAndStatus(equipmentIds, ItemStatus.IN_WAREHOUSE).stream()
+                            .collect(Collectors.toMap(
+                                    c -> new StockKey(c.getEquipment().getId(), c.getItemType().getId()),
+                                    Function.identity(),
+                                    (first, second) -> first));
+
+            if (!warehouseIds.isEmpty() && !itemTypeIds.isEmpty()) {
+                // Newest priced lot per (warehouse, item type), for stock returned to the sender
+                for (Object[] row : itemRepository.findLotUnitPrices(warehouseIds, itemTypeIds)) {
+                    senderLotPrices.putIfAbsent(new StockKey((UUID) row[0], (UUID) row[1]), (Double) row[2]);
+                }
+            }
+        }
+
+        void addToWarehouse(Transaction transaction, TransactionItem transactionItem, int actualQuantity) {
+            Warehouse warehouse = warehouses.get(transaction.getReceiverId());
+            List<Map<String, Object>> deductedItems = transactionItem.getDeductedItems();
+
+            if (deductedItems == null || deductedItems.isEmpty()) {
+                // No price info available
+                newItems.add(newLot(transactionItem, warehouse, actualQuantity, null));
+                addWarehouseDelta(warehouse.getId(), 0.0, actualQuantity);
+                return;
+            }
+
+            // Preserve original prices from the sender deduction, scaled down if less was received
+            int totalDeducted = deductedItems.stream()
+                    .mapToInt(d -> ((Number) d.get("quantity")).intValue())
+                    .sum();
+            for (Map<String, Object> deducted : deductedItems) {
+                int batchQuantity = ((Number) deducted.get("quantity")).intValue();
+                Double unitPrice = deducted.get("unitPrice") != null
+                        ? ((Number) deducted.get("unitPrice")).doubleValue() : null;
+                int addQuantity = actualQuantity < totalDeducted
+                        ? (int) Math.round((double) batchQuantity * actualQuantity / totalDeducted)
+                        : batchQuantity;
+                if (addQuantity <= 0) continue;
+
+                Item lot = newLot(transactionItem, warehouse, addQuantity, unitPrice);
+                newItems.add(lot);
+                addWarehouseDelta(warehouse.getId(), ValuationDeltaEvent.stockValueOf(lot), addQuantity);
+            }
+        }
+
+        void addToEquipment(Transaction transaction, TransactionItem transactionItem, int quantity) {
+            Equipment target = equipment.get(transaction.getReceiverId());
+            ItemType itemType = transactionItem.getItemType();
+
+            Double unitPrice = null;
+            List<Map<String, Object>> deductedItems = transactionItem.getDeductedItems();
+            if (deductedItems != null && !deductedItems.isEmpty() && deductedItems.get(0).get("unitPrice") != null) {
+                unitPrice = ((Number) deductedItems.get(0).get("unitPrice")).doubleValue();
+            }
+
+            if (transaction.getPurpose() != TransactionPurpose.CONSUMABLE) {
+                // MAINTENANCE or other purposes -> CONSUMED entry
+                Consumable consumed = newConsumable(target, itemType, quantity, ItemStatus.CONSUMED, transaction, unitPrice);
+                newConsumables.add(consumed);
+                return;
+            }
+
+            StockKey key = new StockKey(target.getId(), itemType.getId());
+            Consumable existing = equipmentStock.get(key);
+            if (existing != null) {
+                double valueBefore = existing.getTotalValue() != null ? existing.getTotalValue() : 0.0;
+                existing.setQuantity(existing.getQuantity() + quantity);
+                existing.setTransaction(transaction);
+                if (unitPrice != null) {
+                    existing.setUnitPrice(unitPrice);
+                    existing.setTotalValue(existing.getQuantity() * unitPrice);
+                }
+                if (existing.getId() != null) {
+                    changedConsumables.put(existing.getId(), existing);
+                }
+                double valueAfter = existing.getTotalValue() != null ? existing.getTotalValue() : 0.0;
+                equipmentExpenseDeltas.merge(target.getId(), valueAfter - valueBefore, Double::sum);
+            } else {
+                Consumable stock = newConsumable(target, itemType, quantity, ItemStatus.IN_WAREHOUSE, transaction, unitPrice);
+                newConsumables.add(stock);
+                // Later transactions in this batch add to the same stock entry
+                equipmentStock.put(key, stock);
+                if (stock.getTotalValue() != null) {
+                    equipmentExpenseDeltas.merge(target.getId(), stock.getTotalValue(), Double::sum);
+                }
+            }
+        }
+
+        void returnToSender(UUID warehouseId, ItemType itemType, int quantity) {
+            if (quantity <= 0) return;
+
+            Item returned = new Item();
+            returned.setItemType(itemType);
+            returned.setQuantity(quantity);
+            returned.setUnitPrice(senderLotPrices.get(new StockKey(warehouseId, itemType.getId())));
+            returned.setItemStatus(ItemStatus.IN_WAREHOUSE);
+            returned.setWarehouse(warehouses.get(warehouseId));
+            returned.setResolved(false);
+            returned.setItemSource(ItemSource.TRANSACTION_TRANSFER);
+            returned.setCreatedAt(LocalDateTime.now());
+            if (returned.getUnitPrice() != null) returned.calculateTotalValue();
+
+            newItems.add(returned);
+            addWarehouseDelta(warehouseId, ValuationDeltaEvent.stockValueOf(returned), quantity);
+        }
+
+        void recordMissing(Transaction transaction, TransactionItem item, int missingQuantity) {
+            // Tracked at the sender (always a warehouse)
+            newItems.add(discrepancyLot(item, warehouses.get(transaction.getSenderId()),
+                    missingQuantity, ItemStatus.MISSING));
+        }
+
+        void recordOverReceived(Transaction transaction, TransactionItem item, int overReceivedQuantity) {
+            // Tracked at the receiver
+            if (transaction.getReceiverType() == PartyType.WAREHOUSE) {
+                newItems.add(discrepancyLot(item, warehouses.get(transaction.getReceiverId()),
+                        overReceivedQuantity, ItemStatus.OVERRECEIVED));
+            } else if (transaction.getReceiverType() == PartyType.EQUIPMENT) {
+                Consumable overReceived = new Consumable();
+                overReceived.setEquipment(equipment.get(transaction.getReceiverId()));
+                overReceived.setItemType(item.getItemType());
+                overReceived.setQuantity(overReceivedQuantity);
+                overReceived.setStatus(ItemStatus.OVERRECEIVED);
+                overReceived.setTransaction(transaction);
+                newConsumables.add(overReceived);
+            }
+        }
+
+        void flush() {
+            if (!newItems.isEmpty()) {
+                itemRepository.saveAll(newItems);
+            }
+            if (!newConsumables.isEmpty() || !changedConsumables.isEmpty()) {
+                List<Consumable> consumables = new ArrayList<>(newConsumables);
+                consumables.addAll(changedConsumables.values());
+                consumableRepository.saveAll(consumables);
+            }
+
+            warehouseDeltas.forEach((warehouseId, delta) -> eventPublisher.publishEvent(
+                    ValuationDeltaEvent.forWarehouse(warehouseId, delta[0], (int) delta[1], 0.0)));
+            equipmentExpenseDeltas.forEach((equipmentId, expense) -> eventPublisher.publishEvent(
+                    ValuationDeltaEvent.forEquipmentExpenses(equipmentId, expense)));
+        }
+
+        private void addWarehouseDelta(UUID warehouseId, double value, int quantity) {
+            double[] delta = warehouseDeltas.computeIfAbsent(warehouseId, id -> new double[2]);
+            delta[0] += value;
+            delta[1] += quantity;
+        }
+
+        private Item newLot(TransactionItem transactionItem, Warehouse warehouse, int quantity, Double unitPrice) {
+            Item lot = new Item();
+            lot.setItemType(transactionItem.getItemType());
+            lot.setQuantity(quantity);
+            lot.setUnitPrice(unitPrice);
+            lot.setItemStatus(ItemStatus.IN_WAREHOUSE);
+            lot.setWarehouse(warehouse);
+            lot.setTransactionItem(transactionItem);
+            lot.setResolved(false);
+            lot.setItemSource(ItemSource.TRANSACTION_TRANSFER);
+            lot.setCreatedAt(LocalDateTime.now());
+            lot.setCreatedBy("Created by a Transaction");
+            if (unitPrice != null) lot.calculateTotalValue();
+            return lot;
+        }
+
+        private Item discrepancyLot(TransactionItem item, Warehouse warehouse, int quantity, ItemStatus status) {
+            Item lot = new Item();
+            lot.setItemType(item.getItemType());
+            lot.setWarehouse(warehouse);
+            lot.setQuantity(quantity);
+            lot.setItemStatus(status);
+            lot.setTransactionItem(item);
+            lot.setResolved(false);
+            lot.setCreatedAt(LocalDateTime.now());
+            return lot;
+        }
+
+        private Consumable newConsumable(Equipment target, ItemType itemType, int quantity, ItemStatus status,
+                                         Transaction transaction, Double unitPrice) {
+            Consumable consumable = new Consumable();
+            consumable.setEquipment(target);
+            consumable.setItemType(itemType);
+            consumable.setQuantity(quantity);
+            consumable.setStatus(status);
+            consumable.setTransaction(transaction);
+            if (unitPrice != null) {
+                consumable.setUnitPrice(unitPrice);
+                consumable.setTotalValue(quantity * unitPrice);
+            }
+            return consumable;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.backend.services.transaction;
 
+import com.example.backend.events.ValuationDeltaEvent;
 import com.example.backend.models.*;
 import com.example.backend.models.notification.NotificationType;
 import com.example.backend.models.transaction.Transaction;
@@ -17,16 +18,18 @@ import com.example.backend.repositories.warehouse.ItemRepository;
 import com.example.backend.repositories.warehouse.ItemTypeRepository;
 import com.example.backend.repositories.warehouse.WarehouseRepository;
 import com.example.backend.services.notification.NotificationService;
+import com.example.backend.services.warehouse.WarehouseStockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -48,9 +51,15 @@ public class TransactionService {
     @Autowired
     private ConsumableRepository consumableRepository;
 
+    @Autowired
+    private WarehouseStockService warehouseStockService;
+
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ========================================
     // CORE TRANSACTION CREATION
     // Sender is ALWAYS a Warehouse.
@@ -552,62 +561,14 @@ public class TransactionService {
      * Returns a list of deduction batches with quantity and unit price for price tracking.
      */
     private List<Map<String, Object>> deductFromWarehouseInventory(UUID warehouseId, ItemType itemType, int quantityToDeduct) {
-        List<Item> availableItems = itemRepository.findAllByItemTypeIdAndWarehouseIdAndItemStatus(
-                itemType.getId(), warehouseId, ItemStatus.IN_WAREHOUSE);
-
-        if (availableItems.isEmpty()) {
-            throw new IllegalArgumentException("No available items in warehouse for: " + itemType.getName());
-        }
-
-        int totalAvailable = availableItems.stream().mapToInt(Item::getQuantity).sum();
-        if (totalAvailable < quantityToDeduct) {
-            throw new IllegalArgumentException("Not enough quantity in warehouse for: " + itemType.getName() +
-                    ". Available: " + totalAvailable + ", Requested: " + quantityToDeduct);
-        }
-
-        // FIFO sort
-        availableItems.sort((a, b) -> {
-            LocalDateTime dateA = a.getCreatedAt();
-            LocalDateTime dateB = b.getCreatedAt();
-            if (dateA == null && dateB == null) return a.getId().compareTo(b.getId());
-            if (dateA == null) return 1;
-            if (dateB == null) return -1;
-            return dateA.compareTo(dateB);
-        });
-
-        int remaining = quantityToDeduct;
-        List<Item> toDelete = new ArrayList<>();
-        List<Map<String, Object>> deductedBatches = new ArrayList<>();
-
-        for (Item item : availableItems) {
-            if (remaining <= 0) break;
-
-            int take = Math.min(item.getQuantity(), remaining);
+        WarehouseStockService.StockDeduction deduction =
+                warehouseStockService.deductFifo(warehouseId, itemType, quantityToDeduct);
 
-            Map<String, Object> batch = new HashMap<>();
-            batch.put("quantity", take);
-            batch.put("unitPrice", item.getUnitPrice());
-            deductedBatches.add(batch);
+        eventPublisher.publishEvent(ValuationDeltaEvent.forWarehouse(
+                warehouseId, -deduction.value(), -quantityToDeduct, 0.0));
 
-            System.out.println("  ➖ Taking " + take + " @ " + item.getUnitPrice() + " EGP (Item: " + item.getId() + ")");
-
-            if (item.getQuantity() <= remaining) {
-                remaining -= item.getQuantity();
-                toDelete.add(item);
-            } else {
-                item.setQuantity(item.getQuantity() - remaining);
-                item.calculateTotalValue();
-                itemRepository.save(item);
-                remaining = 0;
-            }
-        }
-
-        if (!toDelete.isEmpty()) {
-            itemRepository.deleteAll(toDelete);
-        }
-
-        System.out.println("✅ Deducted " + quantityToDeduct + " in " + deductedBatches.size() + " batch(es)");
-        return deductedBatches;
+        System.out.println("✅ Deducted " + quantityToDeduct + " in " + deduction.batches().size() + " batch(es)");
+        return deduction.batches();
     }
 
     /**
@@ -620,6 +581,8 @@ public class TransactionService {
                 .orElseThrow(() -> new IllegalArgumentException("Warehouse not found: " + transaction.getReceiverId()));
 
         List<Map<String, Object>> deductedItems = transactionItem.getDeductedItems();
+        double addedValue = 0.0;
+        int addedQuantity = 0;
 
         if (deductedItems != null && !deductedItems.isEmpty()) {
             // Preserve original prices from sender deduction
@@ -652,6 +615,8 @@ public class TransactionService {
 
                 if (unitPrice != null) newItem.calculateTotalValue();
                 itemRepository.save(newItem);
+                addedValue += ValuationDeltaEvent.stockValueOf(newItem);
+                addedQuantity += addQty;
 
                 System.out.println("  ✅ Added: " + addQty + " @ " + unitPrice + " EGP");
             }
@@ -670,8 +635,11 @@ public class TransactionService {
             newItem.setCreatedAt(LocalDateTime.now());
             newItem.setCreatedBy("Created by a Transaction");
             itemRepository.save(newItem);
+            addedQuantity += actualQuantity;
         }
 
+        eventPublisher.publishEvent(ValuationDeltaEvent.forWarehouse(
+                warehouse.getId(), addedValue, addedQuantity, 0.0));
         System.out.println("✅ Added items to warehouse: " + warehouse.getName());
     }
 
@@ -705,6 +673,8 @@ public class TransactionService {
 
         if (unitPrice != null) returned.calculateTotalValue();
         itemRepository.save(returned);
+        eventPublisher.publishEvent(ValuationDeltaEvent.forWarehouse(
+                warehouseId, ValuationDeltaEvent.stockValueOf(returned), quantity, 0.0));
 
         System.out.println("↩️ Returned " + quantity + " x " + itemType.getName() + " @ " + unitPrice + " EGP");
     }
@@ -739,6 +709,7 @@ public class TransactionService {
                     equipmentId, itemType.getId(), ItemStatus.IN_WAREHOUSE);
 
             if (existing != null) {
+                double valueBefore = existing.getTotalValue() != null ? existing.getTotalValue() : 0.0;
                 existing.setQuantity(existing.getQuantity() + quantity);
                 existing.setTransaction(transaction);
                 if (unitPrice != null) {
@@ -746,6 +717,9 @@ public class TransactionService {
                     existing.setTotalValue(existing.getQuantity() * unitPrice);
                 }
                 consumableRepository.save(existing);
+                double valueAfter = existing.getTotalValue() != null ? existing.getTotalValue() : 0.0;
+                eventPublisher.publishEvent(ValuationDeltaEvent.forEquipmentExpenses(
+                        equipmentId, valueAfter - valueBefore));
                 System.out.println("✅ Updated existing consumable: +" + quantity);
             } else {
                 Consumable consumable = new Consumable();
@@ -759,6 +733,10 @@ public class TransactionService {
                     consumable.setTotalValue(quantity * unitPrice);
                 }
                 consumableRepository.save(consumable);
+                if (consumable.getTotalValue() != null) {
+                    eventPublisher.publishEvent(ValuationDeltaEvent.forEquipmentExpenses(
+                            equipmentId, consumable.getTotalValue()));
+                }
                 System.out.println("✅ Created new consumable stock entry: " + quantity);
             }
         } else {
@@ -782,17 +760,24 @@ public class TransactionService {
     // VALIDATION METHODS
     // ========================================
 
+    /**
+     * Checks the sender's on-hand stock for every requested item type and locks it for this transaction,
+     * in item type id order so concurrent transfers cannot deadlock on each other.
+     */
     private void validateSenderHasAvailableInventory(UUID senderId, List<TransactionItem> items) {
         System.out.println("🔍 Validating sender warehouse inventory");
+        Map<UUID, Integer> requested = new TreeMap<>();
         for (TransactionItem item : items) {
-            ItemType itemType = getItemType(item.getItemType().getId());
-            List<Item> available = itemRepository.findAllByItemTypeIdAndWarehouseIdAndItemStatus(
-                    itemType.getId(), senderId, ItemStatus.IN_WAREHOUSE);
-            int total = available.stream().mapToInt(Item::getQuantity).sum();
-            if (total < item.getQuantity()) {
+            requested.merge(item.getItemType().getId(), item.getQuantity(), Integer::sum);
+        }
+
+        for (Map.Entry<UUID, Integer> entry : requested.entrySet()) {
+            long total = warehouseStockService.lockAvailableQuantity(senderId, entry.getKey());
+            if (total < entry.getValue()) {
+                ItemType itemType = getItemType(entry.getKey());
                 throw new IllegalArgumentException(
                         String.format("Insufficient inventory for %s: Available=%d, Requested=%d",
-                                itemType.getName(), total, item.getQuantity()));
+                                itemType.getName(), total, entry.getValue()));
             }
         }
     }
@@ -1,6 +1,7 @@
 package com.example.backend.services.warehouse;
 
 import com.example.backend.dto.item.ItemResolutionDTO;
+import com.example.backend.events.ValuationDeltaEvent;
 import com.example.backend.models.finance.inventoryValuation.ApprovalStatus;
 import com.example.backend.models.finance.inventoryValuation.ItemPriceApproval;
 import com.example.backend.models.notification.NotificationType;
@@ -17,6 +18,7 @@ import com.example.backend.repositories.warehouse.ItemTypeRepository;
 import com.example.backend.repositories.warehouse.WarehouseRepository;
 import com.example.backend.services.notification.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,6 +49,9 @@ public class ItemService {
     @Autowired
     private ItemPriceApprovalRepository itemPriceApprovalRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional(readOnly = true)
     public Item getItemById(UUID itemId) {
         return itemRepository.findById(itemId)
@@ -437,6 +442,10 @@ public class ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("Item not found"));
         itemRepository.delete(item);
+        eventPublisher.publishEvent(ValuationDeltaEvent.forWarehouse(item.getWarehouse().getId(),
+                -ValuationDeltaEvent.stockValueOf(item),
+                -ValuationDeltaEvent.stockQuantityOf(item),
+                -ValuationDeltaEvent.expenseValueOf(item)));
     }
 
     // Additional helper methods for better inventory management
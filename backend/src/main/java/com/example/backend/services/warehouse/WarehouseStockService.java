@@ -0,0 +1,115 @@
+package com.example.backend.services.warehouse;
+
+import com.example.backend.models.warehouse.Item;
+import com.example.backend.models.warehouse.ItemStatus;
+import com.example.backend.models.warehouse.ItemType;
+import com.example.backend.repositories.warehouse.ItemRepository;
+import com.example.backend.repositories.warehouse.WarehouseStockLevelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * FIFO stock ledger over warehouse item lots.
+ * <p>
+ * Availability comes from the warehouse_stock_levels aggregate (kept current by a database trigger)
+ * instead of summing every lot. Deductions lock only the aggregate row of the affected
+ * (warehouse, item type), so concurrent transfers of the same stock serialize and cannot oversell,
+ * while transfers of different stock proceed in parallel. Lots are consumed oldest first,
+ * a page at a time, from the FIFO index.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WarehouseStockService {
+
+    static final int LOT_PAGE_SIZE = 50;
+
+    private final WarehouseStockLevelRepository stockLevelRepository;
+    private final ItemRepository itemRepository;
+
+    /**
+     * On-hand IN_WAREHOUSE quantity of an item type, locking it until the current transaction ends.
+     * Callers locking several item types should do so in a consistent order (e.g. by item type id).
+     */
+    @Transactional
+    public long lockAvailableQuantity(UUID warehouseId, UUID itemTypeId) {
+        // Make sure the trigger has seen every pending lot change of this transaction
+        itemRepository.flush();
+        Long quantity = stockLevelRepository.lockQuantity(warehouseId, itemTypeId, ItemStatus.IN_WAREHOUSE.name());
+        return quantity != null ? quantity : 0L;
+    }
+
+    /**
+     * Deduct from a warehouse oldest lots first.
+     * Returns the deducted batches (quantity and unit price) for price tracking, and their value.
+     */
+    @Transactional
+    public StockDeduction deductFifo(UUID warehouseId, ItemType itemType, int quantityToDeduct) {
+        long available = lockAvailableQuantity(warehouseId, itemType.getId());
+        if (available <= 0) {
+            throw new IllegalArgumentException("No available items in warehouse for: " + itemType.getName());
+        }
+        if (available < quantityToDeduct) {
+            throw new IllegalArgumentException("Not enough quantity in warehouse for: " + itemType.getName() +
+                    ". Available: " + available + ", Requested: " + quantityToDeduct);
+        }
+
+        int remaining = quantityToDeduct;
+        double deductedValue = 0.0;
+        List<Map<String, Object>> batches = new ArrayList<>();
+
+        while (remaining > 0) {
+            // Always the first page: the lots consumed in the previous round are gone by now
+            List<Item> lots = itemRepository.findFifoLots(
+                    warehouseId, itemType.getId(), ItemStatus.IN_WAREHOUSE, PageRequest.of(0, LOT_PAGE_SIZE));
+            if (lots.isEmpty()) {
+                throw new IllegalStateException("Stock level of " + itemType.getName() + " in warehouse " +
+                        warehouseId + " is ahead of its lots by " + remaining);
+            }
+
+            List<Item> consumed = new ArrayList<>();
+            for (Item lot : lots) {
+                if (remaining <= 0) break;
+
+                int take = Math.min(lot.getQuantity(), remaining);
+
+                Map<String, Object> batch = new HashMap<>();
+                batch.put("quantity", take);
+                batch.put("unitPrice", lot.getUnitPrice());
+                batches.add(batch);
+                if (lot.getUnitPrice() != null) {
+                    deductedValue += take * lot.getUnitPrice();
+                }
+
+                if (lot.getQuantity() <= remaining) {
+                    consumed.add(lot);
+                } else {
+                    lot.setQuantity(lot.getQuantity() - remaining);
+                    lot.calculateTotalValue();
+                    itemRepository.save(lot);
+                }
+                remaining -= take;
+            }
+
+            if (!consumed.isEmpty()) {
+                itemRepository.deleteAll(consumed);
+                itemRepository.flush();
+            }
+        }
+
+        log.debug("Deducted {} x {} from warehouse {} in {} batch(es)",
+                quantityToDeduct, itemType.getName(), warehouseId, batches.size());
+        return new StockDeduction(batches, deductedValue);
+    }
+
+    public record StockDeduction(List<Map<String, Object>> batches, double value) {}
+}
@@ -1,14 +1,26 @@
 package com.example.backend.utils;
 
+import com.example.backend.dto.finance.generalLedger.AuditLogExportRow;
 import com.example.backend.dto.finance.generalLedger.AuditLogResponseDTO;
-import com.example.backend.dto.finance.payables.InvoiceResponseDTO;
+import com.example.backend.dto.finance.payables.AgingBucket;
+import com.example.backend.dto.finance.payables.InvoiceAgingRow;
+import com.example.backend.dto.finance.payables.InvoiceAgingSummary;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -22,20 +34,25 @@ import com.itextpdf.layout.element.Table;
 @Component
 public class ExportUtil {
 
+    private static final String[] AUDIT_LOG_HEADERS = {
+            "ID", "Entity Type", "Entity ID", "Action", "Changes",
+            "Username", "Timestamp", "IP Address", "User Agent"
+    };
+
+    // Excel allows 1,048,576 rows per sheet, one of which is the header
+    static final int XLSX_MAX_DATA_ROWS_PER_SHEET = 1_048_575;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    // Rows added to a large PDF table before its finished part is written out
+    static final int PDF_ROWS_PER_FLUSH = 200;
+
     // Creates a minimal but valid XLSX file
     public byte[] exportAuditLogsToExcel(List<AuditLogResponseDTO> auditLogs) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ZipOutputStream zos = new ZipOutputStream(baos);
-
-        // Add required files for XLSX format
-        addContentTypes(zos);
-        addRels(zos);
-        addWorkbook(zos);
-        addStyles(zos);
-        addSharedStrings(zos, auditLogs);
-        addWorksheet(zos, auditLogs);
-
-        zos.close();
+        writeAuditLogsToExcel(auditLogs.stream().map(AuditLogExportRow::from), baos);
         return baos.toByteArray();
     }
 
@@ -44,19 +61,130 @@ public class ExportUtil {
         return exportAuditLogsToExcel(auditLogs);
     }
 
-    private void addContentTypes(ZipOutputStream zos) throws IOException {
-        String contentTypes =
-                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
-                        "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">\n" +
-                        "  <Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>\n" +
-                        "  <Default Extension=\"xml\" ContentType=\"application/xml\"/>\n" +
-                        "  <Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>\n" +
-                        "  <Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>\n" +
-                        "  <Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>\n" +
-                        "  <Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>\n" +
-                        "</Types>";
-
-        addToZip(zos, "[Content_Types].xml", contentTypes);
+    /**
+     * Streams audit log rows into an XLSX file written straight to {@code out}.
+     * Rows are written one at a time as inline strings (no shared strings table), so memory use
+     * does not depend on the number of rows. Past Excel's row limit the rows continue on a new sheet.
+     * The stream is finished but not closed.
+     */
+    public void writeAuditLogsToExcel(Stream<AuditLogExportRow> rows, OutputStream out) throws IOException {
+        ZipOutputStream zos = new ZipOutputStream(out);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(zos, StandardCharsets.UTF_8), 64 * 1024);
+
+        Iterator<AuditLogExportRow> iterator = rows.iterator();
+        int sheetCount = 0;
+        do {
+            sheetCount++;
+            zos.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+            writer.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">\n");
+            writer.write("<sheetData>\n");
+
+            writeExcelRow(writer, 1, AUDIT_LOG_HEADERS, true);
+            int rowsInSheet = 0;
+            while (rowsInSheet < XLSX_MAX_DATA_ROWS_PER_SHEET && iterator.hasNext()) {
+                writeExcelRow(writer, rowsInSheet + 2, auditLogValues(iterator.next()), false);
+                rowsInSheet++;
+            }
+
+            writer.write("</sheetData>\n</worksheet>");
+            writer.flush();
+            zos.closeEntry();
+        } while (iterator.hasNext());
+
+        // Package parts referencing the sheets are written last, once the sheet count is known
+        addContentTypes(zos, sheetCount);
+        addRels(zos);
+        addWorkbookRels(zos, sheetCount);
+        addWorkbook(zos, sheetCount);
+        addStyles(zos);
+        zos.finish();
+    }
+
+    /**
+     * Streams audit log rows as UTF-8 CSV (with BOM, so Excel detects the encoding) straight to {@code out}.
+     * The stream is flushed but not closed.
+     */
+    public void writeAuditLogsToCsv(Stream<AuditLogExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF');
+        writeCsvRow(writer, AUDIT_LOG_HEADERS);
+
+        Iterator<AuditLogExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writeCsvRow(writer, auditLogValues(iterator.next()));
+        }
+        writer.flush();
+    }
+
+    private String[] auditLogValues(AuditLogExportRow log) {
+        return new String[]{
+                log.id() != null ? log.id().toString() : "",
+                log.entityType() != null ? log.entityType() : "",
+                log.entityId() != null ? log.entityId().toString() : "",
+                log.action() != null ? log.action() : "",
+                log.changes() != null ? log.changes() : "",
+                log.username() != null ? log.username() : "",
+                log.timestamp() != null ? log.timestamp().format(TIMESTAMP_FORMAT) : "",
+                log.ipAddress() != null ? log.ipAddress() : "",
+                log.userAgent() != null ? log.userAgent() : ""
+        };
+    }
+
+    private void writeExcelRow(Writer writer, int rowNum, String[] values, boolean header) throws IOException {
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(rowNum));
+        writer.write("\">");
+        for (int col = 0; col < values.length; col++) {
+            if (values[col].isEmpty()) {
+                continue;
+            }
+            writer.write("<c r=\"");
+            writer.write((char) ('A' + col));
+            writer.write(Integer.toString(rowNum));
+            writer.write(header ? "\" s=\"1\" t=\"inlineStr\"><is><t>" : "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            writeEscapedXml(writer, values[col]);
+            writer.write("</t></is></c>");
+        }
+        writer.write("</row>\n");
+    }
+
+    private void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int col = 0; col < values.length; col++) {
+            if (col > 0) {
+                writer.write(',');
+            }
+            String value = values[col];
+            // Cells starting with a formula character are prefixed so spreadsheets show them as text
+            if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void addContentTypes(ZipOutputStream zos, int sheetCount) throws IOException {
+        StringBuilder contentTypes = new StringBuilder()
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">\n")
+                .append("  <Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>\n")
+                .append("  <Default Extension=\"xml\" ContentType=\"application/xml\"/>\n")
+                .append("  <Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>\n");
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            contentTypes.append("  <Override PartName=\"/xl/worksheets/sheet").append(sheet)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>\n");
+        }
+        contentTypes.append("  <Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>\n")
+                .append("</Types>");
+
+        addToZip(zos, "[Content_Types].xml", contentTypes.toString());
     }
 
     private void addRels(ZipOutputStream zos) throws IOException {
@@ -67,28 +195,39 @@ public class ExportUtil {
                         "</Relationships>";
 
         addToZip(zos, "_rels/.rels", rels);
+    }
 
-        String workbookRels =
-                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
-                        "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">\n" +
-                        "  <Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>\n" +
-                        "  <Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>\n" +
-                        "  <Relationship Id=\"rId3\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings\" Target=\"sharedStrings.xml\"/>\n" +
-                        "</Relationships>";
+    private void addWorkbookRels(ZipOutputStream zos, int sheetCount) throws IOException {
+        // rId1 is the stylesheet, sheets follow as rId2..n
+        StringBuilder workbookRels = new StringBuilder()
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">\n")
+                .append("  <Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>\n");
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            workbookRels.append("  <Relationship Id=\"rId").append(sheet + 1)
+                    .append("\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet")
+                    .append(sheet).append(".xml\"/>\n");
+        }
+        workbookRels.append("</Relationships>");
 
-        addToZip(zos, "xl/_rels/workbook.xml.rels", workbookRels);
+        addToZip(zos, "xl/_rels/workbook.xml.rels", workbookRels.toString());
     }
 
-    private void addWorkbook(ZipOutputStream zos) throws IOException {
-        String workbook =
-                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n" +
-                        "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">\n" +
-                        "  <sheets>\n" +
-                        "    <sheet name=\"Audit Logs\" sheetId=\"1\" r:id=\"rId1\"/>\n" +
-                        "  </sheets>\n" +
-                        "</workbook>";
+    private void addWorkbook(ZipOutputStream zos, int sheetCount) throws IOException {
+        StringBuilder workbook = new StringBuilder()
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
+                .append("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">\n")
+                .append("  <sheets>\n");
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            workbook.append("    <sheet name=\"Audit Logs")
+                    .append(sheet > 1 ? " " + sheet : "")
+                    .append("\" sheetId=\"").append(sheet)
+                    .append("\" r:id=\"rId").append(sheet + 1).append("\"/>\n");
+        }
+        workbook.append("  </sheets>\n")
+                .append("</workbook>");
 
-        addToZip(zos, "xl/workbook.xml", workbook);
+        addToZip(zos, "xl/workbook.xml", workbook.toString());
     }
 
     private void addStyles(ZipOutputStream zos) throws IOException {
@@ -131,101 +270,6 @@ public class ExportUtil {
         addToZip(zos, "xl/styles.xml", styles);
     }
 
-    private void addSharedStrings(ZipOutputStream zos, List<AuditLogResponseDTO> auditLogs) throws IOException {
-        StringBuilder sharedStrings = new StringBuilder();
-        sharedStrings.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
-                .append("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"")
-                .append(9 + auditLogs.size() * 9) // 9 headers + 9 values per row
-                .append("\" uniqueCount=\"")
-                .append(9 + auditLogs.size() * 9)
-                .append("\">\n");
-
-        // Add header strings
-        addSharedString(sharedStrings, "ID");
-        addSharedString(sharedStrings, "Entity Type");
-        addSharedString(sharedStrings, "Entity ID");
-        addSharedString(sharedStrings, "Action");
-        addSharedString(sharedStrings, "Changes");
-        addSharedString(sharedStrings, "Username");
-        addSharedString(sharedStrings, "Timestamp");
-        addSharedString(sharedStrings, "IP Address");
-        addSharedString(sharedStrings, "User Agent");
-
-        // Add data strings
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        for (AuditLogResponseDTO log : auditLogs) {
-            addSharedString(sharedStrings, log.getId() != null ? log.getId().toString() : "");
-            addSharedString(sharedStrings, log.getEntityType() != null ? log.getEntityType() : "");
-            addSharedString(sharedStrings, log.getEntityId() != null ? log.getEntityId().toString() : "");
-            addSharedString(sharedStrings, log.getAction() != null ? log.getAction() : "");
-            addSharedString(sharedStrings, log.getChanges() != null ? log.getChanges() : "");
-            addSharedString(sharedStrings, log.getUsername() != null ? log.getUsername() : "");
-            addSharedString(sharedStrings, log.getTimestamp() != null ? log.getTimestamp().format(formatter) : "");
-            addSharedString(sharedStrings, log.getIpAddress() != null ? log.getIpAddress() : "");
-            addSharedString(sharedStrings, log.getUserAgent() != null ? log.getUserAgent() : "");
-        }
-
-        sharedStrings.append("</sst>");
-
-        addToZip(zos, "xl/sharedStrings.xml", sharedStrings.toString());
-    }
-
-    private void addSharedString(StringBuilder sb, String value) {
-        sb.append("  <si>\n")
-                .append("    <t>")
-                .append(escapeXml(value))
-                .append("</t>\n")
-                .append("  </si>\n");
-    }
-
-    private void addWorksheet(ZipOutputStream zos, List<AuditLogResponseDTO> auditLogs) throws IOException {
-        StringBuilder worksheet = new StringBuilder();
-        worksheet.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n")
-                .append("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">\n")
-                .append("  <sheetData>\n");
-
-        // Add header row
-        worksheet.append("    <row r=\"1\">\n");
-        for (int i = 0; i < 9; i++) {
-            char colLetter = (char)('A' + i);
-            worksheet.append("      <c r=\"")
-                    .append(colLetter)
-                    .append("1\" s=\"1\" t=\"s\">\n")
-                    .append("        <v>")
-                    .append(i)
-                    .append("</v>\n")
-                    .append("      </c>\n");
-        }
-        worksheet.append("    </row>\n");
-
-        // Add data rows
-        int stringIndex = 9; // Start after the header strings
-        for (int rowNum = 0; rowNum < auditLogs.size(); rowNum++) {
-            worksheet.append("    <row r=\"")
-                    .append(rowNum + 2)
-                    .append("\">\n");
-
-            for (int colNum = 0; colNum < 9; colNum++) {
-                char colLetter = (char)('A' + colNum);
-                worksheet.append("      <c r=\"")
-                        .append(colLetter)
-                        .append(rowNum + 2)
-                        .append("\" t=\"s\">\n")
-                        .append("        <v>")
-                        .append(stringIndex++)
-                        .append("</v>\n")
-                        .append("      </c>\n");
-            }
-
-            worksheet.append("    </row>\n");
-        }
-
-        worksheet.append("  </sheetData>\n")
-                .append("</worksheet>");
-
-        addToZip(zos, "xl/worksheets/sheet1.xml", worksheet.toString());
-    }
-
     private void addToZip(ZipOutputStream zos, String entryName, String content) throws IOException {
         ZipEntry entry = new ZipEntry(entryName);
         zos.putNextEntry(entry);
@@ -233,15 +277,25 @@ public class ExportUtil {
         zos.closeEntry();
     }
 
-    private String escapeXml(String s) {
-        if (s == null) {
-            return "";
+    /**
+     * Writes the value XML-escaped, dropping control characters that XML 1.0 does not allow
+     */
+    private void writeEscapedXml(Writer writer, String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '"' -> writer.write("&quot;");
+                case '\'' -> writer.write("&apos;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
         }
-        return s.replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&apos;");
     }
 
     // Add these new methods to your ExportUtil class
@@ -252,121 +306,112 @@ public class ExportUtil {
 
     // Replace your PDF methods with this simplified version that doesn't use UnitValue:
 
-    public byte[] exportAgingReportToPDF(List<InvoiceResponseDTO> invoices0To30,
-                                         List<InvoiceResponseDTO> invoices31To60,
-                                         List<InvoiceResponseDTO> invoices61To90,
-                                         List<InvoiceResponseDTO> invoicesOver90) throws IOException {
+    /**
+     * Streams the invoice aging report as a PDF to {@code out}: the bucket summary, then one detail table
+     * per bucket with a subtotal row after each vendor. Rows must be ordered by bucket, vendor and due date.
+     * Detail tables are written as large tables, flushed every {@link #PDF_ROWS_PER_FLUSH} rows, so memory
+     * use does not depend on the number of invoices. The stream is finished but not closed.
+     */
+    public void writeAgingReportToPDF(InvoiceAgingSummary summary, Iterator<InvoiceAgingRow> rows,
+                                      OutputStream out) throws IOException {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
+            PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf);
 
-            // Title
-            Paragraph title = new Paragraph("Invoice Aging Report")
-                    .setFontSize(20);
-            document.add(title);
-
-            // Date
-            Paragraph dateInfo = new Paragraph("Generated on: " +
-                    java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            document.add(dateInfo);
-
-            // Add some space
+            document.add(new Paragraph("Invoice Aging Report").setFontSize(20));
+            document.add(new Paragraph("Generated on: " + LocalDateTime.now().format(TIMESTAMP_FORMAT)));
             document.add(new Paragraph(" "));
 
             // Summary section
-            Paragraph summaryTitle = new Paragraph("Summary")
-                    .setFontSize(16);
-            document.add(summaryTitle);
-
-            // Summary table - using simple constructor
-            Table summaryTable = new Table(3); // 3 columns
-
-            // Headers
+            document.add(new Paragraph("Summary").setFontSize(16));
+            Table summaryTable = new Table(3);
             summaryTable.addHeaderCell("Age Category");
             summaryTable.addHeaderCell("Count");
             summaryTable.addHeaderCell("Total Amount");
-
-            // Data rows
-            summaryTable.addCell("0-30 Days (Current)");
-            summaryTable.addCell(String.valueOf(invoices0To30.size()));
-            summaryTable.addCell("$" + String.format("%.2f", calculateTotal(invoices0To30)));
-
-            summaryTable.addCell("31-60 Days");
-            summaryTable.addCell(String.valueOf(invoices31To60.size()));
-            summaryTable.addCell("$" + String.format("%.2f", calculateTotal(invoices31To60)));
-
-            summaryTable.addCell("61-90 Days");
-            summaryTable.addCell(String.valueOf(invoices61To90.size()));
-            summaryTable.addCell("$" + String.format("%.2f", calculateTotal(invoices61To90)));
-
-            summaryTable.addCell("Over 90 Days (Critical)");
-            summaryTable.addCell(String.valueOf(invoicesOver90.size()));
-            summaryTable.addCell("$" + String.format("%.2f", calculateTotal(invoicesOver90)));
-
+            for (AgingBucket bucket : AgingBucket.values()) {
+                summaryTable.addCell(bucket.getLabel());
+                summaryTable.addCell(String.valueOf(summary.invoiceCount(bucket)));
+                summaryTable.addCell(formatAmount(summary.remainingBalance(bucket)));
+            }
             document.add(summaryTable);
-            document.add(new Paragraph(" ")); // Spacer
+            document.add(new Paragraph(" "));
 
-            // Detail sections
-            addInvoiceDetailSection(document, "0-30 Days (Current)", invoices0To30);
-            addInvoiceDetailSection(document, "31-60 Days", invoices31To60);
-            addInvoiceDetailSection(document, "61-90 Days", invoices61To90);
-            addInvoiceDetailSection(document, "Over 90 Days (Critical)", invoicesOver90);
+            // Detail sections, one per bucket that has invoices
+            Table detailTable = null;
+            InvoiceAgingRow previous = null;
+            int rowsSinceFlush = 0;
+            while (rows.hasNext()) {
+                InvoiceAgingRow row = rows.next();
+                boolean newBucket = previous == null || row.bucket() != previous.bucket();
+                if (previous != null && (newBucket || !Objects.equals(row.vendorName(), previous.vendorName()))) {
+                    addVendorSubtotal(detailTable, previous);
+                }
+                if (newBucket) {
+                    if (detailTable != null) {
+                        finishAgingDetailTable(document, detailTable);
+                    }
+                    detailTable = startAgingDetailTable(document, row.bucket(), summary.invoiceCount(row.bucket()));
+                    rowsSinceFlush = 0;
+                }
+
+                detailTable.addCell(row.invoiceNumber() != null ? row.invoiceNumber() : "");
+                detailTable.addCell(row.vendorName() != null ? row.vendorName() : "");
+                detailTable.addCell(formatAmount(row.totalAmount()));
+                detailTable.addCell(formatAmount(row.remainingBalance()));
+                detailTable.addCell(row.dueDate() != null ? row.dueDate().format(DATE_FORMAT) : "");
+                detailTable.addCell(row.daysPastDue() > 0 ? String.valueOf(row.daysPastDue()) : "Not due");
+                previous = row;
+
+                if (++rowsSinceFlush >= PDF_ROWS_PER_FLUSH) {
+                    detailTable.flush();
+                    rowsSinceFlush = 0;
+                }
+            }
+            if (detailTable != null) {
+                addVendorSubtotal(detailTable, previous);
+                finishAgingDetailTable(document, detailTable);
+            }
 
             document.close();
-            return baos.toByteArray();
-
         } catch (Exception e) {
             throw new IOException("Failed to generate PDF: " + e.getMessage(), e);
         }
     }
 
-    private void addInvoiceDetailSection(Document document, String categoryName,
-                                         List<InvoiceResponseDTO> invoices) {
-        if (invoices.isEmpty()) {
-            return;
-        }
-
-        // Category header
-        Paragraph categoryHeader = new Paragraph(categoryName + " (" + invoices.size() + " invoices)")
-                .setFontSize(14);
-        document.add(categoryHeader);
-
-        // Invoice table - using simple constructor with 6 columns
-        Table invoiceTable = new Table(6);
+    // Adds the bucket heading and an open large table that is filled and flushed row by row
+    private Table startAgingDetailTable(Document document, AgingBucket bucket, long invoiceCount) {
+        document.add(new Paragraph(bucket.getLabel() + " (" + invoiceCount + " invoices)").setFontSize(14));
 
-        // Headers
+        Table invoiceTable = new Table(6, true);
         invoiceTable.addHeaderCell("Invoice #");
         invoiceTable.addHeaderCell("Vendor");
         invoiceTable.addHeaderCell("Total Amount");
         invoiceTable.addHeaderCell("Remaining");
         invoiceTable.addHeaderCell("Due Date");
         invoiceTable.addHeaderCell("Days Overdue");
-
-        // Data rows
-        for (InvoiceResponseDTO invoice : invoices) {
-            long daysOverdue = java.time.temporal.ChronoUnit.DAYS.between(
-                    invoice.getDueDate(), java.time.LocalDate.now());
-
-            invoiceTable.addCell(invoice.getInvoiceNumber() != null ? invoice.getInvoiceNumber() : "");
-            invoiceTable.addCell(invoice.getVendorName() != null ? invoice.getVendorName() : "");
-            invoiceTable.addCell("$" + String.format("%.2f", invoice.getTotalAmount()));
-            invoiceTable.addCell("$" + String.format("%.2f", invoice.getRemainingBalance()));
-            invoiceTable.addCell(invoice.getDueDate() != null ?
-                    invoice.getDueDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) : "");
-            invoiceTable.addCell(daysOverdue > 0 ? String.valueOf(daysOverdue) : "Not due");
-        }
-
         document.add(invoiceTable);
+        return invoiceTable;
+    }
+
+    private void finishAgingDetailTable(Document document, Table invoiceTable) {
+        invoiceTable.complete();
         document.add(new Paragraph(" ")); // Add space after each section
     }
 
-    // Helper method to calculate total
-    private double calculateTotal(List<InvoiceResponseDTO> invoices) {
-        return invoices.stream()
-                .mapToDouble(invoice -> invoice.getRemainingBalance().doubleValue())
-                .sum();
+    private void addVendorSubtotal(Table invoiceTable, InvoiceAgingRow lastRowOfVendor) {
+        invoiceTable.addCell("Subtotal");
+        invoiceTable.addCell((lastRowOfVendor.vendorName() != null ? lastRowOfVendor.vendorName() : "")
+                + " (" + lastRowOfVendor.vendorInvoiceCount() + ")");
+        invoiceTable.addCell("");
+        invoiceTable.addCell(formatAmount(lastRowOfVendor.vendorRemainingBalance()));
+        invoiceTable.addCell("");
+        invoiceTable.addCell("");
+    }
+
+    private String formatAmount(BigDecimal amount) {
+        return "$" + String.format("%.2f", amount != null ? amount : BigDecimal.ZERO);
     }
 ////
 ////    // Helper method to add aging category to PDF
@@ -0,0 +1,105 @@
+package com.example.backend.utils.pagination;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Building blocks for the typed list filters. Every method returns null when its filter value is
+ * not set, and Specification.allOf skips nulls, so a filter object is just the conjunction of its parts.
+ */
+public final class FilterSpecs {
+
+    private FilterSpecs() {
+    }
+
+    /**
+     * attribute = value; attribute may be a dotted path to a to-one association ("site.id")
+     */
+    public static <E> Specification<E> equal(String attribute, Object value) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(path(root, attribute), value);
+    }
+
+    /**
+     * Case-insensitive equality, for the string status columns
+     */
+    public static <E> Specification<E> equalIgnoreCase(String attribute, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(cb.upper(path(root, attribute)), value.trim().toUpperCase());
+    }
+
+    /**
+     * Case-insensitive substring match on any of the attributes
+     */
+    public static <E> Specification<E> containsIgnoreCase(String text, String... attributes) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(text.trim().toLowerCase()) + "%";
+        return (root, query, cb) -> cb.or(Arrays.stream(attributes)
+                .map(attribute -> cb.like(cb.lower(path(root, attribute)), pattern, '\\'))
+                .toArray(Predicate[]::new));
+    }
+
+    /**
+     * Date-time attribute within [from, to] (whole days, either end optional)
+     */
+    public static <E> Specification<E> withinDays(String attribute, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDateTime> path = path(root, attribute);
+            if (from == null) {
+                return cb.lessThan(path, to.plusDays(1).atStartOfDay());
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from.atStartOfDay());
+            }
+            return cb.and(cb.greaterThanOrEqualTo(path, from.atStartOfDay()),
+                    cb.lessThan(path, to.plusDays(1).atStartOfDay()));
+        };
+    }
+
+    /**
+     * Date attribute within [from, to] (either end optional)
+     */
+    public static <E> Specification<E> betweenDates(String attribute, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDate> path = path(root, attribute);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(path, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(path, from);
+            }
+            return cb.between(path, from, to);
+        };
+    }
+
+    private static <T> Path<T> path(Path<?> root, String attribute) {
+        Path<?> path = root;
+        for (String part : attribute.split("\\.")) {
+            path = path.get(part);
+        }
+        @SuppressWarnings("unchecked")
+        Path<T> typed = (Path<T>) path;
+        return typed;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
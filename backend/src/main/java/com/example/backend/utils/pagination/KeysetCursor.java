@@ -0,0 +1,48 @@
+package com.example.backend.utils.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a sorted list: the sort value and id of the last row returned.
+ * Also records the sort it was issued for, so it cannot be replayed against another ordering.
+ * Sent to clients as an opaque URL-safe string.
+ */
+public record KeysetCursor(String sort, Sort.Direction direction, UUID id, String value) {
+
+    private static final String NULL_VALUE = "~";
+    private static final String VALUE_PREFIX = "=";
+
+    public String encode() {
+        String raw = sort + "|" + direction + "|" + id + "|" + (value == null ? NULL_VALUE : VALUE_PREFIX + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor from a client; a missing cursor means the first page (null)
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The value goes last and may itself contain the separator
+            String[] parts = raw.split("\\|", 4);
+            String value;
+            if (parts[3].equals(NULL_VALUE)) {
+                value = null;
+            } else if (parts[3].startsWith(VALUE_PREFIX)) {
+                value = parts[3].substring(VALUE_PREFIX.length());
+            } else {
+                throw new IllegalArgumentException();
+            }
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), UUID.fromString(parts[2]), value);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+}
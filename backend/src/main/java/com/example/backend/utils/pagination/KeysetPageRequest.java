@@ -0,0 +1,29 @@
+package com.example.backend.utils.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Paging query parameters of a list endpoint: ?cursor=...&amp;size=50&amp;sort=createdAt&amp;direction=desc.
+ * Omit the cursor for the first page; sort and direction default to the endpoint's own ordering.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageRequest {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private String cursor;
+    private Integer size;
+    private String sort;
+    private String direction;
+
+    public int resolvedSize() {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.backend.utils.pagination;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over a filtered, sorted entity query.
+ * <p>
+ * Each page continues strictly after the (sort value, id) of the previous page's last row, so the
+ * database reads just one page from the index no matter how deep the client scrolls, and rows
+ * inserted meanwhile do not shift or repeat entries. One extra row is fetched to know whether
+ * another page exists; no count query is run.
+ * <p>
+ * Null sort values follow PostgreSQL's default ordering: last when ascending, first when descending.
+ */
+public final class KeysetPager {
+
+    private KeysetPager() {
+    }
+
+    public static <E, D> CursorPage<D> fetch(JpaSpecificationExecutor<E> repository,
+                                             Specification<E> filter,
+                                             KeysetPageRequest request,
+                                             SortKeys<E> sortKeys,
+                                             Function<List<E>, List<D>> mapper) {
+        SortKeys.Key<E> key = sortKeys.resolve(request.getSort());
+        Sort.Direction direction = sortKeys.resolveDirection(request.getDirection());
+        int pageSize = request.resolvedSize();
+
+        KeysetCursor cursor = KeysetCursor.decode(request.getCursor());
+        if (cursor != null && (!cursor.sort().equals(key.attribute()) || cursor.direction() != direction)) {
+            throw new IllegalArgumentException("Page cursor was issued for a different sort");
+        }
+
+        Specification<E> spec = Specification.where(filter);
+        if (cursor != null) {
+            spec = spec.and(after(key.attribute(), direction, cursor));
+        }
+        Sort sort = Sort.by(direction, key.attribute()).and(Sort.by(direction, "id"));
+
+        List<E> rows = repository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            E last = page.get(page.size() - 1);
+            Object value = key.getter().apply(last);
+            nextCursor = new KeysetCursor(key.attribute(), direction, sortKeys.idOf(last),
+                    value == null ? null : formatValue(value)).encode();
+        }
+
+        return new CursorPage<>(mapper.apply(page), nextCursor, hasMore);
+    }
+
+    /**
+     * Rows strictly after the cursor in (attribute, id) order
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <E> Specification<E> after(String attribute, Sort.Direction direction, KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Comparable> value = root.get(attribute);
+            Path<UUID> id = root.get("id");
+            boolean ascending = direction.isAscending();
+            Predicate idAfter = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+
+            if (cursor.value() == null) {
+                Predicate nextNull = cb.and(cb.isNull(value), idAfter);
+                // Ascending, nulls come last; descending, they come first and every non-null row follows
+                return ascending ? nextNull : cb.or(nextNull, cb.isNotNull(value));
+            }
+
+            Comparable cursorValue = parseValue(cursor.value(), value.getJavaType());
+            Predicate beyond = ascending ? cb.greaterThan(value, cursorValue) : cb.lessThan(value, cursorValue);
+            Predicate tie = cb.and(cb.equal(value, cursorValue), idAfter);
+            return ascending ? cb.or(beyond, tie, cb.isNull(value)) : cb.or(beyond, tie);
+        };
+    }
+
+    static String formatValue(Object value) {
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Comparable parseValue(String raw, Class<?> type) {
+        try {
+            if (type == String.class) return raw;
+            if (type == LocalDateTime.class) return LocalDateTime.parse(raw);
+            if (type == LocalDate.class) return LocalDate.parse(raw);
+            if (type == UUID.class) return UUID.fromString(raw);
+            if (type == BigDecimal.class) return new BigDecimal(raw);
+            if (type == Integer.class || type == int.class) return Integer.valueOf(raw);
+            if (type == Long.class || type == long.class) return Long.valueOf(raw);
+            if (type == Double.class || type == double.class) return Double.valueOf(raw);
+            if (type.isEnum()) return Enum.valueOf((Class<? extends Enum>) type, raw);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        throw new IllegalStateException("Keyset pagination does not support sorting on " + type.getSimpleName());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.utils.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * The orderings a list endpoint allows, each on a single entity attribute (ties broken by id).
+ * Only whitelisted attributes can be sorted on, so clients cannot order by unindexed or nested columns.
+ */
+public final class SortKeys<E> {
+
+    private final Map<String, Key<E>> keys = new LinkedHashMap<>();
+    private final Function<E, UUID> idGetter;
+    private final Key<E> defaultKey;
+    private final Sort.Direction defaultDirection;
+
+    private SortKeys(Function<E, UUID> idGetter, Key<E> defaultKey, Sort.Direction defaultDirection) {
+        this.idGetter = idGetter;
+        this.defaultKey = defaultKey;
+        this.defaultDirection = defaultDirection;
+        keys.put(defaultKey.attribute(), defaultKey);
+    }
+
+    /**
+     * Start with the default ordering. The getters read the id and sort attribute of the last row
+     * of a page for the next-page cursor.
+     */
+    public static <E> SortKeys<E> by(Function<E, UUID> idGetter, String attribute, Function<E, ?> getter,
+                                     Sort.Direction defaultDirection) {
+        return new SortKeys<>(idGetter, new Key<>(attribute, getter), defaultDirection);
+    }
+
+    public SortKeys<E> or(String attribute, Function<E, ?> getter) {
+        keys.put(attribute, new Key<>(attribute, getter));
+        return this;
+    }
+
+    UUID idOf(E entity) {
+        return idGetter.apply(entity);
+    }
+
+    Key<E> resolve(String attribute) {
+        if (attribute == null || attribute.isBlank()) {
+            return defaultKey;
+        }
+        Key<E> key = keys.get(attribute);
+        if (key == null) {
+            throw new IllegalArgumentException("Unsupported sort: " + attribute + ". Allowed: " + keys.keySet());
+        }
+        return key;
+    }
+
+    Sort.Direction resolveDirection(String direction) {
+        if (direction == null || direction.isBlank()) {
+            return defaultDirection;
+        }
+        return Sort.Direction.fromString(direction);
+    }
+
+    record Key<E>(String attribute, Function<E, ?> getter) {}
+}
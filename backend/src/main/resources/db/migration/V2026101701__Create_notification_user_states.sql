@@ -0,0 +1,62 @@
+-- Per-user read / hidden state for broadcast notifications
+-- Entity: com.example.backend.models.notification.NotificationUserState
+-- Replaces the comma-separated notifications.read_by_users / hidden_by_users TEXT columns.
+-- The legacy columns are backfilled from and then left in place (no longer mapped).
+-- On a fresh database the notifications table is created by Hibernate, which also creates this table.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'notifications') THEN
+
+        CREATE TABLE IF NOT EXISTS notification_user_states (
+            id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+            notification_id UUID NOT NULL,
+            user_id UUID NOT NULL,
+            is_read BOOLEAN NOT NULL DEFAULT FALSE,
+            is_hidden BOOLEAN NOT NULL DEFAULT FALSE,
+            read_at TIMESTAMP,
+            hidden_at TIMESTAMP,
+            CONSTRAINT uk_notification_user_state UNIQUE (notification_id, user_id),
+            CONSTRAINT fk_notification_user_state_notification FOREIGN KEY (notification_id)
+                REFERENCES notifications(id) ON DELETE CASCADE
+        );
+
+        CREATE INDEX IF NOT EXISTS idx_notification_user_state_user
+            ON notification_user_states (user_id, notification_id);
+
+        -- Supports the unread count and the per-user feed
+        CREATE INDEX IF NOT EXISTS idx_notifications_user_read
+            ON notifications (user_id, is_read);
+        CREATE INDEX IF NOT EXISTS idx_notifications_created_at
+            ON notifications (created_at);
+
+        -- Backfill from the legacy comma-separated columns
+        IF EXISTS (
+            SELECT 1 FROM information_schema.columns
+            WHERE table_name = 'notifications' AND column_name = 'read_by_users'
+        ) THEN
+            INSERT INTO notification_user_states (notification_id, user_id, is_read, read_at)
+            SELECT DISTINCT n.id, trim(u.user_id)::uuid, TRUE, n.created_at
+            FROM notifications n,
+                 unnest(string_to_array(n.read_by_users, ',')) AS u(user_id)
+            WHERE n.user_id IS NULL
+              AND trim(u.user_id) ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$'
+            ON CONFLICT (notification_id, user_id) DO NOTHING;
+        END IF;
+
+        IF EXISTS (
+            SELECT 1 FROM information_schema.columns
+            WHERE table_name = 'notifications' AND column_name = 'hidden_by_users'
+        ) THEN
+            INSERT INTO notification_user_states (notification_id, user_id, is_hidden, hidden_at)
+            SELECT DISTINCT n.id, trim(u.user_id)::uuid, TRUE, n.created_at
+            FROM notifications n,
+                 unnest(string_to_array(n.hidden_by_users, ',')) AS u(user_id)
+            WHERE n.user_id IS NULL
+              AND trim(u.user_id) ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$'
+            ON CONFLICT (notification_id, user_id)
+                DO UPDATE SET is_hidden = TRUE, hidden_at = EXCLUDED.hidden_at;
+        END IF;
+
+    END IF;
+END $$;
@@ -0,0 +1,16 @@
+-- Keyset indexes for the paginated notification feed (GET /api/notifications/feed)
+-- Each branch of the feed query walks one of these in (created_at, id) order and stops after a page
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'notifications') THEN
+        -- User-specific notifications
+        CREATE INDEX IF NOT EXISTS idx_notifications_user_feed
+            ON notifications (user_id, created_at DESC, id DESC);
+
+        -- Broadcast notifications
+        CREATE INDEX IF NOT EXISTS idx_notifications_broadcast_feed
+            ON notifications (created_at DESC, id DESC)
+            WHERE user_id IS NULL;
+    END IF;
+END $$;
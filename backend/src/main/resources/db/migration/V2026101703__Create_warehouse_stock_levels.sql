@@ -0,0 +1,92 @@
+-- On-hand stock per (warehouse, item type, status), maintained by a trigger on item
+-- Entity: com.example.backend.models.warehouse.WarehouseStockLevel
+-- Deductions lock the single aggregate row instead of summing every lot, and consume lots
+-- through idx_item_fifo_lots instead of sorting them in Java.
+-- On a fresh database the item table is created by Hibernate after Flyway has run;
+-- StockLedgerInitializer re-runs this script at startup when the trigger is missing.
+
+CREATE OR REPLACE FUNCTION apply_item_stock_level_change() RETURNS TRIGGER AS $fn$
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND NEW.quantity = OLD.quantity
+        AND NEW.total_value IS NOT DISTINCT FROM OLD.total_value
+        AND NEW.item_status IS NOT DISTINCT FROM OLD.item_status
+        AND NEW.warehouse_id = OLD.warehouse_id
+        AND NEW.item_type_id = OLD.item_type_id THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.item_status IS NOT NULL THEN
+        UPDATE warehouse_stock_levels
+        SET quantity = quantity - OLD.quantity,
+            total_value = total_value - COALESCE(OLD.total_value, 0),
+            updated_at = now()
+        WHERE warehouse_id = OLD.warehouse_id
+          AND item_type_id = OLD.item_type_id
+          AND item_status = OLD.item_status;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.item_status IS NOT NULL THEN
+        INSERT INTO warehouse_stock_levels (id, warehouse_id, item_type_id, item_status, quantity, total_value, updated_at)
+        VALUES (gen_random_uuid(), NEW.warehouse_id, NEW.item_type_id, NEW.item_status,
+                NEW.quantity, COALESCE(NEW.total_value, 0), now())
+        ON CONFLICT (warehouse_id, item_type_id, item_status) DO UPDATE
+            SET quantity = warehouse_stock_levels.quantity + EXCLUDED.quantity,
+                total_value = warehouse_stock_levels.total_value + EXCLUDED.total_value,
+                updated_at = EXCLUDED.updated_at;
+    END IF;
+
+    RETURN NULL;
+END;
+$fn$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'item') THEN
+
+        CREATE TABLE IF NOT EXISTS warehouse_stock_levels (
+            id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+            warehouse_id UUID NOT NULL,
+            item_type_id UUID NOT NULL,
+            item_status VARCHAR(255) NOT NULL,
+            quantity BIGINT NOT NULL DEFAULT 0,
+            total_value DOUBLE PRECISION NOT NULL DEFAULT 0,
+            updated_at TIMESTAMP,
+            CONSTRAINT uk_warehouse_stock_level UNIQUE (warehouse_id, item_type_id, item_status)
+        );
+
+        -- FIFO order of the lots of one item type in one warehouse
+        CREATE INDEX IF NOT EXISTS idx_item_fifo_lots
+            ON item (warehouse_id, item_type_id, item_status, created_at, id);
+
+        -- No lot may change between the backfill and the trigger taking over
+        LOCK TABLE item IN SHARE ROW EXCLUSIVE MODE;
+
+        DROP TRIGGER IF EXISTS trg_item_stock_levels ON item;
+        CREATE TRIGGER trg_item_stock_levels
+            AFTER INSERT OR UPDATE OR DELETE ON item
+            FOR EACH ROW EXECUTE FUNCTION apply_item_stock_level_change();
+
+        INSERT INTO warehouse_stock_levels (id, warehouse_id, item_type_id, item_status, quantity, total_value, updated_at)
+        SELECT gen_random_uuid(), warehouse_id, item_type_id, item_status,
+               SUM(quantity), SUM(COALESCE(total_value, 0)), now()
+        FROM item
+        WHERE item_status IS NOT NULL
+        GROUP BY warehouse_id, item_type_id, item_status
+        ON CONFLICT (warehouse_id, item_type_id, item_status) DO UPDATE
+            SET quantity = EXCLUDED.quantity,
+                total_value = EXCLUDED.total_value,
+                updated_at = EXCLUDED.updated_at;
+
+        -- Aggregates whose lots are all gone
+        UPDATE warehouse_stock_levels s
+        SET quantity = 0, total_value = 0, updated_at = now()
+        WHERE NOT EXISTS (
+            SELECT 1 FROM item i
+            WHERE i.warehouse_id = s.warehouse_id
+              AND i.item_type_id = s.item_type_id
+              AND i.item_status = s.item_status
+        );
+
+    END IF;
+END $$;
@@ -0,0 +1,16 @@
+-- Indexes for the batched restock validation (RequestOrderService.getRestockValidationInfo)
+-- The query finds a warehouse's recent PENDING/APPROVED request orders, joins their items on the
+-- requested item types and keeps the newest request per item type.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'request_order') THEN
+        CREATE INDEX IF NOT EXISTS idx_request_order_requester_recent
+            ON request_order (requester_id, created_at DESC);
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'request_order_item') THEN
+        CREATE INDEX IF NOT EXISTS idx_request_order_item_order_type
+            ON request_order_item (request_order_id, item_type_id);
+    END IF;
+END $$;
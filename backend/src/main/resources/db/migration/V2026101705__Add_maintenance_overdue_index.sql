@@ -0,0 +1,12 @@
+-- Index for the maintenance dashboard overdue count (MaintenanceRecordRepository.countOverdueRecords)
+-- Only ACTIVE records can be overdue, so a partial index on their expected completion date keeps it small.
+-- The recent-records query uses the existing idx_maintenance_records_creation_date.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'maintenance_records') THEN
+        CREATE INDEX IF NOT EXISTS idx_maintenance_records_active_expected_completion
+            ON maintenance_records (expected_completion_date)
+            WHERE status = 'ACTIVE';
+    END IF;
+END $$;
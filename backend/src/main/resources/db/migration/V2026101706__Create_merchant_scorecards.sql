@@ -0,0 +1,51 @@
+-- Materialized merchant delivery scorecards
+-- Entity: com.example.backend.models.merchant.MerchantScorecard
+-- One row of delivery aggregates per merchant (plus issue counts per type), refreshed in SQL for
+-- the merchants touched by a delivery or an issue resolution and rebuilt nightly by
+-- MerchantScorecardRebuildJob. Rows are filled on first read, so no backfill is needed here.
+-- On a fresh database the procurement tables are created by Hibernate, which also creates these.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'delivery_item_receipts') THEN
+
+        CREATE TABLE IF NOT EXISTS merchant_scorecards (
+            merchant_id UUID PRIMARY KEY,
+            total_receipts INTEGER NOT NULL DEFAULT 0,
+            good_deliveries INTEGER NOT NULL DEFAULT 0,
+            redeliveries INTEGER NOT NULL DEFAULT 0,
+            total_items_delivered DOUBLE PRECISION NOT NULL DEFAULT 0,
+            total_issue_quantity DOUBLE PRECISION NOT NULL DEFAULT 0,
+            total_issues INTEGER NOT NULL DEFAULT 0,
+            issues_resolved INTEGER NOT NULL DEFAULT 0,
+            first_delivery_at TIMESTAMP,
+            last_delivery_at TIMESTAMP,
+            consecutive_good_deliveries INTEGER NOT NULL DEFAULT 0,
+            delivery_gap_average DOUBLE PRECISION,
+            delivery_gap_std_dev DOUBLE PRECISION,
+            recent_deliveries INTEGER NOT NULL DEFAULT 0,
+            previous_deliveries INTEGER NOT NULL DEFAULT 0,
+            most_ordered_item VARCHAR(255),
+            most_ordered_item_quantity INTEGER NOT NULL DEFAULT 0,
+            computed_at TIMESTAMP NOT NULL
+        );
+
+        CREATE TABLE IF NOT EXISTS merchant_scorecard_issue_types (
+            merchant_id UUID NOT NULL,
+            issue_type VARCHAR(255) NOT NULL,
+            issue_count INTEGER NOT NULL,
+            PRIMARY KEY (merchant_id, issue_type),
+            CONSTRAINT fk_merchant_scorecard_issue_type_scorecard FOREIGN KEY (merchant_id)
+                REFERENCES merchant_scorecards(merchant_id) ON DELETE CASCADE
+        );
+
+        -- Merchant -> order items -> receipts -> issues, walked by the scorecard refresh
+        CREATE INDEX IF NOT EXISTS idx_purchase_order_item_merchant
+            ON purchase_order_item (merchant_id);
+        CREATE INDEX IF NOT EXISTS idx_delivery_item_receipts_po_item
+            ON delivery_item_receipts (purchase_order_item_id);
+        CREATE INDEX IF NOT EXISTS idx_purchase_order_issues_receipt
+            ON purchase_order_issues (delivery_item_receipt_id);
+
+    END IF;
+END $$;
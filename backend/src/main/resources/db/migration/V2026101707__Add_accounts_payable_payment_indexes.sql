@@ -0,0 +1,14 @@
+-- Indexes for the accounts payable dashboard (AccountPayablePaymentRepository)
+-- The merchant summaries group completed payments per merchant inside an optional payment date window,
+-- then look up each listed merchant's latest payment; the paid-today card filters on payment_date alone.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'accounts_payable_payments') THEN
+        CREATE INDEX IF NOT EXISTS idx_accounts_payable_payments_completed_merchant_date
+            ON accounts_payable_payments (paid_to_merchant_id, payment_date)
+            WHERE status = 'COMPLETED';
+        CREATE INDEX IF NOT EXISTS idx_accounts_payable_payments_payment_date
+            ON accounts_payable_payments (payment_date);
+    END IF;
+END $$;
@@ -0,0 +1,10 @@
+-- Index for the invoice aging report (InvoiceRepository aging queries)
+-- The report and the per-bucket lists read unpaid invoices by status, the lists within a due date range.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'invoices') THEN
+        CREATE INDEX IF NOT EXISTS idx_invoices_status_due_date
+            ON invoices (status, due_date);
+    END IF;
+END $$;
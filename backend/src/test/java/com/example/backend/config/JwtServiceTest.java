@@ -0,0 +1,105 @@
+package com.example.backend.config;
+
+import com.example.backend.events.UserAccessChangedEvent;
+import com.example.backend.models.user.Role;
+import com.example.backend.models.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtServiceTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        jwtService = new JwtService(userDetailsService, 100, 100, 300);
+        user = User.builder().username("jdoe").firstName("J").lastName("Doe").password("x").role(Role.ADMIN).build();
+    }
+
+    @Test
+    public void authenticate_sameTokenTwice_shouldLoadUserOnce() {
+        when(userDetailsService.loadUserByUsername("jdoe")).thenReturn(user);
+        String token = jwtService.generateToken(user);
+
+        assertSame(user, jwtService.authenticate(token));
+        assertSame(user, jwtService.authenticate(token));
+
+        verify(userDetailsService, times(1)).loadUserByUsername("jdoe");
+        JwtService.AuthCacheStats stats = jwtService.getAuthCacheStats();
+        assertEquals(2, stats.authentications());
+        assertEquals(0, stats.rejections());
+        assertEquals(0.5, stats.tokenHitRate());
+        assertEquals(0.5, stats.principalHitRate());
+    }
+
+    @Test
+    public void authenticate_afterUserAccessChanged_shouldReloadUser() {
+        User demoted = User.builder().username("jdoe").firstName("J").lastName("Doe").password("x")
+                .role(Role.USER).build();
+        when(userDetailsService.loadUserByUsername("jdoe")).thenReturn(user, demoted);
+        String token = jwtService.generateToken(user);
+
+        jwtService.authenticate(token);
+        jwtService.onUserAccessChanged(new UserAccessChangedEvent("jdoe"));
+
+        assertEquals(Role.USER, jwtService.authenticate(token).getRole());
+        verify(userDetailsService, times(2)).loadUserByUsername("jdoe");
+    }
+
+    @Test
+    public void authenticate_tamperedToken_shouldReturnNull() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(jwtService.authenticate(tampered));
+        assertNull(jwtService.authenticate("not-a-jwt"));
+        assertEquals(2, jwtService.getAuthCacheStats().rejections());
+    }
+
+    @Test
+    public void authenticate_removedUser_shouldReturnNull() {
+        when(userDetailsService.loadUserByUsername("jdoe")).thenThrow(new UsernameNotFoundException("User not found"));
+
+        assertNull(jwtService.authenticate(jwtService.generateToken(user)));
+    }
+
+    @Test
+    public void authenticate_cachedTokenPastExpiry_shouldBeRejected() {
+        when(userDetailsService.loadUserByUsername("jdoe")).thenReturn(user);
+        String token = jwtService.generateToken(user);
+        assertNotNull(jwtService.authenticate(token));
+
+        jwtService.clock = Clock.fixed(Instant.now().plus(Duration.ofDays(2)), ZoneOffset.UTC);
+
+        assertNull(jwtService.authenticate(token));
+    }
+
+    @Test
+    public void isTokenValid_shouldMatchSubject() {
+        String token = jwtService.generateToken(user);
+
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertFalse(jwtService.isTokenValid(token, User.builder().username("other").build()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.backend.controllers;
+
+import com.example.backend.config.JwtService;
+import com.example.backend.services.DatabaseFileStorageService;
+import com.example.backend.services.FileDownload;
+import com.example.backend.services.FileStorageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = FileDownloadController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class FileDownloadControllerTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FileStorageService fileStorageService;
+
+    @MockBean
+    private DatabaseFileStorageService databaseFileStorageService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @Test
+    public void downloadObject_noRange_shouldStreamWholeFile() throws Exception {
+        given(fileStorageService.openDownload(any(), any())).willReturn(new InMemoryDownload());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/files/object").param("key", "docs/contract.pdf"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    public void downloadObject_range_shouldReturnPartialContent() throws Exception {
+        given(fileStorageService.openDownload(any(), any())).willReturn(new InMemoryDownload());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/files/object").param("key", "docs/contract.pdf")
+                        .header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 2, 6)));
+    }
+
+    @Test
+    public void downloadObject_staleIfRange_shouldReturnWholeFile() throws Exception {
+        given(fileStorageService.openDownload(any(), any())).willReturn(new InMemoryDownload());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/files/object").param("key", "docs/contract.pdf")
+                        .header(HttpHeaders.RANGE, "bytes=2-5")
+                        .header(HttpHeaders.IF_RANGE, "\"v0\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    public void downloadObject_rangeBeyondEnd_shouldReturn416() throws Exception {
+        given(fileStorageService.openDownload(any(), any())).willReturn(new InMemoryDownload());
+
+        mockMvc.perform(get("/api/v1/files/object").param("key", "docs/contract.pdf")
+                        .header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    public void downloadObject_matchingIfNoneMatch_shouldReturn304() throws Exception {
+        given(fileStorageService.openDownload(any(), any())).willReturn(new InMemoryDownload());
+
+        mockMvc.perform(get("/api/v1/files/object").param("key", "docs/contract.pdf")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void downloadObject_bucketParameter_shouldBeIgnored() throws Exception {
+        given(fileStorageService.openDownload(any(), any())).willReturn(new InMemoryDownload());
+
+        mockMvc.perform(get("/api/v1/files/object").param("key", "docs/contract.pdf").param("bucket", "other-bucket"))
+                .andExpect(request().asyncStarted());
+
+        verify(fileStorageService).openDownload("rockops", "docs/contract.pdf");
+    }
+
+    @Test
+    public void downloadObject_missing_shouldReturn404() throws Exception {
+        given(fileStorageService.openDownload(any(), any())).willThrow(new RuntimeException("NoSuchKey"));
+
+        mockMvc.perform(get("/api/v1/files/object").param("key", "missing.pdf"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void downloadStoredFile_shouldStreamFromDatabaseStorage() throws Exception {
+        given(databaseFileStorageService.openDownload("file-1")).willReturn(new InMemoryDownload());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/files/file-1").header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 7, 10)));
+    }
+
+    private static class InMemoryDownload implements FileDownload {
+        @Override
+        public String fileName() {
+            return "contract.pdf";
+        }
+
+        @Override
+        public String contentType() {
+            return "application/pdf";
+        }
+
+        @Override
+        public long contentLength() {
+            return CONTENT.length;
+        }
+
+        @Override
+        public String eTag() {
+            return "v1";
+        }
+
+        @Override
+        public Instant lastModified() {
+            return Instant.parse("2026-01-01T00:00:00Z");
+        }
+
+        @Override
+        public void writeTo(OutputStream out, long offset, long length) throws IOException {
+            out.write(CONTENT, (int) offset, (int) length);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -111,7 +112,7 @@ public class AccountsPayableDashboardControllerTest {
         MerchantPaymentSummaryResponseDTO merchantSummary =
                 new MerchantPaymentSummaryResponseDTO();
 
-        given(dashboardService.getMerchantPaymentSummaries())
+        given(dashboardService.getMerchantPaymentSummaries(null, null, null))
                 .willReturn(List.of(merchantSummary));
 
         mockMvc.perform(get("/api/v1/finance/dashboard/merchants")
@@ -123,7 +124,7 @@ public class AccountsPayableDashboardControllerTest {
     @Test
     @WithMockUser
     void getMerchantPaymentSummaries_emptyList_shouldReturn200() throws Exception {
-        given(dashboardService.getMerchantPaymentSummaries())
+        given(dashboardService.getMerchantPaymentSummaries(null, null, null))
                 .willReturn(Collections.emptyList());
 
         mockMvc.perform(get("/api/v1/finance/dashboard/merchants")
@@ -133,10 +134,37 @@ public class AccountsPayableDashboardControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    @WithMockUser
+    void getMerchantPaymentSummaries_withLimitAndDateWindow_shouldPassThemToService() throws Exception {
+        given(dashboardService.getMerchantPaymentSummaries(10, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31)))
+                .willReturn(List.of(new MerchantPaymentSummaryResponseDTO()));
+
+        mockMvc.perform(get("/api/v1/finance/dashboard/merchants")
+                        .param("limit", "10")
+                        .param("fromDate", "2026-01-01")
+                        .param("toDate", "2026-03-31")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @WithMockUser
+    void getMerchantPaymentSummaries_invalidLimit_shouldReturn400() throws Exception {
+        given(dashboardService.getMerchantPaymentSummaries(0, null, null))
+                .willThrow(new IllegalArgumentException("Limit must be at least 1"));
+
+        mockMvc.perform(get("/api/v1/finance/dashboard/merchants")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser
     void getMerchantPaymentSummaries_serviceThrowsException_shouldReturn500() throws Exception {
-        given(dashboardService.getMerchantPaymentSummaries())
+        given(dashboardService.getMerchantPaymentSummaries(null, null, null))
                 .willThrow(new RuntimeException("Failed to load merchant summaries"));
 
         mockMvc.perform(get("/api/v1/finance/dashboard/merchants")
@@ -4,6 +4,7 @@ import com.example.backend.config.JwtService;
 import com.example.backend.dto.hr.attendance.AttendanceRequestDTO;
 import com.example.backend.dto.hr.attendance.AttendanceResponseDTO;
 import com.example.backend.dto.hr.attendance.BulkAttendanceDTO;
+import com.example.backend.dto.hr.attendance.MonthlyAttendanceGridDTO;
 import com.example.backend.dto.hr.employee.EmployeeMonthlyAttendanceDTO;
 import com.example.backend.models.hr.Attendance;
 import com.example.backend.services.hr.AttendanceService;
@@ -21,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -144,6 +146,41 @@ public class AttendanceControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    // -----------------------------------------------------------------------
+    // GET /api/v1/attendance/monthly/grid
+    // -----------------------------------------------------------------------
+
+    @Test
+    void getMonthlyAttendanceGrid_happyPath_returns200() throws Exception {
+        MonthlyAttendanceGridDTO row = MonthlyAttendanceGridDTO.builder()
+                .employeeId(UUID.randomUUID())
+                .daysInMonth(31)
+                .statusDays(Map.of("PRESENT", 0b101))
+                .recordedDays(0b1)
+                .build();
+        given(attendanceService.getMonthlyAttendanceGrid("all", 2026, 3)).willReturn(List.of(row));
+
+        mockMvc.perform(get("/api/v1/attendance/monthly/grid")
+                        .param("siteId", "all")
+                        .param("year", "2026")
+                        .param("month", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].statusDays.PRESENT").value(5))
+                .andExpect(jsonPath("$[0].recordedDays").value(1));
+    }
+
+    @Test
+    void getMonthlyAttendanceGrid_invalidUuid_returns400() throws Exception {
+        given(attendanceService.getMonthlyAttendanceGrid("not-a-uuid", 2026, 3))
+                .willThrow(new IllegalArgumentException("Invalid UUID string: not-a-uuid"));
+
+        mockMvc.perform(get("/api/v1/attendance/monthly/grid")
+                        .param("siteId", "not-a-uuid")
+                        .param("year", "2026")
+                        .param("month", "3"))
+                .andExpect(status().isBadRequest());
+    }
+
     // -----------------------------------------------------------------------
     // PUT /api/v1/attendance
     // -----------------------------------------------------------------------
@@ -3,11 +3,13 @@ package com.example.backend.controllers.notification;
 import com.example.backend.config.JwtService;
 import com.example.backend.controllers.notification.NotificationController.BroadcastNotificationRequest;
 import com.example.backend.controllers.notification.NotificationController.SendNotificationRequest;
+import com.example.backend.dto.notification.NotificationFeedPage;
 import com.example.backend.dto.notification.NotificationMessage;
 import com.example.backend.models.notification.Notification;
 import com.example.backend.models.notification.NotificationType;
 import com.example.backend.models.user.Role;
 import com.example.backend.models.user.User;
+import com.example.backend.services.notification.NotificationFanOutService;
 import com.example.backend.services.notification.NotificationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,7 +21,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -43,6 +44,9 @@ public class NotificationControllerTest {
     @MockBean
     private NotificationService notificationService;
 
+    @MockBean
+    private NotificationFanOutService fanOutService;
+
     @MockBean
     private JwtService jwtService;
 
@@ -71,7 +75,7 @@ public class NotificationControllerTest {
                 .role(Role.ADMIN)
                 .build();
 
-        // This is the correct way to inject a domain User as Authentication principal
+        // Filters are off, so the Authentication argument is resolved from the request principal
         authToken = new UsernamePasswordAuthenticationToken(
                 mockUser, null, mockUser.getAuthorities());
 
@@ -97,7 +101,7 @@ public class NotificationControllerTest {
                 .willReturn(List.of(sampleMessage));
 
         mockMvc.perform(get("/api/notifications")
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -111,13 +115,47 @@ public class NotificationControllerTest {
                 .willReturn(Collections.emptyList());
 
         mockMvc.perform(get("/api/notifications")
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    // ==================== GET /api/notifications/feed ====================
+
+    @Test
+    void getMyNotificationFeed_shouldReturn200WithPage() throws Exception {
+        given(notificationService.getNotificationFeed(any(User.class), eq("abc"), eq(10)))
+                .willReturn(new NotificationFeedPage(List.of(sampleMessage), "next", true));
+
+        mockMvc.perform(get("/api/notifications/feed")
+                        .param("cursor", "abc")
+                        .param("size", "10")
+                        .principal(authToken)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Test Notification"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    // ==================== GET /api/notifications/fan-out/stats ====================
+
+    @Test
+    void getFanOutStats_shouldReturn200WithStats() throws Exception {
+        given(fanOutService.getStats())
+                .willReturn(new NotificationFanOutService.FanOutStats(3, 7, 10, 1, 250, 40, 120));
+
+        mockMvc.perform(get("/api/notifications/fan-out/stats")
+                        .principal(authToken)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.queuedRequests").value(3))
+                .andExpect(jsonPath("$.pendingPushes").value(7))
+                .andExpect(jsonPath("$.maxLatencyMs").value(120));
+    }
+
     // ==================== GET /api/notifications/unread ====================
 
     @Test
@@ -132,7 +170,7 @@ public class NotificationControllerTest {
                 .willReturn(List.of(unread));
 
         mockMvc.perform(get("/api/notifications/unread")
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -146,7 +184,7 @@ public class NotificationControllerTest {
                 .willReturn(Collections.emptyList());
 
         mockMvc.perform(get("/api/notifications/unread")
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -161,7 +199,7 @@ public class NotificationControllerTest {
                 .willReturn(5L);
 
         mockMvc.perform(get("/api/notifications/unread/count")
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.unreadCount").value(5))
@@ -174,7 +212,7 @@ public class NotificationControllerTest {
                 .willReturn(0L);
 
         mockMvc.perform(get("/api/notifications/unread/count")
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.unreadCount").value(0));
@@ -188,7 +226,7 @@ public class NotificationControllerTest {
                 .willReturn(true);
 
         mockMvc.perform(put("/api/notifications/{id}/read", notificationId)
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -201,7 +239,7 @@ public class NotificationControllerTest {
                 .willReturn(false);
 
         mockMvc.perform(put("/api/notifications/{id}/read", notificationId)
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
@@ -216,7 +254,7 @@ public class NotificationControllerTest {
                 .willReturn(7);
 
         mockMvc.perform(put("/api/notifications/read-all")
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -230,7 +268,7 @@ public class NotificationControllerTest {
                 .willReturn(0);
 
         mockMvc.perform(put("/api/notifications/read-all")
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -245,7 +283,7 @@ public class NotificationControllerTest {
                 .willReturn(true);
 
         mockMvc.perform(delete("/api/notifications/{id}", notificationId)
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
@@ -258,7 +296,7 @@ public class NotificationControllerTest {
                 .willReturn(false);
 
         mockMvc.perform(delete("/api/notifications/{id}", notificationId)
-                        .with(SecurityMockMvcRequestPostProcessors.authentication(authToken))
+                        .principal(authToken)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
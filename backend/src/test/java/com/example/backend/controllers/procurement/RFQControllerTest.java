@@ -14,24 +14,38 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = RFQController.class)
@@ -117,52 +131,68 @@ public class RFQControllerTest {
 
     @Test
     @WithMockUser
-    void exportRFQ_validRequest_shouldReturn200WithBytes() throws Exception {
+    void exportRFQ_validRequest_shouldStreamWorkbook() throws Exception {
         byte[] excelBytes = "fake-excel-content".getBytes();
-        given(rfqService.exportRFQ(any(RFQExportRequest.class))).willReturn(excelBytes);
+        stubWriteRFQ(excelBytes);
 
-        mockMvc.perform(post("/api/procurement/rfq/export")
+        MvcResult result = mockMvc.perform(post("/api/procurement/rfq/export")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(exportRequest)))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(excelBytes));
+        verify(rfqService, never()).exportRFQ(any());
     }
 
     @Test
     @WithMockUser
     void exportRFQ_noFilenameInRequest_shouldReturn200WithDefaultFilename() throws Exception {
         exportRequest.setFilename(null);
-        byte[] excelBytes = "fake-excel-content".getBytes();
-        given(rfqService.exportRFQ(any(RFQExportRequest.class))).willReturn(excelBytes);
+        stubWriteRFQ("fake-excel-content".getBytes());
 
         mockMvc.perform(post("/api/procurement/rfq/export")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(exportRequest)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("filename=\"RFQ_")));
     }
 
     @Test
     @WithMockUser
     void exportRFQ_filenameWithoutExtension_shouldReturn200WithXlsxExtension() throws Exception {
         exportRequest.setFilename("MyRFQ");
-        byte[] excelBytes = "fake-excel-content".getBytes();
-        given(rfqService.exportRFQ(any(RFQExportRequest.class))).willReturn(excelBytes);
+        stubWriteRFQ("fake-excel-content".getBytes());
 
         mockMvc.perform(post("/api/procurement/rfq/export")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(exportRequest)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("filename=\"MyRFQ.xlsx\"")));
     }
 
     @Test
     @WithMockUser
-    void exportRFQ_serviceThrowsException_shouldReturn500() throws Exception {
-        given(rfqService.exportRFQ(any(RFQExportRequest.class)))
-                .willThrow(new RuntimeException("Export failed"));
+    void exportRFQ_writeFails_shouldEndTheStreamWithTheError() throws Exception {
+        doThrow(new IOException("Export failed")).when(rfqService).writeRFQ(any(RFQExportRequest.class), any(OutputStream.class));
 
-        mockMvc.perform(post("/api/procurement/rfq/export")
+        MvcResult result = mockMvc.perform(post("/api/procurement/rfq/export")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(exportRequest)))
-                .andExpect(status().isInternalServerError());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertInstanceOf(IOException.class, result.getAsyncResult());
+    }
+
+    private void stubWriteRFQ(byte[] content) throws IOException {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(content);
+            return null;
+        }).when(rfqService).writeRFQ(any(RFQExportRequest.class), any(OutputStream.class));
     }
 
     // ==================== POST /api/procurement/rfq/{offerId}/import/preview ====================
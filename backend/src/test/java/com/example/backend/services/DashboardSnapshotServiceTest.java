@@ -0,0 +1,135 @@
+package com.example.backend.services;
+
+import com.example.backend.dto.dashboard.AdminDashboardDTO;
+import com.example.backend.dto.dashboard.FinanceDashboardDTO;
+import com.example.backend.dto.dashboard.UserDashboardDTO;
+import com.example.backend.services.DashboardSnapshotService.DashboardSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DashboardSnapshotServiceTest {
+
+    @Mock
+    private DashboardService dashboardService;
+
+    private final List<Runnable> queuedRefreshes = new ArrayList<>();
+    private boolean runRefreshesInline;
+    private DashboardSnapshotService snapshotService;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new DashboardSnapshotService(dashboardService, refresh -> {
+            if (runRefreshesInline) {
+                refresh.run();
+            } else {
+                queuedRefreshes.add(refresh);
+            }
+        }, 60_000, 600_000);
+        now = Instant.parse("2026-01-01T08:00:00Z");
+        setClock(now);
+    }
+
+    @Test
+    public void get_noSnapshot_shouldComputeOnRequestThreadOnce() {
+        AdminDashboardDTO dashboard = new AdminDashboardDTO();
+        when(dashboardService.getAdminDashboard()).thenReturn(dashboard);
+
+        DashboardSnapshot<AdminDashboardDTO> first = snapshotService.get(DashboardSnapshotService.ADMIN);
+        DashboardSnapshot<AdminDashboardDTO> second = snapshotService.get(DashboardSnapshotService.ADMIN);
+
+        assertSame(dashboard, first.data());
+        assertSame(first, second);
+        assertEquals(now, first.computedAt());
+        verify(dashboardService, times(1)).getAdminDashboard();
+        assertTrue(queuedRefreshes.isEmpty());
+    }
+
+    @Test
+    public void get_staleSnapshot_shouldServeItAndRefreshInBackground() {
+        AdminDashboardDTO old = new AdminDashboardDTO();
+        AdminDashboardDTO fresh = new AdminDashboardDTO();
+        when(dashboardService.getAdminDashboard()).thenReturn(old, fresh);
+        snapshotService.get(DashboardSnapshotService.ADMIN);
+        setClock(now.plusSeconds(90));
+
+        DashboardSnapshot<AdminDashboardDTO> served = snapshotService.get(DashboardSnapshotService.ADMIN);
+        snapshotService.get(DashboardSnapshotService.ADMIN);
+
+        assertSame(old, served.data());
+        assertEquals(Duration.ofSeconds(90), served.age(Clock.fixed(now.plusSeconds(90), ZoneOffset.UTC)));
+        // Only one refresh is queued however many requests see the stale snapshot
+        assertEquals(1, queuedRefreshes.size());
+
+        queuedRefreshes.get(0).run();
+        assertSame(fresh, snapshotService.get(DashboardSnapshotService.ADMIN).data());
+    }
+
+    @Test
+    public void get_olderThanMaxStale_shouldRecomputeOnRequestThread() {
+        AdminDashboardDTO old = new AdminDashboardDTO();
+        AdminDashboardDTO fresh = new AdminDashboardDTO();
+        when(dashboardService.getAdminDashboard()).thenReturn(old, fresh);
+        snapshotService.get(DashboardSnapshotService.ADMIN);
+        setClock(now.plus(Duration.ofMinutes(11)));
+
+        assertSame(fresh, snapshotService.get(DashboardSnapshotService.ADMIN).data());
+        assertTrue(queuedRefreshes.isEmpty());
+    }
+
+    @Test
+    public void get_invalidatedSnapshot_shouldRefreshBeforeIntervalEnds() {
+        when(dashboardService.getAdminDashboard()).thenReturn(new AdminDashboardDTO());
+        snapshotService.get(DashboardSnapshotService.ADMIN);
+
+        snapshotService.invalidate(DashboardSnapshotService.ADMIN);
+        snapshotService.get(DashboardSnapshotService.ADMIN);
+
+        assertEquals(1, queuedRefreshes.size());
+    }
+
+    @Test
+    public void refreshAll_oneDashboardFails_shouldKeepItsPreviousSnapshot() {
+        FinanceDashboardDTO previous = new FinanceDashboardDTO();
+        when(dashboardService.getFinanceDashboard())
+                .thenReturn(previous)
+                .thenThrow(new RuntimeException("database unavailable"));
+        snapshotService.get(DashboardSnapshotService.FINANCE);
+
+        runRefreshesInline = true;
+        snapshotService.refreshAll();
+
+        assertSame(previous, snapshotService.get(DashboardSnapshotService.FINANCE).data());
+        verify(dashboardService).getAdminDashboard();
+        verify(dashboardService).getSecretaryDashboard();
+    }
+
+    @Test
+    public void getByRole_user_shouldComputeLive() {
+        UserDashboardDTO dashboard = new UserDashboardDTO();
+        when(dashboardService.getUserDashboard()).thenReturn(dashboard);
+
+        assertSame(dashboard, snapshotService.getByRole("USER").data());
+        assertSame(dashboard, snapshotService.getByRole("USER").data());
+
+        verify(dashboardService, times(2)).getUserDashboard();
+    }
+
+    private void setClock(Instant instant) {
+        snapshotService.clock = Clock.fixed(instant, ZoneOffset.UTC);
+    }
+}
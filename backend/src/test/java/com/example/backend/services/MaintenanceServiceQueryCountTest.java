@@ -0,0 +1,150 @@
+package com.example.backend.services;
+
+import com.example.backend.dtos.MaintenanceRecordDto;
+import com.example.backend.models.equipment.Equipment;
+import com.example.backend.models.equipment.EquipmentBrand;
+import com.example.backend.models.equipment.EquipmentStatus;
+import com.example.backend.models.equipment.EquipmentType;
+import com.example.backend.models.equipment.MaintenanceStatus;
+import com.example.backend.models.maintenance.MaintenanceRecord;
+import com.example.backend.models.maintenance.MaintenanceStep;
+import com.example.backend.models.maintenance.StepType;
+import com.example.backend.repositories.MaintenanceRecordRepository;
+import com.example.backend.repositories.StepTypeRepository;
+import com.example.backend.repositories.equipment.EquipmentBrandRepository;
+import com.example.backend.repositories.equipment.EquipmentRepository;
+import com.example.backend.repositories.equipment.EquipmentTypeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements issued while building maintenance record DTOs against the real database.
+ * Each test runs in a transaction that is rolled back.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class MaintenanceServiceQueryCountTest {
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+    @Autowired
+    private MaintenanceRecordRepository maintenanceRecordRepository;
+    @Autowired
+    private StepTypeRepository stepTypeRepository;
+    @Autowired
+    private EquipmentRepository equipmentRepository;
+    @Autowired
+    private EquipmentBrandRepository equipmentBrandRepository;
+    @Autowired
+    private EquipmentTypeRepository equipmentTypeRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EquipmentBrand brand;
+    private EquipmentType equipmentType;
+    private StepType stepType;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        brand = new EquipmentBrand();
+        brand.setName("Query Count Brand " + suffix);
+        brand = equipmentBrandRepository.save(brand);
+
+        equipmentType = new EquipmentType();
+        equipmentType.setName("Query Count Type " + suffix);
+        equipmentType = equipmentTypeRepository.save(equipmentType);
+
+        stepType = new StepType();
+        stepType.setName("Query Count Step " + suffix);
+        stepType = stepTypeRepository.save(stepType);
+    }
+
+    @Test
+    void getAllMaintenanceRecords_shouldIssueSameStatementCountForOneAndManyRecords() {
+        // getMaintenanceRecordsByEquipment goes through the same DTO assembly as getAllMaintenanceRecords,
+        // but is limited to the records created here rather than everything already in the database
+        Equipment single = createEquipmentWithRecords(1);
+        Equipment many = createEquipmentWithRecords(8);
+
+        long singleStatements = countStatements(single.getId(), 1);
+        long manyStatements = countStatements(many.getId(), 8);
+
+        assertEquals(singleStatements, manyStatements,
+                "Building DTOs for 8 records should not issue more statements than for 1");
+    }
+
+    private long countStatements(UUID equipmentId, int expectedRecords) {
+        // Start from an empty persistence context so nothing is served from the first-level cache
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<MaintenanceRecordDto> records = maintenanceService.getMaintenanceRecordsByEquipment(equipmentId);
+
+        assertEquals(expectedRecords, records.size());
+        records.forEach(record -> assertEquals(2, record.getSteps().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Equipment createEquipmentWithRecords(int recordCount) {
+        String serial = "QC-" + UUID.randomUUID();
+
+        Equipment equipment = new Equipment();
+        equipment.setName("Query Count Loader");
+        equipment.setSerialNumber(serial);
+        equipment.setModel("QC 100");
+        equipment.setBrand(brand);
+        equipment.setType(equipmentType);
+        equipment.setManufactureYear(Year.of(2020));
+        equipment.setPurchasedDate(LocalDate.of(2020, 6, 15));
+        equipment.setDeliveredDate(LocalDate.of(2020, 7, 1));
+        equipment.setEgpPrice(1000000.0);
+        equipment.setCountryOfOrigin("USA");
+        equipment.setStatus(EquipmentStatus.AVAILABLE);
+        equipment = equipmentRepository.save(equipment);
+
+        for (int i = 0; i < recordCount; i++) {
+            MaintenanceRecord record = new MaintenanceRecord();
+            record.setEquipmentId(equipment.getId());
+            record.setEquipmentInfo(serial);
+            record.setInitialIssueDescription("Hydraulic leak " + i);
+            record.setSparePartName("Seal kit");
+            record.setIssueDate(LocalDateTime.now().minusDays(10));
+            record.setExpectedCompletionDate(LocalDateTime.now().plusDays(10));
+            record.setStatus(MaintenanceStatus.ACTIVE);
+
+            for (int s = 0; s < 2; s++) {
+                MaintenanceStep step = new MaintenanceStep();
+                step.setStepType(stepType);
+                step.setDescription("Step " + s);
+                step.setStartDate(LocalDateTime.now().minusDays(9 - s));
+                step.setStepCost(new BigDecimal("100.00"));
+                record.addStep(step);
+            }
+            maintenanceRecordRepository.save(record);
+        }
+        return equipment;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.backend.services;
+
+import com.example.backend.dtos.MaintenanceDashboardDto;
+import com.example.backend.dtos.MaintenanceRecordDto;
+import com.example.backend.events.MaintenanceDataChangedEvent;
+import com.example.backend.exceptions.MaintenanceException;
+import com.example.backend.models.contact.Contact;
+import com.example.backend.models.equipment.EquipmentStatus;
+import com.example.backend.models.equipment.MaintenanceStatus;
+import com.example.backend.models.maintenance.MaintenanceRecord;
+import com.example.backend.models.maintenance.MaintenanceStep;
+import com.example.backend.models.maintenance.StepType;
+import com.example.backend.models.user.User;
+import com.example.backend.repositories.ContactRepository;
+import com.example.backend.repositories.MaintenanceRecordRepository;
+import com.example.backend.repositories.MaintenanceStepRepository;
+import com.example.backend.repositories.equipment.EquipmentRepository;
+import com.example.backend.repositories.finance.accountsPayable.OfferFinancialReviewRepository;
+import com.example.backend.repositories.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MaintenanceServiceTest {
+
+    @Mock
+    private MaintenanceRecordRepository maintenanceRecordRepository;
+
+    @Mock
+    private MaintenanceStepRepository maintenanceStepRepository;
+
+    @Mock
+    private EquipmentRepository equipmentRepository;
+
+    @Mock
+    private OfferFinancialReviewRepository offerFinancialReviewRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ContactRepository contactRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MaintenanceService maintenanceService;
+
+    // ==================== getDashboardData ====================
+
+    @Test
+    public void getDashboardData_shouldAggregateInDatabaseAndLoadRecentStepsInOneQuery() {
+        MaintenanceRecord record = MaintenanceRecord.builder()
+                .id(UUID.randomUUID())
+                .equipmentId(UUID.randomUUID())
+                .creationDate(LocalDateTime.now().minusDays(2))
+                .status(MaintenanceStatus.ACTIVE)
+                .approvedBudget(new BigDecimal("500"))
+                .build();
+        MaintenanceStep completedStep = MaintenanceStep.builder()
+                .id(UUID.randomUUID())
+                .maintenanceRecord(record)
+                .startDate(LocalDateTime.now().minusDays(2))
+                .actualEndDate(LocalDateTime.now().minusDays(1))
+                .stepCost(new BigDecimal("100"))
+                .actualCost(new BigDecimal("120"))
+                .build();
+        MaintenanceStep activeStep = MaintenanceStep.builder()
+                .id(UUID.randomUUID())
+                .maintenanceRecord(record)
+                .startDate(LocalDateTime.now().minusDays(1))
+                .stepCost(new BigDecimal("50"))
+                .expectedCost(new BigDecimal("80"))
+                .build();
+
+        when(maintenanceRecordRepository.countGroupByStatus()).thenReturn(List.of(
+                new Object[]{MaintenanceStatus.ACTIVE, 3L},
+                new Object[]{MaintenanceStatus.COMPLETED, 1L}));
+        when(maintenanceRecordRepository.countOverdueRecords(any(LocalDateTime.class))).thenReturn(1L);
+        when(maintenanceRecordRepository.findTop5ByOrderByCreationDateDesc()).thenReturn(List.of(record));
+        when(maintenanceStepRepository.findByMaintenanceRecordIdInOrderByStartDateAsc(List.of(record.getId())))
+                .thenReturn(List.of(completedStep, activeStep));
+        when(maintenanceRecordRepository.sumAndAverageTotalCost()).thenReturn(List.<Object[]>of(
+                new Object[]{new BigDecimal("400"), new BigDecimal("100")}));
+        when(maintenanceStepRepository.countTotalAndCompleted()).thenReturn(List.<Object[]>of(new Object[]{10L, 4L}));
+        when(equipmentRepository.countGroupByStatus()).thenReturn(List.of(
+                new Object[]{EquipmentStatus.IN_MAINTENANCE, 2L},
+                new Object[]{EquipmentStatus.AVAILABLE, 5L}));
+
+        MaintenanceDashboardDto dashboard = maintenanceService.getDashboardData();
+
+        assertEquals(4L, dashboard.getTotalRecords());
+        assertEquals(3L, dashboard.getActiveRecords());
+        assertEquals(1L, dashboard.getCompletedRecords());
+        assertEquals(1L, dashboard.getOverdueRecords());
+        assertEquals(25.0, dashboard.getCompletionRate());
+        assertEquals(400.0, dashboard.getTotalCost());
+        assertEquals(100.0, dashboard.getAverageCost());
+        assertEquals(10L, dashboard.getTotalSteps());
+        assertEquals(4L, dashboard.getCompletedSteps());
+        assertEquals(6L, dashboard.getActiveSteps());
+        assertEquals(2L, dashboard.getEquipmentInMaintenance());
+        assertEquals(5L, dashboard.getEquipmentAvailable());
+
+        MaintenanceRecordDto recent = dashboard.getRecentRecords().get(0);
+        assertEquals(2, recent.getTotalSteps());
+        assertEquals(1, recent.getCompletedSteps());
+        assertEquals(0, new BigDecimal("200").compareTo(recent.getConsumedBudget()));
+
+        verify(maintenanceRecordRepository, never()).findAll();
+        verify(maintenanceStepRepository, never()).findAll();
+        verify(equipmentRepository, never()).findAll();
+        verify(maintenanceStepRepository, never()).findByMaintenanceRecordIdOrderByStartDateAsc(any());
+    }
+
+    @Test
+    public void getDashboardData_shouldServeFromCacheUntilMaintenanceDataChanges() {
+        when(maintenanceRecordRepository.countGroupByStatus()).thenReturn(List.of());
+        when(maintenanceRecordRepository.findTop5ByOrderByCreationDateDesc()).thenReturn(List.of());
+        when(maintenanceRecordRepository.sumAndAverageTotalCost()).thenReturn(List.<Object[]>of(
+                new Object[]{BigDecimal.ZERO, BigDecimal.ZERO}));
+        when(maintenanceStepRepository.countTotalAndCompleted()).thenReturn(List.<Object[]>of(new Object[]{0L, 0L}));
+        when(equipmentRepository.countGroupByStatus()).thenReturn(List.of());
+
+        MaintenanceDashboardDto first = maintenanceService.getDashboardData();
+        assertSame(first, maintenanceService.getDashboardData());
+        verify(maintenanceRecordRepository, times(1)).countGroupByStatus();
+
+        maintenanceService.onMaintenanceDataChanged(new MaintenanceDataChangedEvent(UUID.randomUUID()));
+
+        assertNotSame(first, maintenanceService.getDashboardData());
+        verify(maintenanceRecordRepository, times(2)).countGroupByStatus();
+        assertEquals(0L, first.getTotalRecords());
+        assertEquals(0.0, first.getCompletionRate());
+    }
+
+    // ==================== record lists ====================
+
+    @Test
+    public void getAllMaintenanceRecords_shouldLoadRelatedDataOncePerPageNotPerRecord() {
+        UUID equipmentId = UUID.randomUUID();
+        User user = User.builder().id(UUID.randomUUID()).firstName("Sara").lastName("Adel").build();
+        Contact contact = Contact.builder().id(UUID.randomUUID()).firstName("Omar").lastName("Nabil").build();
+        MaintenanceRecord first = record(equipmentId);
+        first.setResponsibleUser(user);
+        MaintenanceRecord second = record(UUID.randomUUID());
+        second.setCurrentResponsibleContact(contact);
+        MaintenanceRecord third = record(null);
+
+        StepType transport = new StepType();
+        transport.setId(UUID.randomUUID());
+        transport.setName("TRANSPORT");
+        MaintenanceStep done = step(first, transport, "Tow to workshop");
+        done.setActualEndDate(LocalDateTime.now().minusDays(3));
+        MaintenanceStep current = step(first, transport, "Return to site");
+        MaintenanceStep overdue = step(second, transport, "Deliver parts");
+        overdue.setExpectedEndDate(LocalDateTime.now().minusDays(1));
+
+        when(maintenanceRecordRepository.findAll()).thenReturn(List.of(first, second, third));
+        when(maintenanceStepRepository.findByMaintenanceRecordIdInOrderByStartDateAsc(
+                List.of(first.getId(), second.getId(), third.getId())))
+                .thenReturn(List.of(done, current, overdue));
+        when(equipmentRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.<Object[]>of(
+                new Object[]{equipmentId, "Loader 950", "950H", "Loader", "SN-1", "North Site"}));
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(user));
+        when(contactRepository.findAllById(anyCollection())).thenReturn(List.of(contact));
+
+        List<MaintenanceRecordDto> dtos = maintenanceService.getAllMaintenanceRecords();
+
+        assertEquals(3, dtos.size());
+        assertEquals(2, dtos.get(0).getTotalSteps());
+        assertEquals(1, dtos.get(0).getCompletedSteps());
+        assertEquals("Return to site (Transport)", dtos.get(0).getCurrentStepDescription());
+        assertFalse(dtos.get(0).getCurrentStepIsOverdue());
+        assertEquals("Loader 950", dtos.get(0).getEquipmentName());
+        assertEquals("North Site", dtos.get(0).getSite());
+        assertEquals("Sara Adel", dtos.get(0).getCurrentResponsiblePerson());
+        assertTrue(dtos.get(1).getCurrentStepIsOverdue());
+        assertEquals("Omar Nabil", dtos.get(1).getCurrentResponsiblePerson());
+        assertNull(dtos.get(1).getEquipmentName());
+        assertEquals(0, dtos.get(2).getTotalSteps());
+        assertNull(dtos.get(2).getCurrentStepDescription());
+
+        // A constant number of queries however many records there are
+        verify(maintenanceStepRepository, times(1)).findByMaintenanceRecordIdInOrderByStartDateAsc(anyCollection());
+        verify(offerFinancialReviewRepository, times(1)).findByMaintenanceRecordIdInOrderByCreatedAtDesc(anyCollection());
+        verify(equipmentRepository, times(1)).findSummariesByIdIn(anyCollection());
+        verify(userRepository, times(1)).findAllById(anyCollection());
+        verify(contactRepository, times(1)).findAllById(anyCollection());
+        verify(maintenanceStepRepository, never()).findByMaintenanceRecordIdOrderByStartDateAsc(any());
+        verify(offerFinancialReviewRepository, never()).findByMaintenanceRecordIdOrderByCreatedAtDesc(any());
+        verify(equipmentRepository, never()).findById(any());
+    }
+
+    @Test
+    public void getActiveMaintenanceRecords_withNoRecords_shouldNotQueryRelatedData() {
+        when(maintenanceRecordRepository.findByStatus(MaintenanceStatus.ACTIVE)).thenReturn(List.of());
+
+        assertTrue(maintenanceService.getActiveMaintenanceRecords().isEmpty());
+
+        verifyNoInteractions(maintenanceStepRepository, offerFinancialReviewRepository, equipmentRepository);
+    }
+
+    // ==================== change events ====================
+
+    @Test
+    public void deleteMaintenanceStep_shouldPublishChangeWithRecordIdAfterDeleting() {
+        MaintenanceRecord record = record(UUID.randomUUID());
+        MaintenanceStep step = step(record, null, "Replace seal");
+        when(maintenanceStepRepository.findById(step.getId())).thenReturn(Optional.of(step));
+        when(maintenanceRecordRepository.findById(record.getId())).thenReturn(Optional.of(record));
+        when(maintenanceStepRepository.findByMaintenanceRecordIdOrderByStartDateAsc(record.getId())).thenReturn(List.of());
+
+        maintenanceService.deleteMaintenanceStep(step.getId());
+
+        ArgumentCaptor<MaintenanceDataChangedEvent> event = ArgumentCaptor.forClass(MaintenanceDataChangedEvent.class);
+        InOrder inOrder = inOrder(maintenanceStepRepository, eventPublisher);
+        inOrder.verify(maintenanceStepRepository).delete(step);
+        inOrder.verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(record.getId(), event.getValue().getMaintenanceRecordId());
+    }
+
+    @Test
+    public void deleteMaintenanceStep_pendingApproval_shouldNotPublishChange() {
+        MaintenanceRecord record = record(UUID.randomUUID());
+        record.setStatus(MaintenanceStatus.PENDING_MANAGER_APPROVAL);
+        MaintenanceStep step = step(record, null, "Replace seal");
+        when(maintenanceStepRepository.findById(step.getId())).thenReturn(Optional.of(step));
+
+        assertThrows(MaintenanceException.class, () -> maintenanceService.deleteMaintenanceStep(step.getId()));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private MaintenanceRecord record(UUID equipmentId) {
+        return MaintenanceRecord.builder()
+                .id(UUID.randomUUID())
+                .equipmentId(equipmentId)
+                .creationDate(LocalDateTime.now().minusDays(5))
+                .status(MaintenanceStatus.ACTIVE)
+                .build();
+    }
+
+    private MaintenanceStep step(MaintenanceRecord record, StepType stepType, String description) {
+        return MaintenanceStep.builder()
+                .id(UUID.randomUUID())
+                .maintenanceRecord(record)
+                .stepType(stepType)
+                .description(description)
+                .startDate(LocalDateTime.now().minusDays(4))
+                .lastContactDate(LocalDateTime.now())
+                .build();
+    }
+}
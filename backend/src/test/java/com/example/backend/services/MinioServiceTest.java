@@ -0,0 +1,214 @@
+package com.example.backend.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+import java.net.URL;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MinioServiceTest {
+
+    @Mock
+    private S3Client s3Client;
+
+    @Mock
+    private S3Presigner s3Presigner;
+
+    private MinioService minioService;
+
+    @BeforeEach
+    void setUp() {
+        minioService = new MinioService(s3Client, s3Presigner, Runnable::run);
+        ReflectionTestUtils.setField(minioService, "bucketName", "rockops");
+        ReflectionTestUtils.setField(minioService, "region", "us-east-1");
+        ReflectionTestUtils.setField(minioService, "s3PublicUrl", "");
+    }
+
+    // ==================== image key resolution ====================
+
+    @Test
+    public void findAndMigrateEquipmentImage_secondCall_shouldNotListObjects() {
+        UUID equipmentId = UUID.randomUUID();
+        String key = "equipment/" + equipmentId + "/Main_Image_photo.jpg";
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(ListObjectsV2Response.builder()
+                        .contents(S3Object.builder().key(key).build())
+                        .build());
+
+        assertEquals(key, minioService.findAndMigrateEquipmentImage(equipmentId));
+        assertEquals(key, minioService.findAndMigrateEquipmentImage(equipmentId));
+
+        verify(s3Client, times(1)).listObjectsV2(any(ListObjectsV2Request.class));
+        assertEquals(1, minioService.getCacheStats().imageLocationHits());
+        assertEquals(1, minioService.getCacheStats().imageLocationMisses());
+    }
+
+    @Test
+    public void getEquipmentMainPhoto_noImage_shouldRememberMiss() {
+        UUID equipmentId = UUID.randomUUID();
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(ListObjectsV2Response.builder().build());
+
+        assertNull(minioService.getEquipmentMainPhoto(equipmentId));
+        int callsAfterFirstLookup = mockingDetails(s3Client).getInvocations().size();
+
+        assertNull(minioService.getEquipmentMainPhoto(equipmentId));
+
+        assertEquals(callsAfterFirstLookup, mockingDetails(s3Client).getInvocations().size());
+    }
+
+    @Test
+    public void uploadEquipmentFile_mainImage_shouldPrimeCache() throws Exception {
+        UUID equipmentId = UUID.randomUUID();
+        MockMultipartFile photo = new MockMultipartFile("file", "photo.jpg", "image/jpeg", new byte[]{1, 2, 3});
+
+        String fileName = minioService.uploadEquipmentFile(equipmentId, photo, "Main_Image");
+
+        assertEquals("equipment/" + equipmentId + "/" + fileName,
+                minioService.findAndMigrateEquipmentImage(equipmentId));
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+
+    @Test
+    public void evictEquipmentImage_shouldLookUpAgain() {
+        UUID equipmentId = UUID.randomUUID();
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(ListObjectsV2Response.builder()
+                        .contents(S3Object.builder().key("equipment/" + equipmentId + "/Main_Image_a.jpg").build())
+                        .build());
+
+        minioService.findAndMigrateEquipmentImage(equipmentId);
+        minioService.evictEquipmentImage(equipmentId);
+        minioService.findAndMigrateEquipmentImage(equipmentId);
+
+        verify(s3Client, times(2)).listObjectsV2(any(ListObjectsV2Request.class));
+    }
+
+    // ==================== presigned URLs ====================
+
+    @Test
+    public void generateUrlFromKey_sameKey_shouldPresignOnce() throws Exception {
+        PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+        when(presigned.url()).thenReturn(new URL("https://s3.example.com/rockops/key?sig=1"));
+        when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+
+        String first = minioService.generateUrlFromKey("equipment/1/Main_Image_a.jpg");
+        String second = minioService.generateUrlFromKey("equipment/1/Main_Image_a.jpg");
+
+        assertEquals(first, second);
+        verify(s3Presigner, times(1)).presignGetObject(any(GetObjectPresignRequest.class));
+        assertEquals(1, minioService.getCacheStats().presignedUrlHits());
+        assertEquals(1, minioService.getCacheStats().presignedUrlMisses());
+    }
+
+    @Test
+    public void getPresignedDownloadUrl_differentLifetime_shouldPresignSeparately() throws Exception {
+        PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+        when(presigned.url()).thenReturn(new URL("https://s3.example.com/rockops/key?sig=1"));
+        when(s3Presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+
+        minioService.getPresignedDownloadUrl("report.pdf", 60);
+        minioService.getPresignedDownloadUrl("report.pdf", 5);
+
+        verify(s3Presigner, times(2)).presignGetObject(any(GetObjectPresignRequest.class));
+    }
+
+    // ==================== uploads ====================
+
+    @Test
+    public void uploadFile_twice_shouldCheckBucketOnce() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "a.pdf", "application/pdf", new byte[]{1});
+
+        minioService.uploadFile(file);
+        minioService.uploadFile(file);
+
+        verify(s3Client, times(1)).headBucket(any(HeadBucketRequest.class));
+        verify(s3Client, times(2)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    public void uploadFile_largeFile_shouldUseMultipartUpload() throws Exception {
+        ReflectionTestUtils.setField(minioService, "multipartThresholdBytes", 10L);
+        ReflectionTestUtils.setField(minioService, "multipartPartSizeBytes", 4);
+        MockMultipartFile file = new MockMultipartFile("file", "big.pdf", "application/pdf", new byte[10]);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+
+        minioService.uploadFile("rockops", file, "big.pdf");
+
+        // 10 bytes in 4-byte parts: 4 + 4 + 2
+        verify(s3Client, times(3)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(argThat((CompleteMultipartUploadRequest r) ->
+                r.uploadId().equals("upload-1") && r.multipartUpload().parts().size() == 3));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    public void uploadFile_multipartPartFails_shouldAbortUpload() {
+        ReflectionTestUtils.setField(minioService, "multipartThresholdBytes", 10L);
+        ReflectionTestUtils.setField(minioService, "multipartPartSizeBytes", 4);
+        MockMultipartFile file = new MockMultipartFile("file", "big.pdf", "application/pdf", new byte[10]);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("boom").build());
+
+        assertThrows(Exception.class, () -> minioService.uploadFile("rockops", file, "big.pdf"));
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    public void uploadFiles_shouldUploadAllInOrder() throws Exception {
+        MockMultipartFile first = new MockMultipartFile("file", "a.pdf", "application/pdf", new byte[]{1});
+        MockMultipartFile second = new MockMultipartFile("file", "b.pdf", "application/pdf", new byte[]{2});
+
+        List<String> names = minioService.uploadFiles(List.of(first, second));
+
+        assertEquals(2, names.size());
+        assertTrue(names.get(0).endsWith("_a.pdf"));
+        assertTrue(names.get(1).endsWith("_b.pdf"));
+        verify(s3Client).putObject(argThat((PutObjectRequest r) -> r.key().equals(names.get(1))), any(RequestBody.class));
+        verify(s3Client, times(1)).headBucket(any(HeadBucketRequest.class));
+    }
+
+    @Test
+    public void uploadFiles_oneFails_shouldRemoveTheOthers() {
+        MockMultipartFile ok = new MockMultipartFile("file", "ok.pdf", "application/pdf", new byte[]{1});
+        MockMultipartFile bad = new MockMultipartFile("file", "bad.pdf", "application/pdf", new byte[]{2});
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenAnswer(inv -> {
+                    PutObjectRequest request = inv.getArgument(0);
+                    if (request.key().endsWith("bad.pdf")) {
+                        throw S3Exception.builder().message("boom").build();
+                    }
+                    return PutObjectResponse.builder().build();
+                });
+
+        assertThrows(Exception.class, () -> minioService.uploadFiles(List.of(ok, bad)));
+
+        verify(s3Client).deleteObject(argThat((DeleteObjectRequest r) -> r.key().endsWith("ok.pdf")));
+    }
+}
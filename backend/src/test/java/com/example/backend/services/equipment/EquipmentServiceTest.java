@@ -2,6 +2,7 @@ package com.example.backend.services.equipment;
 
 import com.example.backend.dto.equipment.*;
 import com.example.backend.dto.hr.employee.EmployeeSummaryDTO;
+import com.example.backend.events.EquipmentValuationChangedEvent;
 import com.example.backend.exceptions.ResourceNotFoundException;
 import com.example.backend.models.equipment.*;
 import com.example.backend.models.hr.Employee;
@@ -21,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -58,6 +60,9 @@ public class EquipmentServiceTest {
     @Mock
     private MaintenanceRecordRepository maintenanceRecordRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EquipmentService equipmentService;
 
@@ -99,6 +104,41 @@ public class EquipmentServiceTest {
         assertNotNull(result);
     }
 
+    @Test
+    public void getEquipmentById_noStoredImageKey_shouldSaveDiscoveredKey() {
+        UUID id = UUID.randomUUID();
+        Equipment eq = createEquipment("Excavator", "CAT 320");
+        eq.setId(id);
+        eq.setStatus(EquipmentStatus.AVAILABLE);
+        String key = "equipment/" + id + "/Main_Image_photo.jpg";
+
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(eq));
+        when(minioService.findAndMigrateEquipmentImage(id)).thenReturn(key);
+        when(minioService.generateUrlFromKey(key)).thenReturn("https://s3/" + key);
+
+        EquipmentDTO result = equipmentService.getEquipmentById(id);
+
+        assertEquals("https://s3/" + key, result.getImageUrl());
+        verify(equipmentRepository).saveDiscoveredImageStorageKey(id, key);
+        verify(minioService, never()).getEquipmentMainPhoto(any());
+    }
+
+    @Test
+    public void getEquipmentById_storedImageKey_shouldNotLookUpS3() {
+        UUID id = UUID.randomUUID();
+        Equipment eq = createEquipment("Excavator", "CAT 320");
+        eq.setId(id);
+        eq.setStatus(EquipmentStatus.AVAILABLE);
+        eq.setImageStorageKey("equipment/" + id + "/Main_Image_photo.jpg");
+
+        when(equipmentRepository.findById(id)).thenReturn(Optional.of(eq));
+
+        equipmentService.getEquipmentById(id);
+
+        verify(minioService, never()).findAndMigrateEquipmentImage(any());
+        verify(equipmentRepository, never()).saveDiscoveredImageStorageKey(any(), any());
+    }
+
     @Test
     public void getEquipmentById_notFound_shouldThrow() {
         UUID id = UUID.randomUUID();
@@ -222,6 +262,7 @@ public class EquipmentServiceTest {
         equipmentService.deleteEquipment(id);
 
         verify(equipmentRepository).delete(eq);
+        verify(eventPublisher).publishEvent(any(EquipmentValuationChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,204 @@
+package com.example.backend.services.finance.accountsPayable;
+
+import com.example.backend.models.finance.accountsPayable.AccountPayablePayment;
+import com.example.backend.models.finance.accountsPayable.PaymentRequest;
+import com.example.backend.models.finance.accountsPayable.enums.PaymentMethod;
+import com.example.backend.models.finance.accountsPayable.enums.PaymentRequestStatus;
+import com.example.backend.models.finance.accountsPayable.enums.PaymentStatus;
+import com.example.backend.models.finance.balances.BankAccount;
+import com.example.backend.models.finance.balances.CashSafe;
+import com.example.backend.models.finance.balances.CashWithPerson;
+import com.example.backend.models.merchant.Merchant;
+import com.example.backend.repositories.finance.accountsPayable.AccountPayablePaymentRepository;
+import com.example.backend.repositories.finance.balances.BankAccountRepository;
+import com.example.backend.repositories.finance.balances.CashSafeRepository;
+import com.example.backend.repositories.finance.balances.CashWithPersonRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the accounts payable dashboard aggregate queries against the real database.
+ * The tables may already hold rows, so balance checks compare totals before and after seeding.
+ * Each test runs in a transaction that is rolled back.
+ */
+@SpringBootTest
+@Transactional
+class AccountsPayableDashboardQueriesTest {
+
+    @Autowired
+    private AccountPayablePaymentRepository paymentRepository;
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+    @Autowired
+    private CashSafeRepository cashSafeRepository;
+    @Autowired
+    private CashWithPersonRepository cashWithPersonRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    // ==================== summarizeBalances ====================
+
+    @Test
+    void bankAccountSummary_shouldCountAllAccountsButOnlyActiveOnesAsAvailable() {
+        assertBalanceSummary(bankAccountRepository::summarizeBalances, () -> {
+            entityManager.persist(bankAccount(true, "1000.00", "800.00"));
+            entityManager.persist(bankAccount(false, "500.00", "500.00"));
+        });
+    }
+
+    @Test
+    void cashSafeSummary_shouldCountAllAccountsButOnlyActiveOnesAsAvailable() {
+        assertBalanceSummary(cashSafeRepository::summarizeBalances, () -> {
+            entityManager.persist(cashSafe(true, "1000.00", "800.00"));
+            entityManager.persist(cashSafe(false, "500.00", "500.00"));
+        });
+    }
+
+    @Test
+    void cashWithPersonSummary_shouldCountAllAccountsButOnlyActiveOnesAsAvailable() {
+        assertBalanceSummary(cashWithPersonRepository::summarizeBalances, () -> {
+            entityManager.persist(cashWithPerson(true, "1000.00", "800.00"));
+            entityManager.persist(cashWithPerson(false, "500.00", "500.00"));
+        });
+    }
+
+    // ==================== summarizePaymentsByMerchant ====================
+
+    @Test
+    void summarizePaymentsByMerchant_shouldApplyTheDateWindowAndSkipPaymentsWithoutMerchant() {
+        Merchant merchant = merchant();
+        PaymentRequest request = paymentRequest();
+        payment(request, merchant, PaymentStatus.COMPLETED, LocalDate.of(2026, 3, 10), "100.00");
+        payment(request, merchant, PaymentStatus.COMPLETED, LocalDate.of(2026, 3, 20), "250.00");
+        payment(request, merchant, PaymentStatus.COMPLETED, LocalDate.of(2026, 5, 1), "999.00");
+        payment(request, merchant, PaymentStatus.PENDING, LocalDate.of(2026, 3, 15), "40.00");
+        payment(request, null, PaymentStatus.COMPLETED, LocalDate.of(2026, 3, 15), "5000.00");
+        entityManager.flush();
+
+        List<Object[]> windowed = paymentRepository.summarizePaymentsByMerchant(PaymentStatus.COMPLETED,
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), Pageable.unpaged());
+
+        assertTrue(windowed.stream().noneMatch(row -> row[0] == null), "Payments without merchant must be excluded");
+        Object[] row = rowOf(windowed, merchant.getId());
+        assertEquals(0, new BigDecimal("350.00").compareTo((BigDecimal) row[2]));
+        assertEquals(2L, ((Number) row[3]).longValue());
+        assertEquals(LocalDate.of(2026, 3, 20), row[4]);
+
+        List<Object[]> unbounded = paymentRepository.summarizePaymentsByMerchant(PaymentStatus.COMPLETED,
+                null, null, Pageable.unpaged());
+
+        assertTrue(unbounded.stream().noneMatch(r -> r[0] == null), "Payments without merchant must be excluded");
+        row = rowOf(unbounded, merchant.getId());
+        assertEquals(0, new BigDecimal("1349.00").compareTo((BigDecimal) row[2]));
+        assertEquals(3L, ((Number) row[3]).longValue());
+        assertEquals(LocalDate.of(2026, 5, 1), row[4]);
+    }
+
+    // ==================== Helper Methods ====================
+
+    // Seeds one active account (current 1000, available 800) and one inactive account (500/500)
+    private void assertBalanceSummary(Supplier<List<Object[]>> summary, Runnable seed) {
+        Object[] before = summary.get().get(0);
+        seed.run();
+        entityManager.flush();
+        Object[] after = summary.get().get(0);
+
+        assertEquals(2L, toLong(after[0]) - toLong(before[0]));
+        assertEquals(1L, toLong(after[1]) - toLong(before[1]));
+        assertEquals(0, new BigDecimal("1500.00").compareTo(toBigDecimal(after[2]).subtract(toBigDecimal(before[2]))));
+        assertEquals(0, new BigDecimal("800.00").compareTo(toBigDecimal(after[3]).subtract(toBigDecimal(before[3]))));
+    }
+
+    private Object[] rowOf(List<Object[]> rows, UUID merchantId) {
+        return rows.stream()
+                .filter(row -> merchantId.equals(row[0]))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No summary row for merchant " + merchantId));
+    }
+
+    private BankAccount bankAccount(boolean active, String current, String available) {
+        BankAccount account = new BankAccount();
+        account.setBankName("Dashboard Test Bank");
+        account.setAccountNumber("DT-" + UUID.randomUUID());
+        account.setAccountHolderName("Dashboard Test");
+        account.setIsActive(active);
+        account.setCurrentBalance(new BigDecimal(current));
+        account.setAvailableBalance(new BigDecimal(available));
+        return account;
+    }
+
+    private CashSafe cashSafe(boolean active, String current, String available) {
+        CashSafe safe = new CashSafe();
+        safe.setSafeName("Dashboard Test Safe " + UUID.randomUUID());
+        safe.setLocation("Head office");
+        safe.setIsActive(active);
+        safe.setCurrentBalance(new BigDecimal(current));
+        safe.setAvailableBalance(new BigDecimal(available));
+        return safe;
+    }
+
+    private CashWithPerson cashWithPerson(boolean active, String current, String available) {
+        CashWithPerson cash = new CashWithPerson();
+        cash.setPersonName("Dashboard Test " + UUID.randomUUID());
+        cash.setIsActive(active);
+        cash.setCurrentBalance(new BigDecimal(current));
+        cash.setAvailableBalance(new BigDecimal(available));
+        return cash;
+    }
+
+    private Merchant merchant() {
+        String suffix = UUID.randomUUID().toString();
+        Merchant merchant = new Merchant();
+        merchant.setMerchantId("DT-" + suffix);
+        merchant.setName("Dashboard Merchant " + suffix);
+        entityManager.persist(merchant);
+        return merchant;
+    }
+
+    private PaymentRequest paymentRequest() {
+        PaymentRequest request = new PaymentRequest();
+        request.setRequestNumber("PR-DT-" + UUID.randomUUID());
+        request.setRequestedAmount(new BigDecimal("10000.00"));
+        request.setCurrency("EGP");
+        request.setStatus(PaymentRequestStatus.APPROVED);
+        request.setRequestedByUserId(UUID.randomUUID());
+        entityManager.persist(request);
+        return request;
+    }
+
+    private void payment(PaymentRequest request, Merchant merchant, PaymentStatus status,
+                         LocalDate paymentDate, String amount) {
+        AccountPayablePayment payment = new AccountPayablePayment();
+        payment.setPaymentNumber("PAY-DT-" + UUID.randomUUID());
+        payment.setPaymentRequest(request);
+        payment.setAmount(new BigDecimal(amount));
+        payment.setCurrency("EGP");
+        payment.setPaymentDate(paymentDate);
+        payment.setPaymentMethod(PaymentMethod.BANK_ACCOUNT);
+        payment.setPaidToMerchant(merchant);
+        payment.setPaidToName(merchant != null ? merchant.getName() : "Walk-in supplier");
+        payment.setProcessedByUserId(UUID.randomUUID());
+        payment.setStatus(status);
+        entityManager.persist(payment);
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(String.valueOf(value));
+    }
+}
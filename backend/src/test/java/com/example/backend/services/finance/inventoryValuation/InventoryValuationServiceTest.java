@@ -4,6 +4,7 @@ import com.example.backend.dto.finance.inventoryValuation.*;
 import com.example.backend.dto.finance.valuation.ConsumableBreakdownDTO;
 import com.example.backend.dto.finance.valuation.EquipmentFinancialBreakdownDTO;
 import com.example.backend.dto.finance.valuation.SiteValuationDTO;
+import com.example.backend.events.ValuationDeltaEvent;
 import com.example.backend.models.equipment.Consumable;
 import com.example.backend.models.finance.Valuation.EquipmentValuation;
 import com.example.backend.models.finance.Valuation.SiteValuation;
@@ -29,6 +30,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -50,6 +52,7 @@ public class InventoryValuationServiceTest {
     @Mock private EquipmentValuationService equipmentValuationService;
     @Mock private SiteValuationService siteValuationService;
     @Mock private ConsumableRepository consumableRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private InventoryValuationService inventoryValuationService;
@@ -344,10 +347,6 @@ public class InventoryValuationServiceTest {
         when(itemPriceApprovalRepository.findByItemId(itemId)).thenReturn(Optional.of(approval));
         when(itemRepository.save(any(Item.class))).thenReturn(item);
         when(itemPriceApprovalRepository.save(any(ItemPriceApproval.class))).thenReturn(approval);
-        when(warehouseValuationService.calculateWarehouseValuation(any(UUID.class), anyString()))
-                .thenReturn(createWarehouseValuation(warehouse));
-        when(siteValuationService.calculateSiteValuation(any(UUID.class), anyString()))
-                .thenReturn(createSiteValuation(warehouse.getSite()));
 
         inventoryValuationService.approveItemPrice(itemId, 150.0, "admin");
 
@@ -368,10 +367,6 @@ public class InventoryValuationServiceTest {
         when(itemPriceApprovalRepository.findByItemId(itemId)).thenReturn(Optional.of(approval));
         when(itemRepository.save(any(Item.class))).thenReturn(item);
         when(itemPriceApprovalRepository.save(any(ItemPriceApproval.class))).thenReturn(approval);
-        when(warehouseValuationService.calculateWarehouseValuation(any(UUID.class), anyString()))
-                .thenReturn(createWarehouseValuation(warehouse));
-        when(siteValuationService.calculateSiteValuation(any(UUID.class), anyString()))
-                .thenReturn(createSiteValuation(warehouse.getSite()));
 
         ItemPriceApproval result =
                 inventoryValuationService.approveItemPrice(itemId, 150.0, "admin");
@@ -386,26 +381,27 @@ public class InventoryValuationServiceTest {
     }
 
     @Test
-    public void approveItemPrice_pendingApproval_shouldTriggerWarehouseAndSiteValuationRecalculation() {
+    public void approveItemPrice_pendingApproval_shouldPublishWarehouseValuationDelta() {
         UUID itemId = UUID.randomUUID();
         UUID warehouseId = UUID.randomUUID();
         Warehouse warehouse = createWarehouse(warehouseId);
         Item item = createItem(itemId, warehouse);
-        UUID siteId = warehouse.getSite().getId();
         ItemPriceApproval approval = createApproval(item, warehouse, ApprovalStatus.PENDING);
 
         when(itemPriceApprovalRepository.findByItemId(itemId)).thenReturn(Optional.of(approval));
         when(itemRepository.save(any(Item.class))).thenReturn(item);
         when(itemPriceApprovalRepository.save(any(ItemPriceApproval.class))).thenReturn(approval);
-        when(warehouseValuationService.calculateWarehouseValuation(warehouseId, "admin"))
-                .thenReturn(createWarehouseValuation(warehouse));
-        when(siteValuationService.calculateSiteValuation(siteId, "admin"))
-                .thenReturn(createSiteValuation(warehouse.getSite()));
 
         inventoryValuationService.approveItemPrice(itemId, 150.0, "admin");
 
-        verify(warehouseValuationService).calculateWarehouseValuation(warehouseId, "admin");
-        verify(siteValuationService).calculateSiteValuation(siteId, "admin");
+        // Pending stock was not valued before; 10 units at 150 now are
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+                event instanceof ValuationDeltaEvent delta
+                        && warehouseId.equals(delta.getWarehouseId())
+                        && delta.getValueDelta() == 1500.0
+                        && delta.getQuantityDelta() == 10));
+        verify(warehouseValuationService, never()).calculateWarehouseValuation(any(), any());
+        verify(siteValuationService, never()).calculateSiteValuation(any(), any());
     }
 
     @Test
@@ -419,10 +415,6 @@ public class InventoryValuationServiceTest {
         when(itemPriceApprovalRepository.findByItemId(itemId)).thenReturn(Optional.of(approval));
         when(itemRepository.save(any(Item.class))).thenReturn(item);
         when(itemPriceApprovalRepository.save(any(ItemPriceApproval.class))).thenReturn(approval);
-        when(warehouseValuationService.calculateWarehouseValuation(any(UUID.class), anyString()))
-                .thenReturn(createWarehouseValuation(warehouse));
-        when(siteValuationService.calculateSiteValuation(any(UUID.class), anyString()))
-                .thenReturn(createSiteValuation(warehouse.getSite()));
 
         inventoryValuationService.approveItemPrice(itemId, 150.0, "admin");
 
@@ -447,10 +439,6 @@ public class InventoryValuationServiceTest {
         when(itemPriceApprovalRepository.findByItemId(itemId)).thenReturn(Optional.of(approval));
         when(itemRepository.save(any(Item.class))).thenReturn(item);
         when(itemPriceApprovalRepository.save(any(ItemPriceApproval.class))).thenReturn(approval);
-        when(warehouseValuationService.calculateWarehouseValuation(any(UUID.class), anyString()))
-                .thenReturn(createWarehouseValuation(warehouse));
-        when(siteValuationService.calculateSiteValuation(any(UUID.class), anyString()))
-                .thenReturn(createSiteValuation(warehouse.getSite()));
         doThrow(new RuntimeException("STOMP broker unavailable"))
                 .when(notificationService)
                 .sendNotificationToUsersByRoles(any(), any(), any(), any(), any(), any());
@@ -480,10 +468,6 @@ public class InventoryValuationServiceTest {
         when(itemRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         when(itemPriceApprovalRepository.save(any(ItemPriceApproval.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
-        when(warehouseValuationService.calculateWarehouseValuation(any(UUID.class), anyString()))
-                .thenReturn(createWarehouseValuation(warehouse));
-        when(siteValuationService.calculateSiteValuation(any(UUID.class), anyString()))
-                .thenReturn(createSiteValuation(warehouse.getSite()));
 
         BulkPriceApprovalRequestDTO request = new BulkPriceApprovalRequestDTO();
         request.setItems(List.of(
@@ -510,10 +494,6 @@ public class InventoryValuationServiceTest {
         when(itemRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         when(itemPriceApprovalRepository.save(any(ItemPriceApproval.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
-        when(warehouseValuationService.calculateWarehouseValuation(any(UUID.class), anyString()))
-                .thenReturn(createWarehouseValuation(warehouse));
-        when(siteValuationService.calculateSiteValuation(any(UUID.class), anyString()))
-                .thenReturn(createSiteValuation(warehouse.getSite()));
 
         BulkPriceApprovalRequestDTO request = new BulkPriceApprovalRequestDTO();
         request.setItems(List.of(
@@ -720,26 +700,41 @@ public class InventoryValuationServiceTest {
         site2.setName("Site Two");
         site2.setWarehouses(new ArrayList<>());
 
-        when(siteRepository.findAll()).thenReturn(List.of(site1, site2));
-        when(siteRepository.findById(siteId1)).thenReturn(Optional.of(site1));
-        when(siteRepository.findById(siteId2)).thenReturn(Optional.of(site2));
-        when(siteValuationService.getSiteValuation(siteId1)).thenReturn(createSiteValuation(site1));
-        when(siteValuationService.getSiteValuation(siteId2)).thenReturn(createSiteValuation(site2));
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(UUID.randomUUID());
+        warehouse.setName("Site One Warehouse");
+        warehouse.setSite(site1);
+        WarehouseValuation warehouseValuation = createWarehouseValuation(warehouse);
+
+        when(siteValuationService.getAllSiteValuations())
+                .thenReturn(List.of(createSiteValuation(site1), createSiteValuation(site2)));
+        when(warehouseRepository.findAllWithSite()).thenReturn(List.of(warehouse));
+        when(warehouseValuationService.getWarehouseValuations(List.of(warehouse)))
+                .thenReturn(Map.of(warehouse.getId(), warehouseValuation));
+        when(itemPriceApprovalRepository.countPendingApprovalsGroupedByWarehouse())
+                .thenReturn(List.<Object[]>of(new Object[]{warehouse.getId(), 3L}));
 
         List<SiteBalanceDTO> result = inventoryValuationService.getAllSiteBalances();
 
         assertNotNull(result);
         assertEquals(2, result.size());
+        assertEquals(siteId1, result.get(0).getSiteId());
+        assertEquals(1, result.get(0).getWarehouses().size());
+        assertEquals(3, result.get(0).getWarehouses().get(0).getPendingApprovalCount());
+        assertEquals(siteId2, result.get(1).getSiteId());
+        assertTrue(result.get(1).getWarehouses().isEmpty());
+        verify(siteValuationService, never()).getSiteValuation(any());
+        verify(itemPriceApprovalRepository, never()).countPendingApprovalsByWarehouse(any());
     }
 
     @Test
-    public void getAllSiteBalances_noSites_shouldReturnEmptyListWithoutCallingValuationService() {
-        when(siteRepository.findAll()).thenReturn(Collections.emptyList());
+    public void getAllSiteBalances_noSites_shouldReturnEmptyListWithoutLoadingWarehouses() {
+        when(siteValuationService.getAllSiteValuations()).thenReturn(Collections.emptyList());
 
         List<SiteBalanceDTO> result = inventoryValuationService.getAllSiteBalances();
 
         assertTrue(result.isEmpty());
-        verifyNoInteractions(siteValuationService);
+        verifyNoInteractions(warehouseRepository, warehouseValuationService);
     }
 
     // ==================== getSiteValuationComplete ====================
@@ -756,7 +751,7 @@ public class InventoryValuationServiceTest {
     }
 
     @Test
-    public void getSiteValuationComplete_validSite_shouldAlwaysRecalculateAndMapAllDTOFields() {
+    public void getSiteValuationComplete_validSite_shouldReadStoredValuationAndMapAllDTOFields() {
         UUID siteId = UUID.randomUUID();
         Site site = new Site();
         site.setId(siteId);
@@ -766,7 +761,7 @@ public class InventoryValuationServiceTest {
         SiteValuation valuation = createSiteValuation(site);
 
         when(siteRepository.findById(siteId)).thenReturn(Optional.of(site));
-        when(siteValuationService.calculateSiteValuation(siteId, "SYSTEM")).thenReturn(valuation);
+        when(siteValuationService.getSiteValuation(siteId)).thenReturn(valuation);
 
         SiteValuationDTO result = inventoryValuationService.getSiteValuationComplete(siteId);
 
@@ -787,7 +782,7 @@ public class InventoryValuationServiceTest {
         assertEquals(2, result.getFixedAssetsCount());
         assertEquals("SYSTEM", result.getLastCalculatedBy());
         assertNotNull(result.getLastCalculatedAt());
-        verify(siteValuationService).calculateSiteValuation(siteId, "SYSTEM");
+        verify(siteValuationService, never()).calculateSiteValuation(any(), any());
     }
 
     @Test
@@ -801,7 +796,7 @@ public class InventoryValuationServiceTest {
         valuation.setLastCalculatedAt(null);
 
         when(siteRepository.findById(siteId)).thenReturn(Optional.of(site));
-        when(siteValuationService.calculateSiteValuation(siteId, "SYSTEM")).thenReturn(valuation);
+        when(siteValuationService.getSiteValuation(siteId)).thenReturn(valuation);
 
         SiteValuationDTO result = inventoryValuationService.getSiteValuationComplete(siteId);
 
@@ -811,34 +806,32 @@ public class InventoryValuationServiceTest {
     // ==================== getAllSiteValuations ====================
 
     @Test
-    public void getAllSiteValuations_withSites_shouldRecalculateEachSiteAndReturnDTOList() {
+    public void getAllSiteValuations_withSites_shouldMapStoredValuationsToDTOList() {
         UUID siteId = UUID.randomUUID();
         Site site = new Site();
         site.setId(siteId);
-        site.setName("Recalc Site");
+        site.setName("Stored Site");
 
         SiteValuation valuation = createSiteValuation(site);
 
-        when(siteRepository.findAll()).thenReturn(List.of(site));
-        when(siteRepository.findById(siteId)).thenReturn(Optional.of(site));
-        when(siteValuationService.calculateSiteValuation(siteId, "SYSTEM")).thenReturn(valuation);
+        when(siteValuationService.getAllSiteValuations()).thenReturn(List.of(valuation));
 
         List<SiteValuationDTO> result = inventoryValuationService.getAllSiteValuations();
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(siteId, result.get(0).getSiteId());
-        verify(siteValuationService).calculateSiteValuation(siteId, "SYSTEM");
+        assertEquals("Stored Site", result.get(0).getSiteName());
+        verify(siteValuationService, never()).calculateSiteValuation(any(), any());
     }
 
     @Test
-    public void getAllSiteValuations_noSites_shouldReturnEmptyListWithoutCallingValuationService() {
-        when(siteRepository.findAll()).thenReturn(Collections.emptyList());
+    public void getAllSiteValuations_noSites_shouldReturnEmptyList() {
+        when(siteValuationService.getAllSiteValuations()).thenReturn(Collections.emptyList());
 
         List<SiteValuationDTO> result = inventoryValuationService.getAllSiteValuations();
 
         assertTrue(result.isEmpty());
-        verifyNoInteractions(siteValuationService);
     }
 
     // ==================== getEquipmentFinancials ====================
@@ -0,0 +1,153 @@
+package com.example.backend.services.finance.payables;
+
+import com.example.backend.dto.finance.payables.AgingBucket;
+import com.example.backend.dto.finance.payables.InvoiceAgingRow;
+import com.example.backend.dto.finance.payables.InvoiceAgingSummary;
+import com.example.backend.models.finance.payables.InvoiceStatus;
+import com.example.backend.repositories.finance.payables.InvoiceRepository;
+import com.example.backend.utils.ExportUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InvoiceServiceTest {
+
+    private static final List<String> UNPAID_STATUS_NAMES = List.of("PENDING", "PARTIALLY_PAID", "OVERDUE");
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private ExportUtil exportUtil;
+
+    @InjectMocks
+    private InvoiceService invoiceService;
+
+    // ==================== getAgingTotals ====================
+
+    @Test
+    public void getAgingTotals_shouldMapGroupedBucketsAndDefaultMissingOnesToZero() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{0, 2L, new BigDecimal("350.00")});
+        rows.add(new Object[]{3, 1L, new BigDecimal("900.00")});
+        when(invoiceRepository.sumAgingBuckets(eq(UNPAID_STATUS_NAMES), any(LocalDate.class))).thenReturn(rows);
+
+        Object[] totals = invoiceService.getAgingTotals();
+
+        assertEquals(4, totals.length);
+        assertEquals(0, new BigDecimal("350.00").compareTo((BigDecimal) totals[0]));
+        assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) totals[1]));
+        assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) totals[2]));
+        assertEquals(0, new BigDecimal("900.00").compareTo((BigDecimal) totals[3]));
+        verify(invoiceRepository, never()).findUnpaidInvoices(any());
+    }
+
+    @Test
+    public void getAgingSummary_shouldKeepInvoiceCountsPerBucket() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1, 4L, new BigDecimal("120.00")});
+        when(invoiceRepository.sumAgingBuckets(eq(UNPAID_STATUS_NAMES), any(LocalDate.class))).thenReturn(rows);
+
+        InvoiceAgingSummary summary = invoiceService.getAgingSummary();
+
+        assertEquals(4L, summary.invoiceCount(AgingBucket.DAYS_31_TO_60));
+        assertEquals(0L, summary.invoiceCount(AgingBucket.DAYS_0_TO_30));
+    }
+
+    // ==================== bucket lists ====================
+
+    @Test
+    public void getInvoicesAged31To60Days_shouldQueryThatDueDateRangeOnly() {
+        LocalDate today = LocalDate.now();
+        when(invoiceRepository.findByStatusInAndDueDateBetweenOrderByDueDateAsc(
+                any(), eq(today.minusDays(60)), eq(today.minusDays(31)))).thenReturn(Collections.emptyList());
+
+        assertTrue(invoiceService.getInvoicesAged31To60Days().isEmpty());
+
+        verify(invoiceRepository).findByStatusInAndDueDateBetweenOrderByDueDateAsc(
+                List.of(InvoiceStatus.PENDING, InvoiceStatus.PARTIALLY_PAID, InvoiceStatus.OVERDUE),
+                today.minusDays(60), today.minusDays(31));
+        verify(invoiceRepository, never()).findUnpaidInvoices(any());
+    }
+
+    // ==================== exportAgingReport ====================
+
+    @Test
+    public void exportAgingReport_shouldTakeSummaryFromFirstRowAndRenderEveryRow() throws Exception {
+        Object[] first = agingReportRow(0, "INV-1", "Acme", "100.00", -3, 2, "350.00");
+        Object[] second = agingReportRow(0, "INV-2", "Acme", "250.00", 12, 2, "350.00");
+        when(invoiceRepository.streamAgingReport(eq(UNPAID_STATUS_NAMES), any(LocalDate.class)))
+                .thenReturn(Stream.of(first, second));
+
+        List<InvoiceAgingRow> rendered = new ArrayList<>();
+        InvoiceAgingSummary[] summary = new InvoiceAgingSummary[1];
+        doAnswer(invocation -> {
+            summary[0] = invocation.getArgument(0);
+            Iterator<InvoiceAgingRow> rows = invocation.getArgument(1);
+            rows.forEachRemaining(rendered::add);
+            return null;
+        }).when(exportUtil).writeAgingReportToPDF(any(), any(), any(OutputStream.class));
+
+        invoiceService.exportAgingReport(new ByteArrayOutputStream());
+
+        assertEquals(2, rendered.size());
+        InvoiceAgingRow row = rendered.get(0);
+        assertEquals(AgingBucket.DAYS_0_TO_30, row.bucket());
+        assertEquals("INV-1", row.invoiceNumber());
+        assertEquals(LocalDate.of(2026, 1, 10), row.dueDate());
+        assertEquals(-3L, row.daysPastDue());
+        assertEquals(2L, row.vendorInvoiceCount());
+        assertEquals(0, new BigDecimal("350.00").compareTo(row.vendorRemainingBalance()));
+        assertEquals("INV-2", rendered.get(1).invoiceNumber());
+
+        assertEquals(2L, summary[0].invoiceCount(AgingBucket.DAYS_0_TO_30));
+        assertEquals(0, new BigDecimal("350.00").compareTo(summary[0].remainingBalance(AgingBucket.DAYS_0_TO_30)));
+        assertEquals(0L, summary[0].invoiceCount(AgingBucket.OVER_90_DAYS));
+        assertEquals(0, BigDecimal.ZERO.compareTo(summary[0].remainingBalance(AgingBucket.OVER_90_DAYS)));
+    }
+
+    @Test
+    public void exportAgingReport_withNoUnpaidInvoices_shouldRenderEmptyReport() throws Exception {
+        when(invoiceRepository.streamAgingReport(eq(UNPAID_STATUS_NAMES), any(LocalDate.class)))
+                .thenReturn(Stream.empty());
+        OutputStream out = new ByteArrayOutputStream();
+
+        invoiceService.exportAgingReport(out);
+
+        verify(exportUtil).writeAgingReportToPDF(
+                argThat(summary -> summary.invoiceCount(AgingBucket.DAYS_0_TO_30) == 0),
+                argThat(rows -> !rows.hasNext()),
+                eq(out));
+    }
+
+    // ==================== Helper Methods ====================
+
+    // Columns of InvoiceRepository.streamAgingReport; only the 0-30 bucket has invoices
+    private Object[] agingReportRow(int bucket, String invoiceNumber, String vendorName, String remaining,
+                                    int daysPastDue, long vendorCount, String vendorRemaining) {
+        return new Object[]{
+                bucket, invoiceNumber, vendorName, new BigDecimal(remaining), new BigDecimal(remaining),
+                Date.valueOf(LocalDate.of(2026, 1, 10)), daysPastDue, vendorCount, new BigDecimal(vendorRemaining),
+                2L, new BigDecimal("350.00"), 0L, null, 0L, null, 0L, null
+        };
+    }
+}
@@ -506,21 +506,22 @@ public class SiteValuationServiceTest {
                 UUID.randomUUID(), site2, 20000.0, 2000.0,
                 10000.0, 1000.0, 10000.0, 1000.0, 2, 2);
 
+        when(siteValuationRepository.findAllWithSite()).thenReturn(List.of(val1, val2));
         when(siteRepository.findAll()).thenReturn(List.of(site1, site2));
-        when(siteValuationRepository.findBySiteId(site1Id)).thenReturn(Optional.of(val1));
-        when(siteValuationRepository.findBySiteId(site2Id)).thenReturn(Optional.of(val2));
 
         List<SiteValuation> results = siteValuationService.getAllSiteValuations();
 
         assertNotNull(results);
         assertEquals(2, results.size());
-        // Should not trigger any recalculation since valuations exist
+        // Served from one query, no per-site lookups or recalculation
+        verify(siteValuationRepository, never()).findBySiteId(any());
         verify(warehouseValuationService, never()).recalculateSiteWarehouses(any(), any());
         verify(equipmentValuationService, never()).recalculateSiteEquipment(any(), any());
     }
 
     @Test
     public void getAllSiteValuations_noSites_shouldReturnEmptyList() {
+        when(siteValuationRepository.findAllWithSite()).thenReturn(Collections.emptyList());
         when(siteRepository.findAll()).thenReturn(Collections.emptyList());
 
         List<SiteValuation> results = siteValuationService.getAllSiteValuations();
@@ -540,12 +541,10 @@ public class SiteValuationServiceTest {
                 UUID.randomUUID(), site1, 10000.0, 1000.0,
                 5000.0, 500.0, 5000.0, 500.0, 1, 1);
 
+        when(siteValuationRepository.findAllWithSite()).thenReturn(List.of(val1));
         when(siteRepository.findAll()).thenReturn(List.of(site1, site2));
-        when(siteValuationRepository.findBySiteId(site1Id)).thenReturn(Optional.of(val1));
         // site2 has no valuation — triggers calculation
-        when(siteValuationRepository.findBySiteId(site2Id))
-                .thenReturn(Optional.empty())   // call from getSiteValuation
-                .thenReturn(Optional.empty());  // call inside calculateSiteValuation
+        when(siteValuationRepository.findBySiteId(site2Id)).thenReturn(Optional.empty());
         when(siteRepository.findById(site2Id)).thenReturn(Optional.of(site2));
         when(warehouseValuationService.recalculateSiteWarehouses(site2Id, "SYSTEM"))
                 .thenReturn(Collections.emptyList());
@@ -0,0 +1,140 @@
+package com.example.backend.services.finance.valuation;
+
+import com.example.backend.events.ValuationDeltaEvent;
+import com.example.backend.models.equipment.Equipment;
+import com.example.backend.models.finance.Valuation.EquipmentValuation;
+import com.example.backend.models.site.Site;
+import com.example.backend.repositories.equipment.EquipmentRepository;
+import com.example.backend.repositories.finance.valuation.EquipmentValuationRepository;
+import com.example.backend.repositories.finance.valuation.SiteValuationRepository;
+import com.example.backend.repositories.finance.valuation.WarehouseValuationRepository;
+import com.example.backend.repositories.warehouse.WarehouseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ValuationDeltaServiceTest {
+
+    @Mock private WarehouseValuationRepository warehouseValuationRepository;
+    @Mock private EquipmentValuationRepository equipmentValuationRepository;
+    @Mock private SiteValuationRepository siteValuationRepository;
+    @Mock private WarehouseRepository warehouseRepository;
+    @Mock private EquipmentRepository equipmentRepository;
+    @Mock private EquipmentValuationService equipmentValuationService;
+
+    @InjectMocks
+    private ValuationDeltaService valuationDeltaService;
+
+    // ==================== FACTORY HELPERS ====================
+
+    private Site createSite(UUID id) {
+        Site site = new Site();
+        site.setId(id);
+        return site;
+    }
+
+    private EquipmentValuation createEquipmentValuation(Site site, double currentValue, double totalExpenses) {
+        Equipment equipment = new Equipment();
+        equipment.setId(UUID.randomUUID());
+        equipment.setSite(site);
+
+        EquipmentValuation valuation = new EquipmentValuation();
+        valuation.setId(UUID.randomUUID());
+        valuation.setEquipment(equipment);
+        valuation.setCurrentValue(currentValue);
+        valuation.setTotalExpenses(totalExpenses);
+        return valuation;
+    }
+
+    // ==================== apply ====================
+
+    @Test
+    public void apply_warehouseDelta_shouldUpdateWarehouseAndItsSite() {
+        UUID warehouseId = UUID.randomUUID();
+        UUID siteId = UUID.randomUUID();
+        when(warehouseRepository.findSiteIdById(warehouseId)).thenReturn(siteId);
+
+        valuationDeltaService.apply(ValuationDeltaEvent.forWarehouse(warehouseId, -250.0, -10, 0.0));
+
+        verify(warehouseValuationRepository).applyDelta(eq(warehouseId), eq(-250.0), eq(-10), eq(0.0), any());
+        verify(siteValuationRepository).applyDelta(eq(siteId), eq(-250.0), eq(0.0), eq(0.0), eq(0.0), eq(0), any());
+    }
+
+    @Test
+    public void apply_emptyDelta_shouldNotTouchAggregates() {
+        valuationDeltaService.apply(ValuationDeltaEvent.forWarehouse(UUID.randomUUID(), 0.0, 0, 0.0));
+
+        verifyNoInteractions(warehouseValuationRepository, siteValuationRepository, warehouseRepository);
+    }
+
+    @Test
+    public void apply_equipmentWithoutValuation_shouldNotUpdateSite() {
+        UUID equipmentId = UUID.randomUUID();
+        when(equipmentValuationRepository.applyExpenseDelta(eq(equipmentId), eq(80.0), any())).thenReturn(0);
+
+        valuationDeltaService.apply(ValuationDeltaEvent.forEquipmentExpenses(equipmentId, 80.0));
+
+        verify(equipmentRepository, never()).findSiteIdById(any());
+        verifyNoInteractions(siteValuationRepository);
+    }
+
+    // ==================== refreshEquipment ====================
+
+    @Test
+    public void refreshEquipment_sameSite_shouldApplyDifferenceOnly() {
+        UUID siteId = UUID.randomUUID();
+        Site site = createSite(siteId);
+        EquipmentValuation stored = createEquipmentValuation(site, 1000.0, 100.0);
+        UUID equipmentId = stored.getEquipment().getId();
+        EquipmentValuation recalculated = createEquipmentValuation(site, 900.0, 150.0);
+
+        when(equipmentValuationRepository.findByEquipmentId(equipmentId)).thenReturn(Optional.of(stored));
+        when(equipmentValuationService.calculateEquipmentValuation(equipmentId, "SYSTEM")).thenReturn(recalculated);
+
+        valuationDeltaService.refreshEquipment(equipmentId, siteId);
+
+        verify(siteValuationRepository).applyDelta(eq(siteId), eq(0.0), eq(0.0), eq(-100.0), eq(50.0), eq(0), any());
+        verifyNoMoreInteractions(siteValuationRepository);
+    }
+
+    @Test
+    public void refreshEquipment_movedSite_shouldMoveContributionBetweenSites() {
+        UUID oldSiteId = UUID.randomUUID();
+        UUID newSiteId = UUID.randomUUID();
+        EquipmentValuation stored = createEquipmentValuation(createSite(oldSiteId), 1000.0, 100.0);
+        UUID equipmentId = stored.getEquipment().getId();
+        EquipmentValuation recalculated = createEquipmentValuation(createSite(newSiteId), 1000.0, 100.0);
+
+        when(equipmentValuationRepository.findByEquipmentId(equipmentId)).thenReturn(Optional.of(stored));
+        when(equipmentValuationService.calculateEquipmentValuation(equipmentId, "SYSTEM")).thenReturn(recalculated);
+
+        valuationDeltaService.refreshEquipment(equipmentId, oldSiteId);
+
+        verify(siteValuationRepository).applyDelta(eq(oldSiteId), eq(0.0), eq(0.0), eq(-1000.0), eq(-100.0), eq(-1), any());
+        verify(siteValuationRepository).applyDelta(eq(newSiteId), eq(0.0), eq(0.0), eq(1000.0), eq(100.0), eq(1), any());
+    }
+
+    // ==================== removeEquipment ====================
+
+    @Test
+    public void removeEquipment_valued_shouldSubtractFromSiteAndDeleteValuation() {
+        UUID siteId = UUID.randomUUID();
+        EquipmentValuation stored = createEquipmentValuation(createSite(siteId), 500.0, 20.0);
+        UUID equipmentId = stored.getEquipment().getId();
+        when(equipmentValuationRepository.findByEquipmentId(equipmentId)).thenReturn(Optional.of(stored));
+
+        valuationDeltaService.removeEquipment(equipmentId, siteId);
+
+        verify(siteValuationRepository).applyDelta(eq(siteId), eq(0.0), eq(0.0), eq(-500.0), eq(-20.0), eq(-1), any());
+        verify(equipmentValuationRepository).delete(stored);
+    }
+}
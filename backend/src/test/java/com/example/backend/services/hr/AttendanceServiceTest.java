@@ -3,6 +3,7 @@ package com.example.backend.services.hr;
 import com.example.backend.dto.hr.attendance.AttendanceRequestDTO;
 import com.example.backend.dto.hr.attendance.AttendanceResponseDTO;
 import com.example.backend.dto.hr.attendance.BulkAttendanceDTO;
+import com.example.backend.dto.hr.attendance.MonthlyAttendanceGridDTO;
 import com.example.backend.dto.hr.employee.EmployeeMonthlyAttendanceDTO;
 import com.example.backend.models.hr.Attendance;
 import com.example.backend.models.hr.Department;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -41,6 +43,9 @@ class AttendanceServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Spy
+    private AttendanceDefaultResolver attendanceDefaultResolver = new AttendanceDefaultResolver();
+
     @InjectMocks
     private AttendanceService attendanceService;
 
@@ -105,13 +110,8 @@ class AttendanceServiceTest {
             LocalDate endDate = LocalDate.of(year, month, 28);
 
             when(employeeRepository.findBySiteId(siteId)).thenReturn(List.of(activeEmployee));
-            when(attendanceRepository.findByEmployeeIdAndDateRange(eq(employeeId), eq(startDate), eq(endDate)))
+            when(attendanceRepository.findByEmployeeIdInAndDateBetween(List.of(employeeId), startDate, endDate))
                     .thenReturn(Collections.emptyList());
-            when(attendanceRepository.save(any(Attendance.class))).thenAnswer(invocation -> {
-                Attendance a = invocation.getArgument(0);
-                a.setId(UUID.randomUUID());
-                return a;
-            });
 
             List<EmployeeMonthlyAttendanceDTO> result =
                     attendanceService.generateMonthlyAttendanceSheet(siteId, year, month);
@@ -122,7 +122,39 @@ class AttendanceServiceTest {
             assertThat(dto.getYear()).isEqualTo(year);
             assertThat(dto.getMonth()).isEqualTo(month);
             assertThat(dto.getTotalDays()).isEqualTo(28);
-            verify(attendanceRepository, atLeastOnce()).save(any(Attendance.class));
+            // Fridays and Saturdays default to OFF, other days to ABSENT
+            assertThat(dto.getOffDays()).isEqualTo(8);
+            assertThat(dto.getAbsentDays()).isEqualTo(20);
+            assertThat(dto.getDailyAttendance()).allMatch(day -> day.getAttendanceId() == null);
+            // Defaults are synthesized, not persisted
+            verify(attendanceRepository, never()).saveAll(any());
+            verify(attendanceRepository, never()).save(any(Attendance.class));
+        }
+
+        @Test
+        @DisplayName("should show stored records in place of the defaults")
+        void shouldUseStoredRecordsOverDefaults() {
+            LocalDate date = LocalDate.of(2026, 2, 2);
+            Attendance stored = Attendance.builder()
+                    .id(UUID.randomUUID())
+                    .employee(activeEmployee)
+                    .date(date)
+                    .status(Attendance.AttendanceStatus.PRESENT)
+                    .dayType(Attendance.DayType.WORKING_DAY)
+                    .hoursWorked(8.0)
+                    .build();
+
+            when(employeeRepository.findBySiteId(siteId)).thenReturn(List.of(activeEmployee));
+            when(attendanceRepository.findByEmployeeIdInAndDateBetween(
+                    List.of(employeeId), LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28)))
+                    .thenReturn(List.of(stored));
+
+            EmployeeMonthlyAttendanceDTO dto = attendanceService.generateMonthlyAttendanceSheet(siteId, 2026, 2).get(0);
+
+            assertThat(dto.getPresentDays()).isEqualTo(1);
+            assertThat(dto.getAbsentDays()).isEqualTo(19);
+            assertThat(dto.getTotalHours()).isEqualTo(8.0);
+            assertThat(dto.getDailyAttendance().get(1).getAttendanceId()).isEqualTo(stored.getId());
         }
 
         @Test
@@ -136,14 +168,15 @@ class AttendanceServiceTest {
             noPositionEmployee.setLastName("Smith");
 
             when(employeeRepository.findBySiteId(siteId)).thenReturn(List.of(noPositionEmployee));
-            when(attendanceRepository.findByEmployeeIdAndDateRange(any(), any(), any()))
+            when(attendanceRepository.findByEmployeeIdInAndDateBetween(any(), any(), any()))
                     .thenReturn(Collections.emptyList());
 
             List<EmployeeMonthlyAttendanceDTO> result =
                     attendanceService.generateMonthlyAttendanceSheet(siteId, 2026, 1);
 
             assertThat(result).hasSize(1);
-            // No attendance records saved because employee has no job position
+            // No default days because employee has no job position
+            assertThat(result.get(0).getDailyAttendance()).isEmpty();
             verify(attendanceRepository, never()).save(any(Attendance.class));
         }
 
@@ -419,14 +452,16 @@ class AttendanceServiceTest {
                     .dayType(Attendance.DayType.WORKING_DAY)
                     .build();
 
-            when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(activeEmployee));
-            when(attendanceRepository.findByEmployeeIdAndDate(employeeId, date))
-                    .thenReturn(Optional.of(existingAttendance));
-            when(attendanceRepository.save(any(Attendance.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(employeeRepository.findAllById(Set.of(employeeId))).thenReturn(List.of(activeEmployee));
+            when(attendanceRepository.findByEmployeeIdInAndDateBetween(List.of(employeeId), date, date))
+                    .thenReturn(List.of(existingAttendance));
 
             List<AttendanceResponseDTO> results = attendanceService.bulkUpdateAttendance(bulkDTO);
 
             assertThat(results).hasSize(1);
+            assertThat(existingAttendance.getStatus()).isEqualTo(Attendance.AttendanceStatus.PRESENT);
+            verify(attendanceRepository).saveAll(argThat(saved -> saved.iterator().next() == existingAttendance));
+            verify(attendanceRepository, never()).save(any(Attendance.class));
             verify(notificationService).sendNotificationToHRUsers(
                     eq("Bulk Attendance Update Completed"),
                     anyString(),
@@ -467,11 +502,10 @@ class AttendanceServiceTest {
                     .dayType(Attendance.DayType.WORKING_DAY)
                     .build();
 
-            when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(activeEmployee));
-            when(employeeRepository.findById(unknownEmployeeId)).thenReturn(Optional.empty());
-            when(attendanceRepository.findByEmployeeIdAndDate(employeeId, date))
-                    .thenReturn(Optional.of(existingAttendance));
-            when(attendanceRepository.save(any(Attendance.class))).thenAnswer(inv -> inv.getArgument(0));
+            when(employeeRepository.findAllById(Set.of(employeeId, unknownEmployeeId)))
+                    .thenReturn(List.of(activeEmployee));
+            when(attendanceRepository.findByEmployeeIdInAndDateBetween(anyList(), eq(date), eq(date)))
+                    .thenReturn(List.of(existingAttendance));
 
             List<AttendanceResponseDTO> results = attendanceService.bulkUpdateAttendance(bulkDTO);
 
@@ -485,6 +519,37 @@ class AttendanceServiceTest {
                     anyString()
             );
         }
+
+        @Test
+        @DisplayName("should create records for days that only had their default")
+        void shouldCreateRecordsFromDefaults() {
+            activeEmployee.setJobPosition(hourlyPosition);
+            LocalDate firstDay = LocalDate.of(2026, 3, 9);
+            LocalDate secondDay = LocalDate.of(2026, 3, 10);
+
+            BulkAttendanceDTO bulkDTO = BulkAttendanceDTO.builder()
+                    .attendanceRecords(List.of(
+                            AttendanceRequestDTO.builder().employeeId(employeeId).date(firstDay)
+                                    .status("PRESENT").hoursWorked(10.0).build(),
+                            AttendanceRequestDTO.builder().employeeId(employeeId).date(secondDay)
+                                    .status("PRESENT").hoursWorked(8.0).build()))
+                    .build();
+
+            when(employeeRepository.findAllById(Set.of(employeeId))).thenReturn(List.of(activeEmployee));
+            when(attendanceRepository.findByEmployeeIdInAndDateBetween(List.of(employeeId), firstDay, secondDay))
+                    .thenReturn(Collections.emptyList());
+
+            List<AttendanceResponseDTO> results = attendanceService.bulkUpdateAttendance(bulkDTO);
+
+            assertThat(results).hasSize(2);
+            // Expected hours come from the default, so overtime is measured against the shift
+            assertThat(results.get(0).getOvertimeHours()).isEqualTo(2.0);
+            verify(attendanceRepository).saveAll(argThat(saved -> {
+                List<Attendance> records = new ArrayList<>();
+                saved.forEach(records::add);
+                return records.size() == 2 && records.stream().allMatch(a -> a.getExpectedHours() == 8.0);
+            }));
+        }
     }
 
     // =========================================================================
@@ -687,19 +752,15 @@ class AttendanceServiceTest {
         unassigned.setLastName("Employee");
 
         when(employeeRepository.findBySiteIsNull()).thenReturn(List.of(unassigned));
-        when(attendanceRepository.findByEmployeeIdAndDateRange(any(), any(), any()))
+        when(attendanceRepository.findByEmployeeIdInAndDateBetween(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(attendanceRepository.save(any(Attendance.class))).thenAnswer(inv -> {
-            Attendance a = inv.getArgument(0);
-            a.setId(UUID.randomUUID());
-            return a;
-        });
 
         List<EmployeeMonthlyAttendanceDTO> result =
                 attendanceService.getMonthlyAttendanceForUnassignedEmployees(2026, 2);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getEmployeeId()).isEqualTo(unassigned.getId());
+        verify(attendanceRepository, never()).saveAll(any());
     }
 
     // =========================================================================
@@ -722,19 +783,48 @@ class AttendanceServiceTest {
         emp2.setFirstName("Bob");
         emp2.setLastName("B");
 
-        when(employeeRepository.findAll()).thenReturn(List.of(emp1, emp2));
-        when(attendanceRepository.findByEmployeeIdAndDateRange(any(), any(), any()))
+        when(employeeRepository.findAllActive()).thenReturn(List.of(emp1, emp2));
+        when(attendanceRepository.findByEmployeeIdInAndDateBetween(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(attendanceRepository.save(any(Attendance.class))).thenAnswer(inv -> {
-            Attendance a = inv.getArgument(0);
-            a.setId(UUID.randomUUID());
-            return a;
-        });
 
         List<EmployeeMonthlyAttendanceDTO> result =
                 attendanceService.getAllEmployeesMonthlyAttendance(2026, 2);
 
         assertThat(result).hasSize(2);
+        verify(employeeRepository, never()).findAll();
+        verify(attendanceRepository, never()).saveAll(any());
+    }
+
+    // =========================================================================
+    // getMonthlyAttendanceGrid
+    // =========================================================================
+    @Test
+    @DisplayName("getMonthlyAttendanceGrid should encode each status as a day bitmask")
+    void shouldBuildMonthlyGridBitmaps() {
+        // March 2026: the 2nd is a Monday, the 6th and 7th are Friday and Saturday
+        Attendance stored = Attendance.builder()
+                .id(UUID.randomUUID())
+                .employee(activeEmployee)
+                .date(LocalDate.of(2026, 3, 2))
+                .status(Attendance.AttendanceStatus.PRESENT)
+                .build();
+
+        when(employeeRepository.findBySiteId(siteId)).thenReturn(List.of(activeEmployee));
+        when(attendanceRepository.findByEmployeeIdInAndDateBetween(
+                List.of(employeeId), LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)))
+                .thenReturn(List.of(stored));
+
+        List<MonthlyAttendanceGridDTO> grid = attendanceService.getMonthlyAttendanceGrid(siteId.toString(), 2026, 3);
+
+        assertThat(grid).hasSize(1);
+        MonthlyAttendanceGridDTO row = grid.get(0);
+        assertThat(row.getDaysInMonth()).isEqualTo(31);
+        assertThat(row.getRecordedDays()).isEqualTo(1 << 1);
+        assertThat(row.getStatusDays().get("PRESENT")).isEqualTo(1 << 1);
+        assertThat(row.getStatusDays().get("OFF") & (1 << 5)).isNotZero();
+        assertThat(row.getStatusDays().get("OFF") & (1 << 6)).isNotZero();
+        assertThat(Integer.bitCount(row.getStatusDays().get("ABSENT"))).isEqualTo(31 - 8 - 1);
+        verify(attendanceRepository, never()).saveAll(any());
     }
 
     // =========================================================================
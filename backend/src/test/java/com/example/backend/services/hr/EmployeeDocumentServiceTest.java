@@ -255,8 +255,9 @@ class EmployeeDocumentServiceTest {
         when(file2.getContentType()).thenReturn("application/pdf");
 
         when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
-        when(fileStorageService.uploadFile(any(MultipartFile.class))).thenReturn("stored.pdf");
-        when(fileStorageService.getFileUrl("stored.pdf")).thenReturn("http://storage/stored.pdf");
+        when(fileStorageService.uploadFiles(List.of(file1, file2))).thenReturn(List.of("stored1.pdf", "stored2.pdf"));
+        when(fileStorageService.getFileUrl("stored1.pdf")).thenReturn("http://storage/stored1.pdf");
+        when(fileStorageService.getFileUrl("stored2.pdf")).thenReturn("http://storage/stored2.pdf");
         when(documentRepository.save(any(EmployeeDocument.class))).thenAnswer(inv -> {
             EmployeeDocument d = inv.getArgument(0);
             d.setId(UUID.randomUUID());
@@ -268,7 +269,27 @@ class EmployeeDocumentServiceTest {
                 employeeId, List.of(file1, file2), "CERTIFICATE", "Certs", "admin");
 
         assertThat(result).hasSize(2);
-        verify(fileStorageService, times(2)).uploadFile(any(MultipartFile.class));
+        verify(fileStorageService).uploadFiles(List.of(file1, file2));
+        verify(fileStorageService, never()).uploadFile(any(MultipartFile.class));
+        verify(documentRepository).save(argThat(d -> "http://storage/stored2.pdf".equals(d.getFileUrl())
+                && "doc2.pdf".equals(d.getFileName())));
+    }
+
+    @Test
+    @DisplayName("uploadMultipleDocuments should reject an empty file before uploading anything")
+    void shouldRejectEmptyFileInBatch() throws Exception {
+        MultipartFile file1 = mock(MultipartFile.class);
+        MultipartFile file2 = mock(MultipartFile.class);
+        when(file1.isEmpty()).thenReturn(false);
+        when(file2.isEmpty()).thenReturn(true);
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+
+        assertThatThrownBy(() -> documentService.uploadMultipleDocuments(
+                employeeId, List.of(file1, file2), "CERTIFICATE", "Certs", "admin"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("File is required");
+
+        verify(fileStorageService, never()).uploadFiles(any());
     }
 
     // =========================================================================
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
 
@@ -135,58 +136,72 @@ public class VacationBalanceServiceTest {
     // ==================== initializeYearlyBalances ====================
 
     @Test
-    public void initializeYearlyBalances_shouldInitializeForActiveEmployees() {
-        Employee activeEmp = createEmployee(UUID.randomUUID());
-        activeEmp.setStatus("ACTIVE");
-
-        Employee inactiveEmp = createEmployee(UUID.randomUUID());
-        inactiveEmp.setStatus("INACTIVE");
-
-        when(employeeRepository.findAll()).thenReturn(List.of(activeEmp, inactiveEmp));
-        when(vacationBalanceRepository.existsByEmployeeIdAndYear(activeEmp.getId(), 2026)).thenReturn(false);
-        when(employeeRepository.findById(activeEmp.getId())).thenReturn(Optional.of(activeEmp));
-        when(vacationBalanceRepository.save(any(VacationBalance.class))).thenAnswer(i -> {
-            VacationBalance b = i.getArgument(0);
-            b.setId(UUID.randomUUID());
-            return b;
-        });
+    public void initializeYearlyBalances_shouldInsertMissingBalancesPerChunk() {
+        ReflectionTestUtils.setField(vacationBalanceService, "rolloverChunkSize", 2);
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        UUID third = new UUID(0L, 3L);
+
+        when(vacationBalanceRepository.findActiveEmployeeIdsAfter(new UUID(0L, 0L), 2))
+                .thenReturn(List.of(first, second));
+        when(vacationBalanceRepository.findActiveEmployeeIdsAfter(second, 2)).thenReturn(List.of(third));
+        when(vacationBalanceRepository.findActiveEmployeeIdsAfter(third, 2)).thenReturn(List.of());
+        when(vacationBalanceRepository.insertMissingBalances(anyCollection(), eq(2026), eq(21))).thenReturn(2, 1);
 
         vacationBalanceService.initializeYearlyBalances(2026);
 
-        verify(vacationBalanceRepository, atLeastOnce()).save(any(VacationBalance.class));
+        verify(vacationBalanceRepository).insertMissingBalances(List.of(first, second), 2026, 21);
+        verify(vacationBalanceRepository).insertMissingBalances(List.of(third), 2026, 21);
+        verify(vacationBalanceRepository, never()).save(any(VacationBalance.class));
+        verifyNoInteractions(employeeRepository);
     }
 
     @Test
-    public void initializeYearlyBalances_alreadyExists_shouldSkip() {
-        Employee emp = createEmployee(UUID.randomUUID());
-        emp.setStatus("ACTIVE");
-
-        when(employeeRepository.findAll()).thenReturn(List.of(emp));
-        when(vacationBalanceRepository.existsByEmployeeIdAndYear(emp.getId(), 2026)).thenReturn(true);
+    public void initializeYearlyBalances_noActiveEmployees_shouldNotInsert() {
+        when(vacationBalanceRepository.findActiveEmployeeIdsAfter(any(UUID.class), anyInt())).thenReturn(List.of());
 
         vacationBalanceService.initializeYearlyBalances(2026);
 
-        verify(vacationBalanceRepository, never()).save(any(VacationBalance.class));
+        verify(vacationBalanceRepository, never()).insertMissingBalances(anyCollection(), anyInt(), anyInt());
     }
 
     // ==================== carryForwardBalances ====================
 
     @Test
-    public void carryForwardBalances_shouldCarryForward() {
-        UUID empId = UUID.randomUUID();
-        VacationBalance prevBalance = createBalance(empId, 2025, 21);
-        prevBalance.setUsedDays(10);
+    public void carryForwardBalances_shouldCreateTargetBalancesAndCarryInBulk() {
+        UUID withDaysLeft = new UUID(0L, 1L);
+        UUID exhausted = new UUID(0L, 2L);
 
-        VacationBalance newBalance = createBalance(empId, 2026, 21);
+        when(vacationBalanceRepository.findEmployeeIdsWithBalanceAfter(eq(2025), eq(new UUID(0L, 0L)), anyInt()))
+                .thenReturn(List.of(withDaysLeft, exhausted));
+        when(vacationBalanceRepository.findEmployeeIdsWithBalanceAfter(eq(2025), eq(exhausted), anyInt()))
+                .thenReturn(List.of());
+        when(vacationBalanceRepository.findEmployeeIdsWithRemainingDays(List.of(withDaysLeft, exhausted), 2025))
+                .thenReturn(List.of(withDaysLeft));
+        when(vacationBalanceRepository.carryForwardRemainingDays(List.of(withDaysLeft), 2025, 2026, 5))
+                .thenReturn(1);
 
-        when(vacationBalanceRepository.findByYear(2025)).thenReturn(List.of(prevBalance));
-        when(vacationBalanceRepository.findByEmployeeIdAndYear(empId, 2026))
-                .thenReturn(Optional.of(newBalance));
-        when(vacationBalanceRepository.save(any(VacationBalance.class))).thenAnswer(i -> i.getArgument(0));
+        vacationBalanceService.carryForwardBalances(2025, 2026, 5);
+
+        verify(vacationBalanceRepository).insertMissingBalances(List.of(withDaysLeft), 2026, 21);
+        verify(vacationBalanceRepository).carryForwardRemainingDays(List.of(withDaysLeft), 2025, 2026, 5);
+        verify(vacationBalanceRepository, never()).save(any(VacationBalance.class));
+    }
+
+    @Test
+    public void carryForwardBalances_nothingLeftToCarry_shouldNotUpdate() {
+        UUID exhausted = new UUID(0L, 2L);
+
+        when(vacationBalanceRepository.findEmployeeIdsWithBalanceAfter(eq(2025), any(UUID.class), anyInt()))
+                .thenReturn(List.of(exhausted), List.of());
+        when(vacationBalanceRepository.findEmployeeIdsWithRemainingDays(List.of(exhausted), 2025))
+                .thenReturn(List.of());
 
         vacationBalanceService.carryForwardBalances(2025, 2026, 5);
 
-        verify(vacationBalanceRepository).save(any(VacationBalance.class));
+        verify(vacationBalanceRepository, never()).insertMissingBalances(anyCollection(), anyInt(), anyInt());
+        verify(vacationBalanceRepository, never())
+                .carryForwardRemainingDays(anyCollection(), anyInt(), anyInt(), anyInt());
     }
 
     // ==================== awardBonusDays ====================
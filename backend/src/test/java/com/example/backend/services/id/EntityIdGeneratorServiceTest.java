@@ -0,0 +1,108 @@
+package com.example.backend.services.id;
+
+import com.example.backend.models.id.EntityTypeConfig;
+import com.example.backend.repositories.id.EntityIdSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EntityIdGeneratorServiceTest {
+
+    @Mock
+    private EntityIdSequenceRepository sequenceRepository;
+
+    @InjectMocks
+    private EntityIdGeneratorService entityIdGeneratorService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(entityIdGeneratorService, "blockSize", 3);
+    }
+
+    @Test
+    public void generateNextId_sequentialType_shouldKeepPaddedFormat() {
+        when(sequenceRepository.reserveBlock("WAREHOUSE", 3)).thenReturn(3L);
+
+        assertEquals("WH-000001", entityIdGeneratorService.generateNextId(EntityTypeConfig.WAREHOUSE));
+        assertEquals("WH-000002", entityIdGeneratorService.generateNextId(EntityTypeConfig.WAREHOUSE));
+    }
+
+    @Test
+    public void generateNextId_hashedType_shouldKeepHashedFormat() {
+        when(sequenceRepository.reserveBlock("DEPARTMENT", 3)).thenReturn(3L);
+
+        assertEquals("DEPT-7WDRQP", entityIdGeneratorService.generateNextId(EntityTypeConfig.DEPARTMENT));
+    }
+
+    @Test
+    public void generateNextId_blockUsedUp_shouldReserveNextBlock() {
+        when(sequenceRepository.reserveBlock("WAREHOUSE", 3)).thenReturn(3L, 6L);
+
+        for (int i = 0; i < 3; i++) {
+            entityIdGeneratorService.generateNextId(EntityTypeConfig.WAREHOUSE);
+        }
+        verify(sequenceRepository, times(1)).reserveBlock("WAREHOUSE", 3);
+
+        assertEquals("WH-000004", entityIdGeneratorService.generateNextId(EntityTypeConfig.WAREHOUSE));
+        verify(sequenceRepository, times(2)).reserveBlock("WAREHOUSE", 3);
+    }
+
+    @Test
+    public void generateNextId_blockReservedAfterRestart_shouldContinueAfterReservedRange() {
+        // Another node (or an earlier run) already reserved 1..3
+        when(sequenceRepository.reserveBlock("WAREHOUSE", 3)).thenReturn(6L);
+
+        assertEquals("WH-000004", entityIdGeneratorService.generateNextId(EntityTypeConfig.WAREHOUSE));
+    }
+
+    @Test
+    public void generateNextId_concurrentCallers_shouldNeverRepeatAnId() throws Exception {
+        AtomicLong sequence = new AtomicLong();
+        when(sequenceRepository.reserveBlock(anyString(), anyLong()))
+                .thenAnswer(inv -> sequence.addAndGet(inv.getArgument(1)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> entityIdGeneratorService.generateNextId(EntityTypeConfig.ITEM)));
+            }
+            Set<String> ids = new HashSet<>();
+            for (Future<String> future : futures) {
+                ids.add(future.get());
+            }
+            assertEquals(200, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void generateNextId_reservationFails_shouldThrow() {
+        when(sequenceRepository.reserveBlock("WAREHOUSE", 3)).thenThrow(new RuntimeException("connection refused"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> entityIdGeneratorService.generateNextId(EntityTypeConfig.WAREHOUSE));
+
+        assertEquals("Failed to reserve IDs for WAREHOUSE", ex.getMessage());
+    }
+}
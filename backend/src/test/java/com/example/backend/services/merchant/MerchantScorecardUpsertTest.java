@@ -0,0 +1,124 @@
+package com.example.backend.services.merchant;
+
+import com.example.backend.models.merchant.Merchant;
+import com.example.backend.models.merchant.MerchantScorecard;
+import com.example.backend.models.procurement.DeliveryItemReceipt;
+import com.example.backend.models.procurement.DeliverySession;
+import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrder;
+import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrderItem;
+import com.example.backend.repositories.merchant.MerchantScorecardRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the native scorecard upsert against the real database. MerchantScorecardService.refresh opens
+ * a transaction of its own and would not see the rows seeded here, so the repository is called directly.
+ * Each test runs in a transaction that is rolled back.
+ */
+@SpringBootTest
+@Transactional
+class MerchantScorecardUpsertTest {
+
+    @Autowired
+    private MerchantScorecardRepository merchantScorecardRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Merchant merchant;
+    private PurchaseOrder purchaseOrder;
+    private PurchaseOrderItem purchaseOrderItem;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+
+        merchant = new Merchant();
+        merchant.setMerchantId("SC-" + suffix);
+        merchant.setName("Scorecard Merchant " + suffix);
+        entityManager.persist(merchant);
+
+        purchaseOrder = new PurchaseOrder();
+        purchaseOrder.setPoNumber("PO-SC-" + suffix);
+        purchaseOrder.setStatus("PENDING");
+        entityManager.persist(purchaseOrder);
+
+        purchaseOrderItem = new PurchaseOrderItem();
+        purchaseOrderItem.setQuantity(100);
+        purchaseOrderItem.setStatus("PENDING");
+        purchaseOrderItem.setMerchant(merchant);
+        purchaseOrderItem.setPurchaseOrder(purchaseOrder);
+        entityManager.persist(purchaseOrderItem);
+    }
+
+    @Test
+    void upsertScorecards_shouldAggregateReceiptsAndUpdateTheExistingRowOnConflict() {
+        LocalDateTime first = LocalDateTime.now().minusDays(10).withNano(0);
+        receive(first, 20.0, false);
+        receive(first.plusDays(4), 30.0, false);
+
+        assertEquals(1, merchantScorecardRepository.upsertScorecards(Set.of(merchant.getId())));
+
+        MerchantScorecard scorecard = loadScorecard();
+        assertEquals(2, scorecard.getTotalReceipts());
+        assertEquals(2, scorecard.getGoodDeliveries());
+        assertEquals(0, scorecard.getRedeliveries());
+        assertEquals(50.0, scorecard.getTotalItemsDelivered(), 0.001);
+        assertEquals(2, scorecard.getConsecutiveGoodDeliveries());
+        assertEquals(4.0, scorecard.getDeliveryGapAverage(), 0.001);
+        assertEquals(first, scorecard.getFirstDeliveryAt());
+        assertEquals(first.plusDays(4), scorecard.getLastDeliveryAt());
+
+        // A later receipt for the same merchant goes through ON CONFLICT and replaces the totals
+        receive(first.plusDays(6), 5.0, true);
+
+        assertEquals(1, merchantScorecardRepository.upsertScorecards(Set.of(merchant.getId())));
+
+        scorecard = loadScorecard();
+        assertEquals(3, scorecard.getTotalReceipts());
+        assertEquals(1, scorecard.getRedeliveries());
+        assertEquals(55.0, scorecard.getTotalItemsDelivered(), 0.001);
+        assertEquals(3.0, scorecard.getDeliveryGapAverage(), 0.001);
+        assertEquals(first, scorecard.getFirstDeliveryAt());
+        assertEquals(first.plusDays(6), scorecard.getLastDeliveryAt());
+    }
+
+    @Test
+    void upsertScorecards_shouldWriteNothingForAMerchantWithoutReceipts() {
+        assertEquals(0, merchantScorecardRepository.upsertScorecards(Set.of(merchant.getId())));
+
+        entityManager.clear();
+        assertTrue(merchantScorecardRepository.findById(merchant.getId()).isEmpty());
+    }
+
+    private void receive(LocalDateTime processedAt, double goodQuantity, boolean redelivery) {
+        DeliverySession session = new DeliverySession();
+        session.setPurchaseOrder(purchaseOrder);
+        session.setMerchant(merchant);
+        session.setProcessedBy("warehouse.user");
+        session.setProcessedAt(processedAt);
+        entityManager.persist(session);
+
+        DeliveryItemReceipt receipt = new DeliveryItemReceipt();
+        receipt.setDeliverySession(session);
+        receipt.setPurchaseOrderItem(purchaseOrderItem);
+        receipt.setGoodQuantity(goodQuantity);
+        receipt.setIsRedelivery(redelivery);
+        entityManager.persist(receipt);
+    }
+
+    private MerchantScorecard loadScorecard() {
+        // The upsert bypasses the persistence context, so read the row back fresh
+        entityManager.clear();
+        return merchantScorecardRepository.findById(merchant.getId()).orElseThrow();
+    }
+}
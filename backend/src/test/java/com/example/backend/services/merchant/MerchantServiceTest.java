@@ -3,6 +3,7 @@ package com.example.backend.services.merchant;
 import com.example.backend.dto.merchant.MerchantPerformanceDTO;
 import com.example.backend.dto.merchant.MerchantTransactionDTO;
 import com.example.backend.models.merchant.Merchant;
+import com.example.backend.models.merchant.MerchantScorecard;
 import com.example.backend.models.merchant.MerchantType;
 import com.example.backend.models.procurement.DeliveryItemReceipt;
 import com.example.backend.models.procurement.DeliverySession;
@@ -14,6 +15,7 @@ import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrderItem;
 import com.example.backend.models.warehouse.ItemCategory;
 import com.example.backend.models.warehouse.ItemType;
 import com.example.backend.repositories.merchant.MerchantRepository;
+import com.example.backend.repositories.merchant.MerchantScorecardRepository;
 import com.example.backend.repositories.procurement.DeliveryItemReceiptRepository;
 import com.example.backend.repositories.procurement.PurchaseOrderItemRepository;
 import com.example.backend.repositories.site.SiteRepository;
@@ -27,10 +29,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +55,12 @@ public class MerchantServiceTest {
     @Mock
     private DeliveryItemReceiptRepository deliveryItemReceiptRepository;
 
+    @Mock
+    private MerchantScorecardRepository merchantScorecardRepository;
+
+    @Mock
+    private MerchantScorecardService merchantScorecardService;
+
     @InjectMocks
     private MerchantService merchantService;
 
@@ -239,7 +249,7 @@ public class MerchantServiceTest {
     @Test
     public void getMerchantPerformance_noReceipts_shouldReturnNewMerchant() {
         UUID merchantId = UUID.randomUUID();
-        when(purchaseOrderItemRepository.findByMerchantId(merchantId)).thenReturn(List.of());
+        when(merchantScorecardRepository.findById(merchantId)).thenReturn(Optional.empty());
 
         MerchantPerformanceDTO result = merchantService.getMerchantPerformance(merchantId);
 
@@ -247,25 +257,21 @@ public class MerchantServiceTest {
         assertEquals("NEW", result.getPerformanceRating());
         assertEquals(0, result.getTotalOrders());
         assertEquals("NEW", result.getMerchantStatus());
+        // First view of a merchant computes its scorecard
+        verify(merchantScorecardService).refresh(List.of(merchantId));
     }
 
     @Test
     public void getMerchantPerformance_allGoodDeliveries_shouldScoreHigh() {
         UUID merchantId = UUID.randomUUID();
-
-        PurchaseOrderItem item = buildPurchaseOrderItem(merchantId);
-
-        // Create 5 perfect deliveries to make merchant ACTIVE
-        List<DeliveryItemReceipt> receipts = new ArrayList<>();
-        for (int i = 0; i < 5; i++) {
-            DeliveryItemReceipt receipt = buildReceipt(item, LocalDateTime.now().minusDays(i + 1), false);
-            receipt.setIssues(new ArrayList<>());
-            receipts.add(receipt);
-        }
-
-        when(purchaseOrderItemRepository.findByMerchantId(merchantId)).thenReturn(List.of(item));
-        when(deliveryItemReceiptRepository.findByPurchaseOrderItemId(item.getId()))
-                .thenReturn(receipts);
+        MerchantScorecard scorecard = scorecard(merchantId, 5, 5)
+                .totalItemsDelivered(50.0)
+                .firstDeliveryAt(LocalDateTime.now().minusDays(5))
+                .lastDeliveryAt(LocalDateTime.now().minusDays(1))
+                .consecutiveGoodDeliveries(5)
+                .recentDeliveries(5)
+                .build();
+        when(merchantScorecardRepository.findById(merchantId)).thenReturn(Optional.of(scorecard));
 
         MerchantPerformanceDTO result = merchantService.getMerchantPerformance(merchantId);
 
@@ -275,30 +281,23 @@ public class MerchantServiceTest {
         assertEquals(100.0, result.getSuccessRate());
         assertTrue(result.getOverallScore() >= 75); // at least GOOD rating
         assertEquals("ACTIVE", result.getMerchantStatus());
+        assertEquals(5, result.getConsecutiveGoodDeliveries());
+        assertEquals("IMPROVING", result.getPerformanceTrend());
+        verify(merchantScorecardService, never()).refresh(any());
     }
 
     @Test
     public void getMerchantPerformance_allIssues_shouldScoreLow() {
         UUID merchantId = UUID.randomUUID();
-
-        PurchaseOrderItem item = buildPurchaseOrderItem(merchantId);
-
-        // 5 deliveries all with issues
-        List<DeliveryItemReceipt> receipts = new ArrayList<>();
-        for (int i = 0; i < 5; i++) {
-            DeliveryItemReceipt receipt = buildReceipt(item, LocalDateTime.now().minusDays(i + 1), false);
-            PurchaseOrderIssue issue = PurchaseOrderIssue.builder()
-                    .issueType(IssueType.DAMAGED)
-                    .issueStatus(IssueStatus.REPORTED)
-                    .affectedQuantity(10.0)
-                    .build();
-            receipt.setIssues(List.of(issue));
-            receipts.add(receipt);
-        }
-
-        when(purchaseOrderItemRepository.findByMerchantId(merchantId)).thenReturn(List.of(item));
-        when(deliveryItemReceiptRepository.findByPurchaseOrderItemId(item.getId()))
-                .thenReturn(receipts);
+        MerchantScorecard scorecard = scorecard(merchantId, 5, 0)
+                .totalItemsDelivered(50.0)
+                .totalIssueQuantity(50.0)
+                .totalIssues(5)
+                .firstDeliveryAt(LocalDateTime.now().minusDays(5))
+                .lastDeliveryAt(LocalDateTime.now().minusDays(1))
+                .issueTypeCounts(Map.of("DAMAGED", 5))
+                .build();
+        when(merchantScorecardRepository.findById(merchantId)).thenReturn(Optional.of(scorecard));
 
         MerchantPerformanceDTO result = merchantService.getMerchantPerformance(merchantId);
 
@@ -306,25 +305,19 @@ public class MerchantServiceTest {
         assertEquals(5, result.getDeliveriesWithIssues());
         assertEquals(0.0, result.getSuccessRate());
         assertTrue(result.getOverallScore() < 60);
+        assertEquals("DAMAGED", result.getMostCommonIssueType());
+        assertEquals(5, result.getIssuesPending());
     }
 
     @Test
     public void getMerchantPerformance_inactiveMerchant_shouldMarkInactive() {
         UUID merchantId = UUID.randomUUID();
-
-        PurchaseOrderItem item = buildPurchaseOrderItem(merchantId);
-
-        // 10 deliveries all 120 days ago (inactive)
-        List<DeliveryItemReceipt> receipts = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            DeliveryItemReceipt receipt = buildReceipt(item, LocalDateTime.now().minusDays(120 + i), false);
-            receipt.setIssues(new ArrayList<>());
-            receipts.add(receipt);
-        }
-
-        when(purchaseOrderItemRepository.findByMerchantId(merchantId)).thenReturn(List.of(item));
-        when(deliveryItemReceiptRepository.findByPurchaseOrderItemId(item.getId()))
-                .thenReturn(receipts);
+        MerchantScorecard scorecard = scorecard(merchantId, 10, 10)
+                .totalItemsDelivered(100.0)
+                .firstDeliveryAt(LocalDateTime.now().minusDays(129))
+                .lastDeliveryAt(LocalDateTime.now().minusDays(120))
+                .build();
+        when(merchantScorecardRepository.findById(merchantId)).thenReturn(Optional.of(scorecard));
 
         MerchantPerformanceDTO result = merchantService.getMerchantPerformance(merchantId);
 
@@ -334,20 +327,16 @@ public class MerchantServiceTest {
     @Test
     public void getMerchantPerformance_resolvedIssues_shouldCountInResolutionRate() {
         UUID merchantId = UUID.randomUUID();
-
-        PurchaseOrderItem item = buildPurchaseOrderItem(merchantId);
-
-        DeliveryItemReceipt receipt = buildReceipt(item, LocalDateTime.now().minusDays(5), false);
-        PurchaseOrderIssue resolved = PurchaseOrderIssue.builder()
-                .issueType(IssueType.WRONG_QUANTITY)
-                .issueStatus(IssueStatus.RESOLVED)
-                .affectedQuantity(3.0)
+        MerchantScorecard scorecard = scorecard(merchantId, 1, 0)
+                .totalItemsDelivered(10.0)
+                .totalIssueQuantity(3.0)
+                .totalIssues(1)
+                .issuesResolved(1)
+                .firstDeliveryAt(LocalDateTime.now().minusDays(5))
+                .lastDeliveryAt(LocalDateTime.now().minusDays(5))
+                .issueTypeCounts(Map.of("WRONG_QUANTITY", 1))
                 .build();
-        receipt.setIssues(List.of(resolved));
-
-        when(purchaseOrderItemRepository.findByMerchantId(merchantId)).thenReturn(List.of(item));
-        when(deliveryItemReceiptRepository.findByPurchaseOrderItemId(item.getId()))
-                .thenReturn(List.of(receipt));
+        when(merchantScorecardRepository.findById(merchantId)).thenReturn(Optional.of(scorecard));
 
         MerchantPerformanceDTO result = merchantService.getMerchantPerformance(merchantId);
 
@@ -356,6 +345,24 @@ public class MerchantServiceTest {
         assertEquals(100.0, result.getResolutionRate());
     }
 
+    @Test
+    public void getMerchantPerformance_deliveryGaps_shouldScoreConsistency() {
+        UUID merchantId = UUID.randomUUID();
+        MerchantScorecard scorecard = scorecard(merchantId, 3, 3)
+                .totalItemsDelivered(30.0)
+                .firstDeliveryAt(LocalDateTime.now().minusDays(4))
+                .lastDeliveryAt(LocalDateTime.now())
+                .deliveryGapAverage(2.0)
+                .deliveryGapStdDev(1.0)
+                .build();
+        when(merchantScorecardRepository.findById(merchantId)).thenReturn(Optional.of(scorecard));
+
+        MerchantPerformanceDTO result = merchantService.getMerchantPerformance(merchantId);
+
+        assertEquals(50.0, result.getOrderFulfillmentConsistency());
+        assertEquals(0, result.getDaysSinceLastOrder());
+    }
+
     // ==================== getMerchantsByType ====================
 
     @Test
@@ -470,6 +477,14 @@ public class MerchantServiceTest {
         return item;
     }
 
+    private MerchantScorecard.MerchantScorecardBuilder scorecard(UUID merchantId, int receipts, int good) {
+        return MerchantScorecard.builder()
+                .merchantId(merchantId)
+                .totalReceipts(receipts)
+                .goodDeliveries(good)
+                .computedAt(LocalDateTime.now());
+    }
+
     private DeliveryItemReceipt buildReceipt(PurchaseOrderItem item, LocalDateTime processedAt, boolean isRedelivery) {
         DeliverySession session = DeliverySession.builder()
                 .id(UUID.randomUUID())
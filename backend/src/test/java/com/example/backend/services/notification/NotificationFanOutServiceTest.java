@@ -0,0 +1,154 @@
+package com.example.backend.services.notification;
+
+import com.example.backend.controllers.notification.WebSocketController;
+import com.example.backend.dto.notification.NotificationMessage;
+import com.example.backend.models.notification.Notification;
+import com.example.backend.models.notification.NotificationType;
+import com.example.backend.models.user.User;
+import com.example.backend.repositories.notification.NotificationRepository;
+import com.example.backend.repositories.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationFanOutServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NotificationReadStateService readStateService;
+
+    @Mock
+    private NotificationPushDispatcher pushDispatcher;
+
+    @Mock
+    private WebSocketController webSocketController;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationFanOutService fanOutService;
+
+    @BeforeEach
+    void setUp() {
+        // Run fan-out inline so the test is deterministic
+        fanOutService = new NotificationFanOutService(notificationRepository, userRepository, readStateService,
+                pushDispatcher, webSocketController, transactionManager, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void runTransactionsInline() {
+        when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    public void submit_noTransaction_shouldWriteInBatchesAndPushToConnectedUsers() {
+        runTransactionsInline();
+        User online = makeUser("online");
+        User offline = makeUser("offline");
+        when(webSocketController.isUserConnected(online.getId())).thenReturn(true);
+        when(webSocketController.isUserConnected(offline.getId())).thenReturn(false);
+
+        fanOutService.submit(List.of(online, offline), "Title", "Message", NotificationType.INFO, "/x", "PO-1");
+
+        verify(notificationRepository, times(1)).saveAll(anyList());
+        verify(notificationRepository, never()).save(any(Notification.class));
+        // Each chunk commits on its own, even when dispatched from an afterCommit callback
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+        verify(readStateService).adjustUnreadCount(online.getId(), 1);
+        verify(readStateService).adjustUnreadCount(offline.getId(), 1);
+        verify(pushDispatcher).enqueue(eq("online"), any(NotificationMessage.class));
+        verify(pushDispatcher, never()).enqueue(eq("offline"), any());
+        assertEquals(2, fanOutService.getStats().notificationsWritten());
+    }
+
+    @Test
+    public void submit_manyRecipients_shouldChunkInserts() {
+        runTransactionsInline();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < NotificationFanOutService.INSERT_CHUNK_SIZE + 1; i++) {
+            users.add(makeUser("user" + i));
+        }
+
+        fanOutService.submit(users, "Title", "Message", NotificationType.INFO, null, null);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository, times(2)).saveAll(captor.capture());
+        assertEquals(NotificationFanOutService.INSERT_CHUNK_SIZE, captor.getAllValues().get(0).size());
+        assertEquals(1, captor.getAllValues().get(1).size());
+    }
+
+    @Test
+    public void submit_insideTransaction_shouldWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        fanOutService.submit(List.of(makeUser("a")), "Title", "Message", NotificationType.INFO, null, null);
+
+        verify(transactionManager, never()).getTransaction(any());
+
+        runTransactionsInline();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(notificationRepository).saveAll(anyList());
+    }
+
+    @Test
+    public void submit_noRecipients_shouldDoNothing() {
+        fanOutService.submit(List.of(), "Title", "Message", NotificationType.INFO, null, null);
+
+        verifyNoInteractions(transactionManager, notificationRepository, pushDispatcher);
+    }
+
+    @Test
+    public void submit_insertFails_shouldCountFailure() {
+        when(notificationRepository.saveAll(anyList())).thenThrow(new RuntimeException("DB down"));
+
+        fanOutService.submit(List.of(makeUser("a")), "Title", "Message", NotificationType.INFO, null, null);
+
+        verify(transactionManager).rollback(any());
+        verify(pushDispatcher, never()).enqueue(any(), any());
+
+        NotificationFanOutService.FanOutStats stats = fanOutService.getStats();
+        assertEquals(1, stats.failedRequests());
+        assertEquals(0, stats.notificationsWritten());
+    }
+
+    private User makeUser(String username) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        return user;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.backend.services.notification;
+
+import com.example.backend.dto.notification.NotificationMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationPushDispatcherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private NotificationPushDispatcher dispatcher;
+
+    private NotificationMessage first;
+    private NotificationMessage second;
+
+    @BeforeEach
+    void setUp() {
+        first = new NotificationMessage();
+        first.setTitle("First");
+        second = new NotificationMessage();
+        second.setTitle("Second");
+    }
+
+    @Test
+    public void flush_shouldSendOneFramePerUser() {
+        dispatcher.enqueue("alice", first);
+        dispatcher.enqueue("alice", second);
+        dispatcher.enqueue("bob", first);
+        assertEquals(3, dispatcher.getPendingCount());
+
+        dispatcher.flush();
+
+        verify(messagingTemplate).convertAndSendToUser("alice", "/queue/notifications", List.of(first, second));
+        verify(messagingTemplate).convertAndSendToUser("bob", "/queue/notifications", List.of(first));
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    @Test
+    public void flush_nothingPending_shouldNotSend() {
+        dispatcher.flush();
+
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void flush_sendFails_shouldContinueWithOtherUsers() {
+        dispatcher.enqueue("alice", first);
+        dispatcher.enqueue("bob", second);
+        doThrow(new RuntimeException("broker down"))
+                .when(messagingTemplate).convertAndSendToUser(eq("alice"), anyString(), any());
+
+        dispatcher.flush();
+
+        verify(messagingTemplate).convertAndSendToUser("bob", "/queue/notifications", List.of(second));
+        assertEquals(0, dispatcher.getPendingCount());
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.backend.services.notification;
+
+import com.example.backend.models.notification.Notification;
+import com.example.backend.models.notification.NotificationType;
+import com.example.backend.models.notification.NotificationUserState;
+import com.example.backend.models.user.User;
+import com.example.backend.repositories.notification.NotificationRepository;
+import com.example.backend.repositories.notification.NotificationUserStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationReadStateServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationUserStateRepository userStateRepository;
+
+    @InjectMocks
+    private NotificationReadStateService readStateService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(UUID.randomUUID());
+    }
+
+    // ==================== unread counter ====================
+
+    @Test
+    public void getUnreadCount_secondCall_shouldBeServedFromCounter() {
+        when(notificationRepository.countUnreadForUser(user.getId())).thenReturn(4L);
+
+        assertEquals(4, readStateService.getUnreadCount(user.getId()));
+        assertEquals(4, readStateService.getUnreadCount(user.getId()));
+
+        verify(notificationRepository, times(1)).countUnreadForUser(user.getId());
+    }
+
+    @Test
+    public void adjustUnreadCount_shouldNeverGoBelowZero() {
+        when(notificationRepository.countUnreadForUser(user.getId())).thenReturn(1L);
+        readStateService.getUnreadCount(user.getId());
+
+        readStateService.adjustUnreadCount(user.getId(), -3);
+
+        assertEquals(0, readStateService.getUnreadCount(user.getId()));
+    }
+
+    @Test
+    public void adjustUnreadCount_userNotCached_shouldNotQuery() {
+        readStateService.adjustUnreadCount(user.getId(), 1);
+
+        verify(notificationRepository, never()).countUnreadForUser(any());
+    }
+
+    @Test
+    public void broadcastCreated_shouldIncrementCachedCounters() {
+        when(notificationRepository.countUnreadForUser(user.getId())).thenReturn(2L);
+        readStateService.getUnreadCount(user.getId());
+
+        readStateService.broadcastCreated();
+
+        assertEquals(3, readStateService.getUnreadCount(user.getId()));
+    }
+
+    // ==================== markAsRead ====================
+
+    @Test
+    public void markAsRead_unreadBroadcast_shouldStoreStateAndDecrement() {
+        Notification broadcast = makeBroadcastNotification();
+        when(notificationRepository.countUnreadForUser(user.getId())).thenReturn(2L);
+        readStateService.getUnreadCount(user.getId());
+        when(userStateRepository.findByNotificationIdAndUserId(broadcast.getId(), user.getId()))
+                .thenReturn(Optional.empty());
+
+        boolean changed = readStateService.markAsRead(broadcast, user.getId());
+
+        assertTrue(changed);
+        verify(userStateRepository).save(argThat(state -> state.isRead() && state.getUserId().equals(user.getId())));
+        verify(notificationRepository, never()).save(any());
+        assertEquals(1, readStateService.getUnreadCount(user.getId()));
+    }
+
+    @Test
+    public void markAsRead_alreadyReadBroadcast_shouldNotChangeCounter() {
+        Notification broadcast = makeBroadcastNotification();
+        NotificationUserState state = new NotificationUserState(broadcast, user.getId());
+        state.markRead();
+        when(userStateRepository.findByNotificationIdAndUserId(broadcast.getId(), user.getId()))
+                .thenReturn(Optional.of(state));
+
+        boolean changed = readStateService.markAsRead(broadcast, user.getId());
+
+        assertFalse(changed);
+        verify(userStateRepository, never()).save(any());
+    }
+
+    @Test
+    public void markAsRead_userNotification_shouldSetFlag() {
+        Notification notification = new Notification("Title", "Message", NotificationType.INFO, user);
+        notification.setId(UUID.randomUUID());
+
+        boolean changed = readStateService.markAsRead(notification, user.getId());
+
+        assertTrue(changed);
+        assertTrue(notification.isRead());
+        verify(notificationRepository).save(notification);
+        verify(userStateRepository, never()).save(any());
+    }
+
+    // ==================== toggleRead / hide ====================
+
+    @Test
+    public void toggleRead_readBroadcast_shouldMarkUnreadAndIncrement() {
+        Notification broadcast = makeBroadcastNotification();
+        NotificationUserState state = new NotificationUserState(broadcast, user.getId());
+        state.markRead();
+        when(notificationRepository.countUnreadForUser(user.getId())).thenReturn(0L);
+        readStateService.getUnreadCount(user.getId());
+        when(userStateRepository.findByNotificationIdAndUserId(broadcast.getId(), user.getId()))
+                .thenReturn(Optional.of(state));
+
+        boolean read = readStateService.toggleRead(broadcast, user.getId());
+
+        assertFalse(read);
+        assertFalse(state.isRead());
+        assertEquals(1, readStateService.getUnreadCount(user.getId()));
+    }
+
+    @Test
+    public void hide_readBroadcast_shouldNotDecrement() {
+        Notification broadcast = makeBroadcastNotification();
+        NotificationUserState state = new NotificationUserState(broadcast, user.getId());
+        state.markRead();
+        when(notificationRepository.countUnreadForUser(user.getId())).thenReturn(1L);
+        readStateService.getUnreadCount(user.getId());
+        when(userStateRepository.findByNotificationIdAndUserId(broadcast.getId(), user.getId()))
+                .thenReturn(Optional.of(state));
+
+        readStateService.hide(broadcast, user.getId());
+
+        assertTrue(state.isHidden());
+        verify(userStateRepository).save(state);
+        assertEquals(1, readStateService.getUnreadCount(user.getId()));
+    }
+
+    // ==================== findReadBroadcastIds ====================
+
+    @Test
+    public void findReadBroadcastIds_onlyUserNotifications_shouldNotQuery() {
+        Notification notification = new Notification("Title", "Message", NotificationType.INFO, user);
+        notification.setId(UUID.randomUUID());
+
+        Set<UUID> result = readStateService.findReadBroadcastIds(user.getId(), List.of(notification));
+
+        assertTrue(result.isEmpty());
+        verify(userStateRepository, never()).findReadNotificationIds(any(), any());
+    }
+
+    // ==================== Helpers ====================
+
+    private Notification makeBroadcastNotification() {
+        Notification n = new Notification("Broadcast", "Broadcast message", NotificationType.INFO);
+        n.setId(UUID.randomUUID());
+        n.setCreatedAt(LocalDateTime.now());
+        return n;
+    }
+}
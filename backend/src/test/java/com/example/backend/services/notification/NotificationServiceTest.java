@@ -1,6 +1,8 @@
 package com.example.backend.services.notification;
 
 import com.example.backend.controllers.notification.WebSocketController;
+import com.example.backend.dto.notification.NotificationFeedCursor;
+import com.example.backend.dto.notification.NotificationFeedPage;
 import com.example.backend.dto.notification.NotificationMessage;
 import com.example.backend.models.notification.Notification;
 import com.example.backend.models.notification.NotificationType;
@@ -33,6 +35,9 @@ public class NotificationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private NotificationReadStateService readStateService;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -55,7 +60,7 @@ public class NotificationServiceTest {
         Notification n2 = makeUserNotification("Title2", user);
 
         when(notificationRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(List.of(n1, n2));
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of());
+        when(notificationRepository.findVisibleBroadcastsForUser(user.getId())).thenReturn(List.of());
 
         List<NotificationMessage> result = notificationService.getNotificationsForUser(user);
 
@@ -63,16 +68,15 @@ public class NotificationServiceTest {
     }
 
     @Test
-    public void getNotificationsForUser_broadcastNotVisible_shouldFilterHidden() {
-        Notification broadcast = makeBroadcastNotification("Broadcast");
-        broadcast.hideForUser(user.getId()); // hidden for this user
-
+    public void getNotificationsForUser_hiddenBroadcastsFilteredByQuery() {
+        // hidden broadcasts are excluded by the repository query
         when(notificationRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(List.of());
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of(broadcast));
+        when(notificationRepository.findVisibleBroadcastsForUser(user.getId())).thenReturn(List.of());
 
         List<NotificationMessage> result = notificationService.getNotificationsForUser(user);
 
         assertEquals(0, result.size());
+        verify(notificationRepository, never()).findByUserIsNullOrderByCreatedAtDesc();
     }
 
     @Test
@@ -81,7 +85,7 @@ public class NotificationServiceTest {
         // not hidden for this user
 
         when(notificationRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(List.of());
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of(broadcast));
+        when(notificationRepository.findVisibleBroadcastsForUser(user.getId())).thenReturn(List.of(broadcast));
 
         List<NotificationMessage> result = notificationService.getNotificationsForUser(user);
 
@@ -97,7 +101,7 @@ public class NotificationServiceTest {
         broadcast.setCreatedAt(LocalDateTime.now()); // newer
 
         when(notificationRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(List.of(userNotif));
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of(broadcast));
+        when(notificationRepository.findVisibleBroadcastsForUser(user.getId())).thenReturn(List.of(broadcast));
 
         List<NotificationMessage> result = notificationService.getNotificationsForUser(user);
 
@@ -109,10 +113,11 @@ public class NotificationServiceTest {
     @Test
     public void getNotificationsForUser_broadcastReadByUser_shouldSetReadTrue() {
         Notification broadcast = makeBroadcastNotification("Broadcast");
-        broadcast.markAsReadByUser(user.getId());
 
         when(notificationRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(List.of());
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of(broadcast));
+        when(notificationRepository.findVisibleBroadcastsForUser(user.getId())).thenReturn(List.of(broadcast));
+        when(readStateService.findReadBroadcastIds(user.getId(), List.of(broadcast)))
+                .thenReturn(Set.of(broadcast.getId()));
 
         List<NotificationMessage> result = notificationService.getNotificationsForUser(user);
 
@@ -126,7 +131,7 @@ public class NotificationServiceTest {
         // not read by user
 
         when(notificationRepository.findByUserOrderByCreatedAtDesc(user)).thenReturn(List.of());
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of(broadcast));
+        when(notificationRepository.findVisibleBroadcastsForUser(user.getId())).thenReturn(List.of(broadcast));
 
         List<NotificationMessage> result = notificationService.getNotificationsForUser(user);
 
@@ -134,105 +139,97 @@ public class NotificationServiceTest {
         assertFalse(result.get(0).isRead());
     }
 
-    // ==================== getUnreadCountForUser ====================
+    // ==================== getNotificationFeed ====================
 
     @Test
-    public void getUnreadCountForUser_noNotifications_shouldReturnZero() {
-        when(notificationRepository.countByUserAndReadFalse(user)).thenReturn(0L);
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of());
-
-        long count = notificationService.getUnreadCountForUser(user);
-
-        assertEquals(0, count);
-    }
+    public void getNotificationFeed_firstPage_shouldStartFromNewestAndReturnNextCursor() {
+        Notification newest = makeUserNotification("Newest", user);
+        Notification middle = makeBroadcastNotification("Middle");
+        middle.setCreatedAt(newest.getCreatedAt().minusMinutes(1));
+        Notification extra = makeUserNotification("Extra", user);
+        extra.setCreatedAt(newest.getCreatedAt().minusMinutes(2));
 
-    @Test
-    public void getUnreadCountForUser_onlyUserUnread_shouldCountCorrectly() {
-        when(notificationRepository.countByUserAndReadFalse(user)).thenReturn(3L);
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of());
+        when(notificationRepository.findFeedPageForUser(user.getId(),
+                NotificationFeedCursor.START.createdAt(), NotificationFeedCursor.START.id(), 3))
+                .thenReturn(new ArrayList<>(List.of(newest, middle, extra)));
 
-        long count = notificationService.getUnreadCountForUser(user);
+        NotificationFeedPage page = notificationService.getNotificationFeed(user, null, 2);
 
-        assertEquals(3, count);
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        NotificationFeedCursor next = NotificationFeedCursor.decode(page.getNextCursor());
+        assertEquals(middle.getCreatedAt(), next.createdAt());
+        assertEquals(middle.getId(), next.id());
+        verify(notificationRepository, never()).findByUserOrderByCreatedAtDesc(any());
     }
 
     @Test
-    public void getUnreadCountForUser_unreadBroadcast_shouldAddToCounts() {
-        Notification unreadBroadcast = makeBroadcastNotification("Broadcast");
-        // not read, not hidden
+    public void getNotificationFeed_lastPage_shouldHaveNoNextCursor() {
+        Notification only = makeUserNotification("Only", user);
+        NotificationFeedCursor cursor = new NotificationFeedCursor(LocalDateTime.now(), UUID.randomUUID());
 
-        when(notificationRepository.countByUserAndReadFalse(user)).thenReturn(2L);
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of(unreadBroadcast));
+        when(notificationRepository.findFeedPageForUser(user.getId(), cursor.createdAt(), cursor.id(), 21))
+                .thenReturn(List.of(only));
 
-        long count = notificationService.getUnreadCountForUser(user);
+        NotificationFeedPage page = notificationService.getNotificationFeed(user, cursor.encode(), 20);
 
-        assertEquals(3, count);
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    public void getUnreadCountForUser_broadcastAlreadyRead_shouldNotCount() {
-        Notification readBroadcast = makeBroadcastNotification("Broadcast");
-        readBroadcast.markAsReadByUser(user.getId());
-
-        when(notificationRepository.countByUserAndReadFalse(user)).thenReturn(0L);
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of(readBroadcast));
-
-        long count = notificationService.getUnreadCountForUser(user);
-
-        assertEquals(0, count);
+    public void getNotificationFeed_invalidCursor_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> notificationService.getNotificationFeed(user, "not-a-cursor", 20));
     }
 
-    @Test
-    public void getUnreadCountForUser_broadcastHiddenByUser_shouldNotCount() {
-        Notification hiddenBroadcast = makeBroadcastNotification("Broadcast");
-        hiddenBroadcast.hideForUser(user.getId());
+    // ==================== getUnreadCountForUser ====================
 
-        when(notificationRepository.countByUserAndReadFalse(user)).thenReturn(0L);
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc()).thenReturn(List.of(hiddenBroadcast));
+    @Test
+    public void getUnreadCountForUser_shouldUseCachedCounter() {
+        when(readStateService.getUnreadCount(user.getId())).thenReturn(3L);
 
         long count = notificationService.getUnreadCountForUser(user);
 
-        assertEquals(0, count);
+        assertEquals(3, count);
+        verify(notificationRepository, never()).findByUserIsNullOrderByCreatedAtDesc();
     }
 
+    // ==================== markAsRead ====================
+
     @Test
-    public void getUnreadCountForUser_multipleBroadcasts_mixedReadState() {
-        Notification unread1 = makeBroadcastNotification("A");
-        Notification unread2 = makeBroadcastNotification("B");
-        Notification read = makeBroadcastNotification("C");
-        read.markAsReadByUser(user.getId());
-        Notification hidden = makeBroadcastNotification("D");
-        hidden.hideForUser(user.getId());
-
-        when(notificationRepository.countByUserAndReadFalse(user)).thenReturn(1L);
-        when(notificationRepository.findByUserIsNullOrderByCreatedAtDesc())
-                .thenReturn(List.of(unread1, unread2, read, hidden));
+    public void markAsRead_notificationExists_shouldReturnTrue() {
+        Notification n = makeUserNotification("Test", user);
+        when(notificationRepository.findByIdAndUserOrBroadcast(n.getId(), user)).thenReturn(Optional.of(n));
 
-        long count = notificationService.getUnreadCountForUser(user);
+        boolean result = notificationService.markAsRead(n.getId(), user);
 
-        assertEquals(3, count); // 1 user + 2 unread broadcasts
+        assertTrue(result);
+        verify(readStateService).markAsRead(n, user.getId());
     }
 
-    // ==================== markAsRead ====================
-
     @Test
-    public void markAsRead_notificationExists_shouldReturnTrue() {
-        UUID notifId = UUID.randomUUID();
-        when(notificationRepository.markAsRead(notifId, user)).thenReturn(1);
+    public void markAsRead_broadcast_shouldRecordPerUserState() {
+        Notification broadcast = makeBroadcastNotification("Broadcast");
+        when(notificationRepository.findByIdAndUserOrBroadcast(broadcast.getId(), user)).thenReturn(Optional.of(broadcast));
 
-        boolean result = notificationService.markAsRead(notifId, user);
+        boolean result = notificationService.markAsRead(broadcast.getId(), user);
 
         assertTrue(result);
+        verify(readStateService).markAsRead(broadcast, user.getId());
+        verify(notificationRepository, never()).save(any());
     }
 
     @Test
     public void markAsRead_notificationNotFound_shouldReturnFalse() {
         UUID notifId = UUID.randomUUID();
-        when(notificationRepository.markAsRead(notifId, user)).thenReturn(0);
+        when(notificationRepository.findByIdAndUserOrBroadcast(notifId, user)).thenReturn(Optional.empty());
 
         boolean result = notificationService.markAsRead(notifId, user);
 
         assertFalse(result);
+        verify(readStateService, never()).markAsRead(any(), any());
     }
 
     // ==================== markAllAsReadForUser ====================
@@ -245,6 +242,7 @@ public class NotificationServiceTest {
 
         assertEquals(5, result);
         verify(notificationRepository).markAllAsReadForUser(user);
+        verify(readStateService).adjustUnreadCount(user.getId(), -5);
     }
 
     @Test
@@ -326,6 +324,7 @@ public class NotificationServiceTest {
         assertTrue(result);
         verify(notificationRepository).deleteById(notifId);
         verify(notificationRepository, never()).save(any());
+        verify(readStateService).adjustUnreadCount(user.getId(), -1);
     }
 
     @Test
@@ -335,14 +334,12 @@ public class NotificationServiceTest {
         n.setId(notifId);
 
         when(notificationRepository.findById(notifId)).thenReturn(Optional.of(n));
-        when(notificationRepository.save(any(Notification.class))).thenAnswer(i -> i.getArgument(0));
 
         boolean result = notificationService.deleteNotification(notifId, user);
 
         assertTrue(result);
         verify(notificationRepository, never()).deleteById(any());
-        verify(notificationRepository).save(n);
-        assertTrue(n.isHiddenByUser(user.getId()));
+        verify(readStateService).hide(n, user.getId());
     }
 
     @Test
@@ -392,6 +389,7 @@ public class NotificationServiceTest {
         assertNotNull(result);
         verify(notificationRepository).save(any(Notification.class));
         verify(webSocketController).sendNotificationToUser(eq(user), any(NotificationMessage.class));
+        verify(readStateService).adjustUnreadCount(user.getId(), 1);
     }
 
     @Test
@@ -422,6 +420,7 @@ public class NotificationServiceTest {
         assertNotNull(result);
         verify(notificationRepository).save(any(Notification.class));
         verify(webSocketController).broadcastNotification(any(NotificationMessage.class));
+        verify(readStateService).broadcastCreated();
     }
 
     @Test
@@ -0,0 +1,274 @@
+package com.example.backend.services.payroll;
+
+import com.example.backend.models.hr.Attendance;
+import com.example.backend.models.hr.Employee;
+import com.example.backend.models.hr.JobPosition;
+import com.example.backend.models.payroll.*;
+import com.example.backend.repositories.hr.AttendanceRepository;
+import com.example.backend.repositories.hr.EmployeeRepository;
+import com.example.backend.repositories.payroll.EmployeePayrollRepository;
+import com.example.backend.services.hr.AttendanceDefaultResolver;
+import com.example.backend.services.id.EntityIdGeneratorService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayrollAttendanceBulkImporterTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private EmployeePayrollRepository employeePayrollRepository;
+
+    @Mock
+    private PayrollSnapshotService snapshotService;
+
+    @Mock
+    private EntityIdGeneratorService entityIdGeneratorService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final AttendanceDefaultResolver attendanceDefaultResolver = new AttendanceDefaultResolver();
+
+    private PayrollAttendanceBulkImporter importer;
+
+    private Payroll payroll;
+
+    @BeforeEach
+    void setUp() {
+        // Run chunks inline so the test is deterministic
+        importer = new PayrollAttendanceBulkImporter(employeeRepository, attendanceRepository,
+                employeePayrollRepository, snapshotService, attendanceDefaultResolver, entityIdGeneratorService,
+                entityManager, Runnable::run);
+
+        payroll = new Payroll();
+        payroll.setId(UUID.randomUUID());
+        payroll.setStartDate(LocalDate.of(2026, 1, 1));
+        payroll.setEndDate(LocalDate.of(2026, 1, 31));
+        payroll.setPublicHolidays(new ArrayList<>());
+    }
+
+    private Employee buildEmployee() {
+        Employee emp = new Employee();
+        emp.setId(UUID.randomUUID());
+        emp.setFirstName("Test");
+        emp.setLastName("Employee");
+        return emp;
+    }
+
+    private Employee buildMonthlyEmployee() {
+        JobPosition position = new JobPosition();
+        position.setContractType(JobPosition.ContractType.MONTHLY);
+        Employee emp = buildEmployee();
+        emp.setJobPosition(position);
+        return emp;
+    }
+
+    private Attendance buildAttendance(Employee employee, LocalDate date) {
+        Attendance att = new Attendance();
+        att.setId(UUID.randomUUID());
+        att.setEmployee(employee);
+        att.setDate(date);
+        return att;
+    }
+
+    private void stubSnapshotBuilding() {
+        when(snapshotService.buildEmployeePayrollSnapshot(any(Employee.class)))
+                .thenAnswer(inv -> {
+                    Employee e = inv.getArgument(0);
+                    EmployeePayroll ep = new EmployeePayroll();
+                    ep.setEmployeeId(e.getId());
+                    ep.setAttendanceSnapshots(new ArrayList<>());
+                    return ep;
+                });
+    }
+
+    @Test
+    void importAttendance_loadsAttendanceOnceAndGroupsByEmployee() {
+        Employee alice = buildEmployee();
+        Employee bob = buildEmployee();
+
+        when(employeeRepository.findByStatusWithPayrollDetails("ACTIVE")).thenReturn(List.of(alice, bob));
+        when(attendanceRepository.findByEmployeeStatusAndDateRange("ACTIVE", payroll.getStartDate(), payroll.getEndDate()))
+                .thenReturn(List.of(
+                        buildAttendance(alice, LocalDate.of(2026, 1, 5)),
+                        buildAttendance(alice, LocalDate.of(2026, 1, 6)),
+                        buildAttendance(bob, LocalDate.of(2026, 1, 5))));
+        stubSnapshotBuilding();
+        when(snapshotService.createAttendanceSnapshot(any(), any(), anyList()))
+                .thenAnswer(inv -> new PayrollAttendanceSnapshot());
+        when(entityIdGeneratorService.generateNextId(any())).thenReturn("EPRL-2026-000001");
+
+        PayrollAttendanceBulkImporter.BulkImportResult result = importer.importAttendance(payroll);
+
+        assertEquals(2, result.importedCount());
+        assertEquals(3, result.snapshotCount());
+        assertTrue(result.failedEmployeeIds().isEmpty());
+        verify(attendanceRepository, times(1)).findByEmployeeStatusAndDateRange(any(), any(), any());
+        verify(attendanceRepository, never()).findByEmployeeIdAndDateRange(any(), any(), any());
+        verify(entityManager).flush();
+        verify(entityManager, never()).detach(any());
+
+        // Attached to the payroll when the chunk is persisted, not while it is built
+        assertEquals(2, payroll.getEmployeePayrolls().size());
+        payroll.getEmployeePayrolls().forEach(ep -> assertSame(payroll, ep.getPayroll()));
+    }
+
+    @Test
+    void importAttendance_monthWithoutStoredRows_snapshotsDefaultsLikeStoredOnes() {
+        Employee employee = buildMonthlyEmployee();
+        when(employeeRepository.findByStatusWithPayrollDetails("ACTIVE")).thenReturn(List.of(employee));
+        stubSnapshotBuilding();
+        when(snapshotService.createAttendanceSnapshot(any(), any(), anyList()))
+                .thenAnswer(inv -> {
+                    Attendance attendance = inv.getArgument(1);
+                    PayrollAttendanceSnapshot snapshot = new PayrollAttendanceSnapshot();
+                    snapshot.setAttendanceDate(attendance.getDate());
+                    snapshot.setStatus(attendance.getStatus());
+                    return snapshot;
+                });
+        when(entityIdGeneratorService.generateNextId(any())).thenReturn("EPRL-2026-000001");
+
+        // Nothing stored: the sheet only showed the defaults
+        when(attendanceRepository.findByEmployeeStatusAndDateRange(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        Map<LocalDate, Attendance.AttendanceStatus> fromDefaults = importStatusesByDate();
+
+        // The same month as the sheet used to store it: one saved default row per day
+        List<Attendance> storedDefaults = new ArrayList<>();
+        for (LocalDate date = payroll.getStartDate(); !date.isAfter(payroll.getEndDate()); date = date.plusDays(1)) {
+            Attendance attendance = attendanceDefaultResolver.createDefault(employee, date);
+            attendance.setId(UUID.randomUUID());
+            storedDefaults.add(attendance);
+        }
+        when(attendanceRepository.findByEmployeeStatusAndDateRange(any(), any(), any())).thenReturn(storedDefaults);
+        Map<LocalDate, Attendance.AttendanceStatus> fromStoredRows = importStatusesByDate();
+
+        assertEquals(31, fromDefaults.size());
+        assertEquals(fromStoredRows, fromDefaults);
+        // January 2026 has 21 working days (Fridays and Saturdays off), each an absence for the engine to deduct
+        assertEquals(21, fromDefaults.values().stream()
+                .filter(status -> status == Attendance.AttendanceStatus.ABSENT).count());
+    }
+
+    @Test
+    void importAttendance_storedDayReplacesItsDefault() {
+        Employee employee = buildMonthlyEmployee();
+        Attendance present = buildAttendance(employee, LocalDate.of(2026, 1, 5));
+        present.setStatus(Attendance.AttendanceStatus.PRESENT);
+
+        when(employeeRepository.findByStatusWithPayrollDetails("ACTIVE")).thenReturn(List.of(employee));
+        when(attendanceRepository.findByEmployeeStatusAndDateRange(any(), any(), any())).thenReturn(List.of(present));
+        stubSnapshotBuilding();
+        when(snapshotService.createAttendanceSnapshot(any(), any(), anyList()))
+                .thenAnswer(inv -> new PayrollAttendanceSnapshot());
+        when(entityIdGeneratorService.generateNextId(any())).thenReturn("EPRL-2026-000001");
+
+        PayrollAttendanceBulkImporter.BulkImportResult result = importer.importAttendance(payroll);
+
+        assertEquals(31, result.snapshotCount());
+        verify(snapshotService).createAttendanceSnapshot(any(), same(present), anyList());
+    }
+
+    @Test
+    void importAttendance_persistsEachChunkSeparately() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            employees.add(buildEmployee());
+        }
+
+        when(employeeRepository.findByStatusWithPayrollDetails("ACTIVE")).thenReturn(employees);
+        when(attendanceRepository.findByEmployeeStatusAndDateRange(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        stubSnapshotBuilding();
+        when(entityIdGeneratorService.generateNextId(any())).thenReturn("EPRL-2026-000001");
+
+        PayrollAttendanceBulkImporter.BulkImportResult result = importer.importAttendance(payroll, 2);
+
+        assertEquals(5, result.importedCount());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmployeePayroll>> captor = ArgumentCaptor.forClass(List.class);
+        verify(employeePayrollRepository, times(3)).saveAll(captor.capture());
+        assertEquals(List.of(2, 2, 1), captor.getAllValues().stream().map(List::size).toList());
+        verify(entityManager, times(3)).flush();
+    }
+
+    @Test
+    void importAttendance_employeeFails_isolatedFromOthers() {
+        Employee good = buildEmployee();
+        Employee broken = buildEmployee();
+
+        when(employeeRepository.findByStatusWithPayrollDetails("ACTIVE")).thenReturn(List.of(good, broken));
+        when(attendanceRepository.findByEmployeeStatusAndDateRange(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        stubSnapshotBuilding();
+        when(snapshotService.buildEmployeePayrollSnapshot(broken))
+                .thenThrow(new IllegalStateException("Employee has no job position assigned"));
+        when(entityIdGeneratorService.generateNextId(any())).thenReturn("EPRL-2026-000001");
+
+        PayrollAttendanceBulkImporter.BulkImportResult result = importer.importAttendance(payroll);
+
+        assertEquals(1, result.importedCount());
+        assertEquals(List.of(broken.getId()), result.failedEmployeeIds());
+        assertEquals(List.of(good.getId()),
+                payroll.getEmployeePayrolls().stream().map(EmployeePayroll::getEmployeeId).toList());
+    }
+
+    @Test
+    void importAttendance_noActiveEmployees_writesNothing() {
+        when(employeeRepository.findByStatusWithPayrollDetails("ACTIVE")).thenReturn(Collections.emptyList());
+        when(attendanceRepository.findByEmployeeStatusAndDateRange(any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        PayrollAttendanceBulkImporter.BulkImportResult result = importer.importAttendance(payroll);
+
+        assertEquals(0, result.importedCount());
+        verify(employeePayrollRepository, never()).saveAll(any());
+        verify(entityManager, never()).flush();
+    }
+
+    private Map<LocalDate, Attendance.AttendanceStatus> importStatusesByDate() {
+        ArgumentCaptor<List<EmployeePayroll>> captor = listCaptor();
+        clearInvocations(employeePayrollRepository);
+
+        importer.importAttendance(payroll);
+
+        verify(employeePayrollRepository).saveAll(captor.capture());
+        return captor.getValue().get(0).getAttendanceSnapshots().stream()
+                .collect(Collectors.toMap(PayrollAttendanceSnapshot::getAttendanceDate,
+                        PayrollAttendanceSnapshot::getStatus));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<EmployeePayroll>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    @Test
+    void partition_splitsIntoBoundedChunks() {
+        List<List<Integer>> chunks = PayrollAttendanceBulkImporter.partition(List.of(1, 2, 3, 4, 5), 2);
+
+        assertEquals(3, chunks.size());
+        assertEquals(List.of(5), chunks.get(2));
+        assertThrows(IllegalArgumentException.class,
+                () -> PayrollAttendanceBulkImporter.partition(List.of(1), 0));
+    }
+}
@@ -8,6 +8,7 @@ import com.example.backend.repositories.payroll.PayrollRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -15,12 +16,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -453,4 +460,125 @@ class PayrollCalculationEngineTest {
         // Leave deduction = 300 * 2 = 600
         assertEquals(new BigDecimal("600.00"), ep.getLeaveDeductionAmount());
     }
-}
\ No newline at end of file
+
+    // ==================== Batch calculation ====================
+
+    private PayrollCalculationEngine batchEngine() {
+        return new PayrollCalculationEngine(employeePayrollRepository, payrollRepository,
+                loanService, employeeDeductionService, new ForkJoinPool(2));
+    }
+
+    @Test
+    void calculatePayroll_usesPrefetchedLoansAndSavesInOneBatch() {
+        EmployeePayroll withLoan = buildMonthlyPayroll("Paul", new BigDecimal("5000"));
+        withLoan.getAttendanceSnapshots().add(buildPresentSnapshot(LocalDate.of(2026, 1, 5)));
+        withLoan.setTotalWorkingDays(1);
+        withLoan.setAttendedDays(1);
+        EmployeePayroll daily = buildDailyPayroll("Quinn", new BigDecimal("200"));
+        daily.getAttendanceSnapshots().add(buildPresentSnapshot(LocalDate.of(2026, 1, 5)));
+        List<EmployeePayroll> employeePayrolls = List.of(withLoan, daily);
+
+        Loan loan = new Loan();
+        when(payrollRepository.findById(payroll.getId())).thenReturn(Optional.of(payroll));
+        when(employeePayrollRepository.findByPayrollId(payroll.getId())).thenReturn(employeePayrolls);
+        when(loanService.getApprovedLoansByEmployee(any()))
+                .thenReturn(Map.of(withLoan.getEmployeeId(), List.of(loan)));
+        when(loanService.calculateLoanDeduction(eq(List.of(loan)), any(), any()))
+                .thenReturn(new BigDecimal("500"));
+        when(employeeDeductionService.calculateDeductions(anyList(), any(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        List<EmployeePayroll> result = batchEngine().calculatePayroll(payroll.getId());
+
+        assertEquals(2, result.size());
+        assertEquals(0, withLoan.getNetPay().compareTo(new BigDecimal("4500")));
+        assertEquals(1, withLoan.getDeductions().size());
+        assertEquals(0, daily.getGrossPay().compareTo(new BigDecimal("200")));
+        assertNotNull(daily.getCalculatedAt());
+
+        verify(employeePayrollRepository).saveAll(employeePayrolls);
+        verify(employeePayrollRepository, never()).save(any());
+        verify(loanService, never()).calculateLoanDeductionForPayroll(any(), any(), any());
+        verify(employeeDeductionService, never()).calculateDeductionsForPayroll(any(), any(), any(), any(), any());
+        verify(employeePayrollRepository, never()).findByEmployeeIdAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void calculateEmployeePayrolls_quarterlyForgivenessComesFromPrefetch() {
+        EmployeePayroll ep = buildMonthlyPayroll("Rita", new BigDecimal("4000"));
+        ep.setLateDeduction(new BigDecimal("100"));
+        ep.setLateForgivenessCountPerQuarter(2);
+        PayrollAttendanceSnapshot late = buildPresentSnapshot(LocalDate.of(2026, 1, 6));
+        late.setLateMinutes(30);
+        ep.getAttendanceSnapshots().add(late);
+        ep.setTotalWorkingDays(1);
+        ep.setAttendedDays(1);
+
+        List<Object[]> forgiven = new ArrayList<>();
+        forgiven.add(new Object[]{ep.getEmployeeId(), 2L});
+        when(employeePayrollRepository.sumForgivenLateDaysByEmployee(any(), eq(payroll.getId()), any(), any()))
+                .thenReturn(forgiven);
+        when(employeeDeductionService.calculateDeductions(anyList(), any(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        batchEngine().calculateEmployeePayrolls(payroll, List.of(ep));
+
+        // Both quarterly forgivenesses were already used in an earlier payroll, so this one is charged
+        assertEquals(1, ep.getChargedLateDays());
+        assertEquals(new BigDecimal("100.00"), ep.getLateDeductionAmount());
+    }
+
+    @Test
+    void calculateEmployeePayrolls_oneEmployeeFails_othersStillCalculated() {
+        EmployeePayroll broken = buildMonthlyPayroll("Sam", new BigDecimal("3000"));
+        broken.setContractType(null); // switch on null contract type throws
+        EmployeePayroll ok = buildHourlyPayroll("Tina", new BigDecimal("10"));
+        ok.getAttendanceSnapshots().add(buildPresentSnapshot(LocalDate.of(2026, 1, 5)));
+
+        when(employeeDeductionService.calculateDeductions(anyList(), any(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        batchEngine().calculateEmployeePayrolls(payroll, List.of(broken, ok));
+
+        assertNull(broken.getCalculatedAt());
+        assertEquals(0, ok.getGrossPay().compareTo(new BigDecimal("80")));
+        verify(employeePayrollRepository).saveAll(List.of(broken, ok));
+    }
+
+    @Test
+    void calculateEmployeePayrolls_oneEmployeeFails_appliedDeductionsRecordedForOthersOnly() {
+        EmployeePayroll ok = buildHourlyPayroll("Uma", new BigDecimal("10"));
+        ok.getAttendanceSnapshots().add(buildPresentSnapshot(LocalDate.of(2026, 1, 5)));
+        EmployeePayroll broken = buildHourlyPayroll("Victor", new BigDecimal("10"));
+        broken.getAttendanceSnapshots().add(buildPresentSnapshot(LocalDate.of(2026, 1, 5)));
+        // A manual deduction without an amount fails the calculation after the configured ones were applied
+        broken.getDeductions().add(PayrollDeduction.builder()
+                .deductionType(PayrollDeduction.DeductionType.OTHER)
+                .build());
+
+        EmployeeDeduction okDeduction = EmployeeDeduction.builder().id(UUID.randomUUID()).build();
+        EmployeeDeduction brokenDeduction = EmployeeDeduction.builder().id(UUID.randomUUID()).build();
+        when(employeeDeductionService.getActiveDeductionsByEmployee(any(), any(), any())).thenReturn(Map.of(
+                ok.getEmployeeId(), List.of(okDeduction),
+                broken.getEmployeeId(), List.of(brokenDeduction)));
+        when(employeeDeductionService.calculateDeductions(anyList(), any(), any(), any(), any()))
+                .thenAnswer(inv -> {
+                    List<EmployeeDeduction> deductions = inv.getArgument(0);
+                    return deductions.stream()
+                            .map(d -> new EmployeeDeductionService.CalculatedDeduction(d.getId(), "DED-1", "Insurance",
+                                    DeductionType.DeductionCategory.BENEFITS, new BigDecimal("5"),
+                                    EmployeeDeduction.CalculationMethod.FIXED_AMOUNT, null, null))
+                            .toList();
+                });
+
+        batchEngine().calculateEmployeePayrolls(payroll, List.of(ok, broken));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<EmployeeDeduction>> recorded = ArgumentCaptor.forClass(Collection.class);
+        verify(employeeDeductionService).recordAppliedDeductions(recorded.capture(), eq(payroll.getEndDate()));
+        assertEquals(List.of(okDeduction), List.copyOf(recorded.getValue()));
+        assertNull(broken.getCalculatedAt());
+        assertEquals(1, ok.getDeductions().size());
+        assertTrue(broken.getDeductions().stream().allMatch(d -> d.getReferenceId() == null));
+    }
+}
@@ -55,6 +55,9 @@ class PayrollServiceTest {
     @Mock
     private EntityIdGeneratorService entityIdGeneratorService;
 
+    @Mock
+    private PayrollAttendanceBulkImporter bulkImporter;
+
     @InjectMocks
     private PayrollService payrollService;
 
@@ -90,6 +93,23 @@ class PayrollServiceTest {
         payroll.setDeductionFinalized(false);
     }
 
+    // ==================== importAttendance ====================
+
+    @Test
+    void importAttendance_delegatesToBulkImporterAndSetsEmployeeCount() {
+        when(payrollRepository.findById(payrollId)).thenReturn(Optional.of(payroll));
+        when(bulkImporter.importAttendance(payroll))
+                .thenReturn(new PayrollAttendanceBulkImporter.BulkImportResult(3, 60, List.of(UUID.randomUUID())));
+
+        payrollService.importAttendance(payrollId, "hr.user");
+
+        verify(stateMachine).transitionTo(payroll, PayrollStatus.ATTENDANCE_IMPORT, "hr.user");
+        verify(bulkImporter).importAttendance(payroll);
+        verify(attendanceService, never()).getEmployeeAttendanceHistory(any(), any(), any());
+        assertEquals(3, payroll.getEmployeeCount());
+        verify(payrollRepository).save(payroll);
+    }
+
     // ==================== createPayroll ====================
 
     @Test
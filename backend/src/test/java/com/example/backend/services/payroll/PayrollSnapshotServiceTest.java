@@ -11,12 +11,14 @@ import com.example.backend.repositories.payroll.EmployeePayrollRepository;
 import com.example.backend.repositories.payroll.PayrollAttendanceSnapshotRepository;
 import com.example.backend.repositories.payroll.PayrollPublicHolidayRepository;
 import com.example.backend.repositories.payroll.PayrollRepository;
+import com.example.backend.services.hr.AttendanceDefaultResolver;
 import com.example.backend.services.id.EntityIdGeneratorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -55,6 +57,9 @@ class PayrollSnapshotServiceTest {
     @Mock
     private PayrollCalculationEngine calculationEngine;
 
+    @Spy
+    private AttendanceDefaultResolver attendanceDefaultResolver = new AttendanceDefaultResolver();
+
     @InjectMocks
     private PayrollSnapshotService payrollSnapshotService;
 
@@ -222,7 +227,8 @@ class PayrollSnapshotServiceTest {
 
         AttendanceImportSummaryDTO result = payrollSnapshotService.importAttendanceWithUpsert(payroll);
 
-        assertEquals(2, result.getAttendanceSnapshotsCreated());
+        // The two stored days plus a default for each of the other 29 days of January
+        assertEquals(31, result.getAttendanceSnapshotsCreated());
         verify(calculationEngine).calculateEmployeePayroll(any(EmployeePayroll.class));
     }
 
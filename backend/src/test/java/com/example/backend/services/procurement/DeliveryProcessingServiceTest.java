@@ -3,9 +3,12 @@ package com.example.backend.services.procurement;
 import com.example.backend.dto.procurement.EquipmentReceiptRequest;
 import com.example.backend.dto.procurement.ProcessDeliveryRequest;
 import com.example.backend.dto.procurement.ProcessItemReceiptRequest;
+import com.example.backend.events.MerchantDeliveryChangedEvent;
+import com.example.backend.models.equipment.Equipment;
 import com.example.backend.models.merchant.Merchant;
 import com.example.backend.models.procurement.DeliveryItemReceipt;
 import com.example.backend.models.procurement.DeliverySession;
+import com.example.backend.models.procurement.EquipmentPurchaseSpec;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrder;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrderItem;
 import com.example.backend.models.procurement.RequestOrder.RequestOrder;
@@ -17,9 +20,11 @@ import com.example.backend.repositories.warehouse.WarehouseRepository;
 import com.example.backend.services.warehouse.ItemTypeService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -60,6 +65,9 @@ public class DeliveryProcessingServiceTest {
     @Mock
     private EquipmentRepository equipmentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DeliveryProcessingService deliveryProcessingService;
 
@@ -243,4 +251,50 @@ public class DeliveryProcessingServiceTest {
         assertThrows(RuntimeException.class,
                 () -> deliveryProcessingService.processEquipmentDelivery(poId, request));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void processEquipmentDelivery_shouldPublishMerchantDeliveryChanged() {
+        UUID poId = UUID.randomUUID();
+
+        Merchant merchant = new Merchant();
+        merchant.setId(UUID.randomUUID());
+        merchant.setName("Supplier");
+
+        EquipmentPurchaseSpec spec = new EquipmentPurchaseSpec();
+        spec.setName("Loader");
+
+        PurchaseOrderItem poItem = new PurchaseOrderItem();
+        poItem.setId(UUID.randomUUID());
+        poItem.setMerchant(merchant);
+        poItem.setQuantity(1);
+        poItem.setEquipmentSpec(spec);
+
+        RequestOrder ro = new RequestOrder();
+        ro.setId(UUID.randomUUID());
+        ro.setPartyType("EQUIPMENT");
+
+        PurchaseOrder po = new PurchaseOrder();
+        po.setId(poId);
+        po.setPoNumber("PO-001");
+        po.setRequestOrder(ro);
+        po.setPurchaseOrderItems(List.of(poItem));
+
+        EquipmentReceiptRequest.EquipmentReceiptData itemData = new EquipmentReceiptRequest.EquipmentReceiptData();
+        itemData.setPurchaseOrderItemId(poItem.getId());
+        itemData.setSerialNumber("SN-1");
+        EquipmentReceiptRequest request = new EquipmentReceiptRequest();
+        request.setProcessedBy("receiver");
+        request.setEquipmentItems(List.of(itemData));
+
+        when(purchaseOrderRepository.findById(poId)).thenReturn(Optional.of(po));
+        when(purchaseOrderItemRepository.findById(poItem.getId())).thenReturn(Optional.of(poItem));
+        when(equipmentRepository.save(any(Equipment.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Equipment> created = deliveryProcessingService.processEquipmentDelivery(poId, request);
+
+        assertEquals(1, created.size());
+        ArgumentCaptor<MerchantDeliveryChangedEvent> event = ArgumentCaptor.forClass(MerchantDeliveryChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of(merchant.getId()), event.getValue().getMerchantIds());
+    }
+}
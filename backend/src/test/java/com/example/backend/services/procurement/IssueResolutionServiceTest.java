@@ -1,6 +1,8 @@
 package com.example.backend.services.procurement;
 
 import com.example.backend.dto.procurement.ResolveIssueRequest;
+import com.example.backend.events.MerchantDeliveryChangedEvent;
+import com.example.backend.models.merchant.Merchant;
 import com.example.backend.models.procurement.DeliveryItemReceipt;
 import com.example.backend.models.procurement.IssueStatus;
 import com.example.backend.models.procurement.PurchaseOrder.PurchaseOrder;
@@ -17,11 +19,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -46,6 +50,9 @@ public class IssueResolutionServiceTest {
     @Mock
     private PurchaseOrderService purchaseOrderService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private IssueResolutionService issueResolutionService;
 
@@ -202,6 +209,31 @@ public class IssueResolutionServiceTest {
         verify(incomingPaymentRequestService).createIncomingPaymentRequestsFromRefundIssues(eq(poId), any());
     }
 
+    @Test
+    public void resolveIssues_shouldRefreshScorecardOfDeliveringMerchant() {
+        UUID issueId = UUID.randomUUID();
+        UUID poId = UUID.randomUUID();
+
+        PurchaseOrder po = createPurchaseOrder(poId);
+        Merchant merchant = new Merchant();
+        merchant.setId(UUID.randomUUID());
+        po.getPurchaseOrderItems().get(0).setMerchant(merchant);
+        PurchaseOrderIssue issue = createIssue(issueId, po);
+
+        ResolveIssueRequest request = new ResolveIssueRequest();
+        request.setIssueId(issueId);
+        request.setResolutionType(PurchaseOrderResolutionType.ACCEPT_SHORTAGE);
+
+        when(issueRepository.findById(issueId)).thenReturn(Optional.of(issue));
+        when(issueRepository.save(any(PurchaseOrderIssue.class))).thenAnswer(i -> i.getArgument(0));
+        when(purchaseOrderRepository.save(any(PurchaseOrder.class))).thenAnswer(i -> i.getArgument(0));
+
+        issueResolutionService.resolveIssues(List.of(request), "admin");
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof MerchantDeliveryChangedEvent e
+                && e.getMerchantIds().equals(Set.of(merchant.getId()))));
+    }
+
     // ==================== Helpers ====================
 
     private PurchaseOrder createPurchaseOrder(UUID id) {
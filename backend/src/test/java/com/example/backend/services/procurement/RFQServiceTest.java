@@ -1,6 +1,7 @@
 package com.example.backend.services.procurement;
 
 import com.example.backend.dto.procurement.RFQExportRequest;
+import com.example.backend.dto.procurement.RFQImportPreviewDTO;
 import com.example.backend.models.procurement.Offer.Offer;
 import com.example.backend.models.procurement.Offer.OfferRequestItem;
 import com.example.backend.models.procurement.RequestOrder.RequestOrder;
@@ -10,13 +11,22 @@ import com.example.backend.models.warehouse.MeasuringUnit;
 import com.example.backend.repositories.procurement.OfferRepository;
 import com.example.backend.repositories.procurement.OfferRequestItemRepository;
 import com.example.backend.repositories.warehouse.ItemTypeRepository;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -116,8 +126,123 @@ public class RFQServiceTest {
         assertTrue(result.length > 0);
     }
 
+    @Test
+    public void exportRFQ_thenImportFilledSheet_shouldRoundTrip() throws IOException {
+        Offer offer = offerWithItems(List.of("Cement", "Steel"));
+
+        RFQExportRequest request = new RFQExportRequest();
+        request.setLanguage("en");
+        request.setItems(List.of(
+                new RFQExportRequest.RFQItemSelection(null, "Cement", "Ton", 100.0),
+                new RFQExportRequest.RFQItemSelection(null, "Steel", "Kg", 500.0)));
+
+        byte[] exported = rfqService.exportRFQ(request);
+
+        // Merchant fills in quantities and prices; the second row is left without a price
+        ByteArrayOutputStream filled = new ByteArrayOutputStream();
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(exported))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            sheet.getRow(1).getCell(4).setCellValue(90);
+            sheet.getRow(1).getCell(6).setCellValue(12.5);
+            sheet.getRow(2).getCell(4).setCellValue(400);
+            // Excel recalculates the totals when the merchant saves
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            workbook.write(filled);
+        }
+
+        RFQImportPreviewDTO result = rfqService.importAndPreviewRFQ(offer.getId(), xlsx(filled.toByteArray()));
+
+        assertEquals(2, result.getTotalRows());
+        assertEquals(1, result.getValidRows());
+        assertEquals(1, result.getInvalidRows());
+
+        RFQImportPreviewDTO.RFQImportRow cement = result.getRows().get(0);
+        assertEquals(2, cement.getRowNumber());
+        assertEquals("Cement", cement.getItemName());
+        assertEquals(100.0, cement.getRequestedQuantity());
+        assertEquals(90.0, cement.getResponseQuantity());
+        assertEquals("EGP", cement.getCurrency());
+        assertEquals(0, new BigDecimal("1125").compareTo(cement.getTotalPrice()));
+        assertEquals(7, cement.getEstimatedDeliveryDays());
+
+        assertEquals(List.of("Row 3: Unit price is required"), result.getErrors());
+    }
+
     // ==================== importAndPreviewRFQ ====================
 
+    @Test
+    public void importAndPreviewRFQ_arabicNumeralsAndUnknownItem_shouldValidateEachRow() throws IOException {
+        Offer offer = offerWithItems(List.of("Cement"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("RFQ");
+            sheet.createRow(0).createCell(1).setCellValue("Item");
+            Row cement = sheet.createRow(1);
+            cement.createCell(1).setCellValue("cement ");
+            cement.createCell(4).setCellValue("٢٠");
+            cement.createCell(5).setCellValue("usd");
+            cement.createCell(6).setCellValue("٣");
+            Row unknown = sheet.createRow(2);
+            unknown.createCell(1).setCellValue("Sand");
+            unknown.createCell(4).setCellValue(5);
+            unknown.createCell(6).setCellValue(1);
+            // Summary row: no item name, parsing stops here
+            sheet.createRow(3).createCell(4).setCellValue(25);
+            Row afterSummary = sheet.createRow(4);
+            afterSummary.createCell(1).setCellValue("Cement");
+            workbook.write(out);
+        }
+
+        RFQImportPreviewDTO result = rfqService.importAndPreviewRFQ(offer.getId(), xlsx(out.toByteArray()));
+
+        assertEquals(2, result.getTotalRows());
+        assertEquals(1, result.getValidRows());
+        RFQImportPreviewDTO.RFQImportRow first = result.getRows().get(0);
+        assertEquals(20.0, first.getResponseQuantity());
+        assertEquals("USD", first.getCurrency());
+        assertEquals(0, new BigDecimal("60").compareTo(first.getTotalPrice()));
+        assertEquals(List.of("Row 3: Item 'Sand' not found in request order"), result.getErrors());
+    }
+
+    @Test
+    public void importAndPreviewRFQ_tenThousandRows_shouldStreamAllRows() throws IOException {
+        int rowCount = 10_000;
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= rowCount; i++) {
+            names.add("Item " + i);
+        }
+        Offer offer = offerWithItems(names);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        try {
+            Sheet sheet = workbook.createSheet("RFQ");
+            sheet.createRow(0).createCell(1).setCellValue("Item");
+            for (int i = 1; i <= rowCount; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue("Item " + i);
+                row.createCell(3).setCellValue(10);
+                row.createCell(4).setCellValue(10);
+                row.createCell(5).setCellValue("EGP");
+                row.createCell(6).setCellValue(2.5);
+                row.createCell(8).setCellValue(7);
+            }
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+
+        RFQImportPreviewDTO result = rfqService.importAndPreviewRFQ(offer.getId(), xlsx(out.toByteArray()));
+
+        assertEquals(rowCount, result.getTotalRows());
+        assertEquals(rowCount, result.getValidRows());
+        assertEquals(0, result.getInvalidRows());
+        assertEquals(rowCount + 1, result.getRows().get(rowCount - 1).getRowNumber());
+    }
+
     @Test
     public void importAndPreviewRFQ_offerNotFound_shouldThrow() {
         UUID offerId = UUID.randomUUID();
@@ -125,4 +250,21 @@ public class RFQServiceTest {
 
         assertThrows(RuntimeException.class, () -> rfqService.importAndPreviewRFQ(offerId, null));
     }
-}
\ No newline at end of file
+
+    private Offer offerWithItems(List<String> itemNames) {
+        Offer offer = Offer.builder().id(UUID.randomUUID()).build();
+        List<OfferRequestItem> items = new ArrayList<>();
+        for (String name : itemNames) {
+            ItemType itemType = ItemType.builder().id(UUID.randomUUID()).name(name).build();
+            items.add(OfferRequestItem.builder().id(UUID.randomUUID()).offer(offer).itemType(itemType).build());
+        }
+        when(offerRepository.findById(offer.getId())).thenReturn(Optional.of(offer));
+        when(offerRequestItemRepository.findByOffer(offer)).thenReturn(items);
+        return offer;
+    }
+
+    private MockMultipartFile xlsx(byte[] content) {
+        return new MockMultipartFile("file", "rfq.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", content);
+    }
+}
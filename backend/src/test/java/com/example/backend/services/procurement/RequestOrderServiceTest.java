@@ -377,8 +377,8 @@ public class RequestOrderServiceTest {
         UUID warehouseId = UUID.randomUUID();
         UUID itemTypeId = UUID.randomUUID();
 
-        when(requestOrderRepository.findByWarehouseAndItemTypeAndStatusInAndCreatedAtAfter(
-                eq(warehouseId), eq(itemTypeId), any(), any()))
+        when(requestOrderRepository.findMostRecentByWarehouseAndItemTypes(
+                eq(warehouseId), eq(List.of(itemTypeId)), any(), any()))
                 .thenReturn(List.of());
 
         Map<String, Object> result = requestOrderService.getRestockValidationInfo(
@@ -394,21 +394,48 @@ public class RequestOrderServiceTest {
     public void getRestockValidationInfo_withRecentRequest_shouldReturnWarning() {
         UUID warehouseId = UUID.randomUUID();
         UUID itemTypeId = UUID.randomUUID();
+        UUID quietItemTypeId = UUID.randomUUID();
+        UUID requestId = UUID.randomUUID();
 
-        RequestOrder recentRo = createRequestOrder(UUID.randomUUID());
-        recentRo.setCreatedAt(LocalDateTime.now().minusHours(1));
-
-        when(requestOrderRepository.findByWarehouseAndItemTypeAndStatusInAndCreatedAtAfter(
-                eq(warehouseId), eq(itemTypeId), any(), any()))
-                .thenReturn(List.of(recentRo));
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{itemTypeId, requestId, "PENDING", "Restock",
+                java.sql.Timestamp.valueOf(LocalDateTime.now().minusDays(1).minusHours(1))});
+        when(requestOrderRepository.findMostRecentByWarehouseAndItemTypes(
+                eq(warehouseId), eq(List.of(itemTypeId, quietItemTypeId)), any(), any()))
+                .thenReturn(rows);
 
         Map<String, Object> result = requestOrderService.getRestockValidationInfo(
-                warehouseId, List.of(itemTypeId));
+                warehouseId, List.of(itemTypeId, quietItemTypeId));
 
         assertNotNull(result);
         Map<String, Object> validations = (Map<String, Object>) result.get("validations");
         Map<String, Object> itemInfo = (Map<String, Object>) validations.get(itemTypeId.toString());
         assertTrue((Boolean) itemInfo.get("hasRecentRequest"));
+        Map<String, Object> requestInfo = (Map<String, Object>) itemInfo.get("mostRecentRequest");
+        assertEquals(requestId, requestInfo.get("id"));
+        assertEquals(1L, requestInfo.get("daysSince"));
+        Map<String, Object> quietInfo = (Map<String, Object>) validations.get(quietItemTypeId.toString());
+        assertFalse((Boolean) quietInfo.get("hasRecentRequest"));
+    }
+
+    @Test
+    public void getRestockValidationInfo_revalidating_shouldOnlyQueryNewItemTypes() {
+        UUID warehouseId = UUID.randomUUID();
+        UUID firstItemType = UUID.randomUUID();
+        UUID addedItemType = UUID.randomUUID();
+
+        when(requestOrderRepository.findMostRecentByWarehouseAndItemTypes(eq(warehouseId), anyCollection(), any(), any()))
+                .thenReturn(List.of());
+
+        requestOrderService.getRestockValidationInfo(warehouseId, List.of(firstItemType));
+        requestOrderService.getRestockValidationInfo(warehouseId, List.of(firstItemType));
+        requestOrderService.getRestockValidationInfo(warehouseId, List.of(firstItemType, addedItemType));
+
+        verify(requestOrderRepository).findMostRecentByWarehouseAndItemTypes(
+                eq(warehouseId), eq(List.of(firstItemType)), any(), any());
+        verify(requestOrderRepository).findMostRecentByWarehouseAndItemTypes(
+                eq(warehouseId), eq(List.of(addedItemType)), any(), any());
+        verifyNoMoreInteractions(requestOrderRepository);
     }
 
     // ==================== Helpers ====================
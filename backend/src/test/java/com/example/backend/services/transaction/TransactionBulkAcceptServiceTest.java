@@ -0,0 +1,253 @@
+package com.example.backend.services.transaction;
+
+import com.example.backend.dto.transaction.BulkTransactionAcceptRequestDTO;
+import com.example.backend.dto.transaction.BulkTransactionAcceptResponseDTO;
+import com.example.backend.dto.transaction.TransactionAcceptRequestDTO;
+import com.example.backend.events.ValuationDeltaEvent;
+import com.example.backend.models.PartyType;
+import com.example.backend.models.notification.NotificationType;
+import com.example.backend.models.transaction.Transaction;
+import com.example.backend.models.transaction.TransactionItem;
+import com.example.backend.models.transaction.TransactionPurpose;
+import com.example.backend.models.transaction.TransactionStatus;
+import com.example.backend.models.warehouse.Item;
+import com.example.backend.models.warehouse.ItemStatus;
+import com.example.backend.models.warehouse.ItemType;
+import com.example.backend.models.warehouse.Warehouse;
+import com.example.backend.repositories.equipment.ConsumableRepository;
+import com.example.backend.repositories.equipment.EquipmentRepository;
+import com.example.backend.repositories.transaction.TransactionRepository;
+import com.example.backend.repositories.warehouse.ItemRepository;
+import com.example.backend.repositories.warehouse.WarehouseRepository;
+import com.example.backend.services.notification.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionBulkAcceptServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private WarehouseRepository warehouseRepository;
+
+    @Mock
+    private EquipmentRepository equipmentRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ConsumableRepository consumableRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TransactionBulkAcceptService bulkAcceptService;
+
+    private Warehouse sender;
+    private Warehouse receiver;
+    private ItemType itemType;
+
+    @BeforeEach
+    void setUp() {
+        sender = makeWarehouse("Main Store");
+        receiver = makeWarehouse("Site Store");
+        itemType = new ItemType();
+        itemType.setId(UUID.randomUUID());
+        itemType.setName("Cement");
+    }
+
+    @Test
+    public void acceptTransactions_warehouseTransfers_shouldLoadOnceAndWriteOnce() {
+        runTransactionsInline();
+        Transaction first = makeTransfer(5, 10.0);
+        Transaction second = makeTransfer(5, 10.0);
+        when(transactionRepository.findAllWithItemsByIdIn(anyCollection())).thenReturn(List.of(first, second));
+        when(warehouseRepository.findAllById(anyCollection())).thenReturn(List.of(sender, receiver));
+
+        BulkTransactionAcceptResponseDTO response = bulkAcceptService.acceptTransactions(
+                request(acceptAll(first, 5), acceptAll(second, 5)));
+
+        assertEquals(2, response.getProcessed());
+        assertEquals(0, response.getFailed());
+        assertEquals(TransactionStatus.ACCEPTED, response.getResults().get(0).getStatus());
+        assertEquals(first.getId(), response.getResults().get(0).getTransactionId());
+        verify(transactionRepository, times(1)).findAllWithItemsByIdIn(anyCollection());
+        verify(itemRepository, times(1)).saveAll(argThat((List<Item> lots) -> lots.size() == 2
+                && lots.stream().allMatch(lot -> lot.getItemStatus() == ItemStatus.IN_WAREHOUSE
+                        && lot.getWarehouse() == receiver)));
+        // One valuation delta for the receiving warehouse covering both transfers
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+                event instanceof ValuationDeltaEvent delta
+                        && receiver.getId().equals(delta.getWarehouseId())
+                        && delta.getValueDelta() == 100.0
+                        && delta.getQuantityDelta() == 10));
+        verify(notificationService, times(1)).sendNotificationToWarehouseUsers(
+                eq("Transactions Received"), anyString(), eq(NotificationType.SUCCESS), anyString(), anyString());
+        verify(transactionService, never()).acceptTransaction(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void acceptTransactions_shortDelivery_shouldRejectAndRecordMissingAtSender() {
+        runTransactionsInline();
+        Transaction transfer = makeTransfer(10, 10.0);
+        when(transactionRepository.findAllWithItemsByIdIn(anyCollection())).thenReturn(List.of(transfer));
+        when(warehouseRepository.findAllById(anyCollection())).thenReturn(List.of(sender, receiver));
+
+        BulkTransactionAcceptResponseDTO response = bulkAcceptService.acceptTransactions(
+                request(acceptAll(transfer, 8)));
+
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals(TransactionStatus.REJECTED, response.getResults().get(0).getStatus());
+        verify(itemRepository).saveAll(argThat((List<Item> lots) -> lots.stream().anyMatch(lot ->
+                lot.getItemStatus() == ItemStatus.MISSING && lot.getQuantity() == 2 && lot.getWarehouse() == sender)));
+    }
+
+    @Test
+    public void acceptTransactions_oneNotPending_shouldFailOnlyThatTransaction() {
+        runTransactionsInline();
+        Transaction pending = makeTransfer(5, 10.0);
+        Transaction done = makeTransfer(5, 10.0);
+        done.setStatus(TransactionStatus.ACCEPTED);
+        when(transactionRepository.findAllWithItemsByIdIn(anyCollection())).thenReturn(List.of(pending, done));
+        when(warehouseRepository.findAllById(anyCollection())).thenReturn(List.of(sender, receiver));
+
+        BulkTransactionAcceptResponseDTO response = bulkAcceptService.acceptTransactions(
+                request(acceptAll(pending, 5), acceptAll(done, 5)));
+
+        assertEquals(1, response.getProcessed());
+        assertEquals(1, response.getFailed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("Transaction is not in PENDING status", response.getResults().get(1).getError());
+    }
+
+    @Test
+    public void acceptTransactions_batchWriteFails_shouldFallBackToOneByOne() {
+        runTransactionsInline();
+        Transaction first = makeTransfer(5, 10.0);
+        Transaction second = makeTransfer(5, 10.0);
+        when(transactionRepository.findAllWithItemsByIdIn(anyCollection())).thenReturn(List.of(first, second));
+        when(warehouseRepository.findAllById(anyCollection())).thenReturn(List.of(sender, receiver));
+        when(itemRepository.saveAll(anyList())).thenThrow(new RuntimeException("constraint violation"));
+        Transaction accepted = makeTransfer(5, 10.0);
+        accepted.setId(first.getId());
+        accepted.setStatus(TransactionStatus.ACCEPTED);
+        when(transactionService.acceptTransaction(eq(first.getId()), any(), any(), eq("receiver"), any()))
+                .thenReturn(accepted);
+        when(transactionService.acceptTransaction(eq(second.getId()), any(), any(), eq("receiver"), any()))
+                .thenThrow(new IllegalArgumentException("Not enough quantity"));
+
+        BulkTransactionAcceptResponseDTO response = bulkAcceptService.acceptTransactions(
+                request(acceptAll(first, 5), acceptAll(second, 5)));
+
+        assertEquals(1, response.getProcessed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals("Not enough quantity", response.getResults().get(1).getError());
+    }
+
+    @Test
+    public void acceptTransactions_missingQuantities_shouldFailWithoutQueries() {
+        BulkTransactionAcceptRequestDTO.TransactionAcceptanceDTO entry =
+                BulkTransactionAcceptRequestDTO.TransactionAcceptanceDTO.builder()
+                        .transactionId(UUID.randomUUID())
+                        .receivedItems(List.of())
+                        .build();
+
+        BulkTransactionAcceptResponseDTO response = bulkAcceptService.acceptTransactions(request(entry));
+
+        assertEquals(1, response.getFailed());
+        assertEquals("Received items list is required", response.getResults().get(0).getError());
+        verifyNoInteractions(transactionTemplate, transactionRepository, notificationService);
+    }
+
+    @Test
+    public void acceptTransactions_noUsername_shouldThrow() {
+        BulkTransactionAcceptRequestDTO request = new BulkTransactionAcceptRequestDTO(null, List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> bulkAcceptService.acceptTransactions(request));
+    }
+
+    // ==================== Helpers ====================
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    private Warehouse makeWarehouse(String name) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setId(UUID.randomUUID());
+        warehouse.setName(name);
+        return warehouse;
+    }
+
+    private Transaction makeTransfer(int quantity, double unitPrice) {
+        Transaction transaction = new Transaction();
+        transaction.setId(UUID.randomUUID());
+        transaction.setStatus(TransactionStatus.PENDING);
+        transaction.setSenderType(PartyType.WAREHOUSE);
+        transaction.setSenderId(sender.getId());
+        transaction.setReceiverType(PartyType.WAREHOUSE);
+        transaction.setReceiverId(receiver.getId());
+        transaction.setPurpose(TransactionPurpose.GENERAL);
+        transaction.setBatchNumber(1000 + quantity);
+
+        TransactionItem item = new TransactionItem();
+        item.setId(UUID.randomUUID());
+        item.setItemType(itemType);
+        item.setQuantity(quantity);
+        item.setStatus(TransactionStatus.PENDING);
+        item.setTransaction(transaction);
+        Map<String, Object> batch = new HashMap<>();
+        batch.put("quantity", quantity);
+        batch.put("unitPrice", unitPrice);
+        item.setDeductedItems(List.of(batch));
+        transaction.setItems(new ArrayList<>(List.of(item)));
+        return transaction;
+    }
+
+    private BulkTransactionAcceptRequestDTO.TransactionAcceptanceDTO acceptAll(Transaction transaction, int received) {
+        List<TransactionAcceptRequestDTO.ReceivedItemDTO> items = transaction.getItems().stream()
+                .map(item -> TransactionAcceptRequestDTO.ReceivedItemDTO.builder()
+                        .transactionItemId(item.getId().toString())
+                        .receivedQuantity(received)
+                        .itemNotReceived(false)
+                        .build())
+                .toList();
+        return BulkTransactionAcceptRequestDTO.TransactionAcceptanceDTO.builder()
+                .transactionId(transaction.getId())
+                .receivedItems(items)
+                .build();
+    }
+
+    private BulkTransactionAcceptRequestDTO request(BulkTransactionAcceptRequestDTO.TransactionAcceptanceDTO... entries) {
+        return new BulkTransactionAcceptRequestDTO("receiver", List.of(entries));
+    }
+}
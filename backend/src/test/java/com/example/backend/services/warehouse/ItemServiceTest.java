@@ -1,6 +1,7 @@
 package com.example.backend.services.warehouse;
 
 import com.example.backend.dto.item.ItemResolutionDTO;
+import com.example.backend.events.ValuationDeltaEvent;
 import com.example.backend.models.finance.inventoryValuation.ItemPriceApproval;
 import com.example.backend.models.warehouse.*;
 import com.example.backend.repositories.finance.inventoryValuation.ItemPriceApprovalRepository;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -48,6 +50,9 @@ public class ItemServiceTest {
     @Mock
     private ItemPriceApprovalRepository itemPriceApprovalRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -192,6 +197,24 @@ public class ItemServiceTest {
         verify(itemRepository).delete(item);
     }
 
+    @Test
+    public void deleteItem_pricedStock_shouldPublishNegativeValuationDelta() {
+        UUID itemId = UUID.randomUUID();
+        Item item = createItem(ItemStatus.IN_WAREHOUSE);
+        item.setId(itemId);
+        item.setUnitPrice(25.0);
+        item.calculateTotalValue();
+
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+
+        itemService.deleteItem(itemId);
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ValuationDeltaEvent delta
+                && delta.getWarehouseId().equals(item.getWarehouse().getId())
+                && delta.getValueDelta() == -250.0
+                && delta.getQuantityDelta() == -10));
+    }
+
     @Test
     public void deleteItem_notFound_shouldThrow() {
         UUID fakeId = UUID.randomUUID();
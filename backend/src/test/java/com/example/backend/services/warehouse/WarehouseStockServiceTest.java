@@ -0,0 +1,131 @@
+package com.example.backend.services.warehouse;
+
+import com.example.backend.models.warehouse.Item;
+import com.example.backend.models.warehouse.ItemStatus;
+import com.example.backend.models.warehouse.ItemType;
+import com.example.backend.repositories.warehouse.ItemRepository;
+import com.example.backend.repositories.warehouse.WarehouseStockLevelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WarehouseStockServiceTest {
+
+    @Mock
+    private WarehouseStockLevelRepository stockLevelRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private WarehouseStockService warehouseStockService;
+
+    private UUID warehouseId;
+    private ItemType itemType;
+
+    @BeforeEach
+    void setUp() {
+        warehouseId = UUID.randomUUID();
+        itemType = new ItemType();
+        itemType.setId(UUID.randomUUID());
+        itemType.setName("Engine Oil");
+    }
+
+    // ==================== lockAvailableQuantity ====================
+
+    @Test
+    public void lockAvailableQuantity_noStockLevel_shouldReturnZero() {
+        when(stockLevelRepository.lockQuantity(warehouseId, itemType.getId(), "IN_WAREHOUSE")).thenReturn(null);
+
+        assertEquals(0L, warehouseStockService.lockAvailableQuantity(warehouseId, itemType.getId()));
+        verify(itemRepository).flush();
+    }
+
+    // ==================== deductFifo ====================
+
+    @Test
+    public void deductFifo_enoughStock_shouldConsumeOldestLotsFirst() {
+        Item oldest = createLot(5, 10.0, LocalDateTime.now().minusDays(2));
+        Item newer = createLot(10, 20.0, LocalDateTime.now().minusDays(1));
+        when(stockLevelRepository.lockQuantity(warehouseId, itemType.getId(), "IN_WAREHOUSE")).thenReturn(15L);
+        when(itemRepository.findFifoLots(eq(warehouseId), eq(itemType.getId()), eq(ItemStatus.IN_WAREHOUSE), any()))
+                .thenReturn(List.of(oldest, newer));
+
+        WarehouseStockService.StockDeduction result = warehouseStockService.deductFifo(warehouseId, itemType, 8);
+
+        assertEquals(2, result.batches().size());
+        assertEquals(5, result.batches().get(0).get("quantity"));
+        assertEquals(10.0, result.batches().get(0).get("unitPrice"));
+        assertEquals(3, result.batches().get(1).get("quantity"));
+        assertEquals(5 * 10.0 + 3 * 20.0, result.value());
+        assertEquals(7, newer.getQuantity());
+        assertEquals(140.0, newer.getTotalValue());
+        verify(itemRepository).deleteAll(List.of(oldest));
+        verify(itemRepository).save(newer);
+    }
+
+    @Test
+    public void deductFifo_lotsSpanSeveralPages_shouldFetchUntilSatisfied() {
+        Item first = createLot(4, 10.0, LocalDateTime.now().minusDays(3));
+        Item second = createLot(4, 10.0, LocalDateTime.now().minusDays(2));
+        Item third = createLot(4, 12.0, LocalDateTime.now().minusDays(1));
+        when(stockLevelRepository.lockQuantity(warehouseId, itemType.getId(), "IN_WAREHOUSE")).thenReturn(12L);
+        when(itemRepository.findFifoLots(eq(warehouseId), eq(itemType.getId()), eq(ItemStatus.IN_WAREHOUSE), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        WarehouseStockService.StockDeduction result = warehouseStockService.deductFifo(warehouseId, itemType, 10);
+
+        assertEquals(3, result.batches().size());
+        assertEquals(2, third.getQuantity());
+        verify(itemRepository, times(2)).findFifoLots(any(), any(), any(), any());
+        verify(itemRepository).deleteAll(List.of(first, second));
+    }
+
+    @Test
+    public void deductFifo_insufficientStock_shouldThrowWithoutReadingLots() {
+        when(stockLevelRepository.lockQuantity(warehouseId, itemType.getId(), "IN_WAREHOUSE")).thenReturn(3L);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> warehouseStockService.deductFifo(warehouseId, itemType, 5));
+
+        assertEquals("Not enough quantity in warehouse for: Engine Oil. Available: 3, Requested: 5", ex.getMessage());
+        verify(itemRepository, never()).findFifoLots(any(), any(), any(), any());
+    }
+
+    @Test
+    public void deductFifo_noStock_shouldThrow() {
+        when(stockLevelRepository.lockQuantity(warehouseId, itemType.getId(), "IN_WAREHOUSE")).thenReturn(0L);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> warehouseStockService.deductFifo(warehouseId, itemType, 1));
+
+        assertEquals("No available items in warehouse for: Engine Oil", ex.getMessage());
+    }
+
+    // ==================== Helpers ====================
+
+    private Item createLot(int quantity, Double unitPrice, LocalDateTime createdAt) {
+        Item lot = new Item();
+        lot.setId(UUID.randomUUID());
+        lot.setItemType(itemType);
+        lot.setQuantity(quantity);
+        lot.setUnitPrice(unitPrice);
+        lot.calculateTotalValue();
+        lot.setItemStatus(ItemStatus.IN_WAREHOUSE);
+        lot.setCreatedAt(createdAt);
+        return lot;
+    }
+}
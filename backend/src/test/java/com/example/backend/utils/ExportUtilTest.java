@@ -0,0 +1,170 @@
+package com.example.backend.utils;
+
+import com.example.backend.dto.finance.generalLedger.AuditLogExportRow;
+import com.example.backend.dto.finance.payables.AgingBucket;
+import com.example.backend.dto.finance.payables.InvoiceAgingRow;
+import com.example.backend.dto.finance.payables.InvoiceAgingSummary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExportUtilTest {
+
+    private final ExportUtil exportUtil = new ExportUtil();
+
+    @Test
+    public void writeAuditLogsToExcel_shouldWriteInlineStringRowsAndPackageParts() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportUtil.writeAuditLogsToExcel(Stream.of(row("JournalEntry", "{\"amount\":\"<5>\"}")), out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertTrue(entries.containsKey("[Content_Types].xml"));
+        assertTrue(entries.containsKey("xl/workbook.xml"));
+        assertFalse(entries.containsKey("xl/sharedStrings.xml"));
+
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("<row r=\"2\">"));
+        assertTrue(sheet.contains("JournalEntry"));
+        assertTrue(sheet.contains("{&quot;amount&quot;:&quot;&lt;5&gt;&quot;}"));
+        assertTrue(entries.get("xl/workbook.xml").contains("r:id=\"rId2\""));
+    }
+
+    @Test
+    public void writeAuditLogsToExcel_noRows_shouldStillWriteHeaderSheet() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportUtil.writeAuditLogsToExcel(Stream.empty(), out);
+
+        String sheet = unzip(out.toByteArray()).get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains("<row r=\"1\">"));
+        assertFalse(sheet.contains("<row r=\"2\">"));
+    }
+
+    @Test
+    public void writeAuditLogsToCsv_shouldQuoteAndNeutraliseFormulas() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportUtil.writeAuditLogsToCsv(Stream.of(row("=cmd", "a,\"b\"")), out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].endsWith("ID,Entity Type,Entity ID,Action,Changes,Username,Timestamp,IP Address,User Agent"));
+        assertTrue(lines[1].contains(",'=cmd,"));
+        assertTrue(lines[1].contains(",\"a,\"\"b\"\"\","));
+    }
+
+    @Test
+    public void writeAgingReportToPDF_shouldRenderSummaryDetailsAndVendorSubtotals() throws Exception {
+        InvoiceAgingSummary summary = InvoiceAgingSummary.empty();
+        summary.invoiceCounts().put(AgingBucket.DAYS_0_TO_30, 2L);
+        summary.remainingBalances().put(AgingBucket.DAYS_0_TO_30, new BigDecimal("350.00"));
+        summary.invoiceCounts().put(AgingBucket.OVER_90_DAYS, 1L);
+        summary.remainingBalances().put(AgingBucket.OVER_90_DAYS, new BigDecimal("900.00"));
+
+        List<InvoiceAgingRow> rows = List.of(
+                agingRow(AgingBucket.DAYS_0_TO_30, "INV-1", "Acme", "100.00", -5, 2, "350.00"),
+                agingRow(AgingBucket.DAYS_0_TO_30, "INV-2", "Acme", "250.00", 10, 2, "350.00"),
+                agingRow(AgingBucket.OVER_90_DAYS, "INV-3", "Globex", "900.00", 120, 1, "900.00"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportUtil.writeAgingReportToPDF(summary, rows.iterator(), out);
+
+        String text = pdfText(out.toByteArray());
+        assertTrue(text.contains("Invoice Aging Report"));
+        assertTrue(text.contains("0-30 Days (Current) (2 invoices)"));
+        assertTrue(text.contains("Over 90 Days (Critical) (1 invoices)"));
+        assertFalse(text.contains("31-60 Days (0 invoices)"));
+        assertTrue(text.contains("INV-1"));
+        assertTrue(text.contains("Not due"));
+        assertTrue(text.contains("Acme (2)"));
+        assertTrue(text.contains("Globex (1)"));
+        assertTrue(text.contains("$350.00"));
+    }
+
+    @Test
+    public void writeAgingReportToPDF_moreRowsThanFlushSize_shouldRenderEveryRow() throws Exception {
+        int rowCount = ExportUtil.PDF_ROWS_PER_FLUSH * 2 + 7;
+        InvoiceAgingSummary summary = InvoiceAgingSummary.empty();
+        summary.invoiceCounts().put(AgingBucket.DAYS_31_TO_60, (long) rowCount);
+        Iterator<InvoiceAgingRow> rows = IntStream.range(0, rowCount)
+                .mapToObj(i -> agingRow(AgingBucket.DAYS_31_TO_60, "INV-" + i, "Vendor " + (i / 100),
+                        "10.00", 45, Math.min(100, rowCount - i / 100 * 100), "1000.00"))
+                .iterator();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportUtil.writeAgingReportToPDF(summary, rows, out);
+
+        String text = pdfText(out.toByteArray());
+        assertTrue(text.contains("INV-0"));
+        assertTrue(text.contains("INV-" + (rowCount - 1)));
+        int lastVendor = (rowCount - 1) / 100;
+        assertTrue(text.contains("Vendor " + lastVendor + " (" + (rowCount - lastVendor * 100) + ")"));
+    }
+
+    @Test
+    public void writeAgingReportToPDF_noRows_shouldRenderSummaryOnly() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportUtil.writeAgingReportToPDF(InvoiceAgingSummary.empty(), Collections.emptyIterator(), out);
+
+        String text = pdfText(out.toByteArray());
+        assertTrue(text.contains("Summary"));
+        assertTrue(text.contains("$0.00"));
+        assertFalse(text.contains("Days Overdue"));
+    }
+
+    private InvoiceAgingRow agingRow(AgingBucket bucket, String invoiceNumber, String vendorName, String remaining,
+                                     long daysPastDue, long vendorInvoiceCount, String vendorRemaining) {
+        return new InvoiceAgingRow(bucket, invoiceNumber, vendorName, new BigDecimal(remaining),
+                new BigDecimal(remaining), LocalDate.of(2026, 1, 1), daysPastDue, vendorInvoiceCount,
+                new BigDecimal(vendorRemaining));
+    }
+
+    private String pdfText(byte[] bytes) throws Exception {
+        StringBuilder text = new StringBuilder();
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(bytes)))) {
+            for (int page = 1; page <= pdf.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(pdf.getPage(page))).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private AuditLogExportRow row(String entityType, String changes) {
+        return new AuditLogExportRow(UUID.randomUUID(), entityType, UUID.randomUUID(), "UPDATE", changes,
+                "admin", LocalDateTime.of(2026, 1, 1, 10, 0), "127.0.0.1", "JUnit");
+    }
+
+    private Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.backend.utils.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class KeysetPagerTest {
+
+    record Row(UUID id, String name, LocalDateTime createdAt) {}
+
+    private static final SortKeys<Row> SORTS = SortKeys
+            .<Row>by(Row::id, "createdAt", Row::createdAt, Sort.Direction.DESC)
+            .or("name", Row::name);
+
+    @SuppressWarnings("unchecked")
+    private final JpaSpecificationExecutor<Row> repository = mock(JpaSpecificationExecutor.class);
+
+    @Test
+    public void fetch_moreRowsThanPageSize_shouldTrimAndIssueCursorForLastRow() {
+        Row first = row("a", LocalDateTime.of(2026, 10, 2, 9, 0));
+        Row second = row("b", LocalDateTime.of(2026, 10, 1, 9, 0));
+        Row extra = row("c", LocalDateTime.of(2026, 9, 30, 9, 0));
+        when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(first, second, extra));
+
+        CursorPage<String> page = KeysetPager.fetch(repository, null, request(null, 2, null, null), SORTS,
+                rows -> rows.stream().map(Row::name).toList());
+
+        assertEquals(List.of("a", "b"), page.getItems());
+        assertTrue(page.isHasMore());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertEquals("createdAt", cursor.sort());
+        assertEquals(Sort.Direction.DESC, cursor.direction());
+        assertEquals(second.id(), cursor.id());
+        assertEquals("2026-10-01T09:00", cursor.value());
+    }
+
+    @Test
+    public void fetch_lastPage_shouldReturnNoCursor() {
+        when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(row("a", null)));
+
+        CursorPage<Row> page = KeysetPager.fetch(repository, null, request(null, 2, "name", "asc"), SORTS,
+                rows -> rows);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void fetch_cursorFromAnotherSort_shouldRejectBeforeQuerying() {
+        String cursor = new KeysetCursor("createdAt", Sort.Direction.DESC, UUID.randomUUID(), "2026-10-01T09:00")
+                .encode();
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetPager.fetch(repository, null,
+                request(cursor, 10, "name", "asc"), SORTS, rows -> rows));
+        verify(repository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    public void fetch_unsupportedSort_shouldThrow() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> KeysetPager.fetch(
+                repository, null, request(null, 10, "password", null), SORTS, rows -> rows));
+        assertTrue(e.getMessage().contains("createdAt"));
+    }
+
+    @Test
+    public void cursor_shouldRoundTripValuesContainingSeparatorAndNulls() {
+        UUID id = UUID.randomUUID();
+        KeysetCursor withValue = new KeysetCursor("name", Sort.Direction.ASC, id, "pump | 5");
+        KeysetCursor withNull = new KeysetCursor("name", Sort.Direction.ASC, id, null);
+
+        assertEquals(withValue, KeysetCursor.decode(withValue.encode()));
+        assertEquals(withNull, KeysetCursor.decode(withNull.encode()));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    public void cursor_tampered_shouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    public void resolvedSize_shouldDefaultAndCap() {
+        assertEquals(KeysetPageRequest.DEFAULT_SIZE, request(null, null, null, null).resolvedSize());
+        assertEquals(KeysetPageRequest.MAX_SIZE, request(null, 10_000, null, null).resolvedSize());
+        assertEquals(1, request(null, 0, null, null).resolvedSize());
+    }
+
+    private static KeysetPageRequest request(String cursor, Integer size, String sort, String direction) {
+        return new KeysetPageRequest(cursor, size, sort, direction);
+    }
+
+    private static Row row(String name, LocalDateTime createdAt) {
+        return new Row(UUID.randomUUID(), name, createdAt);
+    }
+}